@@ -1,3 +1,4 @@
+import se.uu.ub.cora.spider.authorization.AuthorizationMetrics;
 import se.uu.ub.cora.spider.extended.apptoken.ApptokenExtendedFunctionalityFactory;
 import se.uu.ub.cora.spider.extended.consistency.MetadataValidatorExtendedFunctionalityFactory;
 import se.uu.ub.cora.spider.extended.workorder.WorkOrderExtendedFunctionalityFactory;
@@ -20,6 +21,7 @@ module se.uu.ub.cora.spider {
 	requires se.uu.ub.cora.initialize;
 
 	uses ExtendedFunctionalityFactory;
+	uses AuthorizationMetrics;
 
 	exports se.uu.ub.cora.spider.authentication;
 	exports se.uu.ub.cora.spider.authorization;
@@ -27,7 +29,10 @@ module se.uu.ub.cora.spider {
 	exports se.uu.ub.cora.spider.data;
 	exports se.uu.ub.cora.spider.dependency;
 	exports se.uu.ub.cora.spider.extendedfunctionality;
+	exports se.uu.ub.cora.spider.linkplan;
 	exports se.uu.ub.cora.spider.record;
+	exports se.uu.ub.cora.spider.searchdefinition;
+	exports se.uu.ub.cora.spider.searchresult;
 	exports se.uu.ub.cora.spider.binary;
 	exports se.uu.ub.cora.spider.binary.iiif;
 	exports se.uu.ub.cora.spider.unique;
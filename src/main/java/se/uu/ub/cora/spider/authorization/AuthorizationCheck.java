@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization;
+
+/**
+ * AuthorizationCheck holds the measured values for one authorization check of one action on one
+ * recordType.
+ * 
+ * @param action
+ *            A String with the checked action
+ * @param recordType
+ *            A String with the checked recordType
+ * @param authorized
+ *            A boolean, true if the user was authorized
+ * @param durationInNanos
+ *            A long with the time the check took, in nanoseconds
+ * @param numberOfRequiredRules
+ *            An int with the number of required rules that were created and checked
+ * @param numberOfScannedProvidedRules
+ *            An int with the number of provided rules that were matched against required rules
+ */
+public record AuthorizationCheck(String action, String recordType, boolean authorized,
+		long durationInNanos, int numberOfRequiredRules, int numberOfScannedProvidedRules) {
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization;
+
+import java.time.Duration;
+
+/**
+ * AuthorizationMetrics is the interface for plugging in collection of metrics for authorization
+ * checks made by {@link SpiderAuthorizator}. Implementations are located using ServiceLoader by
+ * {@link AuthorizationMetricsProvider}, and at most one implementation should be present.
+ * <p>
+ * If no implementation is found is metrics collection disabled, and the authorization checks are
+ * not measured at all.
+ * <p>
+ * Implementations MUST be thread safe, as one instance is shared between all requests. They are
+ * called as part of each authorization check and SHOULD return quickly.
+ */
+public interface AuthorizationMetrics {
+
+	/**
+	 * isEnabled returns if metrics should be collected. Checks are only measured if this method
+	 * returns true.
+	 * 
+	 * @return A boolean, true if metrics should be collected
+	 */
+	default boolean isEnabled() {
+		return true;
+	}
+
+	/**
+	 * getSlowCheckThreshold returns the duration a check must take or exceed for it to also be
+	 * reported to {@link #slowAuthorizationChecked(AuthorizationCheck)}.
+	 * 
+	 * @return A Duration with the threshold for slow checks
+	 */
+	Duration getSlowCheckThreshold();
+
+	/**
+	 * authorizationChecked is called after each measured authorization check of one action on one
+	 * recordType.
+	 * 
+	 * @param check
+	 *            An {@link AuthorizationCheck} with the measured values for the check
+	 */
+	void authorizationChecked(AuthorizationCheck check);
+
+	/**
+	 * slowAuthorizationChecked is called, in addition to
+	 * {@link #authorizationChecked(AuthorizationCheck)}, for checks that took at least as long as
+	 * the slow check threshold. Implementations can use it to sample slow checks.
+	 * 
+	 * @param check
+	 *            An {@link AuthorizationCheck} with the measured values for the slow check
+	 */
+	void slowAuthorizationChecked(AuthorizationCheck check);
+
+	/**
+	 * cacheAccessed is called each time a cache used by authorization is accessed.
+	 * 
+	 * @param cacheName
+	 *            A String with the name of the accessed cache, such as providedRules or
+	 *            userStatus
+	 * @param hit
+	 *            A boolean, true if the value was found in the cache, false if it had to be loaded
+	 */
+	void cacheAccessed(String cacheName, boolean hit);
+}
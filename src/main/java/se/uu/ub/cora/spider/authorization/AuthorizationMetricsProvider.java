@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization;
+
+import java.util.ServiceLoader;
+
+import se.uu.ub.cora.spider.authorization.internal.NoAuthorizationMetrics;
+
+/**
+ * AuthorizationMetricsProvider provides the process wide {@link AuthorizationMetrics}. The first
+ * implementation found by ServiceLoader is used. If no implementation is found is an
+ * implementation returned that is not enabled, so that no metrics are collected.
+ */
+public final class AuthorizationMetricsProvider {
+	private static AuthorizationMetrics authorizationMetrics;
+
+	private AuthorizationMetricsProvider() {
+		// not called
+		throw new UnsupportedOperationException();
+	}
+
+	public static synchronized AuthorizationMetrics getAuthorizationMetrics() {
+		if (authorizationMetrics == null) {
+			authorizationMetrics = ServiceLoader.load(AuthorizationMetrics.class).findFirst()
+					.orElseGet(NoAuthorizationMetrics::new);
+		}
+		return authorizationMetrics;
+	}
+
+	public static synchronized void onlyForTestSetAuthorizationMetrics(
+			AuthorizationMetrics authorizationMetrics) {
+		AuthorizationMetricsProvider.authorizationMetrics = authorizationMetrics;
+	}
+}
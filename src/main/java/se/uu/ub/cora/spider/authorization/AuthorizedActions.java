@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * AuthorizedActions holds the result of checking several actions for a user on one recordType and
+ * one set of collected permission terms, as returned from
+ * {@link SpiderAuthorizator#getActionsUserIsAuthorizedForOnRecordTypeAndCollectedData(se.uu.ub.cora.beefeater.authentication.User, java.util.List, String, java.util.List)}
+ * 
+ * @param actions
+ *            A Set with the actions the user is authorized for
+ * @param recordPartPermissions
+ *            A Map with the recordPart permissions for each authorized action
+ */
+public record AuthorizedActions(Set<String> actions, Map<String, Set<String>> recordPartPermissions) {
+
+	public AuthorizedActions {
+		actions = Set.copyOf(actions);
+		recordPartPermissions = Map.copyOf(recordPartPermissions);
+	}
+
+	/**
+	 * isAuthorizedFor returns if the user is authorized for the action
+	 * 
+	 * @param action
+	 *            A String with the action to check
+	 * @return A boolean, true if the user is authorized for the action
+	 */
+	public boolean isAuthorizedFor(String action) {
+		return actions.contains(action);
+	}
+
+	/**
+	 * getRecordPartPermissionsForAction returns the recordPart permissions the user has for the
+	 * action. An empty set is returned if the user is not authorized for the action.
+	 * 
+	 * @param action
+	 *            A String with the action to get recordPart permissions for
+	 * @return A Set with recordPart permissions
+	 */
+	public Set<String> getRecordPartPermissionsForAction(String action) {
+		return recordPartPermissions.getOrDefault(action, Collections.emptySet());
+	}
+}
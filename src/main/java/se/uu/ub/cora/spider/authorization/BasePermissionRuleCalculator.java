@@ -22,6 +22,7 @@ package se.uu.ub.cora.spider.authorization;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -67,6 +68,16 @@ public class BasePermissionRuleCalculator implements PermissionRuleCalculator {
 		return calculateRulesForActionAndRecordType(action, recordType);
 	}
 
+	@Override
+	public Iterator<Rule> iterateRulesForActionAndRecordTypeAndCollectedData(String action,
+			String recordType, List<PermissionTerm> permissionTerms) {
+		if (thereAreCollectedPermissionValuesFromData(permissionTerms)) {
+			return lazilyCreateRulesForActionAndRecordTypeAndCollectedData(action, recordType,
+					permissionTerms);
+		}
+		return calculateRulesForActionAndRecordType(action, recordType).iterator();
+	}
+
 	private boolean thereAreCollectedPermissionValuesFromData(
 			Collection<PermissionTerm> permissionTerms) {
 		return !permissionTerms.isEmpty();
@@ -74,21 +85,22 @@ public class BasePermissionRuleCalculator implements PermissionRuleCalculator {
 
 	private List<Rule> createRulesForActionAndRecordTypeAndCollectedData(String action,
 			String recordType, List<PermissionTerm> permissionTerms) {
-		Map<String, List<RulePartValuesImp>> sortedRulePartValues = CollectedDataPermissionRulePartExtractor
-				.extractRulePartsSortedByPermissionKeyFromCollectedData(permissionTerms);
-		return createRulesFromActionAndRecordTypeAndSortedRulePartValues(action, recordType,
-				sortedRulePartValues);
+		List<Rule> requiredRules = new ArrayList<>();
+		lazilyCreateRulesForActionAndRecordTypeAndCollectedData(action, recordType,
+				permissionTerms).forEachRemaining(requiredRules::add);
+		return requiredRules;
 	}
 
-	private List<Rule> createRulesFromActionAndRecordTypeAndSortedRulePartValues(String action,
-			String recordType, Map<String, List<RulePartValuesImp>> sortedRulePartValues) {
+	private Iterator<Rule> lazilyCreateRulesForActionAndRecordTypeAndCollectedData(String action,
+			String recordType, List<PermissionTerm> permissionTerms) {
+		Map<String, List<RulePartValuesImp>> sortedRulePartValues = CollectedDataPermissionRulePartExtractor
+				.extractRulePartsSortedByPermissionKeyFromCollectedData(permissionTerms);
 		List<String> permissionKeys = createListOfPermissionKeysFromSortedRulePartValues(
 				sortedRulePartValues);
 
 		List<RulePart> rulePartList = createRulePartListWithActionAndRecordType(action, recordType);
 
-		return RulesCreator.recursivelyCreateRules(sortedRulePartValues, permissionKeys,
-				rulePartList);
+		return RulesCreator.lazilyCreateRules(sortedRulePartValues, permissionKeys, rulePartList);
 	}
 
 	private List<String> createListOfPermissionKeysFromSortedRulePartValues(
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+import se.uu.ub.cora.beefeater.authorization.Rule;
+import se.uu.ub.cora.data.collected.PermissionTerm;
+import se.uu.ub.cora.spider.cache.LruCache;
+
+/**
+ * MemoizingPermissionRuleCalculator is a {@link PermissionRuleCalculator} that remembers the
+ * required rules calculated by another PermissionRuleCalculator, so that the same rules are not
+ * calculated again for the same action, recordType and permission terms.
+ * <p>
+ * Required rules only depend on the values used to calculate them, so remembered rules never need
+ * to be removed due to changed data. The number of remembered rule lists is bounded, and the least
+ * recently used are removed when the bound is reached.
+ * <p>
+ * Rules returned from {@link #iterateRulesForActionAndRecordTypeAndCollectedData(String, String, List)}
+ * are only remembered if the returned iterator is consumed to its end, as a partly consumed
+ * iterator does not know all required rules.
+ * <p>
+ * The returned lists are shared between requests and MUST NOT be modified, neither the lists nor
+ * the rules in them.
+ */
+public final class MemoizingPermissionRuleCalculator implements PermissionRuleCalculator {
+	private static final PermissionTermFingerprint NO_PERMISSION_TERMS = PermissionTermFingerprint
+			.usingPermissionTerms(List.of());
+	private PermissionRuleCalculator ruleCalculator;
+	private LruCache<RequiredRulesKey, List<Rule>> calculatedRules;
+
+	public static MemoizingPermissionRuleCalculator usingRuleCalculatorAndMaxNumberOfEntries(
+			PermissionRuleCalculator ruleCalculator, int maxNumberOfEntries) {
+		return new MemoizingPermissionRuleCalculator(ruleCalculator, maxNumberOfEntries);
+	}
+
+	private MemoizingPermissionRuleCalculator(PermissionRuleCalculator ruleCalculator,
+			int maxNumberOfEntries) {
+		this.ruleCalculator = ruleCalculator;
+		calculatedRules = new LruCache<>(maxNumberOfEntries);
+	}
+
+	@Override
+	public List<Rule> calculateRulesForActionAndRecordType(String action, String recordType) {
+		RequiredRulesKey key = new RequiredRulesKey(action, recordType, NO_PERMISSION_TERMS);
+		Optional<List<Rule>> cached = calculatedRules.get(key);
+		if (cached.isPresent()) {
+			return cached.get();
+		}
+		return cacheAndReturn(key,
+				ruleCalculator.calculateRulesForActionAndRecordType(action, recordType));
+	}
+
+	@Override
+	public List<Rule> calculateRulesForActionAndRecordTypeAndCollectedData(String action,
+			String recordType, List<PermissionTerm> permissionTerms) {
+		RequiredRulesKey key = new RequiredRulesKey(action, recordType,
+				PermissionTermFingerprint.usingPermissionTerms(permissionTerms));
+		Optional<List<Rule>> cached = calculatedRules.get(key);
+		if (cached.isPresent()) {
+			return cached.get();
+		}
+		return cacheAndReturn(key, ruleCalculator
+				.calculateRulesForActionAndRecordTypeAndCollectedData(action, recordType,
+						permissionTerms));
+	}
+
+	@Override
+	public Iterator<Rule> iterateRulesForActionAndRecordTypeAndCollectedData(String action,
+			String recordType, List<PermissionTerm> permissionTerms) {
+		RequiredRulesKey key = new RequiredRulesKey(action, recordType,
+				PermissionTermFingerprint.usingPermissionTerms(permissionTerms));
+		Optional<List<Rule>> cached = calculatedRules.get(key);
+		if (cached.isPresent()) {
+			return cached.get().iterator();
+		}
+		return new CachingIterator(key, ruleCalculator
+				.iterateRulesForActionAndRecordTypeAndCollectedData(action, recordType,
+						permissionTerms));
+	}
+
+	private List<Rule> cacheAndReturn(RequiredRulesKey key, List<Rule> rules) {
+		List<Rule> sharedRules = List.copyOf(rules);
+		calculatedRules.put(key, sharedRules);
+		return sharedRules;
+	}
+
+	public PermissionRuleCalculator onlyForTestGetRuleCalculator() {
+		return ruleCalculator;
+	}
+
+	public int onlyForTestGetMaxNumberOfEntries() {
+		return calculatedRules.onlyForTestGetMaxSize();
+	}
+
+	private final class CachingIterator implements Iterator<Rule> {
+		private RequiredRulesKey key;
+		private Iterator<Rule> rules;
+		private List<Rule> consumedRules = new ArrayList<>();
+
+		private CachingIterator(RequiredRulesKey key, Iterator<Rule> rules) {
+			this.key = key;
+			this.rules = rules;
+		}
+
+		@Override
+		public boolean hasNext() {
+			boolean hasNext = rules.hasNext();
+			if (!hasNext && consumedRules != null) {
+				cacheAndReturn(key, consumedRules);
+				consumedRules = null;
+			}
+			return hasNext;
+		}
+
+		@Override
+		public Rule next() {
+			Rule rule = rules.next();
+			consumedRules.add(rule);
+			return rule;
+		}
+	}
+
+	private record RequiredRulesKey(String action, String recordType,
+			PermissionTermFingerprint permissionTerms) {
+	}
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization;
+
+import se.uu.ub.cora.spider.cache.ChangeAwareCache;
+
+/**
+ * PermissionKeyTable is a process wide table used to resolve the id of a permission term
+ * (collectTerm) to the permissionKey set in the extraData of the collectTerm.
+ */
+public interface PermissionKeyTable extends ChangeAwareCache {
+
+	/**
+	 * getPermissionKey returns the permissionKey for the permission term with the specified id.
+	 * <p>
+	 * If the permission term does not exist in storage MUST the RecordNotFoundException from
+	 * storage be passed on.
+	 * 
+	 * @param permissionTermId
+	 *            A String with the id of the collectTerm to get the permissionKey for
+	 * @return A String with the permissionKey for the permission term
+	 */
+	String getPermissionKey(String permissionTermId);
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization;
+
+import se.uu.ub.cora.spider.authorization.internal.PermissionKeyTableImp;
+import se.uu.ub.cora.spider.cache.ProcessWideCache;
+import se.uu.ub.cora.storage.RecordStorage;
+
+/**
+ * PermissionKeyTableProvider provides the process wide {@link PermissionKeyTable}. The table is
+ * created on first use, using the record storage from the first caller.
+ * <p>
+ * The permissionKeys are loaded lazily by the table, on the first lookup of a permissionKey, and
+ * not when spider is started.
+ */
+public final class PermissionKeyTableProvider {
+	private static final ProcessWideCache<PermissionKeyTable> PROCESS_WIDE_CACHE = ProcessWideCache
+			.createdByCaller();
+
+	private PermissionKeyTableProvider() {
+		// not called
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * getPermissionKeyTableUsingRecordStorage returns the process wide {@link PermissionKeyTable}.
+	 * If the table has not yet been created is it created using the specified recordStorage.
+	 * 
+	 * @param recordStorage
+	 *            The RecordStorage to read collectTerms from if the table is created
+	 * @return The process wide {@link PermissionKeyTable}
+	 */
+	public static PermissionKeyTable getPermissionKeyTableUsingRecordStorage(
+			RecordStorage recordStorage) {
+		return PROCESS_WIDE_CACHE.getCacheUsingCacheFactory(
+				() -> PermissionKeyTableImp.usingRecordStorage(recordStorage));
+	}
+
+	/**
+	 * dataChanged informs the table that a record has changed, see
+	 * {@link PermissionKeyTable#dataChanged(String, String, String)}. Nothing is done if the table
+	 * has not yet been created.
+	 */
+	public static void dataChanged(String type, String id, String action) {
+		PROCESS_WIDE_CACHE.dataChanged(type, id, action);
+	}
+
+	public static void onlyForTestSetPermissionKeyTable(PermissionKeyTable permissionKeyTable) {
+		PROCESS_WIDE_CACHE.onlyForTestSetCache(permissionKeyTable);
+	}
+}
@@ -19,6 +19,7 @@
 
 package se.uu.ub.cora.spider.authorization;
 
+import java.util.Iterator;
 import java.util.List;
 
 import se.uu.ub.cora.beefeater.authorization.Rule;
@@ -31,4 +32,22 @@ public interface PermissionRuleCalculator {
 	List<Rule> calculateRulesForActionAndRecordTypeAndCollectedData(String action,
 			String recordType, List<PermissionTerm> permissionTerms);
 
+	/**
+	 * iterateRulesForActionAndRecordTypeAndCollectedData returns the same required rules as
+	 * {@link #calculateRulesForActionAndRecordTypeAndCollectedData(String, String, List)}, but as
+	 * an Iterator where each rule is created first when it is requested. This makes it possible to
+	 * stop as soon as one required rule is satisfied, without creating all combinations of
+	 * permission term values.
+	 * 
+	 * @param action
+	 *            A String with the action
+	 * @param recordType
+	 *            A String with the recordType
+	 * @param permissionTerms
+	 *            A List of PermissionTerms collected from the data
+	 * @return An Iterator over the required rules
+	 */
+	Iterator<Rule> iterateRulesForActionAndRecordTypeAndCollectedData(String action,
+			String recordType, List<PermissionTerm> permissionTerms);
+
 }
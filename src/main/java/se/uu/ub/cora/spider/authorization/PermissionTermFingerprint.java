@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization;
+
+import java.util.Comparator;
+import java.util.List;
+
+import se.uu.ub.cora.data.collected.PermissionTerm;
+
+/**
+ * PermissionTermFingerprint is a value that is equal for all lists of permission terms that give
+ * the same authorization result. Authorization only depends on the permissionKey and value of the
+ * permission terms, so the id of the terms, their order and duplicates are not part of the
+ * fingerprint.
+ * <p>
+ * PermissionTermFingerprint is intended to be used as part of keys when remembering authorization
+ * results for records with the same permission terms.
+ */
+public record PermissionTermFingerprint(List<KeyAndValue> terms) {
+	private static final Comparator<KeyAndValue> TERM_ORDER = Comparator
+			.comparing(KeyAndValue::permissionKey).thenComparing(KeyAndValue::value);
+
+	public PermissionTermFingerprint {
+		terms = List.copyOf(terms);
+	}
+
+	public static PermissionTermFingerprint usingPermissionTerms(
+			List<PermissionTerm> permissionTerms) {
+		return new PermissionTermFingerprint(permissionTerms.stream()
+				.map(term -> new KeyAndValue(term.permissionKey(), term.value())).distinct()
+				.sorted(TERM_ORDER).toList());
+	}
+
+	public record KeyAndValue(String permissionKey, String value) {
+	}
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import se.uu.ub.cora.beefeater.authorization.Rule;
+
+/**
+ * ProvidedRules holds the rules provided to a user together with an index of the rules on their
+ * action and recordType rule parts. The index makes it possible to only hand the rules that can
+ * satisfy a set of required rules to the authorizator, instead of all rules the user has.
+ * <p>
+ * Rules that lack an action or recordType rule part, or that have a value containing a wildcard
+ * (*) for one of them, can not be indexed and are always returned as candidates.
+ * <p>
+ * The fingerprint of ProvidedRules is a String that is equal for all ProvidedRules with the same
+ * rules, regardless of the order of the rules, their rule parts and their values. The read and
+ * write recordPart permissions of the rules are part of the fingerprint.
+ * <p>
+ * ProvidedRules is immutable once created and can be shared between threads.
+ */
+public final class ProvidedRules {
+	private static final String ACTION = "action";
+	private static final String RECORD_TYPE = "recordType";
+	private static final String WILDCARD = "*";
+	private final List<Rule> rules;
+	private final Map<ActionAndRecordType, BitSet> indexedRules = new HashMap<>();
+	private final BitSet notIndexedRules = new BitSet();
+	private final String fingerprint;
+	private final boolean hasReadRecordPartPermissions;
+	private final boolean hasWriteRecordPartPermissions;
+
+	public static ProvidedRules indexRules(List<Rule> rules) {
+		return new ProvidedRules(rules);
+	}
+
+	private ProvidedRules(List<Rule> rules) {
+		this.rules = List.copyOf(rules);
+		for (int position = 0; position < this.rules.size(); position++) {
+			indexRuleAtPosition(position);
+		}
+		fingerprint = createFingerprint();
+		hasReadRecordPartPermissions = anyRuleHasPermissions(Rule::getReadRecordPartPermissions);
+		hasWriteRecordPartPermissions = anyRuleHasPermissions(
+				Rule::getWriteRecordPartPermissions);
+	}
+
+	private boolean anyRuleHasPermissions(Function<Rule, List<String>> getPermissions) {
+		return rules.stream().anyMatch(rule -> !getPermissions.apply(rule).isEmpty());
+	}
+
+	private String createFingerprint() {
+		return rules.stream().map(this::ruleAsString).distinct().sorted()
+				.collect(Collectors.joining("|"));
+	}
+
+	private String ruleAsString(Rule rule) {
+		String ruleParts = rule.keySet().stream().sorted()
+				.map(key -> key + "=" + getSortedValues(rule, key))
+				.collect(Collectors.joining(";"));
+		return ruleParts + "#read=" + sortAndJoin(rule.getReadRecordPartPermissions())
+				+ "#write=" + sortAndJoin(rule.getWriteRecordPartPermissions());
+	}
+
+	private String sortAndJoin(List<String> values) {
+		return values.stream().sorted().collect(Collectors.joining(","));
+	}
+
+	private String getSortedValues(Rule rule, String key) {
+		List<String> values = new ArrayList<>();
+		rule.getRulePartValuesForKey(key).iterator().forEachRemaining(values::add);
+		return sortAndJoin(values);
+	}
+
+	private void indexRuleAtPosition(int position) {
+		Rule rule = rules.get(position);
+		Optional<List<String>> actions = getIndexableValues(rule, ACTION);
+		Optional<List<String>> recordTypes = getIndexableValues(rule, RECORD_TYPE);
+		if (actions.isEmpty() || recordTypes.isEmpty()) {
+			notIndexedRules.set(position);
+			return;
+		}
+		for (ActionAndRecordType key : combine(actions.get(), recordTypes.get())) {
+			indexedRules.computeIfAbsent(key, k -> new BitSet()).set(position);
+		}
+	}
+
+	private Optional<List<String>> getIndexableValues(Rule rule, String key) {
+		if (!rule.keySet().contains(key)) {
+			return Optional.empty();
+		}
+		List<String> values = new ArrayList<>();
+		rule.getRulePartValuesForKey(key).iterator().forEachRemaining(values::add);
+		if (values.stream().anyMatch(value -> value.contains(WILDCARD))) {
+			return Optional.empty();
+		}
+		return Optional.of(values);
+	}
+
+	private List<ActionAndRecordType> combine(List<String> actions, List<String> recordTypes) {
+		List<ActionAndRecordType> keys = new ArrayList<>();
+		for (String action : actions) {
+			for (String recordType : recordTypes) {
+				keys.add(new ActionAndRecordType(action, recordType));
+			}
+		}
+		return keys;
+	}
+
+	/**
+	 * getRules returns all provided rules
+	 * 
+	 * @return An unmodifiable List with all provided rules
+	 */
+	public List<Rule> getRules() {
+		return rules;
+	}
+
+	/**
+	 * getCandidateRulesForRequiredRules returns the provided rules that might satisfy at least one
+	 * of the required rules, in the same order as they were provided. Provided rules that can not
+	 * satisfy any of the required rules, as they are for other actions or recordTypes, are left
+	 * out.
+	 * <p>
+	 * If a required rule lacks an action or recordType rule part, are all provided rules returned.
+	 * 
+	 * @param requiredRules
+	 *            A List of required rules
+	 * @return An unmodifiable List with the candidate rules
+	 */
+	public List<Rule> getCandidateRulesForRequiredRules(List<Rule> requiredRules) {
+		BitSet candidates = (BitSet) notIndexedRules.clone();
+		for (Rule requiredRule : requiredRules) {
+			Optional<List<String>> actions = getIndexableValues(requiredRule, ACTION);
+			Optional<List<String>> recordTypes = getIndexableValues(requiredRule, RECORD_TYPE);
+			if (actions.isEmpty() || recordTypes.isEmpty()) {
+				return rules;
+			}
+			addIndexedRulesToCandidates(candidates, combine(actions.get(), recordTypes.get()));
+		}
+		return candidates.stream().mapToObj(rules::get).toList();
+	}
+
+	/**
+	 * getFingerprint returns the fingerprint of the provided rules
+	 * 
+	 * @return A String that is equal for all ProvidedRules with the same rules
+	 */
+	public String getFingerprint() {
+		return fingerprint;
+	}
+
+	/**
+	 * hasReadRecordPartPermissions returns if any of the provided rules has read recordPart
+	 * permissions
+	 * 
+	 * @return A boolean, true if at least one rule has read recordPart permissions
+	 */
+	public boolean hasReadRecordPartPermissions() {
+		return hasReadRecordPartPermissions;
+	}
+
+	/**
+	 * hasWriteRecordPartPermissions returns if any of the provided rules has write recordPart
+	 * permissions
+	 * 
+	 * @return A boolean, true if at least one rule has write recordPart permissions
+	 */
+	public boolean hasWriteRecordPartPermissions() {
+		return hasWriteRecordPartPermissions;
+	}
+
+	private void addIndexedRulesToCandidates(BitSet candidates,
+			List<ActionAndRecordType> keys) {
+		for (ActionAndRecordType key : keys) {
+			BitSet rulesForKey = indexedRules.get(key);
+			if (rulesForKey != null) {
+				candidates.or(rulesForKey);
+			}
+		}
+	}
+
+	private record ActionAndRecordType(String action, String recordType) {
+	}
+}
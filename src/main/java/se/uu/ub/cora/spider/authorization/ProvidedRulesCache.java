@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.beefeater.authentication.User;
+import se.uu.ub.cora.beefeater.authorization.Rule;
+import se.uu.ub.cora.spider.cache.ChangeAwareCache;
+
+/**
+ * ProvidedRulesCache is a process wide cache of the rules provided to users through their roles.
+ */
+public interface ProvidedRulesCache extends ChangeAwareCache {
+
+	/**
+	 * getOrLoadProvidedRulesForUser returns the cached provided rules for the user, if the user is
+	 * cached with the same set of roles as the user currently has. If no such rules are cached is
+	 * the rulesLoader used to load the rules, and the loaded rules are indexed and cached before
+	 * they are returned.
+	 * <p>
+	 * The returned rules are shared between requests and MUST NOT be modified.
+	 * 
+	 * @param user
+	 *            The {@link User} to get provided rules for
+	 * @param rulesLoader
+	 *            A Supplier that loads the provided rules for the user from storage
+	 * @return The {@link ProvidedRules} for the user
+	 */
+	ProvidedRules getOrLoadProvidedRulesForUser(User user, Supplier<List<Rule>> rulesLoader);
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization;
+
+import se.uu.ub.cora.spider.authorization.internal.ProvidedRulesCacheImp;
+import se.uu.ub.cora.spider.cache.ProcessWideCache;
+
+/**
+ * ProvidedRulesCacheProvider provides the process wide {@link ProvidedRulesCache}. The cache is
+ * created on first use.
+ */
+public final class ProvidedRulesCacheProvider {
+	private static final int MAX_NUMBER_OF_CACHED_USERS = 10000;
+	private static final ProcessWideCache<ProvidedRulesCache> PROCESS_WIDE_CACHE = ProcessWideCache
+			.usingCacheFactory(
+					() -> ProvidedRulesCacheImp.usingMaxNumberOfUsers(MAX_NUMBER_OF_CACHED_USERS));
+
+	private ProvidedRulesCacheProvider() {
+		// not called
+		throw new UnsupportedOperationException();
+	}
+
+	public static ProvidedRulesCache getProvidedRulesCache() {
+		return PROCESS_WIDE_CACHE.getCache();
+	}
+
+	/**
+	 * dataChanged informs the cache that a record has changed, see
+	 * {@link ProvidedRulesCache#dataChanged(String, String, String)}. Nothing is done if the cache
+	 * has not yet been created.
+	 */
+	public static void dataChanged(String type, String id, String action) {
+		PROCESS_WIDE_CACHE.dataChanged(type, id, action);
+	}
+
+	public static void onlyForTestSetProvidedRulesCache(ProvidedRulesCache providedRulesCache) {
+		PROCESS_WIDE_CACHE.onlyForTestSetCache(providedRulesCache);
+	}
+}
@@ -19,111 +19,108 @@
 package se.uu.ub.cora.spider.authorization;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 import se.uu.ub.cora.beefeater.authorization.Rule;
 import se.uu.ub.cora.beefeater.authorization.RuleImp;
 import se.uu.ub.cora.beefeater.authorization.RulePartValuesImp;
 
-public final class RulesCreator {
+/**
+ * RulesCreator creates one rule for each combination of rule part values for the permission keys.
+ * <p>
+ * The rules are created lazily, one at a time, as the iterator returned from
+ * {@link #lazilyCreateRules(Map, List, List)} is consumed. This makes it possible to stop creating
+ * rules as soon as a rule is satisfied, instead of creating all combinations up front.
+ * <p>
+ * The rules are created in the order of the permission keys, where the values for the last
+ * permission key change the fastest.
+ */
+public final class RulesCreator implements Iterator<Rule> {
 
-	private Map<String, List<RulePartValuesImp>> sortedRulePartValues;
-	private List<String> remainingPermissionKeys;
-	private List<RulePart> collectedRuleParts;
-	private List<Rule> requiredRules = new ArrayList<>();
-	private String currentPermissionKey;
+	private List<RulePart> builtRuleParts;
+	private List<String> permissionKeys;
+	private List<List<RulePartValuesImp>> rulePartValuesForPermissionKeys = new ArrayList<>();
+	private int[] currentPositions;
+	private boolean moreRulesToCreate;
 
 	private RulesCreator(Map<String, List<RulePartValuesImp>> sortedRulePartValues,
-			List<RulePart> builtRuleParts) {
-		this.sortedRulePartValues = sortedRulePartValues;
-		this.collectedRuleParts = copyRuleParts(builtRuleParts);
+			List<String> permissionKeys, List<RulePart> builtRuleParts) {
+		this.builtRuleParts = copyRuleParts(builtRuleParts);
+		this.permissionKeys = List.copyOf(permissionKeys);
+		for (String permissionKey : permissionKeys) {
+			rulePartValuesForPermissionKeys.add(sortedRulePartValues.get(permissionKey));
+		}
+		currentPositions = new int[permissionKeys.size()];
+		moreRulesToCreate = allPermissionKeysHaveRulePartValues();
 	}
 
-	public static List<Rule> recursivelyCreateRules(
+	public static Iterator<Rule> lazilyCreateRules(
 			Map<String, List<RulePartValuesImp>> sortedRulePartValues, List<String> permissionKeys,
 			List<RulePart> builtRuleParts) {
-		RulesCreator instance = new RulesCreator(sortedRulePartValues, builtRuleParts);
-		return instance.recursivelyCreateRulesForPermissionKeysWithListOfRuleParts(permissionKeys);
-	}
-
-	private List<Rule> recursivelyCreateRulesForPermissionKeysWithListOfRuleParts(
-			List<String> permissionKeys) {
-		currentPermissionKey = getFirstKey(permissionKeys);
-		remainingPermissionKeys = copyListExcludingFirstKey(permissionKeys);
-
-		return recursivelyCreateRulesPartsForCurrentPermissionKey();
+		return new RulesCreator(sortedRulePartValues, permissionKeys, builtRuleParts);
 	}
 
-	private String getFirstKey(List<String> permissionKeys) {
-		return permissionKeys.get(0);
+	private boolean allPermissionKeysHaveRulePartValues() {
+		for (List<RulePartValuesImp> rulePartValues : rulePartValuesForPermissionKeys) {
+			if (rulePartValues.isEmpty()) {
+				return false;
+			}
+		}
+		return true;
 	}
 
-	private List<String> copyListExcludingFirstKey(List<String> permissionKeys) {
-		List<String> permissionKeysCopy = new ArrayList<>();
-		permissionKeysCopy.addAll(permissionKeys);
-		permissionKeysCopy.remove(0);
-		return permissionKeysCopy;
+	@Override
+	public boolean hasNext() {
+		return moreRulesToCreate;
 	}
 
-	private Rule createRuleFromListOfRuleParts(List<RulePart> builtRuleParts) {
-		Rule requiredRule = new RuleImp();
-		for (RulePart rulePart : builtRuleParts) {
-			requiredRule.addRulePart(rulePart.key, rulePart.rulePartValues);
+	@Override
+	public Rule next() {
+		if (!moreRulesToCreate) {
+			throw new NoSuchElementException("No more rules to create");
 		}
+		Rule requiredRule = createRuleFromListOfRuleParts(collectRulePartsForCurrentPositions());
+		moveToNextCombination();
 		return requiredRule;
 	}
 
-	private List<Rule> recursivelyCreateRulesPartsForCurrentPermissionKey() {
-
-		List<RulePartValuesImp> list = sortedRulePartValues.get(currentPermissionKey);
-		for (RulePartValuesImp rulePartValues : list) {
-			recursivelyCreateRulesForRulePartValues(rulePartValues);
+	private List<RulePart> collectRulePartsForCurrentPositions() {
+		List<RulePart> currentRuleParts = copyRuleParts(builtRuleParts);
+		for (int i = 0; i < permissionKeys.size(); i++) {
+			RulePartValuesImp rulePartValues = rulePartValuesForPermissionKeys.get(i)
+					.get(currentPositions[i]);
+			currentRuleParts
+					.add(RulePart.withKeyAndRulePartValues(permissionKeys.get(i), rulePartValues));
 		}
-		return copyRule(requiredRules);
-	}
-
-	private List<Rule> copyRule(List<Rule> rules) {
-		List<Rule> builtRuleParts = new ArrayList<>();
-		builtRuleParts.addAll(rules);
-		return builtRuleParts;
+		return currentRuleParts;
 	}
 
-	private void recursivelyCreateRulesForRulePartValues(RulePartValuesImp rulePartValues) {
-		List<RulePart> currentRuleParts = copyRuleParts(collectedRuleParts);
-		RulePart rulePart = RulePart.withKeyAndRulePartValues(currentPermissionKey, rulePartValues);
-		currentRuleParts.add(rulePart);
-
-		createRuleOrRecursivelyCreateRulesForRemainingPermissionKeys(currentRuleParts);
-	}
-
-	private void createRuleOrRecursivelyCreateRulesForRemainingPermissionKeys(
-			List<RulePart> currentRuleParts) {
-		if (handlingLastListOfRulePartValues()) {
-			createRuleForRuleParts(currentRuleParts);
-		} else {
-			recursivelyCreateRulesForRemainingPermissionKeys(currentRuleParts);
+	private Rule createRuleFromListOfRuleParts(List<RulePart> currentRuleParts) {
+		Rule requiredRule = new RuleImp();
+		for (RulePart rulePart : currentRuleParts) {
+			requiredRule.addRulePart(rulePart.key, rulePart.rulePartValues);
 		}
+		return requiredRule;
 	}
 
-	private void createRuleForRuleParts(List<RulePart> currentRuleParts) {
-		Rule requiredRule = createRuleFromListOfRuleParts(currentRuleParts);
-		requiredRules.add(requiredRule);
-	}
-
-	private void recursivelyCreateRulesForRemainingPermissionKeys(List<RulePart> currentRuleParts) {
-		requiredRules.addAll(RulesCreator.recursivelyCreateRules(sortedRulePartValues,
-				remainingPermissionKeys, currentRuleParts));
-	}
-
-	private boolean handlingLastListOfRulePartValues() {
-		return remainingPermissionKeys.isEmpty();
+	private void moveToNextCombination() {
+		for (int i = currentPositions.length - 1; i >= 0; i--) {
+			currentPositions[i]++;
+			if (currentPositions[i] < rulePartValuesForPermissionKeys.get(i).size()) {
+				return;
+			}
+			currentPositions[i] = 0;
+		}
+		moreRulesToCreate = false;
 	}
 
 	private List<RulePart> copyRuleParts(List<RulePart> builtRulePartsIn) {
-		List<RulePart> builtRuleParts = new ArrayList<>();
-		builtRuleParts.addAll(builtRulePartsIn);
-		return builtRuleParts;
+		List<RulePart> ruleParts = new ArrayList<>();
+		ruleParts.addAll(builtRulePartsIn);
+		return ruleParts;
 	}
 
 }
@@ -170,6 +170,54 @@ public interface SpiderAuthorizator {
 			User user, String action, String recordType, List<PermissionTerm> permissionTerms,
 			boolean calculateRecordPartPermissions);
 
+	/**
+	 * getActionsUserIsAuthorizedForOnRecordType is used to check several actions for a user on the
+	 * same recordType in one call. The result is the same as calling
+	 * {@link #userIsAuthorizedForActionOnRecordType(User, String, String)} for each action, but
+	 * implementations SHOULD only check that the user is active in storage and read the users rules
+	 * once.
+	 * 
+	 * @param user
+	 *            the logged in user (or guest)
+	 * @param actions
+	 *            the actions to check, such as create, list, etc.
+	 * @param recordType
+	 *            the recordType the user wants to perform the actions on
+	 * @return a Set with the actions the user is authorized for
+	 */
+	Set<String> getActionsUserIsAuthorizedForOnRecordType(User user, List<String> actions,
+			String recordType);
+
+	/**
+	 * getActionsUserIsAuthorizedForOnRecordTypeAndCollectedData is used to check several actions
+	 * for a user on the same recordType and collectedData in one call. The result is the same as
+	 * calling
+	 * {@link #checkGetUsersMatchedRecordPartPermissionsForActionOnRecordTypeAndCollectedData(User, String, String, List, boolean)}
+	 * for each action, but implementations SHOULD only check that the user is active in storage
+	 * and read the users rules once. Implementations SHOULD also stop at the first satisfied
+	 * required rule for actions where none of the users rules has recordPart permissions.
+	 * <p>
+	 * Actions the user is not authorized for are left out of the result, no
+	 * {@link AuthorizationException} is thrown for them. The recordPart permissions for each
+	 * authorized action are filtered in the same way as for
+	 * {@link #checkGetUsersMatchedRecordPartPermissionsForActionOnRecordTypeAndCollectedData(User, String, String, List, boolean)}.
+	 * <p>
+	 * If the user is not active MUST implementations throw an {@link AuthorizationException}
+	 * 
+	 * @param user
+	 *            the logged in user (or guest)
+	 * @param actions
+	 *            the actions to check, such as update, index, etc.
+	 * @param recordType
+	 *            the recordType the user wants to perform the actions on
+	 * @param permissionTerms
+	 *            the collectedData to use extend the access check with
+	 * @return an {@link AuthorizedActions} with the authorized actions and their recordPart
+	 *         permissions
+	 */
+	AuthorizedActions getActionsUserIsAuthorizedForOnRecordTypeAndCollectedData(User user,
+			List<String> actions, String recordType, List<PermissionTerm> permissionTerms);
+
 	/**
 	 * checkUserIsAuthorizedForPemissionUnit is supposed to wrap the method:
 	 * {@link Authorizator#getUserIsAuthorizedForPemissionUnit(User, String)} The implementation
@@ -197,4 +245,18 @@ public interface SpiderAuthorizator {
 	 */
 	boolean getUserIsAuthorizedForPemissionUnit(User user, String string);
 
+	/**
+	 * getProvidedRulesFingerprintForUser returns a fingerprint of the rules provided to the user.
+	 * Users with the same fingerprint have the same rules, and are given the same answers from the
+	 * methods in this interface that check rules. The fingerprint does not cover permissionUnits.
+	 * <p>
+	 * The fingerprint is intended to be used as part of keys when remembering results that depend
+	 * on what the user is authorized for, so that users with the same rules can share them.
+	 * 
+	 * @param user
+	 *            The {@link User} to get the fingerprint for
+	 * @return A String with the fingerprint of the rules provided to the user
+	 */
+	String getProvidedRulesFingerprintForUser(User user);
+
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization;
+
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.spider.cache.ChangeAwareCache;
+
+/**
+ * UserStatusCache is a process wide cache of the {@link UserStatus} of users, so that the user
+ * record does not have to be read from storage on every request to check that the user is active.
+ * <p>
+ * All statuses are cached, including {@link UserStatus#INACTIVE} and
+ * {@link UserStatus#NOT_FOUND}. Cached statuses expire after a configured time to live.
+ */
+public interface UserStatusCache extends ChangeAwareCache {
+
+	/**
+	 * getOrLoadUserStatus returns the cached status for the user, if a status is cached and has
+	 * not expired. If no such status is cached is the statusLoader used to load the status, and
+	 * the loaded status is cached before it is returned.
+	 * 
+	 * @param userId
+	 *            A String with the id of the user to get the status for
+	 * @param statusLoader
+	 *            A Supplier that loads the status of the user from storage
+	 * @return The {@link UserStatus} for the user
+	 */
+	UserStatus getOrLoadUserStatus(String userId, Supplier<UserStatus> statusLoader);
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization;
+
+import java.time.Duration;
+
+import se.uu.ub.cora.initialize.SettingsProvider;
+import se.uu.ub.cora.spider.authorization.internal.UserStatusCacheImp;
+import se.uu.ub.cora.spider.cache.ProcessWideCache;
+
+/**
+ * UserStatusCacheProvider provides the process wide {@link UserStatusCache}. The cache is created
+ * on first use.
+ * <p>
+ * The time to live for cached statuses is read from the setting
+ * userStatusCacheTimeToLiveInSeconds, if it is set, otherwise it is 60 seconds.
+ */
+public final class UserStatusCacheProvider {
+	static final String TIME_TO_LIVE_SETTING = "userStatusCacheTimeToLiveInSeconds";
+	private static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofSeconds(60);
+	private static final int MAX_NUMBER_OF_CACHED_USERS = 10000;
+	private static final ProcessWideCache<UserStatusCache> PROCESS_WIDE_CACHE = ProcessWideCache
+			.usingCacheFactory(() -> UserStatusCacheImp.usingMaxNumberOfUsersAndTimeToLive(
+					MAX_NUMBER_OF_CACHED_USERS, readTimeToLive()));
+
+	private UserStatusCacheProvider() {
+		// not called
+		throw new UnsupportedOperationException();
+	}
+
+	public static UserStatusCache getUserStatusCache() {
+		return PROCESS_WIDE_CACHE.getCache();
+	}
+
+	private static Duration readTimeToLive() {
+		try {
+			return Duration
+					.ofSeconds(Long.parseLong(SettingsProvider.getSetting(TIME_TO_LIVE_SETTING)));
+		} catch (Exception _) {
+			return DEFAULT_TIME_TO_LIVE;
+		}
+	}
+
+	/**
+	 * dataChanged informs the cache that a record has changed, see
+	 * {@link UserStatusCache#dataChanged(String, String, String)}. Nothing is done if the cache has
+	 * not yet been created.
+	 */
+	public static void dataChanged(String type, String id, String action) {
+		PROCESS_WIDE_CACHE.dataChanged(type, id, action);
+	}
+
+	public static void onlyForTestSetUserStatusCache(UserStatusCache userStatusCache) {
+		PROCESS_WIDE_CACHE.onlyForTestSetCache(userStatusCache);
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization.internal;
+
+import se.uu.ub.cora.spider.authorization.AuthorizationCheck;
+import se.uu.ub.cora.spider.authorization.AuthorizationMetrics;
+
+/**
+ * CheckMeasurement measures one authorization check and reports it to {@link AuthorizationMetrics}
+ * when it is finished. If metrics are not enabled is a shared measurement returned that does
+ * nothing, so that disabled metrics only cost a method call.
+ */
+final class CheckMeasurement {
+	private static final CheckMeasurement NOT_MEASURED = new CheckMeasurement(null, null, null);
+	private final AuthorizationMetrics metrics;
+	private final String action;
+	private final String recordType;
+	private final long startTime;
+	private int numberOfRequiredRules = 0;
+	private int numberOfScannedProvidedRules = 0;
+
+	static CheckMeasurement notMeasured() {
+		return NOT_MEASURED;
+	}
+
+	static CheckMeasurement start(AuthorizationMetrics metrics, String action,
+			String recordType) {
+		if (!metrics.isEnabled()) {
+			return NOT_MEASURED;
+		}
+		return new CheckMeasurement(metrics, action, recordType);
+	}
+
+	private CheckMeasurement(AuthorizationMetrics metrics, String action, String recordType) {
+		this.metrics = metrics;
+		this.action = action;
+		this.recordType = recordType;
+		startTime = metrics == null ? 0 : System.nanoTime();
+	}
+
+	void addRules(int requiredRules, int scannedProvidedRules) {
+		if (metrics != null) {
+			numberOfRequiredRules += requiredRules;
+			numberOfScannedProvidedRules += scannedProvidedRules;
+		}
+	}
+
+	boolean finish(boolean authorized) {
+		if (metrics != null) {
+			reportCheck(authorized, System.nanoTime() - startTime);
+		}
+		return authorized;
+	}
+
+	private void reportCheck(boolean authorized, long durationInNanos) {
+		AuthorizationCheck check = new AuthorizationCheck(action, recordType, authorized,
+				durationInNanos, numberOfRequiredRules, numberOfScannedProvidedRules);
+		metrics.authorizationChecked(check);
+		if (durationInNanos >= metrics.getSlowCheckThreshold().toNanos()) {
+			metrics.slowAuthorizationChecked(check);
+		}
+	}
+}
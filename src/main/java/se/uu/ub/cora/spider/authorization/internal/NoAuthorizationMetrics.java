@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization.internal;
+
+import java.time.Duration;
+
+import se.uu.ub.cora.spider.authorization.AuthorizationCheck;
+import se.uu.ub.cora.spider.authorization.AuthorizationMetrics;
+
+/**
+ * NoAuthorizationMetrics is used when no {@link AuthorizationMetrics} implementation is found. It
+ * is not enabled, so no checks are measured.
+ */
+public final class NoAuthorizationMetrics implements AuthorizationMetrics {
+
+	@Override
+	public boolean isEnabled() {
+		return false;
+	}
+
+	@Override
+	public Duration getSlowCheckThreshold() {
+		return Duration.ZERO;
+	}
+
+	@Override
+	public void authorizationChecked(AuthorizationCheck check) {
+		// metrics are not collected
+	}
+
+	@Override
+	public void slowAuthorizationChecked(AuthorizationCheck check) {
+		// metrics are not collected
+	}
+
+	@Override
+	public void cacheAccessed(String cacheName, boolean hit) {
+		// metrics are not collected
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization.internal;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import se.uu.ub.cora.data.DataGroup;
+import se.uu.ub.cora.data.DataRecordGroup;
+import se.uu.ub.cora.spider.authorization.PermissionKeyTable;
+import se.uu.ub.cora.storage.Filter;
+import se.uu.ub.cora.storage.RecordStorage;
+
+/**
+ * PermissionKeyTableImp loads the permissionKeys for all collectTerms in storage lazily, on the
+ * first lookup of a permissionKey, and not when the table is created.
+ * Permission terms not found in the table, such as terms created after the table was loaded, are
+ * read one by one from storage and added to the table.
+ * <p>
+ * A change to a collectTerm removes the permissionKey for that term, so that it is read again on
+ * next use. PermissionKeys read while a change is reported are not added to the table, as they
+ * might have been read from storage before the change was made. If a change is reported while all
+ * permissionKeys are loaded, is the load done again on next use.
+ * <p>
+ * Storage is never read while holding the lock of the table, so that a slow read does not block
+ * other requests. The table is published as a new map for each change, so that permissionKeys can
+ * be looked up without locking.
+ */
+public final class PermissionKeyTableImp implements PermissionKeyTable {
+	private static final String COLLECT_TERM = "collectTerm";
+	private static final String EXTRA_DATA = "extraData";
+	private static final String PERMISSION_KEY = "permissionKey";
+	private RecordStorage recordStorage;
+	private volatile Map<String, String> permissionKeys = Collections.emptyMap();
+	private volatile boolean allPermissionKeysLoaded = false;
+	private long generation = 0;
+
+	public static PermissionKeyTableImp usingRecordStorage(RecordStorage recordStorage) {
+		return new PermissionKeyTableImp(recordStorage);
+	}
+
+	private PermissionKeyTableImp(RecordStorage recordStorage) {
+		this.recordStorage = recordStorage;
+	}
+
+	@Override
+	public String getPermissionKey(String permissionTermId) {
+		if (!allPermissionKeysLoaded) {
+			loadAndPossiblyAddAllPermissionKeys();
+		}
+		String permissionKey = permissionKeys.get(permissionTermId);
+		if (permissionKey != null) {
+			return permissionKey;
+		}
+		return readAndPossiblyAddPermissionKey(permissionTermId);
+	}
+
+	private void loadAndPossiblyAddAllPermissionKeys() {
+		long generationBeforeLoad = getGeneration();
+		Map<String, String> loadedPermissionKeys = loadAllPermissionKeys();
+		addAllPermissionKeysIfNoChangeDuringLoad(loadedPermissionKeys, generationBeforeLoad);
+	}
+
+	private Map<String, String> loadAllPermissionKeys() {
+		Map<String, String> loadedPermissionKeys = new HashMap<>();
+		for (DataRecordGroup collectTerm : recordStorage.readList(COLLECT_TERM,
+				new Filter()).listOfDataRecordGroups) {
+			if (collectTermHasPermissionKey(collectTerm)) {
+				loadedPermissionKeys.put(collectTerm.getId(), extractPermissionKey(collectTerm));
+			}
+		}
+		return loadedPermissionKeys;
+	}
+
+	private boolean collectTermHasPermissionKey(DataRecordGroup collectTerm) {
+		return collectTerm.containsChildWithNameInData(EXTRA_DATA) && collectTerm
+				.getFirstGroupWithNameInData(EXTRA_DATA).containsChildWithNameInData(PERMISSION_KEY);
+	}
+
+	private String extractPermissionKey(DataRecordGroup collectTerm) {
+		DataGroup extraData = collectTerm.getFirstGroupWithNameInData(EXTRA_DATA);
+		return extraData.getFirstAtomicValueWithNameInData(PERMISSION_KEY);
+	}
+
+	private synchronized void addAllPermissionKeysIfNoChangeDuringLoad(
+			Map<String, String> loadedPermissionKeys, long generationBeforeLoad) {
+		if (generation == generationBeforeLoad) {
+			Map<String, String> newPermissionKeys = new HashMap<>(loadedPermissionKeys);
+			newPermissionKeys.putAll(permissionKeys);
+			permissionKeys = newPermissionKeys;
+			allPermissionKeysLoaded = true;
+		}
+	}
+
+	private String readAndPossiblyAddPermissionKey(String permissionTermId) {
+		long generationBeforeRead = getGeneration();
+		DataRecordGroup collectTerm = recordStorage.read(COLLECT_TERM, permissionTermId);
+		String permissionKey = extractPermissionKey(collectTerm);
+		addPermissionKeyIfNoChangeDuringRead(permissionTermId, permissionKey,
+				generationBeforeRead);
+		return permissionKey;
+	}
+
+	private synchronized long getGeneration() {
+		return generation;
+	}
+
+	private synchronized void addPermissionKeyIfNoChangeDuringRead(String permissionTermId,
+			String permissionKey, long generationBeforeRead) {
+		if (generation == generationBeforeRead) {
+			Map<String, String> newPermissionKeys = new HashMap<>(permissionKeys);
+			newPermissionKeys.put(permissionTermId, permissionKey);
+			permissionKeys = newPermissionKeys;
+		}
+	}
+
+	@Override
+	public synchronized void dataChanged(String type, String id, String action) {
+		if (COLLECT_TERM.equals(type)) {
+			generation++;
+			removePermissionKey(id);
+		}
+	}
+
+	private void removePermissionKey(String permissionTermId) {
+		Map<String, String> newPermissionKeys = new HashMap<>(permissionKeys);
+		newPermissionKeys.remove(permissionTermId);
+		permissionKeys = newPermissionKeys;
+	}
+
+	public RecordStorage onlyForTestGetRecordStorage() {
+		return recordStorage;
+	}
+
+	Map<String, String> onlyForTestGetPermissionKeys() {
+		return permissionKeys;
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization.internal;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.beefeater.authentication.User;
+import se.uu.ub.cora.beefeater.authorization.Rule;
+import se.uu.ub.cora.spider.authorization.ProvidedRules;
+import se.uu.ub.cora.spider.authorization.ProvidedRulesCache;
+import se.uu.ub.cora.spider.cache.GenerationGuardedCache;
+
+/**
+ * ProvidedRulesCacheImp keeps the provided rules for the most recently used users in a size
+ * bounded cache.
+ * <p>
+ * A change to a user record removes the cached rules for that user. As there is no cheap way to
+ * know which users are affected by a change to a permissionRole, permissionRule or collectTerm
+ * record, are all cached rules removed when one of those changes.
+ */
+public final class ProvidedRulesCacheImp implements ProvidedRulesCache {
+	private static final Set<String> TYPES_AFFECTING_ALL_USERS = Set.of("permissionRole",
+			"permissionRule", "collectTerm");
+	private GenerationGuardedCache<String, CachedProvidedRules> cachedRules;
+
+	public static ProvidedRulesCacheImp usingMaxNumberOfUsers(int maxNumberOfUsers) {
+		return new ProvidedRulesCacheImp(maxNumberOfUsers);
+	}
+
+	private ProvidedRulesCacheImp(int maxNumberOfUsers) {
+		cachedRules = GenerationGuardedCache.usingMaxSize(maxNumberOfUsers);
+	}
+
+	@Override
+	public ProvidedRules getOrLoadProvidedRulesForUser(User user,
+			Supplier<List<Rule>> rulesLoader) {
+		Set<String> roles = Set.copyOf(user.roles);
+		Optional<CachedProvidedRules> cached = cachedRules.get(user.id);
+		if (cached.isPresent() && cached.get().roles().equals(roles)) {
+			return cached.get().rules();
+		}
+		return cachedRules.loadAndPossiblyCache(user.id,
+				() -> ProvidedRules.indexRules(rulesLoader.get()),
+				rules -> new CachedProvidedRules(roles, rules));
+	}
+
+	@Override
+	public void dataChanged(String type, String id, String action) {
+		if ("user".equals(type)) {
+			cachedRules.remove(id);
+		}
+		if (TYPES_AFFECTING_ALL_USERS.contains(type)) {
+			cachedRules.clear();
+		}
+	}
+
+	private record CachedProvidedRules(Set<String> roles, ProvidedRules rules) {
+	}
+
+	public GenerationGuardedCache<String, ?> onlyForTestGetCachedRules() {
+		return cachedRules;
+	}
+}
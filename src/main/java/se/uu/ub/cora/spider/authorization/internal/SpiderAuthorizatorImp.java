@@ -24,9 +24,13 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import se.uu.ub.cora.beefeater.Authorizator;
 import se.uu.ub.cora.beefeater.authentication.User;
@@ -36,8 +40,15 @@ import se.uu.ub.cora.data.DataAtomic;
 import se.uu.ub.cora.data.DataGroup;
 import se.uu.ub.cora.data.collected.PermissionTerm;
 import se.uu.ub.cora.spider.authorization.AuthorizationException;
+import se.uu.ub.cora.spider.authorization.AuthorizationMetrics;
+import se.uu.ub.cora.spider.authorization.AuthorizedActions;
+import se.uu.ub.cora.spider.authorization.PermissionKeyTable;
 import se.uu.ub.cora.spider.authorization.PermissionRuleCalculator;
+import se.uu.ub.cora.spider.authorization.ProvidedRules;
+import se.uu.ub.cora.spider.authorization.ProvidedRulesCache;
 import se.uu.ub.cora.spider.authorization.SpiderAuthorizator;
+import se.uu.ub.cora.spider.authorization.UserStatus;
+import se.uu.ub.cora.spider.authorization.UserStatusCache;
 import se.uu.ub.cora.spider.dependency.SpiderDependencyProvider;
 import se.uu.ub.cora.spider.role.RulesProvider;
 import se.uu.ub.cora.storage.RecordNotFoundException;
@@ -46,14 +57,17 @@ import se.uu.ub.cora.storage.RecordStorage;
 public final class SpiderAuthorizatorImp implements SpiderAuthorizator {
 
 	private static final String USER_STRING = "user with id ";
+	private static final String PROVIDED_RULES_CACHE = "providedRules";
+	private static final String USER_STATUS_CACHE = "userStatus";
 	private Authorizator beefeaterAuthorizator;
 	private PermissionRuleCalculator ruleCalculator;
 	private RulesProvider rulesProvider;
 	private RecordStorage recordStorage;
 	private SpiderDependencyProvider dependencyProvider;
-	Set<String> cachedActiveUsers = new HashSet<>();
-	Map<String, List<Rule>> cachedProvidedRulesForUser = new HashMap<>();
-	private List<Rule> matchedRules;
+	private ProvidedRulesCache providedRulesCache;
+	private PermissionKeyTable permissionKeyTable;
+	private UserStatusCache userStatusCache;
+	private AuthorizationMetrics metrics;
 
 	private SpiderAuthorizatorImp(SpiderDependencyProvider dependencyProvider,
 			Authorizator authorizator, RulesProvider rulesProvider) {
@@ -62,6 +76,10 @@ public final class SpiderAuthorizatorImp implements SpiderAuthorizator {
 		this.rulesProvider = rulesProvider;
 		ruleCalculator = dependencyProvider.getPermissionRuleCalculator();
 		recordStorage = dependencyProvider.getRecordStorage();
+		providedRulesCache = dependencyProvider.getProvidedRulesCache();
+		permissionKeyTable = dependencyProvider.getPermissionKeyTable();
+		userStatusCache = dependencyProvider.getUserStatusCache();
+		metrics = dependencyProvider.getAuthorizationMetrics();
 	}
 
 	public static SpiderAuthorizatorImp usingSpiderDependencyProviderAndAuthorizatorAndRulesProvider(
@@ -70,37 +88,61 @@ public final class SpiderAuthorizatorImp implements SpiderAuthorizator {
 		return new SpiderAuthorizatorImp(dependencyProvider, authorizator, rulesProvider);
 	}
 
-	private boolean userSatisfiesRequiredRules(User user, List<Rule> requiredRules) {
-		List<Rule> providedRules = getActiveRulesForUser(user);
+	private boolean userSatisfiesRequiredRules(CheckMeasurement check, UserRecordReader userReader,
+			List<Rule> requiredRules) {
+		return providedRulesSatisfiesRequiredRules(check, getActiveRulesForUser(userReader),
+				requiredRules);
+	}
 
-		return beefeaterAuthorizator.providedRulesSatisfiesRequiredRules(providedRules,
+	private boolean providedRulesSatisfiesRequiredRules(CheckMeasurement check,
+			ProvidedRules providedRules, List<Rule> requiredRules) {
+		List<Rule> candidateRules = getCandidateRules(check, providedRules, requiredRules);
+		return beefeaterAuthorizator.providedRulesSatisfiesRequiredRules(candidateRules,
 				requiredRules);
 	}
 
-	private List<Rule> getActiveRulesForUser(User user) {
-		List<Rule> cachedProvidedRules = cachedProvidedRulesForUser.get(user.id);
-		if (cachedProvidedRules != null) {
-			return cachedProvidedRules;
+	private List<Rule> getCandidateRules(CheckMeasurement check, ProvidedRules providedRules,
+			List<Rule> requiredRules) {
+		List<Rule> candidateRules = providedRules.getCandidateRulesForRequiredRules(requiredRules);
+		check.addRules(requiredRules.size(), candidateRules.size());
+		return candidateRules;
+	}
+
+	private ProvidedRules getActiveRulesForUser(UserRecordReader userReader) {
+		ProvidedRulesLoader rulesLoader = new ProvidedRulesLoader(userReader);
+		ProvidedRules providedRules = providedRulesCache
+				.getOrLoadProvidedRulesForUser(userReader.user, rulesLoader);
+		reportCacheAccess(PROVIDED_RULES_CACHE, rulesLoader.loadedFromStorage);
+		return providedRules;
+	}
+
+	private void reportCacheAccess(String cacheName, boolean loadedFromStorage) {
+		if (metrics.isEnabled()) {
+			metrics.cacheAccessed(cacheName, !loadedFromStorage);
 		}
-		return readProvidedRulesForUser(user);
 	}
 
-	private List<Rule> readProvidedRulesForUser(User user) {
+	private List<Rule> readProvidedRulesForUser(UserRecordReader userReader) {
 		List<Rule> providedRules = new ArrayList<>();
-		DataGroup userAsDataGroup = getUserAsDataGroup(user);
-		user.roles.forEach(roleId -> addRulesForRole(providedRules, roleId, userAsDataGroup));
-		cachedProvidedRulesForUser.put(user.id, providedRules);
+		DataGroup userAsDataGroup = getUserAsDataGroup(userReader);
+		userReader.user.roles
+				.forEach(roleId -> addRulesForRole(providedRules, roleId, userAsDataGroup));
 		return providedRules;
 	}
 
-	private DataGroup getUserAsDataGroup(User user) {
+	private DataGroup getUserAsDataGroup(UserRecordReader userReader) {
 		try {
-			return recordStorage.read(List.of("user"), user.id);
+			return userReader.read();
 		} catch (RecordNotFoundException e) {
-			throw new AuthorizationException(USER_STRING + user.id + " does not exist", e);
+			throw new AuthorizationException(
+					USER_STRING + userReader.user.id + " does not exist", e);
 		}
 	}
 
+	private DataGroup readUserFromStorage(User user) {
+		return recordStorage.read(List.of("user"), user.id);
+	}
+
 	private void addRulesForRole(List<Rule> providedRules, String roleId,
 			DataGroup userAsDataGroup) {
 		List<Rule> activeRulesFromRole = rulesProvider.getActiveRules(roleId);
@@ -173,7 +215,7 @@ public final class SpiderAuthorizatorImp implements SpiderAuthorizator {
 
 	private String getPermissionKeyUsingRulePart(DataGroup rulePart) {
 		String permissionTermId = extractPermissionTermId(rulePart);
-		return extractPermissionKey(permissionTermId);
+		return permissionKeyTable.getPermissionKey(permissionTermId);
 	}
 
 	private String extractPermissionTermId(DataGroup rulePart) {
@@ -181,31 +223,30 @@ public final class SpiderAuthorizatorImp implements SpiderAuthorizator {
 		return ruleGroup.getFirstAtomicValueWithNameInData("linkedRecordId");
 	}
 
-	private String extractPermissionKey(String permissionTermId) {
-		DataGroup collectPermissionTerm = recordStorage.read(List.of("collectTerm"),
-				permissionTermId);
-		DataGroup extraData = collectPermissionTerm.getFirstGroupWithNameInData("extraData");
-		return extraData.getFirstAtomicValueWithNameInData("permissionKey");
-	}
-
 	@Override
 	public boolean userIsAuthorizedForActionOnRecordType(User user, String action,
 			String recordType) {
-		checkUserIsActiveInStorage(user);
+		UserRecordReader userReader = new UserRecordReader(user);
+		checkUserIsActiveInStorage(userReader);
+		CheckMeasurement check = CheckMeasurement.start(metrics, action, recordType);
 		List<Rule> requiredRulesForActionAndRecordType = ruleCalculator
 				.calculateRulesForActionAndRecordType(action, recordType);
 
-		return userSatisfiesRequiredRules(user, requiredRulesForActionAndRecordType);
+		return check.finish(userSatisfiesRequiredRules(check, userReader,
+				requiredRulesForActionAndRecordType));
 	}
 
-	private void checkUserIsActiveInStorage(User user) {
-		if (!cachedActiveUsers.contains(user.id)) {
-			DataGroup dataGroupUser = getUserAsDataGroup(user);
-			if (userIsInactive(dataGroupUser)) {
-				throw new AuthorizationException(USER_STRING + user.id + " is inactive");
-			} else {
-				cachedActiveUsers.add(user.id);
-			}
+	private void checkUserIsActiveInStorage(UserRecordReader userReader) {
+		User user = userReader.user;
+		UserStatusLoader statusLoader = new UserStatusLoader(userReader);
+		UserStatus userStatus = userStatusCache.getOrLoadUserStatus(user.id, statusLoader);
+		reportCacheAccess(USER_STATUS_CACHE, statusLoader.loadedFromStorage);
+		if (UserStatus.NOT_FOUND == userStatus) {
+			throw new AuthorizationException(USER_STRING + user.id + " does not exist",
+					statusLoader.notFoundException);
+		}
+		if (UserStatus.INACTIVE == userStatus) {
+			throw new AuthorizationException(USER_STRING + user.id + " is inactive");
 		}
 	}
 
@@ -235,16 +276,37 @@ public final class SpiderAuthorizatorImp implements SpiderAuthorizator {
 	@Override
 	public boolean userIsAuthorizedForActionOnRecordTypeAndCollectedData(User user, String action,
 			String recordType, List<PermissionTerm> permissionTerms) {
-		checkUserIsActiveInStorage(user);
-		List<Rule> requiredRules = ruleCalculator
-				.calculateRulesForActionAndRecordTypeAndCollectedData(action, recordType,
+		UserRecordReader userReader = new UserRecordReader(user);
+		checkUserIsActiveInStorage(userReader);
+		CheckMeasurement check = CheckMeasurement.start(metrics, action, recordType);
+		Iterator<Rule> requiredRules = ruleCalculator
+				.iterateRulesForActionAndRecordTypeAndCollectedData(action, recordType,
 						permissionTerms);
 
-		List<Rule> providedRules = getActiveRulesForUser(user);
-		return beefeaterAuthorizator.providedRulesSatisfiesRequiredRules(providedRules,
+		return check.finish(userSatisfiesAnyOfRequiredRules(check, userReader, requiredRules));
+	}
+
+	private boolean userSatisfiesAnyOfRequiredRules(CheckMeasurement check,
+			UserRecordReader userReader, Iterator<Rule> requiredRules) {
+		return providedRulesSatisfiesAnyOfRequiredRules(check, getActiveRulesForUser(userReader),
 				requiredRules);
 	}
 
+	private boolean providedRulesSatisfiesAnyOfRequiredRules(CheckMeasurement check,
+			ProvidedRules providedRules, Iterator<Rule> requiredRules) {
+		while (requiredRules.hasNext()) {
+			if (providedRulesSatisfiesRequiredRule(check, providedRules, requiredRules.next())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean providedRulesSatisfiesRequiredRule(CheckMeasurement check,
+			ProvidedRules providedRules, Rule requiredRule) {
+		return providedRulesSatisfiesRequiredRules(check, providedRules, List.of(requiredRule));
+	}
+
 	public SpiderDependencyProvider getDependencyProvider() {
 		// needed for test
 		return dependencyProvider;
@@ -265,45 +327,57 @@ public final class SpiderAuthorizatorImp implements SpiderAuthorizator {
 			User user, String action, String recordType, List<PermissionTerm> permissionTerms,
 			boolean calculateRecordPartPermissions) {
 		if (calculateRecordPartPermissions) {
-			checkUserIsActiveInStorage(user);
-			tryToGetMatchedRules(user, action, recordType, permissionTerms);
-			if ("read".equals(action)) {
-				return collectReadRecordPartPermissions(recordType);
-			}
-			return collectWriteRecordPartPermissions(recordType);
+			UserRecordReader userReader = new UserRecordReader(user);
+			checkUserIsActiveInStorage(userReader);
+			CheckMeasurement check = CheckMeasurement.start(metrics, action, recordType);
+			List<Rule> matchedRules = tryToGetMatchedRules(check, userReader, action, recordType,
+					permissionTerms);
+			return collectRecordPartPermissions(action, recordType, matchedRules);
 		}
 		checkUserIsAuthorizedForActionOnRecordTypeAndCollectedData(user, action, recordType,
 				permissionTerms);
 		return Collections.emptySet();
 	}
 
-	private void tryToGetMatchedRules(User user, String action, String recordType,
-			List<PermissionTerm> permissionTerms) {
+	private List<Rule> tryToGetMatchedRules(CheckMeasurement check, UserRecordReader userReader,
+			String action, String recordType, List<PermissionTerm> permissionTerms) {
+		List<Rule> matchedRules = matchRulesForAction(check, getActiveRulesForUser(userReader),
+				action, recordType, permissionTerms);
+		check.finish(!matchedRules.isEmpty());
+		possiblyThrowAuthorizationExceptionWhenEmptyMatchedRules(matchedRules, userReader.user,
+				action, recordType);
+		return matchedRules;
+	}
+
+	private List<Rule> matchRulesForAction(CheckMeasurement check, ProvidedRules providedRules,
+			String action, String recordType, List<PermissionTerm> permissionTerms) {
 		List<Rule> requiredRules = ruleCalculator
 				.calculateRulesForActionAndRecordTypeAndCollectedData(action, recordType,
 						permissionTerms);
-		List<Rule> providedRules = getActiveRulesForUser(user);
-		matchRules(requiredRules, providedRules);
-		possiblyThrowAuthorizationExceptionWhenEmptyMatchedRules(user, action, recordType);
+		return beefeaterAuthorizator.providedRulesMatchRequiredRules(
+				getCandidateRules(check, providedRules, requiredRules), requiredRules);
 	}
 
-	private void matchRules(List<Rule> requiredRules, List<Rule> providedRules) {
-		matchedRules = beefeaterAuthorizator.providedRulesMatchRequiredRules(providedRules,
-				requiredRules);
-	}
-
-	private void possiblyThrowAuthorizationExceptionWhenEmptyMatchedRules(User user, String action,
-			String recordType) {
+	private void possiblyThrowAuthorizationExceptionWhenEmptyMatchedRules(List<Rule> matchedRules,
+			User user, String action, String recordType) {
 		if (matchedRules.isEmpty()) {
 			throw new AuthorizationException(USER_STRING + user.id + " is not authorized to "
 					+ action + " a record of type: " + recordType);
 		}
 	}
 
-	private Set<String> collectReadRecordPartPermissions(String recordType) {
+	private Set<String> collectRecordPartPermissions(String action, String recordType,
+			List<Rule> rules) {
+		if ("read".equals(action)) {
+			return collectReadRecordPartPermissions(recordType, rules);
+		}
+		return collectWriteRecordPartPermissions(recordType, rules);
+	}
+
+	private Set<String> collectReadRecordPartPermissions(String recordType, List<Rule> rules) {
 		Set<String> usersReadRecordPartPermissions = new HashSet<>();
 
-		for (Rule rule : matchedRules) {
+		for (Rule rule : rules) {
 			List<String> writeRecordPartPermissions = rule.getReadRecordPartPermissions();
 			addRecordPartsPermissions(recordType, usersReadRecordPartPermissions,
 					writeRecordPartPermissions);
@@ -335,10 +409,10 @@ public final class SpiderAuthorizatorImp implements SpiderAuthorizator {
 		}
 	}
 
-	private Set<String> collectWriteRecordPartPermissions(String recordType) {
+	private Set<String> collectWriteRecordPartPermissions(String recordType, List<Rule> rules) {
 		Set<String> usersWriteRecordPartPermissions = new HashSet<>();
 
-		for (Rule rule : matchedRules) {
+		for (Rule rule : rules) {
 			List<String> writeRecordPartPermissions = rule.getWriteRecordPartPermissions();
 			addRecordPartsPermissions(recordType, usersWriteRecordPartPermissions,
 					writeRecordPartPermissions);
@@ -346,6 +420,69 @@ public final class SpiderAuthorizatorImp implements SpiderAuthorizator {
 		return usersWriteRecordPartPermissions;
 	}
 
+	@Override
+	public Set<String> getActionsUserIsAuthorizedForOnRecordType(User user, List<String> actions,
+			String recordType) {
+		UserRecordReader userReader = new UserRecordReader(user);
+		checkUserIsActiveInStorage(userReader);
+		ProvidedRules providedRules = getActiveRulesForUser(userReader);
+		Set<String> authorizedActions = new LinkedHashSet<>();
+		for (String action : actions) {
+			CheckMeasurement check = CheckMeasurement.start(metrics, action, recordType);
+			List<Rule> requiredRules = ruleCalculator.calculateRulesForActionAndRecordType(action,
+					recordType);
+			if (check.finish(
+					providedRulesSatisfiesRequiredRules(check, providedRules, requiredRules))) {
+				authorizedActions.add(action);
+			}
+		}
+		return authorizedActions;
+	}
+
+	@Override
+	public AuthorizedActions getActionsUserIsAuthorizedForOnRecordTypeAndCollectedData(User user,
+			List<String> actions, String recordType, List<PermissionTerm> permissionTerms) {
+		UserRecordReader userReader = new UserRecordReader(user);
+		checkUserIsActiveInStorage(userReader);
+		ProvidedRules providedRules = getActiveRulesForUser(userReader);
+		Set<String> authorizedActions = new LinkedHashSet<>();
+		Map<String, Set<String>> recordPartPermissions = new HashMap<>();
+		for (String action : actions) {
+			CheckMeasurement check = CheckMeasurement.start(metrics, action, recordType);
+			Optional<Set<String>> permissionsForAction = getRecordPartPermissionsIfAuthorized(
+					check, providedRules, action, recordType, permissionTerms);
+			if (check.finish(permissionsForAction.isPresent())) {
+				authorizedActions.add(action);
+				recordPartPermissions.put(action, permissionsForAction.get());
+			}
+		}
+		return new AuthorizedActions(authorizedActions, recordPartPermissions);
+	}
+
+	private Optional<Set<String>> getRecordPartPermissionsIfAuthorized(CheckMeasurement check,
+			ProvidedRules providedRules, String action, String recordType,
+			List<PermissionTerm> permissionTerms) {
+		if (recordPartPermissionsAreNeeded(providedRules, action)) {
+			List<Rule> rulesForAction = matchRulesForAction(check, providedRules, action,
+					recordType, permissionTerms);
+			return rulesForAction.isEmpty() ? Optional.empty()
+					: Optional.of(collectRecordPartPermissions(action, recordType, rulesForAction));
+		}
+		Iterator<Rule> requiredRules = ruleCalculator
+				.iterateRulesForActionAndRecordTypeAndCollectedData(action, recordType,
+						permissionTerms);
+		return providedRulesSatisfiesAnyOfRequiredRules(check, providedRules, requiredRules)
+				? Optional.of(Collections.emptySet())
+				: Optional.empty();
+	}
+
+	private boolean recordPartPermissionsAreNeeded(ProvidedRules providedRules, String action) {
+		if ("read".equals(action)) {
+			return providedRules.hasReadRecordPartPermissions();
+		}
+		return providedRules.hasWriteRecordPartPermissions();
+	}
+
 	@Override
 	public void checkUserIsAuthorizedForPemissionUnit(User user, String recordPermissionUnit) {
 		boolean isAuthorized = beefeaterAuthorizator.getUserIsAuthorizedForPemissionUnit(user,
@@ -363,8 +500,65 @@ public final class SpiderAuthorizatorImp implements SpiderAuthorizator {
 				recordPermissionUnit);
 	}
 
-	List<Rule> onlyForTestGetMatchedRules() {
-		return matchedRules;
+	@Override
+	public String getProvidedRulesFingerprintForUser(User user) {
+		return getActiveRulesForUser(new UserRecordReader(user)).getFingerprint();
 	}
 
+	/**
+	 * UserRecordReader reads the user record for one check at most once, so that the user status
+	 * and the provided rules can both be loaded from the same read when neither is cached.
+	 */
+	private final class UserRecordReader {
+		private final User user;
+		private DataGroup userAsDataGroup;
+
+		UserRecordReader(User user) {
+			this.user = user;
+		}
+
+		DataGroup read() {
+			if (userAsDataGroup == null) {
+				userAsDataGroup = readUserFromStorage(user);
+			}
+			return userAsDataGroup;
+		}
+	}
+
+	private final class ProvidedRulesLoader implements Supplier<List<Rule>> {
+		private final UserRecordReader userReader;
+		private boolean loadedFromStorage = false;
+
+		ProvidedRulesLoader(UserRecordReader userReader) {
+			this.userReader = userReader;
+		}
+
+		@Override
+		public List<Rule> get() {
+			loadedFromStorage = true;
+			return readProvidedRulesForUser(userReader);
+		}
+	}
+
+	private final class UserStatusLoader implements Supplier<UserStatus> {
+		private final UserRecordReader userReader;
+		private boolean loadedFromStorage = false;
+		private RecordNotFoundException notFoundException;
+
+		UserStatusLoader(UserRecordReader userReader) {
+			this.userReader = userReader;
+		}
+
+		@Override
+		public UserStatus get() {
+			loadedFromStorage = true;
+			try {
+				DataGroup dataGroupUser = userReader.read();
+				return userIsInactive(dataGroupUser) ? UserStatus.INACTIVE : UserStatus.ACTIVE;
+			} catch (RecordNotFoundException e) {
+				notFoundException = e;
+				return UserStatus.NOT_FOUND;
+			}
+		}
+	}
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization.internal;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.spider.authorization.UserStatus;
+import se.uu.ub.cora.spider.authorization.UserStatusCache;
+import se.uu.ub.cora.spider.cache.GenerationGuardedCache;
+
+/**
+ * UserStatusCacheImp keeps the status for the most recently used users in a size bounded cache.
+ * A cached status is used until its time to live has passed, or until the user record is changed.
+ */
+public final class UserStatusCacheImp implements UserStatusCache {
+	private GenerationGuardedCache<String, CachedUserStatus> cachedStatuses;
+	private Duration timeToLive;
+	private Clock clock = Clock.systemUTC();
+
+	public static UserStatusCacheImp usingMaxNumberOfUsersAndTimeToLive(int maxNumberOfUsers,
+			Duration timeToLive) {
+		return new UserStatusCacheImp(maxNumberOfUsers, timeToLive);
+	}
+
+	private UserStatusCacheImp(int maxNumberOfUsers, Duration timeToLive) {
+		this.timeToLive = timeToLive;
+		cachedStatuses = GenerationGuardedCache.usingMaxSize(maxNumberOfUsers);
+	}
+
+	@Override
+	public UserStatus getOrLoadUserStatus(String userId, Supplier<UserStatus> statusLoader) {
+		Optional<CachedUserStatus> cached = cachedStatuses.get(userId);
+		if (cached.isPresent() && cached.get().expires().isAfter(clock.instant())) {
+			return cached.get().status();
+		}
+		return cachedStatuses.loadAndPossiblyCache(userId, statusLoader,
+				status -> new CachedUserStatus(status, clock.instant().plus(timeToLive)));
+	}
+
+	@Override
+	public void dataChanged(String type, String id, String action) {
+		if ("user".equals(type)) {
+			cachedStatuses.remove(id);
+		}
+	}
+
+	private record CachedUserStatus(UserStatus status, Instant expires) {
+	}
+
+	GenerationGuardedCache<String, ?> onlyForTestGetCachedStatuses() {
+		return cachedStatuses;
+	}
+
+	public Duration onlyForTestGetTimeToLive() {
+		return timeToLive;
+	}
+
+	void onlyForTestSetClock(Clock clock) {
+		this.clock = clock;
+	}
+}
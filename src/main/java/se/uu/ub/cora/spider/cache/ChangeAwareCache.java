@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.cache;
+
+/**
+ * ChangeAwareCache is implemented by the process wide caches in spider, that must be informed when
+ * a record has changed, so that cached data that might be affected by the change can be removed.
+ * <p>
+ * Implementations MUST be thread safe, as one instance is shared between all requests. Most
+ * implementations in spider keep their entries in a {@link GenerationGuardedCache}, which explains
+ * why entries loaded while a change is reported are not cached.
+ */
+public interface ChangeAwareCache {
+
+	/**
+	 * dataChanged is used to inform the cache that a record has changed, so that cached data that
+	 * might be affected by the change can be removed.
+	 * 
+	 * @param type
+	 *            A String with the type of the record that has been changed
+	 * @param id
+	 *            A String with the id of the record that has been changed
+	 * @param action
+	 *            A String with the action used to change the record
+	 */
+	void dataChanged(String type, String id, String action);
+}
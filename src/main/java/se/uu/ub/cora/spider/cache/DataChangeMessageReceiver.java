@@ -26,6 +26,14 @@ import se.uu.ub.cora.logger.Logger;
 import se.uu.ub.cora.logger.LoggerProvider;
 import se.uu.ub.cora.messaging.MessageReceiver;
 import se.uu.ub.cora.messaging.MessagingProvider;
+import se.uu.ub.cora.spider.authorization.PermissionKeyTableProvider;
+import se.uu.ub.cora.spider.authorization.ProvidedRulesCacheProvider;
+import se.uu.ub.cora.spider.authorization.UserStatusCacheProvider;
+import se.uu.ub.cora.spider.linkplan.LinkPlanCacheProvider;
+import se.uu.ub.cora.spider.recordtype.RecordTypeHandlerCacheProvider;
+import se.uu.ub.cora.spider.role.RoleRulesCacheProvider;
+import se.uu.ub.cora.spider.searchdefinition.SearchDefinitionCacheProvider;
+import se.uu.ub.cora.spider.searchresult.SearchResultCacheProvider;
 import se.uu.ub.cora.storage.RecordStorageProvider;
 
 public class DataChangeMessageReceiver implements MessageReceiver {
@@ -40,6 +48,14 @@ public class DataChangeMessageReceiver implements MessageReceiver {
 		if (messageSentFromAnotherInstance(headers)) {
 			tryToUpdateCachedRecordStorageData(type, id, action);
 		}
+		PermissionKeyTableProvider.dataChanged(type, id, action);
+		RoleRulesCacheProvider.dataChanged(type, id, action);
+		ProvidedRulesCacheProvider.dataChanged(type, id, action);
+		UserStatusCacheProvider.dataChanged(type, id, action);
+		RecordTypeHandlerCacheProvider.dataChanged(type, id, action);
+		LinkPlanCacheProvider.dataChanged(type, id, action);
+		SearchDefinitionCacheProvider.dataChanged(type, id, action);
+		SearchResultCacheProvider.dataChanged(type, id, action);
 		if ("metadata".equals(type)) {
 			MetadataHolderProvider.dataChanged(id, action);
 		}
@@ -26,6 +26,14 @@ import se.uu.ub.cora.messaging.AmqpMessageSenderRoutingInfo;
 import se.uu.ub.cora.messaging.MessageRoutingInfo;
 import se.uu.ub.cora.messaging.MessageSender;
 import se.uu.ub.cora.messaging.MessagingProvider;
+import se.uu.ub.cora.spider.authorization.PermissionKeyTableProvider;
+import se.uu.ub.cora.spider.authorization.ProvidedRulesCacheProvider;
+import se.uu.ub.cora.spider.authorization.UserStatusCacheProvider;
+import se.uu.ub.cora.spider.linkplan.LinkPlanCacheProvider;
+import se.uu.ub.cora.spider.recordtype.RecordTypeHandlerCacheProvider;
+import se.uu.ub.cora.spider.role.RoleRulesCacheProvider;
+import se.uu.ub.cora.spider.searchdefinition.SearchDefinitionCacheProvider;
+import se.uu.ub.cora.spider.searchresult.SearchResultCacheProvider;
 
 public class DataChangedSenderImp implements DataChangedSender {
 	public static DataChangedSender create() {
@@ -34,12 +42,24 @@ public class DataChangedSenderImp implements DataChangedSender {
 
 	@Override
 	public void sendDataChanged(String type, String id, String action) {
+		updateLocalCaches(type, id, action);
 		MessageSender sender = getMessageSenderUsingExchange(type);
 		Map<String, Object> headers = crateHeadersMap(type, id, action);
 
 		sender.sendMessage(headers, "");
 	}
 
+	private void updateLocalCaches(String type, String id, String action) {
+		PermissionKeyTableProvider.dataChanged(type, id, action);
+		RoleRulesCacheProvider.dataChanged(type, id, action);
+		ProvidedRulesCacheProvider.dataChanged(type, id, action);
+		UserStatusCacheProvider.dataChanged(type, id, action);
+		RecordTypeHandlerCacheProvider.dataChanged(type, id, action);
+		LinkPlanCacheProvider.dataChanged(type, id, action);
+		SearchDefinitionCacheProvider.dataChanged(type, id, action);
+		SearchResultCacheProvider.dataChanged(type, id, action);
+	}
+
 	private MessageSender getMessageSenderUsingExchange(String routingKey) {
 		MessageRoutingInfo messageRoutingInfo = createRoutingInfoFromSettingsProvider(routingKey);
 		return MessagingProvider.getTopicMessageSender(messageRoutingInfo);
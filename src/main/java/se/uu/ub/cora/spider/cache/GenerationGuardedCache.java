@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.cache;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * GenerationGuardedCache is a thread safe key value cache, that does not cache values loaded while
+ * entries are removed, as such values might have been read from storage before the change that
+ * caused the removal was made.
+ * <p>
+ * Every removal increases a generation counter. The generation is read before a value is loaded and
+ * the loaded value is only cached if the generation is unchanged when the load is done.
+ * <p>
+ * GenerationGuardedCache is intended to be used as the storage part of the process wide caches in
+ * spider, that are informed about changed records through dataChanged.
+ */
+public final class GenerationGuardedCache<K, V> {
+	private LruCache<K, V> entries;
+	private long generation = 0;
+
+	/**
+	 * usingMaxSize creates a cache that evicts the least recently used entry when more than
+	 * maxSize entries are cached.
+	 */
+	public static <K, V> GenerationGuardedCache<K, V> usingMaxSize(int maxSize) {
+		return new GenerationGuardedCache<>(maxSize);
+	}
+
+	/**
+	 * unbounded creates a cache without size limit, for caches where the number of possible keys is
+	 * limited by the metadata in the system.
+	 */
+	public static <K, V> GenerationGuardedCache<K, V> unbounded() {
+		return new GenerationGuardedCache<>(Integer.MAX_VALUE);
+	}
+
+	private GenerationGuardedCache(int maxSize) {
+		entries = new LruCache<>(maxSize);
+	}
+
+	public Optional<V> get(K key) {
+		return entries.get(key);
+	}
+
+	/**
+	 * getOrLoad returns the cached value for the key. If no value is cached is the loader used to
+	 * load one, and the loaded value is cached, if nothing was removed during the load, before it
+	 * is returned.
+	 */
+	public V getOrLoad(K key, Supplier<V> loader) {
+		Optional<V> cached = get(key);
+		if (cached.isPresent()) {
+			return cached.get();
+		}
+		return loadAndPossiblyCache(key, loader, Function.identity());
+	}
+
+	/**
+	 * loadAndPossiblyCache uses the loader to load a value and returns it. The entry created from
+	 * the loaded value using entryCreator is cached, if nothing was removed during the load.
+	 */
+	public <R> R loadAndPossiblyCache(K key, Supplier<R> loader, Function<R, V> entryCreator) {
+		long generationBeforeLoad = getGeneration();
+		R loaded = loader.get();
+		cacheIfNoChangeDuringLoad(key, entryCreator.apply(loaded), generationBeforeLoad);
+		return loaded;
+	}
+
+	private synchronized long getGeneration() {
+		return generation;
+	}
+
+	private synchronized void cacheIfNoChangeDuringLoad(K key, V entry,
+			long generationBeforeLoad) {
+		if (generation == generationBeforeLoad) {
+			entries.put(key, entry);
+		}
+	}
+
+	public synchronized void remove(K key) {
+		generation++;
+		entries.remove(key);
+	}
+
+	public synchronized void removeIf(BiPredicate<K, V> entryPredicate) {
+		generation++;
+		entries.removeIf(entryPredicate);
+	}
+
+	public synchronized void clear() {
+		generation++;
+		entries.clear();
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	public int onlyForTestGetMaxSize() {
+		return entries.onlyForTestGetMaxSize();
+	}
+
+	public Map<K, V> onlyForTestGetEntries() {
+		return entries.onlyForTestGetEntries();
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiPredicate;
+
+/**
+ * LruCache is a thread safe, size bounded key value cache. When the cache is full, the least
+ * recently used entry is evicted to make room for a new entry.
+ * <p>
+ * LruCache is intended to be used as the storage part of the process wide caches in spider, such
+ * as the caches of resolved authorization rules.
+ */
+public final class LruCache<K, V> {
+	private final int maxSize;
+	private final Map<K, V> entries;
+
+	public LruCache(int maxSize) {
+		this.maxSize = maxSize;
+		entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+				return size() > LruCache.this.maxSize;
+			}
+		};
+	}
+
+	public synchronized Optional<V> get(K key) {
+		return Optional.ofNullable(entries.get(key));
+	}
+
+	public synchronized void put(K key, V value) {
+		entries.put(key, value);
+	}
+
+	public synchronized void remove(K key) {
+		entries.remove(key);
+	}
+
+	public synchronized void removeIf(BiPredicate<K, V> entryPredicate) {
+		entries.entrySet().removeIf(entry -> entryPredicate.test(entry.getKey(), entry.getValue()));
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public int onlyForTestGetMaxSize() {
+		return maxSize;
+	}
+
+	public synchronized Map<K, V> onlyForTestGetEntries() {
+		return new LinkedHashMap<>(entries);
+	}
+}
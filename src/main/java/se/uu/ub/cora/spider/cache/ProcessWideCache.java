@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.cache;
+
+import java.util.function.Supplier;
+
+/**
+ * ProcessWideCache holds the process wide instance of a {@link ChangeAwareCache}, and is used by
+ * the static cache providers in spider. The cache is created using the cacheFactory on first use.
+ * <p>
+ * Caches that need resources from the caller to be created, such as a RecordStorage, use a
+ * ProcessWideCache from {@link #createdByCaller()} and get the cache using
+ * {@link #getCacheUsingCacheFactory(Supplier)}.
+ */
+public final class ProcessWideCache<C extends ChangeAwareCache> {
+	private Supplier<C> cacheFactory;
+	private C cache;
+
+	public static <C extends ChangeAwareCache> ProcessWideCache<C> usingCacheFactory(
+			Supplier<C> cacheFactory) {
+		return new ProcessWideCache<>(cacheFactory);
+	}
+
+	/**
+	 * createdByCaller returns a ProcessWideCache without a cacheFactory of its own. The cache MUST
+	 * be fetched using {@link #getCacheUsingCacheFactory(Supplier)}, so that the caller provides
+	 * the cacheFactory to use on first use.
+	 */
+	public static <C extends ChangeAwareCache> ProcessWideCache<C> createdByCaller() {
+		return new ProcessWideCache<>(null);
+	}
+
+	private ProcessWideCache(Supplier<C> cacheFactory) {
+		this.cacheFactory = cacheFactory;
+	}
+
+	public synchronized C getCache() {
+		return getCacheUsingCacheFactory(cacheFactory);
+	}
+
+	/**
+	 * getCacheUsingCacheFactory returns the cache in the same way as {@link #getCache()}, but uses
+	 * the specified cacheFactory if the cache has not yet been created. Once the cache is created
+	 * is the specified cacheFactory not used.
+	 */
+	public synchronized C getCacheUsingCacheFactory(Supplier<C> cacheFactory) {
+		if (cache == null) {
+			cache = cacheFactory.get();
+		}
+		return cache;
+	}
+
+	/**
+	 * dataChanged informs the cache that a record has changed, see
+	 * {@link ChangeAwareCache#dataChanged(String, String, String)}. Nothing is done if the cache
+	 * has not yet been created.
+	 */
+	public synchronized void dataChanged(String type, String id, String action) {
+		if (cache != null) {
+			cache.dataChanged(type, id, action);
+		}
+	}
+
+	public synchronized void onlyForTestSetCache(C cache) {
+		this.cache = cache;
+	}
+}
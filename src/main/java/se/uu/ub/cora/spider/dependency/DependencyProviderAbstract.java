@@ -39,9 +39,18 @@ import se.uu.ub.cora.bookkeeper.validator.DataValidator;
 import se.uu.ub.cora.bookkeeper.validator.DataValidatorFactory;
 import se.uu.ub.cora.bookkeeper.validator.DataValidatorFactoryImp;
 import se.uu.ub.cora.data.DataRecordGroup;
+import se.uu.ub.cora.spider.authorization.AuthorizationMetrics;
+import se.uu.ub.cora.spider.authorization.AuthorizationMetricsProvider;
 import se.uu.ub.cora.spider.authorization.BasePermissionRuleCalculator;
+import se.uu.ub.cora.spider.authorization.MemoizingPermissionRuleCalculator;
+import se.uu.ub.cora.spider.authorization.PermissionKeyTable;
+import se.uu.ub.cora.spider.authorization.PermissionKeyTableProvider;
 import se.uu.ub.cora.spider.authorization.PermissionRuleCalculator;
+import se.uu.ub.cora.spider.authorization.ProvidedRulesCache;
+import se.uu.ub.cora.spider.authorization.ProvidedRulesCacheProvider;
 import se.uu.ub.cora.spider.authorization.SpiderAuthorizator;
+import se.uu.ub.cora.spider.authorization.UserStatusCache;
+import se.uu.ub.cora.spider.authorization.UserStatusCacheProvider;
 import se.uu.ub.cora.spider.authorization.internal.SpiderAuthorizatorImp;
 import se.uu.ub.cora.spider.cache.DataChangedSender;
 import se.uu.ub.cora.spider.cache.DataChangedSenderImp;
@@ -49,11 +58,23 @@ import se.uu.ub.cora.spider.data.DataGroupToFilter;
 import se.uu.ub.cora.spider.data.internal.DataGroupToFilterImp;
 import se.uu.ub.cora.spider.extendedfunctionality.ExtendedFunctionalityProvider;
 import se.uu.ub.cora.spider.extendedfunctionality.internal.ExtendedFunctionalityInitializer;
+import se.uu.ub.cora.spider.linkplan.LinkPlan;
+import se.uu.ub.cora.spider.linkplan.LinkPlanBuilder;
+import se.uu.ub.cora.spider.linkplan.LinkPlanCache;
+import se.uu.ub.cora.spider.linkplan.LinkPlanCacheProvider;
 import se.uu.ub.cora.spider.record.DataGroupToRecordEnhancer;
 import se.uu.ub.cora.spider.record.RecordDecorator;
 import se.uu.ub.cora.spider.record.internal.DataGroupToRecordEnhancerImp;
 import se.uu.ub.cora.spider.record.internal.RecordDecoratorImp;
+import se.uu.ub.cora.spider.recordtype.RecordTypeHandlerCache;
+import se.uu.ub.cora.spider.recordtype.RecordTypeHandlerCacheProvider;
+import se.uu.ub.cora.spider.role.RoleRulesCacheProvider;
 import se.uu.ub.cora.spider.role.RulesProviderImp;
+import se.uu.ub.cora.spider.searchdefinition.SearchDefinition;
+import se.uu.ub.cora.spider.searchdefinition.SearchDefinitionCache;
+import se.uu.ub.cora.spider.searchdefinition.SearchDefinitionCacheProvider;
+import se.uu.ub.cora.spider.searchresult.SearchResultCache;
+import se.uu.ub.cora.spider.searchresult.SearchResultCacheProvider;
 import se.uu.ub.cora.spider.unique.UniqueValidator;
 import se.uu.ub.cora.spider.unique.UniqueValidatorImp;
 import se.uu.ub.cora.storage.RecordStorage;
@@ -66,9 +87,13 @@ import se.uu.ub.cora.storage.archive.ResourceArchive;
 import se.uu.ub.cora.storage.archive.ResourceArchiveProvider;
 
 public abstract class DependencyProviderAbstract implements SpiderDependencyProvider {
+	private static final int MAX_NUMBER_OF_CACHED_REQUIRED_RULES = 10000;
 	protected RecordArchiveProvider recordArchiveProvider;
 	protected StreamStorageProvider streamStorageProvider;
 	private ExtendedFunctionalityProvider extendedFunctionalityProvider;
+	private PermissionRuleCalculator permissionRuleCalculator = MemoizingPermissionRuleCalculator
+			.usingRuleCalculatorAndMaxNumberOfEntries(new BasePermissionRuleCalculator(),
+					MAX_NUMBER_OF_CACHED_REQUIRED_RULES);
 
 	protected DependencyProviderAbstract() {
 		readInitInfo();
@@ -124,7 +149,8 @@ public abstract class DependencyProviderAbstract implements SpiderDependencyProv
 	@Override
 	public SpiderAuthorizator getSpiderAuthorizator() {
 		return SpiderAuthorizatorImp.usingSpiderDependencyProviderAndAuthorizatorAndRulesProvider(
-				this, new AuthorizatorImp(), new RulesProviderImp(getRecordStorage()));
+				this, new AuthorizatorImp(), new RulesProviderImp(getRecordStorage(),
+						RoleRulesCacheProvider.getRoleRulesCache(), getPermissionKeyTable()));
 	}
 
 	@Override
@@ -154,7 +180,7 @@ public abstract class DependencyProviderAbstract implements SpiderDependencyProv
 
 	@Override
 	public PermissionRuleCalculator getPermissionRuleCalculator() {
-		return new BasePermissionRuleCalculator();
+		return permissionRuleCalculator;
 	}
 
 	@Override
@@ -177,8 +203,12 @@ public abstract class DependencyProviderAbstract implements SpiderDependencyProv
 
 	@Override
 	public RecordTypeHandler getRecordTypeHandler(String recordTypeId) {
-		RecordTypeHandlerFactory recordTypeHandlerFactory = createRecordTypeHandlerFactory();
-		return recordTypeHandlerFactory.factorUsingRecordTypeId(recordTypeId);
+		return getRecordTypeHandlerCache().getOrLoadUsingRecordTypeId(recordTypeId,
+				() -> createRecordTypeHandlerFactory().factorUsingRecordTypeId(recordTypeId));
+	}
+
+	RecordTypeHandlerCache getRecordTypeHandlerCache() {
+		return RecordTypeHandlerCacheProvider.getRecordTypeHandlerCache();
 	}
 
 	RecordTypeHandlerFactory createRecordTypeHandlerFactory() {
@@ -188,8 +218,10 @@ public abstract class DependencyProviderAbstract implements SpiderDependencyProv
 	@Override
 	public RecordTypeHandler getRecordTypeHandlerUsingDataRecordGroup(
 			DataRecordGroup dataRecordGroup) {
-		RecordTypeHandlerFactory recordTypeHandlerFactory = createRecordTypeHandlerFactory();
-		return recordTypeHandlerFactory.factorUsingDataRecordGroup(dataRecordGroup);
+		return getRecordTypeHandlerCache().getOrLoadUsingRecordTypeIdAndValidationTypeId(
+				dataRecordGroup.getType(), dataRecordGroup.getValidationType(),
+				() -> createRecordTypeHandlerFactory()
+						.factorUsingDataRecordGroup(dataRecordGroup));
 	}
 
 	@Override
@@ -223,4 +255,51 @@ public abstract class DependencyProviderAbstract implements SpiderDependencyProv
 
 		return RecordDecoratorImp.usingDependencyProvider(this);
 	}
-}
\ No newline at end of file
+
+	@Override
+	public ProvidedRulesCache getProvidedRulesCache() {
+		return ProvidedRulesCacheProvider.getProvidedRulesCache();
+	}
+
+	@Override
+	public PermissionKeyTable getPermissionKeyTable() {
+		return PermissionKeyTableProvider
+				.getPermissionKeyTableUsingRecordStorage(getRecordStorage());
+	}
+
+	@Override
+	public UserStatusCache getUserStatusCache() {
+		return UserStatusCacheProvider.getUserStatusCache();
+	}
+
+	@Override
+	public AuthorizationMetrics getAuthorizationMetrics() {
+		return AuthorizationMetricsProvider.getAuthorizationMetrics();
+	}
+
+	@Override
+	public LinkPlan getLinkPlan(String definitionId) {
+		return getLinkPlanCache().getOrLoadLinkPlan(definitionId, () -> LinkPlanBuilder
+				.usingRecordStorage(getRecordStorage()).buildForDefinitionId(definitionId));
+	}
+
+	LinkPlanCache getLinkPlanCache() {
+		return LinkPlanCacheProvider.getLinkPlanCache();
+	}
+
+	@Override
+	public SearchDefinition getSearchDefinition(String searchId) {
+		return getSearchDefinitionCache().getOrLoadSearchDefinition(searchId,
+				() -> SearchDefinition
+						.usingSearchRecordGroup(getRecordStorage().read("search", searchId)));
+	}
+
+	SearchDefinitionCache getSearchDefinitionCache() {
+		return SearchDefinitionCacheProvider.getSearchDefinitionCache();
+	}
+
+	@Override
+	public SearchResultCache getSearchResultCache() {
+		return SearchResultCacheProvider.getSearchResultCache();
+	}
+}
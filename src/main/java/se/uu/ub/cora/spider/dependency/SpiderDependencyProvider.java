@@ -29,13 +29,20 @@ import se.uu.ub.cora.data.DataRecordGroup;
 import se.uu.ub.cora.search.RecordIndexer;
 import se.uu.ub.cora.search.RecordSearch;
 import se.uu.ub.cora.spider.authentication.Authenticator;
+import se.uu.ub.cora.spider.authorization.AuthorizationMetrics;
+import se.uu.ub.cora.spider.authorization.PermissionKeyTable;
 import se.uu.ub.cora.spider.authorization.PermissionRuleCalculator;
+import se.uu.ub.cora.spider.authorization.ProvidedRulesCache;
 import se.uu.ub.cora.spider.authorization.SpiderAuthorizator;
+import se.uu.ub.cora.spider.authorization.UserStatusCache;
 import se.uu.ub.cora.spider.cache.DataChangedSender;
 import se.uu.ub.cora.spider.data.DataGroupToFilter;
 import se.uu.ub.cora.spider.extendedfunctionality.ExtendedFunctionalityProvider;
+import se.uu.ub.cora.spider.linkplan.LinkPlan;
 import se.uu.ub.cora.spider.record.DataGroupToRecordEnhancer;
 import se.uu.ub.cora.spider.record.RecordDecorator;
+import se.uu.ub.cora.spider.searchdefinition.SearchDefinition;
+import se.uu.ub.cora.spider.searchresult.SearchResultCache;
 import se.uu.ub.cora.spider.unique.UniqueValidator;
 import se.uu.ub.cora.storage.RecordStorage;
 import se.uu.ub.cora.storage.StreamStorage;
@@ -120,4 +127,67 @@ public interface SpiderDependencyProvider {
 	 */
 	RecordDecorator getRecordDecorator();
 
+	/**
+	 * getProvidedRulesCache method returns the process wide {@link ProvidedRulesCache}, the same
+	 * instance is returned for each call.
+	 * 
+	 * @return The process wide {@link ProvidedRulesCache}
+	 */
+	ProvidedRulesCache getProvidedRulesCache();
+
+	/**
+	 * getPermissionKeyTable method returns the process wide {@link PermissionKeyTable}, the same
+	 * instance is returned for each call. The table reads collectTerms using the RecordStorage from
+	 * {@link #getRecordStorage()}.
+	 * 
+	 * @return The process wide {@link PermissionKeyTable}
+	 */
+	PermissionKeyTable getPermissionKeyTable();
+
+	/**
+	 * getUserStatusCache method returns the process wide {@link UserStatusCache}, the same instance
+	 * is returned for each call.
+	 * 
+	 * @return The process wide {@link UserStatusCache}
+	 */
+	UserStatusCache getUserStatusCache();
+
+	/**
+	 * getAuthorizationMetrics method returns the process wide {@link AuthorizationMetrics}, the
+	 * same instance is returned for each call.
+	 * 
+	 * @return The process wide {@link AuthorizationMetrics}
+	 */
+	AuthorizationMetrics getAuthorizationMetrics();
+
+	/**
+	 * getLinkPlan method returns the {@link LinkPlan} for data created from the metadata group with
+	 * the specified id. Plans are kept in a process wide cache, so the same plan is returned for
+	 * each call until the metadata changes.
+	 * 
+	 * @param definitionId
+	 *            A String with the id of the metadata group to get a plan for
+	 * @return The {@link LinkPlan} for the definition
+	 */
+	LinkPlan getLinkPlan(String definitionId);
+
+	/**
+	 * getSearchDefinition method returns the {@link SearchDefinition} for the search record with
+	 * the specified id. Definitions are kept in a process wide cache, so the same definition is
+	 * returned for each call until the search record changes.
+	 * 
+	 * @param searchId
+	 *            A String with the id of the search to get a definition for
+	 * @return The {@link SearchDefinition} for the search
+	 */
+	SearchDefinition getSearchDefinition(String searchId);
+
+	/**
+	 * getSearchResultCache method returns the process wide {@link SearchResultCache}, the same
+	 * instance is returned for each call.
+	 * 
+	 * @return The process wide {@link SearchResultCache}
+	 */
+	SearchResultCache getSearchResultCache();
+
 }
\ No newline at end of file
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.linkplan;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import se.uu.ub.cora.data.DataChild;
+
+/**
+ * LinkPlan describes where in data, created from a definition, record links and resource links can
+ * occur. It is used to only visit the parts of the data that can contain links, when walking
+ * through the data to handle its links.
+ * <p>
+ * A LinkPlan for a group holds the nameInData of its children that are links or groups that can
+ * contain links, and a LinkPlan for each such child group. Children of a group are matched on
+ * nameInData only, so children with the same nameInData but different attributes share a plan.
+ * <p>
+ * A LinkPlan created using {@link #visitAll()} visits all children at all levels, and is used when
+ * no plan could be created from metadata.
+ * <p>
+ * LinkPlan is immutable once created and can be shared between threads.
+ */
+public final class LinkPlan {
+	private static final LinkPlan VISIT_ALL = new LinkPlan(true, Collections.emptySet(),
+			Collections.emptyMap());
+	private static final LinkPlan NO_LINKS = new LinkPlan(false, Collections.emptySet(),
+			Collections.emptyMap());
+	private final boolean visitAll;
+	private final Set<String> linkNames;
+	private final Map<String, LinkPlan> childGroupPlans;
+
+	public static LinkPlan visitAll() {
+		return VISIT_ALL;
+	}
+
+	public static LinkPlan noLinks() {
+		return NO_LINKS;
+	}
+
+	public static LinkPlan usingLinkNamesAndChildGroupPlans(Set<String> linkNames,
+			Map<String, LinkPlan> childGroupPlans) {
+		Map<String, LinkPlan> childGroupsWithLinks = new HashMap<>(childGroupPlans);
+		childGroupsWithLinks.values().removeIf(plan -> !plan.mayContainLinks());
+		return new LinkPlan(false, linkNames, childGroupsWithLinks);
+	}
+
+	private LinkPlan(boolean visitAll, Set<String> linkNames,
+			Map<String, LinkPlan> childGroupPlans) {
+		this.visitAll = visitAll;
+		this.linkNames = Set.copyOf(linkNames);
+		this.childGroupPlans = Map.copyOf(childGroupPlans);
+	}
+
+	/**
+	 * mayContainLinks returns true if data described by this plan can contain links
+	 * 
+	 * @return A boolean, true if links can occur in the data
+	 */
+	public boolean mayContainLinks() {
+		return visitAll || !linkNames.isEmpty() || !childGroupPlans.isEmpty();
+	}
+
+	/**
+	 * shouldVisitChild returns true if the child is a link or a group that can contain links, and
+	 * therefor needs to be visited.
+	 * 
+	 * @param dataChild
+	 *            A DataChild in the data described by this plan
+	 * @return A boolean, true if the child needs to be visited
+	 */
+	public boolean shouldVisitChild(DataChild dataChild) {
+		if (visitAll) {
+			return true;
+		}
+		String nameInData = dataChild.getNameInData();
+		return linkNames.contains(nameInData) || childGroupPlans.containsKey(nameInData);
+	}
+
+	/**
+	 * getPlanForChildGroup returns the plan to use for a child group of the data described by this
+	 * plan.
+	 * 
+	 * @param childGroup
+	 *            A DataChild that is a group in the data described by this plan
+	 * @return The LinkPlan for the child group, a plan without links if no links can occur in the
+	 *         child group
+	 */
+	public LinkPlan getPlanForChildGroup(DataChild childGroup) {
+		if (visitAll) {
+			return this;
+		}
+		return childGroupPlans.getOrDefault(childGroup.getNameInData(), NO_LINKS);
+	}
+
+	/**
+	 * combine returns a plan that visits everything that this plan and the other plan visits. It is
+	 * used when children with the same nameInData are defined by different metadata groups.
+	 * 
+	 * @param other
+	 *            The LinkPlan to combine with this plan
+	 * @return A LinkPlan visiting the children visited by both plans
+	 */
+	public LinkPlan combine(LinkPlan other) {
+		if (visitAll || other.visitAll) {
+			return VISIT_ALL;
+		}
+		Set<String> combinedLinkNames = new HashSet<>(linkNames);
+		combinedLinkNames.addAll(other.linkNames);
+		Map<String, LinkPlan> combinedChildGroupPlans = new HashMap<>(childGroupPlans);
+		other.childGroupPlans.forEach(
+				(nameInData, plan) -> combinedChildGroupPlans.merge(nameInData, plan,
+						LinkPlan::combine));
+		return new LinkPlan(false, combinedLinkNames, combinedChildGroupPlans);
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.linkplan;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import se.uu.ub.cora.data.DataChild;
+import se.uu.ub.cora.data.DataGroup;
+import se.uu.ub.cora.data.DataRecordGroup;
+import se.uu.ub.cora.data.DataRecordLink;
+import se.uu.ub.cora.logger.Logger;
+import se.uu.ub.cora.logger.LoggerProvider;
+import se.uu.ub.cora.storage.RecordNotFoundException;
+import se.uu.ub.cora.storage.RecordStorage;
+
+/**
+ * LinkPlanBuilder creates {@link LinkPlan}s from the metadata groups stored in recordStorage.
+ * <p>
+ * Children of type recordLink and resourceLink are added as links, and children of type group are
+ * added as child groups with their own plan. Children of other types can not contain links and are
+ * left out of the plan.
+ * <p>
+ * If a metadata group is used recursively below itself, is the recursive child visited completely.
+ * If metadata used by the definition is missing in storage, is a warning logged and a plan visiting
+ * all children returned. Other errors are passed on.
+ * <p>
+ * A LinkPlanBuilder remembers the metadata it has read and the plans for the groups it has built,
+ * and is intended to be used for one definition and then thrown away.
+ */
+public final class LinkPlanBuilder {
+	private static final String METADATA = "metadata";
+	private static final String GROUP = "group";
+	private static final Set<String> LINK_TYPES = Set.of("recordLink", "resourceLink");
+	private final RecordStorage recordStorage;
+	private Map<String, DataRecordGroup> readMetadata = new HashMap<>();
+	private Map<String, LinkPlan> builtPlans = new HashMap<>();
+	private Set<String> groupsBeingBuilt = new HashSet<>();
+
+	public static LinkPlanBuilder usingRecordStorage(RecordStorage recordStorage) {
+		return new LinkPlanBuilder(recordStorage);
+	}
+
+	private LinkPlanBuilder(RecordStorage recordStorage) {
+		this.recordStorage = recordStorage;
+	}
+
+	/**
+	 * buildForDefinitionId creates the {@link LinkPlan} for data created from the metadata group
+	 * with the specified id.
+	 * 
+	 * @param definitionId
+	 *            A String with the id of the metadata group to create a plan for
+	 * @return The created {@link LinkPlan}, or a plan visiting all children if metadata used by
+	 *         the definition is missing
+	 */
+	public LinkPlan buildForDefinitionId(String definitionId) {
+		try {
+			return buildPlanForGroupId(definitionId);
+		} catch (RecordNotFoundException e) {
+			logMissingMetadata(definitionId, e);
+			return LinkPlan.visitAll();
+		}
+	}
+
+	private void logMissingMetadata(String definitionId, RecordNotFoundException e) {
+		Logger log = LoggerProvider.getLoggerForClass(LinkPlanBuilder.class);
+		log.logWarnUsingMessage("Metadata missing when creating link plan for definition: "
+				+ definitionId + ", all children will be visited. " + e.getMessage());
+	}
+
+	private LinkPlan buildPlanForGroupId(String groupId) {
+		if (builtPlans.containsKey(groupId)) {
+			return builtPlans.get(groupId);
+		}
+		if (groupsBeingBuilt.contains(groupId)) {
+			return LinkPlan.visitAll();
+		}
+		groupsBeingBuilt.add(groupId);
+		LinkPlan plan = buildPlanForGroup(readMetadata(groupId));
+		groupsBeingBuilt.remove(groupId);
+		builtPlans.put(groupId, plan);
+		return plan;
+	}
+
+	private LinkPlan buildPlanForGroup(DataRecordGroup metadataGroup) {
+		Set<String> linkNames = new HashSet<>();
+		Map<String, LinkPlan> childGroupPlans = new HashMap<>();
+		DataGroup childReferences = (DataGroup) metadataGroup
+				.getFirstChildWithNameInData("childReferences");
+		for (DataChild childReference : childReferences.getChildren()) {
+			String childId = getChildIdFromChildReference(childReference);
+			addChildToPlan(linkNames, childGroupPlans, childId);
+		}
+		return LinkPlan.usingLinkNamesAndChildGroupPlans(linkNames, childGroupPlans);
+	}
+
+	private String getChildIdFromChildReference(DataChild childReference) {
+		DataRecordLink ref = ((DataGroup) childReference)
+				.getFirstChildOfTypeAndName(DataRecordLink.class, "ref");
+		return ref.getLinkedRecordId();
+	}
+
+	private void addChildToPlan(Set<String> linkNames, Map<String, LinkPlan> childGroupPlans,
+			String childId) {
+		DataRecordGroup childMetadata = readMetadata(childId);
+		String type = getType(childMetadata);
+		String nameInData = childMetadata.getFirstAtomicValueWithNameInData("nameInData");
+		if (LINK_TYPES.contains(type)) {
+			linkNames.add(nameInData);
+		} else if (GROUP.equals(type)) {
+			childGroupPlans.merge(nameInData, buildPlanForGroupId(childId), LinkPlan::combine);
+		}
+	}
+
+	private DataRecordGroup readMetadata(String id) {
+		return readMetadata.computeIfAbsent(id,
+				metadataId -> recordStorage.read(METADATA, metadataId));
+	}
+
+	private String getType(DataRecordGroup metadata) {
+		Optional<String> type = metadata.getAttributeValue("type");
+		return type.orElse("");
+	}
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.linkplan;
+
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.spider.cache.ChangeAwareCache;
+
+/**
+ * LinkPlanCache is a process wide cache of {@link LinkPlan}s, so that plans do not have to be
+ * created from metadata for every request.
+ */
+public interface LinkPlanCache extends ChangeAwareCache {
+
+	/**
+	 * getOrLoadLinkPlan returns the cached {@link LinkPlan} for the definition. If no plan is
+	 * cached for the definition is the planLoader used to create one, and the created plan is
+	 * cached before it is returned.
+	 * 
+	 * @param definitionId
+	 *            A String with the id of the metadata group to get a plan for
+	 * @param planLoader
+	 *            A Supplier that creates the plan for the definition
+	 * @return The {@link LinkPlan} for the definition
+	 */
+	LinkPlan getOrLoadLinkPlan(String definitionId, Supplier<LinkPlan> planLoader);
+}
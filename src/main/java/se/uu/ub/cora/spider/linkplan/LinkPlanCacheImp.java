@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.linkplan;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.spider.cache.GenerationGuardedCache;
+
+/**
+ * LinkPlanCacheImp keeps the created {@link LinkPlan}s for all used definitions.
+ * <p>
+ * A plan depends on the metadata for the definition and all metadata groups below it. As a change
+ * to any metadata can change any plan, are all cached plans removed when metadata changes.
+ */
+public final class LinkPlanCacheImp implements LinkPlanCache {
+	private static final String METADATA = "metadata";
+	private GenerationGuardedCache<String, LinkPlan> plans = GenerationGuardedCache.unbounded();
+
+	@Override
+	public LinkPlan getOrLoadLinkPlan(String definitionId, Supplier<LinkPlan> planLoader) {
+		return plans.getOrLoad(definitionId, planLoader);
+	}
+
+	@Override
+	public void dataChanged(String type, String id, String action) {
+		if (METADATA.equals(type)) {
+			plans.clear();
+		}
+	}
+
+	Map<String, LinkPlan> onlyForTestGetPlans() {
+		return plans.onlyForTestGetEntries();
+	}
+}
@@ -19,13 +19,16 @@
 
 package se.uu.ub.cora.spider.record;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import se.uu.ub.cora.beefeater.authentication.User;
 import se.uu.ub.cora.bookkeeper.recordpart.DataRedactor;
 import se.uu.ub.cora.data.Action;
 import se.uu.ub.cora.data.DataRecord;
 import se.uu.ub.cora.data.DataRecordGroup;
+import se.uu.ub.cora.data.collected.CollectTerms;
 import se.uu.ub.cora.spider.authorization.AuthorizationException;
 import se.uu.ub.cora.spider.authorization.SpiderAuthorizator;
 
@@ -36,6 +39,13 @@ import se.uu.ub.cora.spider.authorization.SpiderAuthorizator;
  * DataRecordGroup when read access is required and
  * {@link #enhanceIgnoringReadAccess(User, String, DataRecordGroup, DataRedactor)} when the user
  * might not have read access, create etc.
+ * <p>
+ * When nothing in the record needs to be redacted for the user, is the given DataRecordGroup used
+ * in the returned DataRecord as it is, and the read actions are added to the links in it. The
+ * DataRecordGroup is handed over to the enhancer and callers should not use it after it is
+ * enhanced. This is safe for the callers in spider, as they enhance a DataRecordGroup read or
+ * created for the current request, as the last step before returning it, after it is stored and
+ * indexed.
  */
 public interface DataGroupToRecordEnhancer {
 	/**
@@ -90,6 +100,100 @@ public interface DataGroupToRecordEnhancer {
 	DataRecord enhance(User user, String recordType, DataRecordGroup dataRecordGroup,
 			DataRedactor dataRedactor);
 
+	/**
+	 * enhanceIfUserHasReadAccess converts a DataRecordGroup into a DataRecord in the same way as
+	 * {@link #enhance(User, String, DataRecordGroup, DataRedactor)}, except that an empty Optional
+	 * is returned instead of throwing an {@link AuthorizationException} if the User does not have
+	 * read access to the record. This method is intended to be used when enhancing many records,
+	 * such as the records in a list or search result, where records the user can not read are
+	 * left out.
+	 * <p>
+	 * Implementations SHOULD remember the authorization result for records with the same
+	 * recordType and permission terms, so that a page of records that share permission terms is
+	 * only authorized once per distinct combination. The same goes for the linked records, each
+	 * distinct linked record SHOULD only be read once and linked records with the same recordType
+	 * and permission terms SHOULD only be authorized once for the page.
+	 * 
+	 * @param user
+	 *            The User that will get the DataRecord
+	 * @param recordType
+	 *            A String with the records recordType, it must be the implementing recordType (not
+	 *            the abstract parent type if the recordType has a parent)
+	 * @param dataRecordGroup
+	 *            A DataRecordGroup with data to turn into a DataRecord
+	 * @param dataRedactor
+	 *            A DataRedactor to use when enhancing
+	 * @return An Optional with the enhanced DataRecord, or an empty Optional if the User does not
+	 *         have read access to the record
+	 */
+	Optional<DataRecord> enhanceIfUserHasReadAccess(User user, String recordType,
+			DataRecordGroup dataRecordGroup, DataRedactor dataRedactor);
+
+	/**
+	 * enhanceLean converts a DataRecordGroup into a DataRecord without adding actions, record part
+	 * permissions or read actions for links. It checks read access and redacts the
+	 * DataRecordGroup in the same way as
+	 * {@link #enhance(User, String, DataRecordGroup, DataRedactor)}, but skips the steps that only
+	 * decorate the record for a user interface, such as the lookup of incoming links and the
+	 * authorization of linked records.
+	 * <p>
+	 * This method is intended to be used for machine to machine reads, such as harvesting and
+	 * export, where the consumer only uses the data.
+	 * <p>
+	 * The implementations MUST throw an {@link AuthorizationException} if the user does NOT have
+	 * authorization to read the record.
+	 * 
+	 * @param user
+	 *            The User that will get the DataRecord
+	 * @param recordType
+	 *            A String with the records recordType, it must be the implementing recordType (not
+	 *            the abstract parent type if the recordType has a parent)
+	 * @param dataRecordGroup
+	 *            A DataRecordGroup with data to turn into a DataRecord
+	 * @param dataRedactor
+	 *            A DataRedactor to use when enhancing
+	 * @return A newly created DataRecord with the redacted DataRecordGroup
+	 */
+	DataRecord enhanceLean(User user, String recordType, DataRecordGroup dataRecordGroup,
+			DataRedactor dataRedactor);
+
+	/**
+	 * enhanceLeanIfUserHasReadAccess converts a DataRecordGroup into a DataRecord in the same way
+	 * as {@link #enhanceLean(User, String, DataRecordGroup, DataRedactor)}, except that an empty
+	 * Optional is returned instead of throwing an {@link AuthorizationException} if the User does
+	 * not have read access to the record.
+	 * 
+	 * @param user
+	 *            The User that will get the DataRecord
+	 * @param recordType
+	 *            A String with the records recordType, it must be the implementing recordType (not
+	 *            the abstract parent type if the recordType has a parent)
+	 * @param dataRecordGroup
+	 *            A DataRecordGroup with data to turn into a DataRecord
+	 * @param dataRedactor
+	 *            A DataRedactor to use when enhancing
+	 * @return An Optional with the DataRecord, or an empty Optional if the User does not have read
+	 *         access to the record
+	 */
+	Optional<DataRecord> enhanceLeanIfUserHasReadAccess(User user, String recordType,
+			DataRecordGroup dataRecordGroup, DataRedactor dataRedactor);
+
+	/**
+	 * prefetchIncomingLinksForRecords looks up if the specified records have incoming links before
+	 * they are enhanced. This method is intended to be called once for a page of records, such as
+	 * the records in a list or search result, before each record is enhanced with
+	 * {@link #enhanceIfUserHasReadAccess(User, String, DataRecordGroup, DataRedactor)}.
+	 * <p>
+	 * Implementations SHOULD look up the incoming links for each record once, and use the result
+	 * when the record is enhanced, instead of looking them up again. Records with the same type
+	 * and id are only looked up once. As storage has no call to look up incoming links for many
+	 * records at once, is one lookup made for each record in the page.
+	 * 
+	 * @param dataRecordGroups
+	 *            A Collection with the DataRecordGroups that will be enhanced
+	 */
+	void prefetchIncomingLinksForRecords(Collection<DataRecordGroup> dataRecordGroups);
+
 	/**
 	 * enhanceIgnoringReadAccess converts a DataRecordGroup into a DataRecord. It is very similar to
 	 * {@link #enhance(User, String, DataRecordGroup, DataRedactor)} except that it will complete
@@ -138,4 +242,35 @@ public interface DataGroupToRecordEnhancer {
 	DataRecord enhanceIgnoringReadAccess(User user, String recordType,
 			DataRecordGroup dataRecordGroup, DataRedactor dataRedactor);
 
-}
\ No newline at end of file
+	/**
+	 * enhanceIgnoringReadAccessUsingCollectedTerms converts a DataRecordGroup into a DataRecord in
+	 * the same way as
+	 * {@link #enhanceIgnoringReadAccess(User, String, DataRecordGroup, DataRedactor)} except that
+	 * the terms for the DataRecordGroup are not collected again, instead are the provided collected
+	 * terms used.
+	 * <p>
+	 * This method is intended to be used during actions such as create and update, where the terms
+	 * for the record already have been collected earlier in the action. The provided collected
+	 * terms MUST have been collected from the DataRecordGroup as it is when this method is called,
+	 * using the definition of the recordType. If the DataRecordGroup might have changed since the
+	 * terms were collected, use
+	 * {@link #enhanceIgnoringReadAccess(User, String, DataRecordGroup, DataRedactor)} instead.
+	 * 
+	 * @param user
+	 *            The User that will get the DataRecord
+	 * @param recordType
+	 *            A String with the records recordType, it must be the implementing recordType (not
+	 *            the abstract parent type if the recordType has a parent)
+	 * @param dataRecordGroup
+	 *            A DataRecordGroup with data to turn into a DataRecord
+	 * @param dataRedactor
+	 *            A DataRedactor to use when enhancing
+	 * @param collectedTerms
+	 *            The CollectTerms already collected from the DataRecordGroup
+	 * @return A newly created DataRecord constructed as discussed above
+	 */
+	DataRecord enhanceIgnoringReadAccessUsingCollectedTerms(User user, String recordType,
+			DataRecordGroup dataRecordGroup, DataRedactor dataRedactor,
+			CollectTerms collectedTerms);
+
+}
@@ -19,9 +19,70 @@
 
 package se.uu.ub.cora.spider.record;
 
+import java.util.stream.Stream;
+
 import se.uu.ub.cora.data.DataGroup;
 import se.uu.ub.cora.data.DataList;
+import se.uu.ub.cora.data.DataRecord;
 
 public interface RecordListReader {
 	DataList readRecordList(String authToken, String type, DataGroup filter);
+
+	/**
+	 * readRecordListLean reads a list of records in the same way as
+	 * {@link #readRecordList(String, String, DataGroup)} and with the same authorization checks and
+	 * redaction, but the records in the list have no actions, no record part permissions and no
+	 * read actions on their links. This is intended for machine to machine consumers, such as
+	 * harvesters and exports, that only use the data.
+	 * 
+	 * @param authToken
+	 *            String with the authToken of the caller.
+	 * @param type
+	 *            String with the recordType to list records for
+	 * @param filter
+	 *            {@link DataGroup} with the filter to use when listing
+	 * @return A DataList with the records the user is allowed to read
+	 */
+	DataList readRecordListLean(String authToken, String type, DataGroup filter);
+
+	/**
+	 * readRecordListCountOnly counts the records matching the filter, with the same authorization
+	 * checks and validation of the filter as {@link #readRecordList(String, String, DataGroup)},
+	 * but without reading or enhancing any records. This is intended for clients that only need
+	 * the total number of records, such as badges and pagination headers.
+	 * <p>
+	 * The returned list contains no records, has totalNo set to the number of matching records in
+	 * storage, and has fromNo and toNo set to 0.
+	 * 
+	 * @param authToken
+	 *            String with the authToken of the caller.
+	 * @param type
+	 *            String with the recordType to count records for
+	 * @param filter
+	 *            {@link DataGroup} with the filter to use when counting
+	 * @return A DataList without records, with totalNo set
+	 */
+	DataList readRecordListCountOnly(String authToken, String type, DataGroup filter);
+
+	/**
+	 * readRecordListAsStream reads a list of records in the same way as
+	 * {@link #readRecordList(String, String, DataGroup)}, but returns the records as a Stream. The
+	 * records are read from storage and enhanced in chunks while the stream is consumed, so that
+	 * large lists can be handled without keeping all records in memory at the same time. The size
+	 * of the chunks is read from the setting recordListStreamChunkSize, and defaults to 1000. If
+	 * the filter has no toNo are all matching records, from fromNo, returned in the stream.
+	 * <p>
+	 * Authentication, authorization and validation of the filter is done before the stream is
+	 * returned, so that errors for those are thrown from this method. As the stream does not know
+	 * the total number of matching records, no totalNo, fromNo or toNo is returned.
+	 * 
+	 * @param authToken
+	 *            String with the authToken of the caller.
+	 * @param type
+	 *            String with the recordType to list records for
+	 * @param filter
+	 *            {@link DataGroup} with the filter to use when listing
+	 * @return A Stream with the records the user is allowed to read
+	 */
+	Stream<DataRecord> readRecordListAsStream(String authToken, String type, DataGroup filter);
 }
@@ -35,4 +35,17 @@ public interface RecordReader {
 	 * @return
 	 */
 	DataRecord readRecord(String authToken, String type, String id);
+
+	/**
+	 * readRecordLean reads a record in the same way as {@link #readRecord(String, String, String)}
+	 * and with the same authorization checks and redaction, but the returned record has no
+	 * actions, no record part permissions and no read actions on its links. This is intended for
+	 * machine to machine consumers, such as harvesters and exports, that only use the data.
+	 * 
+	 * @param authToken
+	 * @param type
+	 * @param id
+	 * @return
+	 */
+	DataRecord readRecordLean(String authToken, String type, String id);
 }
@@ -38,4 +38,40 @@ public interface RecordSearcher {
 	 */
 	DataList search(String authToken, String searchId, DataGroup searchData);
 
+	/**
+	 * searchLean searches in the same way as {@link #search(String, String, DataGroup)} and with
+	 * the same authorization checks and redaction, but the records in the result have no actions,
+	 * no record part permissions and no read actions on their links. This is intended for machine
+	 * to machine consumers, such as harvesters and exports, that only use the data.
+	 * 
+	 * @param authToken
+	 *            String with the authToken of the caller.
+	 * @param searchId
+	 *            String with the id of the specific search metadata
+	 * @param searchData
+	 *            {@link DataGroup} containing the criteria of the search
+	 * @return List of {@link DataRecord} matching searchData.
+	 */
+	DataList searchLean(String authToken, String searchId, DataGroup searchData);
+
+	/**
+	 * searchCountOnly counts the records matching the search, with the same authorization checks
+	 * and validation of searchData as {@link #search(String, String, DataGroup)}, but without
+	 * returning or enhancing any records. This is intended for clients that only need the total
+	 * number of hits, such as badges and pagination headers.
+	 * <p>
+	 * The search is made with rows set to 0 in searchData, so that the search implementation only
+	 * has to count the matching records. The returned list contains no records, has totalNo set to
+	 * the number of matching records, and has fromNo and toNo set to 0.
+	 * 
+	 * @param authToken
+	 *            String with the authToken of the caller.
+	 * @param searchId
+	 *            String with the id of the specific search metadata
+	 * @param searchData
+	 *            {@link DataGroup} containing the criteria of the search
+	 * @return A DataList without records, with totalNo set
+	 */
+	DataList searchCountOnly(String authToken, String searchId, DataGroup searchData);
+
 }
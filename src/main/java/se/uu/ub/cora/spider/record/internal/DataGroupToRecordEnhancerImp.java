@@ -19,8 +19,11 @@
 
 package se.uu.ub.cora.spider.record.internal;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -42,32 +45,56 @@ import se.uu.ub.cora.data.DataRecordGroup;
 import se.uu.ub.cora.data.DataRecordLink;
 import se.uu.ub.cora.data.DataResourceLink;
 import se.uu.ub.cora.data.collected.CollectTerms;
+import se.uu.ub.cora.spider.authorization.AuthorizationException;
+import se.uu.ub.cora.spider.authorization.AuthorizedActions;
+import se.uu.ub.cora.spider.authorization.PermissionTermFingerprint;
 import se.uu.ub.cora.spider.authorization.SpiderAuthorizator;
 import se.uu.ub.cora.spider.dependency.SpiderDependencyProvider;
+import se.uu.ub.cora.spider.linkplan.LinkPlan;
 import se.uu.ub.cora.spider.record.DataException;
 import se.uu.ub.cora.spider.record.DataGroupToRecordEnhancer;
+import se.uu.ub.cora.spider.searchdefinition.SearchDefinition;
+import se.uu.ub.cora.storage.Link;
 import se.uu.ub.cora.storage.RecordNotFoundException;
 import se.uu.ub.cora.storage.RecordStorage;
 
+/**
+ * DataGroupToRecordEnhancerImp keeps the state for the record being enhanced in an
+ * {@link EnhanceContext} created for each call, and does not keep any such state in its own
+ * fields. The only state kept between calls is the remembered record type handlers, authorization
+ * results and prefetched incoming links, kept in plain maps with the user as part of the key where
+ * the result depends on the user.
+ * <p>
+ * An instance is request scoped and MUST only be used by one thread at a time, as the remembered
+ * results are kept in plain maps. Code that enhances records on several threads, such as
+ * {@link ParallelRecordEnhancer}, uses one instance per thread. The remembered results are not
+ * updated when data changes, an instance should therefore not be kept for longer than one request,
+ * and can not be shared between requests.
+ */
 public class DataGroupToRecordEnhancerImp implements DataGroupToRecordEnhancer {
 	private static final String SEARCH = "search";
-
-	private SpiderDependencyProvider dependencyProvider;
-	private SpiderAuthorizator spiderAuthorizator;
-	private RecordStorage recordStorage;
-	private DataGroupTermCollector termCollector;
-
-	private User user;
-	private String recordType;
-	private String handledRecordId;
-
-	private RecordTypeHandler recordTypeHandler;
-	private CollectTerms collectedTerms;
-	private Map<String, RecordTypeHandler> cachedRecordTypeHandlers = new HashMap<>();
-	private Map<String, Boolean> cachedAuthorizedToReadRecordLink = new HashMap<>();
-	private Set<String> readRecordPartPermissions = Collections.emptySet();
-	private Set<String> writeRecordPartPermissions = Collections.emptySet();
-	private boolean addActionRead = true;
+	private static final String READ = "read";
+	private static final String UPDATE = "update";
+	private static final String INDEX = "index";
+	private static final String DELETE = "delete";
+	private static final String UPLOAD = "upload";
+	private static final String CREATE = "create";
+	private static final String LIST = "list";
+	private static final String VALIDATE = "validate";
+	private static final String BATCH_INDEX = "batch_index";
+	private static final List<String> RECORD_TYPE_ACTIONS = List.of(CREATE, LIST, VALIDATE,
+			BATCH_INDEX);
+
+	private final SpiderDependencyProvider dependencyProvider;
+	private final SpiderAuthorizator spiderAuthorizator;
+	private final RecordStorage recordStorage;
+	private final DataGroupTermCollector termCollector;
+
+	private final Map<String, RecordTypeHandler> cachedRecordTypeHandlers = new HashMap<>();
+	private final Map<UserAndLinkedRecordId, Boolean> cachedAuthorizedToReadRecordLink = new HashMap<>();
+	private final Map<AuthorizationGroup, Boolean> cachedAuthorizedToReadLinkedRecords = new HashMap<>();
+	private final Map<AuthorizationGroup, AuthorizedActions> cachedAuthorizedActions = new HashMap<>();
+	private final Map<Link, Boolean> prefetchedIncomingLinks = new HashMap<>();
 
 	public DataGroupToRecordEnhancerImp(SpiderDependencyProvider dependencyProvider) {
 		this.dependencyProvider = dependencyProvider;
@@ -79,34 +106,90 @@ public class DataGroupToRecordEnhancerImp implements DataGroupToRecordEnhancer {
 	@Override
 	public DataRecord enhance(User user, String recordType, DataRecordGroup dataRecordGroup,
 			DataRedactor dataRedactor) {
-		commonSetupForEnhance(user, recordType, dataRecordGroup);
-		return enhanceDataGroupToRecord(dataRecordGroup, dataRedactor);
+		EnhanceContext context = createContext(user, recordType, dataRecordGroup);
+		Set<String> permissions = getReadRecordPartPermissionsOrThrowIfUserHasNoReadAccess(
+				context, dataRecordGroup);
+		return enhanceDataGroupToRecord(context, dataRecordGroup, dataRedactor, permissions);
 	}
 
-	private void commonSetupForEnhance(User user, String recordType,
-			DataRecordGroup dataRecordGroup) {
-		this.user = user;
-		this.recordType = recordType;
-		recordTypeHandler = getRecordTypeHandlerForRecordType(recordType);
-		collectedTerms = getCollectedTermsForRecordTypeAndRecord(recordType, dataRecordGroup);
-		handledRecordId = dataRecordGroup.getId();
+	private Set<String> getReadRecordPartPermissionsOrThrowIfUserHasNoReadAccess(
+			EnhanceContext context, DataRecordGroup dataRecordGroup) {
+		Optional<Set<String>> permissions = getReadRecordPartPermissionsIfUserHasReadAccess(
+				context, dataRecordGroup);
+		if (permissions.isEmpty()) {
+			throwAuthorizationExceptionForRead(context, dataRecordGroup);
+		}
+		return permissions.get();
 	}
 
-	private RecordTypeHandler getRecordTypeHandlerForRecordType(String recordType) {
-		if (recordTypeHandlerForRecordTypeNotYetLoaded(recordType)) {
-			loadRecordTypeHandlerForRecordType(recordType);
+	private void throwAuthorizationExceptionForRead(EnhanceContext context,
+			DataRecordGroup dataRecordGroup) {
+		if (recordTypeUsesVisibilityAndPermissionUnit(context)) {
+			Optional<String> permissionUnit = getPermissionUnitFromRecord(dataRecordGroup);
+			spiderAuthorizator.checkUserIsAuthorizedForPemissionUnit(context.user(),
+					permissionUnit.get());
 		}
-		return cachedRecordTypeHandlers.get(recordType);
+		throw new AuthorizationException("user with id " + context.user().id
+				+ " is not authorized to read a record of type: " + context.recordType());
+	}
+
+	private boolean recordTypeUsesVisibilityAndPermissionUnit(EnhanceContext context) {
+		RecordTypeHandler recordTypeHandler = context.recordTypeHandler();
+		return recordTypeHandler.useVisibility() && recordTypeHandler.usePermissionUnit();
+	}
+
+	@Override
+	public Optional<DataRecord> enhanceIfUserHasReadAccess(User user, String recordType,
+			DataRecordGroup dataRecordGroup, DataRedactor dataRedactor) {
+		EnhanceContext context = createContext(user, recordType, dataRecordGroup);
+		return getReadRecordPartPermissionsIfUserHasReadAccess(context, dataRecordGroup)
+				.map(permissions -> enhanceDataGroupToRecord(context, dataRecordGroup,
+						dataRedactor, permissions));
+	}
+
+	@Override
+	public DataRecord enhanceLean(User user, String recordType, DataRecordGroup dataRecordGroup,
+			DataRedactor dataRedactor) {
+		EnhanceContext context = createContext(user, recordType, dataRecordGroup);
+		Set<String> permissions = getReadRecordPartPermissionsOrThrowIfUserHasNoReadAccess(
+				context, dataRecordGroup);
+		return redactToLeanRecord(context, dataRecordGroup, dataRedactor, permissions);
+	}
+
+	@Override
+	public Optional<DataRecord> enhanceLeanIfUserHasReadAccess(User user, String recordType,
+			DataRecordGroup dataRecordGroup, DataRedactor dataRedactor) {
+		EnhanceContext context = createContext(user, recordType, dataRecordGroup);
+		return getReadRecordPartPermissionsIfUserHasReadAccess(context, dataRecordGroup).map(
+				permissions -> redactToLeanRecord(context, dataRecordGroup, dataRedactor,
+						permissions));
+	}
+
+	private DataRecord redactToLeanRecord(EnhanceContext context, DataRecordGroup dataRecordGroup,
+			DataRedactor dataRedactor, Set<String> permissions) {
+		context.setReadRecordPartPermissions(permissions);
+		DataRecordGroup redactedDataRecordGroup = redact(context, dataRecordGroup, dataRedactor);
+		return DataProvider.createRecordWithDataRecordGroup(redactedDataRecordGroup);
+	}
+
+	private EnhanceContext createContext(User user, String recordType,
+			DataRecordGroup dataRecordGroup) {
+		CollectTerms collectedTerms = getCollectedTermsForRecordTypeAndRecord(recordType,
+				dataRecordGroup);
+		return createContextUsingCollectedTerms(user, recordType, dataRecordGroup,
+				collectedTerms);
 	}
 
-	private boolean recordTypeHandlerForRecordTypeNotYetLoaded(String recordType) {
-		return !cachedRecordTypeHandlers.containsKey(recordType);
+	private EnhanceContext createContextUsingCollectedTerms(User user, String recordType,
+			DataRecordGroup dataRecordGroup, CollectTerms collectedTerms) {
+		RecordTypeHandler recordTypeHandler = getRecordTypeHandlerForRecordType(recordType);
+		return new EnhanceContext(user, recordType, dataRecordGroup.getId(), recordTypeHandler,
+				collectedTerms);
 	}
 
-	private void loadRecordTypeHandlerForRecordType(String recordType) {
-		RecordTypeHandler recordTypeHandlerToLoad = dependencyProvider
-				.getRecordTypeHandler(recordType);
-		cachedRecordTypeHandlers.put(recordType, recordTypeHandlerToLoad);
+	private RecordTypeHandler getRecordTypeHandlerForRecordType(String recordType) {
+		return cachedRecordTypeHandlers.computeIfAbsent(recordType,
+				dependencyProvider::getRecordTypeHandler);
 	}
 
 	private CollectTerms getCollectedTermsForRecordTypeAndRecord(String recordType,
@@ -117,55 +200,72 @@ public class DataGroupToRecordEnhancerImp implements DataGroupToRecordEnhancer {
 		return termCollector.collectTerms(definitionId, dataRecordGroup);
 	}
 
-	private DataRecord enhanceDataGroupToRecord(DataRecordGroup dataRecordGroup,
-			DataRedactor dataRedactor) {
-		readRecordPartPermissions = ensureReadAccessAndReturnReadRecordPartPermission(
-				dataRecordGroup);
-		return enhanceDataGroupToRecordUsingReadRecordPartPermissions(dataRecordGroup,
+	private DataRecord enhanceDataGroupToRecord(EnhanceContext context,
+			DataRecordGroup dataRecordGroup, DataRedactor dataRedactor, Set<String> permissions) {
+		context.setReadRecordPartPermissions(permissions);
+		return enhanceDataGroupToRecordUsingReadRecordPartPermissions(context, dataRecordGroup,
 				dataRedactor);
 	}
 
 	private DataRecord enhanceDataGroupToRecordUsingReadRecordPartPermissions(
-			DataRecordGroup dataRecordGroup, DataRedactor dataRedactor) {
-		DataRecordGroup redactedDataRecordGroup = redact(dataRecordGroup, dataRedactor);
-		addReadActionToAllRecordLinks(redactedDataRecordGroup);
+			EnhanceContext context, DataRecordGroup dataRecordGroup, DataRedactor dataRedactor) {
+		DataRecordGroup redactedDataRecordGroup = redact(context, dataRecordGroup, dataRedactor);
+		LinkPlan linkPlan = dependencyProvider
+				.getLinkPlan(context.recordTypeHandler().getDefinitionId());
+		authorizeReadForNotYetAuthorizedRecordLinks(context, redactedDataRecordGroup, linkPlan);
+		addReadActionToAllRecordLinks(context, redactedDataRecordGroup, linkPlan);
 
 		DataRecord dataRecord = DataProvider
 				.createRecordWithDataRecordGroup(redactedDataRecordGroup);
-		addActions(dataRecord);
-		addRecordPartPermissions(dataRecord);
+		addActions(context, dataRecord);
+		addRecordPartPermissions(context, dataRecord);
 		return dataRecord;
 	}
 
-	Set<String> ensureReadAccessAndReturnReadRecordPartPermission(DataRecordGroup dataRecordGroup) {
+	Optional<Set<String>> getReadRecordPartPermissionsIfUserHasReadAccess(EnhanceContext context,
+			DataRecordGroup dataRecordGroup) {
+		RecordTypeHandler recordTypeHandler = context.recordTypeHandler();
 		if (recordTypeHandler.isPublicForRead()) {
-			return noRecordPartPermissions();
+			return Optional.of(noRecordPartPermissions());
 		}
-		if (recordTypeUsesVisibilityAndRecordIsPublished(dataRecordGroup)) {
-			return tryToGetUsersRecordPartPermissions();
+		if (recordTypeUsesVisibilityAndRecordIsPublished(context, dataRecordGroup)) {
+			return Optional.of(tryToGetReadRecordPartPermissionsForPublishedRecord(context));
 		}
-		if (recordTypeHandler.useVisibility() && recordTypeHandler.usePermissionUnit()) {
-			checkUserIsAuthorizedForPermissionUnit(dataRecordGroup);
+		if (recordTypeUsesVisibilityAndPermissionUnit(context)
+				&& userIsNotAuthorizedForPermissionUnit(context, dataRecordGroup)) {
+			return Optional.empty();
 		}
-		return checkAndGetUserAuthorizationsForReadAction();
+		return getReadRecordPartPermissionsIfAuthorizedForReadAction(context);
 	}
 
 	private Set<String> noRecordPartPermissions() {
 		return Collections.emptySet();
 	}
 
-	private Set<String> tryToGetUsersRecordPartPermissions() {
+	private Set<String> tryToGetReadRecordPartPermissionsForPublishedRecord(
+			EnhanceContext context) {
 		try {
-			return spiderAuthorizator
-					.checkGetUsersMatchedRecordPartPermissionsForActionOnRecordTypeAndCollectedData(
-							user, "read", recordType, collectedTerms.permissionTerms, true);
-		} catch (Exception e) {
+			return getAuthorizedActionsForRecord(context).getRecordPartPermissionsForAction(READ);
+		} catch (Exception _) {
 			return noRecordPartPermissions();
 		}
 	}
 
-	private boolean recordTypeUsesVisibilityAndRecordIsPublished(DataRecordGroup dataRecordGroup) {
-		return recordTypeHandler.useVisibility() && recordIsPublished(dataRecordGroup);
+	private AuthorizedActions getAuthorizedActionsForRecord(EnhanceContext context) {
+		User user = context.user();
+		String recordType = context.recordType();
+		CollectTerms collectedTerms = context.collectedTerms();
+		AuthorizationGroup group = new AuthorizationGroup(user.id, recordType,
+				PermissionTermFingerprint.usingPermissionTerms(collectedTerms.permissionTerms));
+		return cachedAuthorizedActions.computeIfAbsent(group,
+				_ -> spiderAuthorizator.getActionsUserIsAuthorizedForOnRecordTypeAndCollectedData(
+						user, getRecordActionsToCheck(recordType), recordType,
+						collectedTerms.permissionTerms));
+	}
+
+	private boolean recordTypeUsesVisibilityAndRecordIsPublished(EnhanceContext context,
+			DataRecordGroup dataRecordGroup) {
+		return context.recordTypeHandler().useVisibility() && recordIsPublished(dataRecordGroup);
 	}
 
 	private boolean recordIsPublished(DataRecordGroup dataRecordGroup) {
@@ -180,9 +280,11 @@ public class DataGroupToRecordEnhancerImp implements DataGroupToRecordEnhancer {
 		}
 	}
 
-	private void checkUserIsAuthorizedForPermissionUnit(DataRecordGroup dataRecordGroup) {
+	private boolean userIsNotAuthorizedForPermissionUnit(EnhanceContext context,
+			DataRecordGroup dataRecordGroup) {
 		Optional<String> permissionUnit = getPermissionUnitFromRecord(dataRecordGroup);
-		spiderAuthorizator.checkUserIsAuthorizedForPemissionUnit(user, permissionUnit.get());
+		return !spiderAuthorizator.getUserIsAuthorizedForPemissionUnit(context.user(),
+				permissionUnit.get());
 	}
 
 	private Optional<String> getPermissionUnitFromRecord(DataRecordGroup dataRecordGroup) {
@@ -197,173 +299,178 @@ public class DataGroupToRecordEnhancerImp implements DataGroupToRecordEnhancer {
 		throw new DataException("PermissionUnit is missing in the record.");
 	}
 
-	private Set<String> checkAndGetUserAuthorizationsForReadAction() {
-		return spiderAuthorizator
-				.checkGetUsersMatchedRecordPartPermissionsForActionOnRecordTypeAndCollectedData(
-						user, "read", recordType, collectedTerms.permissionTerms, true);
+	private Optional<Set<String>> getReadRecordPartPermissionsIfAuthorizedForReadAction(
+			EnhanceContext context) {
+		AuthorizedActions authorizedActions = getAuthorizedActionsForRecord(context);
+		if (authorizedActions.isAuthorizedFor(READ)) {
+			return Optional.of(authorizedActions.getRecordPartPermissionsForAction(READ));
+		}
+		return Optional.empty();
 	}
 
-	private void addActions(DataRecord dataRecord) {
-		boolean permissionUnitAccess = ifPermissionUnitIsUsedUserHasPermissionUnit(dataRecord);
-		possiblyAddReadAction(dataRecord);
-		boolean hasIncommingLinks = linksExistForRecordTypeUsingCurrentHandledId(recordType);
+	private void addActions(EnhanceContext context, DataRecord dataRecord) {
+		boolean permissionUnitAccess = ifPermissionUnitIsUsedUserHasPermissionUnit(context,
+				dataRecord);
+		possiblyAddReadAction(context, dataRecord);
+		boolean hasIncommingLinks = linksExistForRecordTypeUsingCurrentHandledId(context);
 		if (permissionUnitAccess) {
-			possiblyAddUpdateAction(dataRecord);
-			possiblyAddIndexAction(dataRecord);
-			possiblyAddDeleteAction(dataRecord, hasIncommingLinks);
-			possiblyAddUploadAction(dataRecord);
+			possiblyAddRecordActions(context, dataRecord, hasIncommingLinks);
 		}
 		possiblyAddIncomingLinksAction(dataRecord, hasIncommingLinks);
-		possiblyAddSearchActionWhenDataRepresentsASearch(dataRecord);
-		possiblyAddActionsWhenDataRepresentsARecordType(dataRecord);
+		possiblyAddSearchActionWhenDataRepresentsASearch(context, dataRecord);
+		possiblyAddActionsWhenDataRepresentsARecordType(context, dataRecord);
 	}
 
-	private boolean ifPermissionUnitIsUsedUserHasPermissionUnit(DataRecord dataRecord) {
-		if (!recordTypeHandler.usePermissionUnit()) {
+	private boolean ifPermissionUnitIsUsedUserHasPermissionUnit(EnhanceContext context,
+			DataRecord dataRecord) {
+		if (!context.recordTypeHandler().usePermissionUnit()) {
 			return true;
 		}
 		Optional<String> oPermissionUnit = dataRecord.getDataRecordGroup().getPermissionUnit();
 		if (oPermissionUnit.isEmpty()) {
 			return false;
 		}
-		return spiderAuthorizator.getUserIsAuthorizedForPemissionUnit(user, oPermissionUnit.get());
+		return spiderAuthorizator.getUserIsAuthorizedForPemissionUnit(context.user(),
+				oPermissionUnit.get());
 	}
 
-	private void possiblyAddReadAction(DataRecord dataRecord) {
-		if (addActionRead) {
+	private void possiblyAddReadAction(EnhanceContext context, DataRecord dataRecord) {
+		if (context.addActionRead()) {
 			dataRecord.addAction(Action.READ);
 		}
 	}
 
-	private void possiblyAddUpdateAction(DataRecord dataRecord) {
-		try {
-			writeRecordPartPermissions = spiderAuthorizator
-					.checkGetUsersMatchedRecordPartPermissionsForActionOnRecordTypeAndCollectedData(
-							user, "update", recordType, collectedTerms.permissionTerms, true);
+	private void possiblyAddRecordActions(EnhanceContext context, DataRecord dataRecord,
+			boolean hasIncommingLinks) {
+		AuthorizedActions authorizedActions = getAuthorizedActionsForRecord(context);
+		context.setWriteRecordPartPermissions(
+				authorizedActions.getRecordPartPermissionsForAction(UPDATE));
+		possiblyAddAction(dataRecord, authorizedActions.isAuthorizedFor(UPDATE), Action.UPDATE);
+		possiblyAddAction(dataRecord, authorizedActions.isAuthorizedFor(INDEX), Action.INDEX);
+		possiblyAddAction(dataRecord,
+				authorizedActions.isAuthorizedFor(DELETE) && !hasIncommingLinks, Action.DELETE);
+		possiblyAddAction(dataRecord, recordTypeIsBinary(context.recordType())
+				&& authorizedActions.isAuthorizedFor(UPLOAD), Action.UPLOAD);
+	}
 
-			dataRecord.addAction(Action.UPDATE);
-		} catch (Exception catchedException) {
-			writeRecordPartPermissions = Collections.emptySet();
+	private List<String> getRecordActionsToCheck(String recordType) {
+		List<String> actions = new ArrayList<>(List.of(READ, UPDATE, INDEX, DELETE));
+		if (recordTypeIsBinary(recordType)) {
+			actions.add(UPLOAD);
 		}
+		return actions;
 	}
 
-	private void possiblyAddIndexAction(DataRecord dataRecord) {
-		if (userIsAuthorizedForActionOnRecordTypeAndCollectedTerms("index", recordType)) {
-			dataRecord.addAction(Action.INDEX);
-		}
+	private boolean recordTypeIsBinary(String recordType) {
+		return "binary".equals(recordType);
 	}
 
-	private boolean userIsAuthorizedForActionOnRecordTypeAndCollectedTerms(String action,
-			String recordType) {
-		return spiderAuthorizator.userIsAuthorizedForActionOnRecordTypeAndCollectedData(user,
-				action, recordType, collectedTerms.permissionTerms);
+	private void possiblyAddAction(DataRecord dataRecord, boolean authorized, Action action) {
+		if (authorized) {
+			dataRecord.addAction(action);
+		}
 	}
 
-	private boolean linksExistForRecordTypeUsingCurrentHandledId(String recordTypeId) {
+	private boolean linksExistForRecordTypeUsingCurrentHandledId(EnhanceContext context) {
+		String recordTypeId = context.recordType();
+		String handledRecordId = context.handledRecordId();
+		Boolean prefetched = prefetchedIncomingLinks.get(new Link(recordTypeId, handledRecordId));
+		if (prefetched != null) {
+			return prefetched;
+		}
 		return recordStorage.linksExistForRecord(recordTypeId, handledRecordId);
 	}
 
-	private void possiblyAddDeleteAction(DataRecord dataRecord, boolean hasIncommingLinks) {
-		if (userIsAuthorizedForActionOnRecordTypeAndCollectedTerms("delete", recordType)
-				&& !hasIncommingLinks) {
-			dataRecord.addAction(Action.DELETE);
+	@Override
+	public void prefetchIncomingLinksForRecords(Collection<DataRecordGroup> dataRecordGroups) {
+		for (DataRecordGroup dataRecordGroup : dataRecordGroups) {
+			prefetchedIncomingLinks.computeIfAbsent(createLinkForRecord(dataRecordGroup),
+					this::linksExistForRecord);
 		}
 	}
 
+	private boolean linksExistForRecord(Link link) {
+		return recordStorage.linksExistForRecord(link.type(), link.id());
+	}
+
+	private Link createLinkForRecord(DataRecordGroup dataRecordGroup) {
+		return new Link(dataRecordGroup.getType(), dataRecordGroup.getId());
+	}
+
 	private void possiblyAddIncomingLinksAction(DataRecord dataRecord, boolean hasIncommingLinks) {
 		if (hasIncommingLinks) {
 			dataRecord.addAction(Action.READ_INCOMING_LINKS);
 		}
 	}
 
-	private void possiblyAddUploadAction(DataRecord dataRecord) {
-		if ("binary".equals(recordType)
-				&& userIsAuthorizedForActionOnRecordTypeAndCollectedTerms("upload", recordType)) {
-			dataRecord.addAction(Action.UPLOAD);
-		}
-	}
-
-	private void possiblyAddSearchActionWhenDataRepresentsASearch(DataRecord dataRecord) {
-		if (theDataBeeingTurnedIntoARecordIsASearch()) {
-			addSearchActionIfUserHasAccessToLinkedSearches(dataRecord,
+	private void possiblyAddSearchActionWhenDataRepresentsASearch(EnhanceContext context,
+			DataRecord dataRecord) {
+		if (theDataBeeingTurnedIntoARecordIsASearch(context)) {
+			addSearchActionIfUserHasAccessToLinkedSearches(context.user(), dataRecord,
 					dataRecord.getDataRecordGroup());
 		}
 	}
 
-	private boolean theDataBeeingTurnedIntoARecordIsASearch() {
-		return recordTypeHandler.representsTheRecordTypeDefiningSearches();
+	private boolean theDataBeeingTurnedIntoARecordIsASearch(EnhanceContext context) {
+		return context.recordTypeHandler().representsTheRecordTypeDefiningSearches();
 	}
 
-	private void addSearchActionIfUserHasAccessToLinkedSearches(DataRecord dataRecord,
+	private void addSearchActionIfUserHasAccessToLinkedSearches(User user, DataRecord dataRecord,
 			DataRecordGroup dataRecordGroup) {
-		List<DataRecordLink> links = dataRecordGroup.getChildrenOfTypeAndName(DataRecordLink.class,
-				"recordTypeToSearchIn");
-		if (checkUserHasSearchAccessOnAllRecordTypesToSearchIn(links)) {
+		List<String> recordTypesToSearchIn = dataRecordGroup
+				.getChildrenOfTypeAndName(DataRecordLink.class, "recordTypeToSearchIn").stream()
+				.map(DataRecordLink::getLinkedRecordId).toList();
+		addSearchActionIfUserHasSearchAccessOnAllRecordTypes(user, dataRecord,
+				recordTypesToSearchIn);
+	}
+
+	private void addSearchActionIfUserHasSearchAccessOnAllRecordTypes(User user,
+			DataRecord dataRecord, List<String> recordTypesToSearchIn) {
+		if (checkUserHasSearchAccessOnAllRecordTypesToSearchIn(user, recordTypesToSearchIn)) {
 			dataRecord.addAction(Action.SEARCH);
 		}
 	}
 
-	private boolean checkUserHasSearchAccessOnAllRecordTypesToSearchIn(List<DataRecordLink> links) {
-		return links.stream().allMatch(this::isAuthorized);
+	private boolean checkUserHasSearchAccessOnAllRecordTypesToSearchIn(User user,
+			List<String> recordTypesToSearchIn) {
+		return recordTypesToSearchIn.stream()
+				.allMatch(recordTypeId -> isAuthorized(user, recordTypeId));
 	}
 
-	private boolean isAuthorized(DataRecordLink link) {
-		String linkedRecordTypeId = link.getLinkedRecordId();
+	private boolean isAuthorized(User user, String recordTypeId) {
 		return spiderAuthorizator.userIsAuthorizedForActionOnRecordType(user, SEARCH,
-				linkedRecordTypeId);
+				recordTypeId);
 	}
 
-	private void possiblyAddActionsWhenDataRepresentsARecordType(DataRecord dataRecord) {
-		if (theDataBeeingTurnedIntoARecordIsARecordType()) {
+	private void possiblyAddActionsWhenDataRepresentsARecordType(EnhanceContext context,
+			DataRecord dataRecord) {
+		if (theDataBeeingTurnedIntoARecordIsARecordType(context)) {
+			String handledRecordId = context.handledRecordId();
 			RecordTypeHandler handledRecordTypeHandler = getRecordTypeHandlerForRecordType(
 					handledRecordId);
-			possiblyAddCreateAction(dataRecord);
-			possiblyAddListAction(dataRecord);
-			possiblyAddValidateAction(dataRecord);
-			possiblyAddSearchAction(handledRecordTypeHandler, dataRecord);
-			possiblyAddBatchIndexAction(dataRecord);
-		}
-	}
-
-	private void possiblyAddBatchIndexAction(DataRecord dataRecord) {
-		if (userIsAuthorizedForActionOnRecordType("batch_index", handledRecordId)) {
-			dataRecord.addAction(Action.BATCH_INDEX);
-		}
-	}
-
-	private boolean theDataBeeingTurnedIntoARecordIsARecordType() {
-		return recordTypeHandler.representsTheRecordTypeDefiningRecordTypes();
-	}
-
-	private void possiblyAddCreateAction(DataRecord dataRecord) {
-		if (userIsAuthorizedForActionOnRecordType("create", handledRecordId)) {
-			dataRecord.addAction(Action.CREATE);
-		}
-	}
-
-	private boolean userIsAuthorizedForActionOnRecordType(String action, String handledRecordId) {
-		return spiderAuthorizator.userIsAuthorizedForActionOnRecordType(user, action,
-				handledRecordId);
-	}
-
-	private void possiblyAddListAction(DataRecord dataRecord) {
-		if (userIsAuthorizedForActionOnRecordType("list", handledRecordId)) {
-			dataRecord.addAction(Action.LIST);
+			Set<String> authorizedActions = spiderAuthorizator
+					.getActionsUserIsAuthorizedForOnRecordType(context.user(), RECORD_TYPE_ACTIONS,
+							handledRecordId);
+			possiblyAddAction(dataRecord, authorizedActions.contains(CREATE), Action.CREATE);
+			possiblyAddAction(dataRecord, authorizedActions.contains(LIST), Action.LIST);
+			possiblyAddAction(dataRecord, authorizedActions.contains(VALIDATE), Action.VALIDATE);
+			possiblyAddSearchAction(context.user(), handledRecordTypeHandler, dataRecord);
+			possiblyAddAction(dataRecord, authorizedActions.contains(BATCH_INDEX),
+					Action.BATCH_INDEX);
 		}
 	}
 
-	private void possiblyAddValidateAction(DataRecord dataRecord) {
-		if (userIsAuthorizedForActionOnRecordType("validate", handledRecordId)) {
-			dataRecord.addAction(Action.VALIDATE);
-		}
+	private boolean theDataBeeingTurnedIntoARecordIsARecordType(EnhanceContext context) {
+		return context.recordTypeHandler().representsTheRecordTypeDefiningRecordTypes();
 	}
 
-	private void possiblyAddSearchAction(RecordTypeHandler handledRecordTypeHandler,
+	private void possiblyAddSearchAction(User user, RecordTypeHandler handledRecordTypeHandler,
 			DataRecord dataRecord) {
 		if (hasLinkedSearch(handledRecordTypeHandler)) {
-			DataRecordGroup searchGroup = getLinkedSearchForSearchForRecordHandledByRecordHandler(
-					handledRecordTypeHandler);
-			addSearchActionIfUserHasAccessToLinkedSearches(dataRecord, searchGroup);
+			SearchDefinition searchDefinition = dependencyProvider
+					.getSearchDefinition(handledRecordTypeHandler.getSearchId());
+			addSearchActionIfUserHasSearchAccessOnAllRecordTypes(user, dataRecord,
+					searchDefinition.recordTypesToSearchIn());
 		}
 	}
 
@@ -371,50 +478,57 @@ public class DataGroupToRecordEnhancerImp implements DataGroupToRecordEnhancer {
 		return handledRecordTypeHandler.hasLinkedSearch();
 	}
 
-	private DataRecordGroup getLinkedSearchForSearchForRecordHandledByRecordHandler(
-			RecordTypeHandler handledRecordTypeHandler) {
-		String searchId = handledRecordTypeHandler.getSearchId();
-		return readRecordFromStorageByTypeAndId(SEARCH, searchId);
-	}
-
 	private DataRecordGroup readRecordFromStorageByTypeAndId(String linkedRecordType,
 			String linkedRecordId) {
 		return recordStorage.read(linkedRecordType, linkedRecordId);
 	}
 
-	private void addRecordPartPermissions(DataRecord dataRecord) {
+	private void addRecordPartPermissions(EnhanceContext context, DataRecord dataRecord) {
+		Set<String> writeRecordPartPermissions = context.writeRecordPartPermissions();
 		dataRecord.addWritePermissions(writeRecordPartPermissions);
-		dataRecord.addReadPermissions(readRecordPartPermissions);
-		if (!recordTypeHandler.isPublicForRead()) {
+		dataRecord.addReadPermissions(context.readRecordPartPermissions());
+		if (!context.recordTypeHandler().isPublicForRead()) {
 			dataRecord.addReadPermissions(writeRecordPartPermissions);
 		}
 	}
 
-	private DataRecordGroup redact(DataRecordGroup dataRecordGroup, DataRedactor dataRedactor) {
+	private DataRecordGroup redact(EnhanceContext context, DataRecordGroup dataRecordGroup,
+			DataRedactor dataRedactor) {
+		RecordTypeHandler recordTypeHandler = context.recordTypeHandler();
 		Set<Constraint> recordPartReadConstraints = recordTypeHandler
 				.getReadRecordPartConstraints();
+		Set<String> readRecordPartPermissions = context.readRecordPartPermissions();
+		if (RecordPartConstraints.permissionsCoverAllConstraints(recordPartReadConstraints,
+				readRecordPartPermissions)) {
+			return dataRecordGroup;
+		}
 		return dataRedactor.removeChildrenForConstraintsWithoutPermissions(
 				recordTypeHandler.getDefinitionId(), dataRecordGroup, recordPartReadConstraints,
 				readRecordPartPermissions);
 	}
 
-	private void addReadActionToAllRecordLinks(DataParent redactedDataGroup) {
+	private void addReadActionToAllRecordLinks(EnhanceContext context, DataParent redactedDataGroup,
+			LinkPlan linkPlan) {
 		for (DataChild dataChild : redactedDataGroup.getChildren()) {
-			addReadActionToDataRecordLink(dataChild);
+			if (linkPlan.shouldVisitChild(dataChild)) {
+				addReadActionToDataRecordLink(context, dataChild, linkPlan);
+			}
 		}
 	}
 
-	private void addReadActionToDataRecordLink(DataChild dataChild) {
-		possiblyAddReadActionIfLink(dataChild);
+	private void addReadActionToDataRecordLink(EnhanceContext context, DataChild dataChild,
+			LinkPlan linkPlan) {
+		possiblyAddReadActionIfLink(context, dataChild);
 
 		if (isGroup(dataChild)) {
-			addReadActionToAllRecordLinks((DataGroup) dataChild);
+			addReadActionToAllRecordLinks(context, (DataGroup) dataChild,
+					linkPlan.getPlanForChildGroup(dataChild));
 		}
 	}
 
-	private void possiblyAddReadActionIfLink(DataChild dataChild) {
+	private void possiblyAddReadActionIfLink(EnhanceContext context, DataChild dataChild) {
 		if (isLink(dataChild)) {
-			possiblyAddReadActionToLink(dataChild);
+			possiblyAddReadActionToLink(context, dataChild);
 		}
 	}
 
@@ -430,38 +544,67 @@ public class DataGroupToRecordEnhancerImp implements DataGroupToRecordEnhancer {
 		return dataChild instanceof DataResourceLink;
 	}
 
-	private void possiblyAddReadActionToLink(DataChild dataChild) {
-		if (isAuthorizedToReadLink(dataChild)) {
+	private void possiblyAddReadActionToLink(EnhanceContext context, DataChild dataChild) {
+		if (isAuthorizedToReadLink(context, dataChild)) {
 			((DataLink) dataChild).addAction(Action.READ);
 		}
 	}
 
-	private boolean isAuthorizedToReadLink(DataChild dataChild) {
+	private boolean isAuthorizedToReadLink(EnhanceContext context, DataChild dataChild) {
 		if (isRecordLink(dataChild)) {
-			return isAuthorizedToReadRecordLink((DataRecordLink) dataChild);
+			return isAuthorizedToReadRecordLink(context.user(), (DataRecordLink) dataChild);
 		}
-		return isAuthorizedToReadResourceLink((DataResourceLink) dataChild);
+		return isAuthorizedToReadResourceLink(context, (DataResourceLink) dataChild);
 	}
 
-	private boolean isAuthorizedToReadRecordLink(DataRecordLink dataChild) {
-		String linkedRecordType = dataChild.getLinkedRecordType();
-		String linkedRecordId = dataChild.getLinkedRecordId();
+	private boolean isAuthorizedToReadRecordLink(User user, DataRecordLink dataChild) {
+		return cachedAuthorizedToReadRecordLink
+				.get(new UserAndLinkedRecordId(user.id, LinkedRecordId.fromLink(dataChild)));
+	}
 
-		if (isRecordLinksTypePublic(linkedRecordType)) {
-			return true;
+	private void authorizeReadForNotYetAuthorizedRecordLinks(EnhanceContext context,
+			DataParent redactedDataGroup, LinkPlan linkPlan) {
+		Set<LinkedRecordId> linkedRecordsToAuthorize = new LinkedHashSet<>();
+		collectNotYetAuthorizedNonPublicRecordLinks(context.user(), redactedDataGroup, linkPlan,
+				linkedRecordsToAuthorize);
+		for (LinkedRecordId linkedRecord : linkedRecordsToAuthorize) {
+			cachedAuthorizedToReadRecordLink.put(
+					new UserAndLinkedRecordId(context.user().id, linkedRecord),
+					readRecordLinkAuthorization(context.user(), linkedRecord));
 		}
-		return isAuthorizedToReadNonPublicRecordLink(linkedRecordType, linkedRecordId);
 	}
 
-	private boolean isAuthorizedToReadNonPublicRecordLink(String linkedRecordType,
-			String linkedRecordId) {
-		String cacheId = linkedRecordType + linkedRecordId;
-		if (existsCachedAuthorizationForRecordLink(cacheId)) {
-			return cachedAuthorizedToReadRecordLink.get(cacheId);
+	private void collectNotYetAuthorizedNonPublicRecordLinks(User user, DataParent dataParent,
+			LinkPlan linkPlan, Set<LinkedRecordId> linkedRecordsToAuthorize) {
+		for (DataChild dataChild : dataParent.getChildren()) {
+			if (linkPlan.shouldVisitChild(dataChild)) {
+				collectFromChild(user, dataChild, linkPlan, linkedRecordsToAuthorize);
+			}
+		}
+	}
+
+	private void collectFromChild(User user, DataChild dataChild, LinkPlan linkPlan,
+			Set<LinkedRecordId> linkedRecordsToAuthorize) {
+		if (isRecordLink(dataChild)) {
+			possiblyCollectRecordLink(user, (DataRecordLink) dataChild, linkedRecordsToAuthorize);
+		}
+		if (isGroup(dataChild)) {
+			collectNotYetAuthorizedNonPublicRecordLinks(user, (DataGroup) dataChild,
+					linkPlan.getPlanForChildGroup(dataChild), linkedRecordsToAuthorize);
+		}
+	}
+
+	private void possiblyCollectRecordLink(User user, DataRecordLink recordLink,
+			Set<LinkedRecordId> linkedRecordsToAuthorize) {
+		LinkedRecordId linkedRecord = LinkedRecordId.fromLink(recordLink);
+		UserAndLinkedRecordId key = new UserAndLinkedRecordId(user.id, linkedRecord);
+		if (existsCachedAuthorizationForRecordLink(key)) {
+			return;
+		}
+		if (isRecordLinksTypePublic(linkedRecord.type())) {
+			cachedAuthorizedToReadRecordLink.put(key, true);
 		} else {
-			boolean readAccess = readRecordLinkAuthorization(linkedRecordType, linkedRecordId);
-			cachedAuthorizedToReadRecordLink.put(cacheId, readAccess);
-			return readAccess;
+			linkedRecordsToAuthorize.add(linkedRecord);
 		}
 	}
 
@@ -471,21 +614,21 @@ public class DataGroupToRecordEnhancerImp implements DataGroupToRecordEnhancer {
 		return handledRecordTypeHandler.isPublicForRead();
 	}
 
-	private boolean existsCachedAuthorizationForRecordLink(String key) {
+	private boolean existsCachedAuthorizationForRecordLink(UserAndLinkedRecordId key) {
 		return cachedAuthorizedToReadRecordLink.containsKey(key);
 	}
 
-	private boolean readRecordLinkAuthorization(String linkedRecordType, String linkedRecordId) {
+	private boolean readRecordLinkAuthorization(User user, LinkedRecordId linkedRecordId) {
 		try {
-			DataRecordGroup linkedRecord = readRecordFromStorageByTypeAndId(linkedRecordType,
-					linkedRecordId);
+			DataRecordGroup linkedRecord = readRecordFromStorageByTypeAndId(linkedRecordId.type(),
+					linkedRecordId.id());
 
 			if (recordTypeUsesVisibilityAndRecordIsPublished2(linkedRecord)) {
 				return true;
 			}
-			return userIsAuthorizedForActionOnRecordLinkAndData("read", linkedRecordType,
-					linkedRecord);
-		} catch (RecordNotFoundException exception) {
+			return userIsAuthorizedForActionOnRecordLinkAndData(user, READ,
+					linkedRecordId.type(), linkedRecord);
+		} catch (RecordNotFoundException _) {
 			return false;
 		}
 	}
@@ -496,47 +639,75 @@ public class DataGroupToRecordEnhancerImp implements DataGroupToRecordEnhancer {
 		return recordTypeHandlerForRecordType.useVisibility() && recordIsPublished(dataRecordGroup);
 	}
 
-	private boolean userIsAuthorizedForActionOnRecordLinkAndData(String action, String recordType,
-			DataRecordGroup linkedRecord) {
+	private boolean userIsAuthorizedForActionOnRecordLinkAndData(User user, String action,
+			String recordType, DataRecordGroup linkedRecord) {
 		CollectTerms linkedRecordCollectedTerms = getCollectedTermsForRecordTypeAndRecord(
 				recordType, linkedRecord);
-
-		return spiderAuthorizator.userIsAuthorizedForActionOnRecordTypeAndCollectedData(user,
-				action, recordType, linkedRecordCollectedTerms.permissionTerms);
+		AuthorizationGroup group = new AuthorizationGroup(user.id, recordType,
+				PermissionTermFingerprint
+						.usingPermissionTerms(linkedRecordCollectedTerms.permissionTerms));
+		return cachedAuthorizedToReadLinkedRecords.computeIfAbsent(group,
+				_ -> spiderAuthorizator.userIsAuthorizedForActionOnRecordTypeAndCollectedData(
+						user, action, recordType, linkedRecordCollectedTerms.permissionTerms));
 	}
 
 	private boolean isGroup(DataChild dataChild) {
 		return dataChild instanceof DataGroup;
 	}
 
-	private boolean isAuthorizedToReadResourceLink(DataResourceLink dataResourceLink) {
+	private boolean isAuthorizedToReadResourceLink(EnhanceContext context,
+			DataResourceLink dataResourceLink) {
 		String resourceLinkNameInData = dataResourceLink.getNameInData();
 		String actionForResourceLink = "binary." + resourceLinkNameInData;
-		return userIsAuthorizedForActionOnRecordTypeAndCollectedTerms("read",
+		return userIsAuthorizedForActionOnRecordTypeAndCollectedTerms(context, "read",
 				actionForResourceLink);
 	}
 
+	private boolean userIsAuthorizedForActionOnRecordTypeAndCollectedTerms(EnhanceContext context,
+			String action, String recordType) {
+		return spiderAuthorizator.userIsAuthorizedForActionOnRecordTypeAndCollectedData(
+				context.user(), action, recordType, context.collectedTerms().permissionTerms);
+	}
+
 	@Override
 	public DataRecord enhanceIgnoringReadAccess(User user, String recordType,
 			DataRecordGroup dataRecordGroup, DataRedactor dataRedactor) {
-		commonSetupForEnhance(user, recordType, dataRecordGroup);
-		return enhanceDataGroupToRecordIgnoringReadAccess(dataRecordGroup, dataRedactor);
+		EnhanceContext context = createContext(user, recordType, dataRecordGroup);
+		return enhanceDataGroupToRecordIgnoringReadAccess(context, dataRecordGroup, dataRedactor);
 	}
 
-	private DataRecord enhanceDataGroupToRecordIgnoringReadAccess(DataRecordGroup dataRecordGroup,
-			DataRedactor dataRedactor) {
-		setNoReadPermissionsIfUserHasNoReadAccess(dataRecordGroup);
-		return enhanceDataGroupToRecordUsingReadRecordPartPermissions(dataRecordGroup,
+	@Override
+	public DataRecord enhanceIgnoringReadAccessUsingCollectedTerms(User user, String recordType,
+			DataRecordGroup dataRecordGroup, DataRedactor dataRedactor,
+			CollectTerms collectedTerms) {
+		EnhanceContext context = createContextUsingCollectedTerms(user, recordType,
+				dataRecordGroup, collectedTerms);
+		return enhanceDataGroupToRecordIgnoringReadAccess(context, dataRecordGroup, dataRedactor);
+	}
+
+	private DataRecord enhanceDataGroupToRecordIgnoringReadAccess(EnhanceContext context,
+			DataRecordGroup dataRecordGroup, DataRedactor dataRedactor) {
+		setNoReadPermissionsIfUserHasNoReadAccess(context, dataRecordGroup);
+		return enhanceDataGroupToRecordUsingReadRecordPartPermissions(context, dataRecordGroup,
 				dataRedactor);
 	}
 
-	private void setNoReadPermissionsIfUserHasNoReadAccess(DataRecordGroup dataRecordGroup) {
+	private void setNoReadPermissionsIfUserHasNoReadAccess(EnhanceContext context,
+			DataRecordGroup dataRecordGroup) {
+		Optional<Set<String>> permissions = tryToGetReadRecordPartPermissions(context,
+				dataRecordGroup);
+		if (permissions.isEmpty()) {
+			context.doNotAddActionRead();
+		}
+		context.setReadRecordPartPermissions(permissions.orElse(Collections.emptySet()));
+	}
+
+	private Optional<Set<String>> tryToGetReadRecordPartPermissions(EnhanceContext context,
+			DataRecordGroup dataRecordGroup) {
 		try {
-			readRecordPartPermissions = ensureReadAccessAndReturnReadRecordPartPermission(
-					dataRecordGroup);
+			return getReadRecordPartPermissionsIfUserHasReadAccess(context, dataRecordGroup);
 		} catch (Exception _) {
-			addActionRead = false;
-			readRecordPartPermissions = Collections.emptySet();
+			return Optional.empty();
 		}
 	}
 
@@ -544,4 +715,18 @@ public class DataGroupToRecordEnhancerImp implements DataGroupToRecordEnhancer {
 		// needed for test
 		return dependencyProvider;
 	}
+
+	private record AuthorizationGroup(String userId, String recordType,
+			PermissionTermFingerprint permissionTerms) {
+	}
+
+	private record LinkedRecordId(String type, String id) {
+		static LinkedRecordId fromLink(DataRecordLink recordLink) {
+			return new LinkedRecordId(recordLink.getLinkedRecordType(),
+					recordLink.getLinkedRecordId());
+		}
+	}
+
+	private record UserAndLinkedRecordId(String userId, LinkedRecordId linkedRecord) {
+	}
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.record.internal;
+
+import java.util.Collections;
+import java.util.Set;
+
+import se.uu.ub.cora.beefeater.authentication.User;
+import se.uu.ub.cora.bookkeeper.recordtype.RecordTypeHandler;
+import se.uu.ub.cora.data.collected.CollectTerms;
+
+/**
+ * EnhanceContext holds the state of one call to enhance a record, so that
+ * {@link DataGroupToRecordEnhancerImp} does not need to keep any state for the record being
+ * enhanced in its own fields. A new EnhanceContext is created for each enhanced record and is only
+ * used by the thread enhancing that record.
+ */
+final class EnhanceContext {
+	private final User user;
+	private final String recordType;
+	private final String handledRecordId;
+	private final RecordTypeHandler recordTypeHandler;
+	private final CollectTerms collectedTerms;
+	private Set<String> readRecordPartPermissions = Collections.emptySet();
+	private Set<String> writeRecordPartPermissions = Collections.emptySet();
+	private boolean addActionRead = true;
+
+	EnhanceContext(User user, String recordType, String handledRecordId,
+			RecordTypeHandler recordTypeHandler, CollectTerms collectedTerms) {
+		this.user = user;
+		this.recordType = recordType;
+		this.handledRecordId = handledRecordId;
+		this.recordTypeHandler = recordTypeHandler;
+		this.collectedTerms = collectedTerms;
+	}
+
+	User user() {
+		return user;
+	}
+
+	String recordType() {
+		return recordType;
+	}
+
+	String handledRecordId() {
+		return handledRecordId;
+	}
+
+	RecordTypeHandler recordTypeHandler() {
+		return recordTypeHandler;
+	}
+
+	CollectTerms collectedTerms() {
+		return collectedTerms;
+	}
+
+	Set<String> readRecordPartPermissions() {
+		return readRecordPartPermissions;
+	}
+
+	void setReadRecordPartPermissions(Set<String> readRecordPartPermissions) {
+		this.readRecordPartPermissions = readRecordPartPermissions;
+	}
+
+	Set<String> writeRecordPartPermissions() {
+		return writeRecordPartPermissions;
+	}
+
+	void setWriteRecordPartPermissions(Set<String> writeRecordPartPermissions) {
+		this.writeRecordPartPermissions = writeRecordPartPermissions;
+	}
+
+	boolean addActionRead() {
+		return addActionRead;
+	}
+
+	void doNotAddActionRead() {
+		addActionRead = false;
+	}
+}
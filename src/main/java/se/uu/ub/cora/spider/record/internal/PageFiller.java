@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.record.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import se.uu.ub.cora.data.DataRecord;
+import se.uu.ub.cora.data.DataRecordGroup;
+import se.uu.ub.cora.initialize.SettingsProvider;
+
+/**
+ * PageFiller fills a page of a list or search result with records the user is allowed to read.
+ * Records the user is not allowed to read are left out when enhancing, which makes a page shrink.
+ * As long as the page has fewer records than requested and the source has more records, PageFiller
+ * reads the positions directly after the ones already read, until the page is filled, the source
+ * is exhausted or the read budget is used up.
+ * <p>
+ * The read budget is the max number of extra reads done for one page, read from the setting
+ * pageFillReadBudget, see {@link #readReadBudgetFromSettings()}.
+ */
+public final class PageFiller {
+	static final String READ_BUDGET_SETTING = "pageFillReadBudget";
+	private static final int DEFAULT_READ_BUDGET = 3;
+	private final ChunkReader chunkReader;
+	private final Function<List<DataRecordGroup>, List<DataRecord>> enhancer;
+	private final int readBudget;
+
+	/**
+	 * ChunkReader reads the records between two positions, both included, from the source of a
+	 * page.
+	 */
+	@FunctionalInterface
+	public interface ChunkReader {
+		List<DataRecordGroup> readChunk(long fromNo, long toNo);
+	}
+
+	/**
+	 * FilledPage holds the records of a filled page together with the number of positions read
+	 * from the source to fill it, which is the number of positions a following page should start
+	 * after.
+	 */
+	public record FilledPage(List<DataRecord> records, long numberOfPositionsRead) {
+	}
+
+	public static PageFiller usingChunkReaderAndEnhancer(ChunkReader chunkReader,
+			Function<List<DataRecordGroup>, List<DataRecord>> enhancer) {
+		return new PageFiller(chunkReader, enhancer, readReadBudgetFromSettings());
+	}
+
+	private PageFiller(ChunkReader chunkReader,
+			Function<List<DataRecordGroup>, List<DataRecord>> enhancer, int readBudget) {
+		this.chunkReader = chunkReader;
+		this.enhancer = enhancer;
+		this.readBudget = readBudget;
+	}
+
+	/**
+	 * readReadBudgetFromSettings returns the max number of extra reads to do when filling a page,
+	 * read from the setting pageFillReadBudget. If the setting is missing or is not a number, is 3
+	 * returned. A negative number is treated as 0, meaning that pages are not filled.
+	 * 
+	 * @return An int with the max number of extra reads to do for one page
+	 */
+	public static int readReadBudgetFromSettings() {
+		try {
+			int readBudget = Integer.parseInt(SettingsProvider.getSetting(READ_BUDGET_SETTING));
+			return Math.max(readBudget, 0);
+		} catch (Exception _) {
+			return DEFAULT_READ_BUDGET;
+		}
+	}
+
+	/**
+	 * fillPage enhances the records in the first chunk, already read from the source, and reads
+	 * and enhances further chunks until the page has the requested number of records, the source
+	 * has no more records or the read budget is used up.
+	 * 
+	 * @param firstChunk
+	 *            A List with the records read from the source for the requested page
+	 * @param fromNo
+	 *            A long with the position of the first record in the first chunk
+	 * @param numberRequested
+	 *            A long with the number of records requested for the page, 0 or less means that
+	 *            the page is not filled
+	 * @param totalNumberOfMatches
+	 *            A long with the total number of records in the source
+	 * @return A FilledPage with the enhanced records and the number of positions read
+	 */
+	public FilledPage fillPage(List<DataRecordGroup> firstChunk, long fromNo,
+			long numberRequested, long totalNumberOfMatches) {
+		List<DataRecord> records = new ArrayList<>(enhancer.apply(firstChunk));
+		long numberOfPositionsRead = firstChunk.size();
+		int lastChunkSize = firstChunk.size();
+		int numberOfExtraReads = 0;
+		while (records.size() < numberRequested && numberOfExtraReads < readBudget
+				&& lastChunkSize > 0 && fromNo - 1 + numberOfPositionsRead < totalNumberOfMatches) {
+			long nextFromNo = fromNo + numberOfPositionsRead;
+			long numberMissing = numberRequested - records.size();
+			List<DataRecordGroup> chunk = chunkReader.readChunk(nextFromNo,
+					nextFromNo + numberMissing - 1);
+			records.addAll(enhancer.apply(chunk));
+			numberOfPositionsRead += chunk.size();
+			lastChunkSize = chunk.size();
+			numberOfExtraReads++;
+		}
+		return new FilledPage(records, numberOfPositionsRead);
+	}
+}
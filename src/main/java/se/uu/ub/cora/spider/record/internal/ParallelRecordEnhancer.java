@@ -0,0 +1,232 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.record.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import se.uu.ub.cora.beefeater.authentication.User;
+import se.uu.ub.cora.bookkeeper.recordpart.DataRedactor;
+import se.uu.ub.cora.data.DataRecord;
+import se.uu.ub.cora.data.DataRecordGroup;
+import se.uu.ub.cora.initialize.SettingsProvider;
+import se.uu.ub.cora.spider.dependency.SpiderDependencyProvider;
+import se.uu.ub.cora.spider.record.DataGroupToRecordEnhancer;
+
+/**
+ * ParallelRecordEnhancer enhances the records in a list or search result on several virtual
+ * threads at the same time, so that the blocking storage reads done while enhancing one record do
+ * not have to wait for the enhancement of the records before it.
+ * <p>
+ * The records are split into at most maxConcurrency parts of records next to each other, and each
+ * part is enhanced in order on its own virtual thread, using its own
+ * {@link DataGroupToRecordEnhancer} and {@link DataRedactor} from the dependency provider, so
+ * that the parts do not share any state. The enhancers and redactors are fetched from the
+ * dependency provider on the calling thread, before any part is started. The enhanced records are
+ * returned in the same order as the records were given.
+ * <p>
+ * The beforeEnhance function, such as the extended functionality for the BEFORE_ENHANCE_SINGLE
+ * positions, is called for each record on the thread of its part, right before the record is
+ * enhanced, in the same way as when records are enhanced one at a time. The calls are made one at
+ * a time, also for records in different parts, so that the function does not have to be thread
+ * safe.
+ * <p>
+ * If the enhancement of a record throws an exception, is the first such exception, in the order of
+ * the records, thrown after all parts have finished.
+ * <p>
+ * Parallel enhancement is turned on by setting the setting parallelEnhancementMaxConcurrency to a
+ * number larger than 1, see {@link #readMaxConcurrencyFromSettings()}.
+ */
+public final class ParallelRecordEnhancer {
+	static final String MAX_CONCURRENCY_SETTING = "parallelEnhancementMaxConcurrency";
+	private static final int NO_PARALLEL_ENHANCEMENT = 1;
+	private final SpiderDependencyProvider dependencyProvider;
+	private final int maxConcurrency;
+	private final Consumer<DataRecordGroup> beforeEnhance;
+
+	public static ParallelRecordEnhancer usingDependencyProviderMaxConcurrencyAndBeforeEnhance(
+			SpiderDependencyProvider dependencyProvider, int maxConcurrency,
+			Consumer<DataRecordGroup> beforeEnhance) {
+		return new ParallelRecordEnhancer(dependencyProvider, maxConcurrency, beforeEnhance);
+	}
+
+	private ParallelRecordEnhancer(SpiderDependencyProvider dependencyProvider, int maxConcurrency,
+			Consumer<DataRecordGroup> beforeEnhance) {
+		this.dependencyProvider = dependencyProvider;
+		this.maxConcurrency = maxConcurrency;
+		this.beforeEnhance = beforeEnhance;
+	}
+
+	/**
+	 * readMaxConcurrencyFromSettings returns the max number of records to enhance at the same time,
+	 * read from the setting parallelEnhancementMaxConcurrency. If the setting is missing or is not
+	 * a number larger than 1, is 1 returned, meaning that records should be enhanced one at a time.
+	 * 
+	 * @return An int with the max number of records to enhance at the same time
+	 */
+	public static int readMaxConcurrencyFromSettings() {
+		try {
+			int maxConcurrency = Integer
+					.parseInt(SettingsProvider.getSetting(MAX_CONCURRENCY_SETTING));
+			return Math.max(maxConcurrency, NO_PARALLEL_ENHANCEMENT);
+		} catch (Exception _) {
+			return NO_PARALLEL_ENHANCEMENT;
+		}
+	}
+
+	/**
+	 * enhanceIfUserHasReadAccess enhances the records the user has read access to, in the same way
+	 * as {@link DataGroupToRecordEnhancer#enhanceIfUserHasReadAccess}, using the type of each
+	 * record as recordType.
+	 * 
+	 * @param user
+	 *            The User to enhance the records for
+	 * @param dataRecordGroups
+	 *            A List of DataRecordGroups to enhance
+	 * @return A List with the enhanced records the user has read access to, in the same order as
+	 *         the DataRecordGroups
+	 */
+	public List<DataRecord> enhanceIfUserHasReadAccess(User user,
+			List<DataRecordGroup> dataRecordGroups) {
+		return enhanceAllParts(dataRecordGroups, part -> enhancePart(user, part));
+	}
+
+	/**
+	 * enhanceLeanIfUserHasReadAccess enhances the records the user has read access to, in the same
+	 * way as {@link DataGroupToRecordEnhancer#enhanceLeanIfUserHasReadAccess}, using the type of
+	 * each record as recordType.
+	 * 
+	 * @param user
+	 *            The User to enhance the records for
+	 * @param dataRecordGroups
+	 *            A List of DataRecordGroups to enhance
+	 * @return A List with the lean records the user has read access to, in the same order as the
+	 *         DataRecordGroups
+	 */
+	public List<DataRecord> enhanceLeanIfUserHasReadAccess(User user,
+			List<DataRecordGroup> dataRecordGroups) {
+		return enhanceAllParts(dataRecordGroups, part -> enhancePartLean(user, part));
+	}
+
+	private List<DataRecord> enhanceAllParts(List<DataRecordGroup> dataRecordGroups,
+			Function<Part, List<DataRecord>> partEnhancer) {
+		List<Part> parts = splitIntoParts(dataRecordGroups);
+		List<Future<List<DataRecord>>> enhancedParts = new ArrayList<>();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (Part part : parts) {
+				enhancedParts.add(executor.submit(() -> partEnhancer.apply(part)));
+			}
+		}
+		return collectEnhancedRecordsInOrder(enhancedParts);
+	}
+
+	private List<Part> splitIntoParts(List<DataRecordGroup> dataRecordGroups) {
+		int numberOfParts = Math.min(maxConcurrency, dataRecordGroups.size());
+		List<Part> parts = new ArrayList<>();
+		int start = 0;
+		for (int partNo = 0; partNo < numberOfParts; partNo++) {
+			int end = start + sizeOfPart(dataRecordGroups.size(), numberOfParts, partNo);
+			parts.add(createPart(dataRecordGroups.subList(start, end)));
+			start = end;
+		}
+		return parts;
+	}
+
+	private Part createPart(List<DataRecordGroup> records) {
+		return new Part(records, dependencyProvider.getDataGroupToRecordEnhancer(),
+				dependencyProvider.getDataRedactor());
+	}
+
+	private int sizeOfPart(int numberOfRecords, int numberOfParts, int partNo) {
+		int extraRecord = partNo < numberOfRecords % numberOfParts ? 1 : 0;
+		return numberOfRecords / numberOfParts + extraRecord;
+	}
+
+	private List<DataRecord> enhancePart(User user, Part part) {
+		part.enhancer().prefetchIncomingLinksForRecords(part.records());
+		List<DataRecord> enhancedRecords = new ArrayList<>();
+		for (DataRecordGroup dataRecordGroup : part.records()) {
+			runBeforeEnhance(dataRecordGroup);
+			Optional<DataRecord> enhancedRecord = part.enhancer().enhanceIfUserHasReadAccess(user,
+					dataRecordGroup.getType(), dataRecordGroup, part.dataRedactor());
+			enhancedRecord.ifPresent(enhancedRecords::add);
+		}
+		return enhancedRecords;
+	}
+
+	private List<DataRecord> enhancePartLean(User user, Part part) {
+		List<DataRecord> enhancedRecords = new ArrayList<>();
+		for (DataRecordGroup dataRecordGroup : part.records()) {
+			runBeforeEnhance(dataRecordGroup);
+			Optional<DataRecord> enhancedRecord = part.enhancer().enhanceLeanIfUserHasReadAccess(
+					user, dataRecordGroup.getType(), dataRecordGroup, part.dataRedactor());
+			enhancedRecord.ifPresent(enhancedRecords::add);
+		}
+		return enhancedRecords;
+	}
+
+	private synchronized void runBeforeEnhance(DataRecordGroup dataRecordGroup) {
+		beforeEnhance.accept(dataRecordGroup);
+	}
+
+	private List<DataRecord> collectEnhancedRecordsInOrder(
+			List<Future<List<DataRecord>>> enhancedParts) {
+		List<DataRecord> enhancedRecords = new ArrayList<>();
+		for (Future<List<DataRecord>> enhancedPart : enhancedParts) {
+			enhancedRecords.addAll(getResultOrThrowCause(enhancedPart));
+		}
+		return enhancedRecords;
+	}
+
+	private List<DataRecord> getResultOrThrowCause(Future<List<DataRecord>> enhancedPart) {
+		try {
+			return enhancedPart.get();
+		} catch (ExecutionException e) {
+			throw throwableAsRuntimeException(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while enhancing records", e);
+		}
+	}
+
+	private RuntimeException throwableAsRuntimeException(Throwable cause) {
+		if (cause instanceof RuntimeException runtimeException) {
+			return runtimeException;
+		}
+		if (cause instanceof Error error) {
+			throw error;
+		}
+		return new IllegalStateException("Enhancing records failed", cause);
+	}
+
+	int onlyForTestGetMaxConcurrency() {
+		return maxConcurrency;
+	}
+
+	private record Part(List<DataRecordGroup> records, DataGroupToRecordEnhancer enhancer,
+			DataRedactor dataRedactor) {
+	}
+}
@@ -79,6 +79,7 @@ public final class RecordCreatorImp extends RecordHandler implements RecordCreat
 	private Set<Link> collectedLinks;
 	private RecordArchive recordArchive;
 	private DataRecordGroup recordGroup;
+	private boolean extendedFunctionalityUsedSinceTermsWereCollected;
 
 	private RecordCreatorImp(SpiderDependencyProvider dependencyProvider,
 			DataGroupToRecordEnhancer dataGroupToRecordEnhancer) {
@@ -158,6 +159,9 @@ public final class RecordCreatorImp extends RecordHandler implements RecordCreat
 		List<ExtendedFunctionality> exFunctionality = extendedFunctionalityProvider
 				.getFunctionalityForPositionAndRecordType(position, recordType);
 		useExtendedFunctionality(recordGroup, exFunctionality);
+		if (!exFunctionality.isEmpty()) {
+			extendedFunctionalityUsedSinceTermsWereCollected = true;
+		}
 	}
 
 	private RecordTypeHandler createRecordTypeHandler() {
@@ -299,6 +303,7 @@ public final class RecordCreatorImp extends RecordHandler implements RecordCreat
 
 	private void collectInformationSpecifiedInMetadata() {
 		collectedTerms = dataGroupTermCollector.collectTerms(definitionId, recordGroup);
+		extendedFunctionalityUsedSinceTermsWereCollected = false;
 		DataGroup dataGroup = DataProvider.createGroupFromRecordGroup(recordGroup);
 		collectedLinks = linkCollector.collectLinks(definitionId, dataGroup);
 		checkToPartOfLinkedDataExistsInStorage(collectedLinks);
@@ -360,8 +365,12 @@ public final class RecordCreatorImp extends RecordHandler implements RecordCreat
 
 	private DataRecord enhanceDataGroupToRecord() {
 		DataRedactor dataRedactor = dependencyProvider.getDataRedactor();
-		return dataGroupToRecordEnhancer.enhanceIgnoringReadAccess(user, recordType, recordGroup,
-				dataRedactor);
+		if (extendedFunctionalityUsedSinceTermsWereCollected) {
+			return dataGroupToRecordEnhancer.enhanceIgnoringReadAccess(user, recordType,
+					recordGroup, dataRedactor);
+		}
+		return dataGroupToRecordEnhancer.enhanceIgnoringReadAccessUsingCollectedTerms(user,
+				recordType, recordGroup, dataRedactor, collectedTerms);
 	}
 
 	public DataGroupToRecordEnhancer onlyForTestGetDataGroupToRecordEnhancer() {
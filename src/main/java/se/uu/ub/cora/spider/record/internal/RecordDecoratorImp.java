@@ -31,6 +31,7 @@ import se.uu.ub.cora.data.DataRecordGroup;
 import se.uu.ub.cora.data.DataRecordLink;
 import se.uu.ub.cora.spider.dependency.SpiderDependencyProvider;
 import se.uu.ub.cora.spider.dependency.SpiderInstanceProvider;
+import se.uu.ub.cora.spider.linkplan.LinkPlan;
 import se.uu.ub.cora.spider.record.RecordDecorator;
 import se.uu.ub.cora.spider.record.RecordReader;
 
@@ -64,14 +65,16 @@ public class RecordDecoratorImp implements RecordDecorator {
 		String definitionId = getDefinitionId(recordToDecorate.getType());
 		decorator.decorateRecord(definitionId, recordToDecorate);
 		if (maxDepthNotReached(depth)) {
-			loopChildren(authToken, depth, recordToDecorate);
+			LinkPlan linkPlan = dependencyProvider.getLinkPlan(definitionId);
+			loopChildren(authToken, depth, recordToDecorate, linkPlan);
 		}
 	}
 
-	private void loopChildren(String authToken, int depth, DataRecord recordToDecorate) {
+	private void loopChildren(String authToken, int depth, DataRecord recordToDecorate,
+			LinkPlan linkPlan) {
 		DataRecordGroup dataRecordGroup = recordToDecorate.getDataRecordGroup();
 		DataGroup dataGroup = DataProvider.createGroupFromRecordGroup(dataRecordGroup);
-		loopChildrenAndAddLinkRecordIntoRecordLinks(authToken, dataGroup, depth);
+		loopChildrenAndAddLinkRecordIntoRecordLinks(authToken, dataGroup, depth, linkPlan);
 	}
 
 	private boolean maxDepthNotReached(int depth) {
@@ -79,24 +82,30 @@ public class RecordDecoratorImp implements RecordDecorator {
 	}
 
 	private void loopChildrenAndAddLinkRecordIntoRecordLinks(String authToken, DataGroup dataGroup,
-			int depth) {
-		loopGroups(authToken, dataGroup, depth);
+			int depth, LinkPlan linkPlan) {
+		loopGroups(authToken, dataGroup, depth, linkPlan);
 		loopLinks(authToken, dataGroup, depth);
 	}
 
-	private void loopGroups(String authToken, DataGroup dataGroup, int depth) {
+	private void loopGroups(String authToken, DataGroup dataGroup, int depth, LinkPlan linkPlan) {
 		List<DataGroup> groups = dataGroup.getChildrenOfType(DataGroup.class);
 		for (DataGroup group : groups) {
-			loopChildrenAndSkipRecordInfoGroup(authToken, depth, group);
+			loopChildrenAndSkipRecordInfoGroup(authToken, depth, group, linkPlan);
 		}
 	}
 
-	private void loopChildrenAndSkipRecordInfoGroup(String authToken, int depth, DataGroup group) {
-		if (!"recordInfo".equals(group.getNameInData())) {
-			loopChildrenAndAddLinkRecordIntoRecordLinks(authToken, group, depth);
+	private void loopChildrenAndSkipRecordInfoGroup(String authToken, int depth, DataGroup group,
+			LinkPlan linkPlan) {
+		if (groupCanContainLinksAndIsNotRecordInfo(group, linkPlan)) {
+			loopChildrenAndAddLinkRecordIntoRecordLinks(authToken, group, depth,
+					linkPlan.getPlanForChildGroup(group));
 		}
 	}
 
+	private boolean groupCanContainLinksAndIsNotRecordInfo(DataGroup group, LinkPlan linkPlan) {
+		return !"recordInfo".equals(group.getNameInData()) && linkPlan.shouldVisitChild(group);
+	}
+
 	private void loopLinks(String authToken, DataGroup dataGroup, int depth) {
 		List<DataRecordLink> links = dataGroup.getChildrenOfType(DataRecordLink.class);
 		for (DataRecordLink link : links) {
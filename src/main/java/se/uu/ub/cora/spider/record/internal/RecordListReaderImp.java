@@ -22,8 +22,18 @@ package se.uu.ub.cora.spider.record.internal;
 import static se.uu.ub.cora.spider.extendedfunctionality.ExtendedFunctionalityPosition.READLIST_AFTER_AUTHORIZATION;
 import static se.uu.ub.cora.spider.extendedfunctionality.ExtendedFunctionalityPosition.READLIST_BEFORE_ENHANCE_SINGLE;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import se.uu.ub.cora.bookkeeper.recordpart.DataRedactor;
 import se.uu.ub.cora.bookkeeper.recordtype.RecordTypeHandler;
@@ -35,8 +45,8 @@ import se.uu.ub.cora.data.DataList;
 import se.uu.ub.cora.data.DataProvider;
 import se.uu.ub.cora.data.DataRecord;
 import se.uu.ub.cora.data.DataRecordGroup;
+import se.uu.ub.cora.initialize.SettingsProvider;
 import se.uu.ub.cora.spider.authentication.Authenticator;
-import se.uu.ub.cora.spider.authorization.AuthorizationException;
 import se.uu.ub.cora.spider.authorization.SpiderAuthorizator;
 import se.uu.ub.cora.spider.data.DataGroupToFilter;
 import se.uu.ub.cora.spider.dependency.SpiderDependencyProvider;
@@ -47,18 +57,25 @@ import se.uu.ub.cora.spider.extendedfunctionality.ExtendedFunctionalityProvider;
 import se.uu.ub.cora.spider.record.DataException;
 import se.uu.ub.cora.spider.record.DataGroupToRecordEnhancer;
 import se.uu.ub.cora.spider.record.RecordListReader;
+import se.uu.ub.cora.spider.record.internal.PageFiller.FilledPage;
 import se.uu.ub.cora.storage.Filter;
 import se.uu.ub.cora.storage.StorageReadResult;
 
 public final class RecordListReaderImp extends RecordHandler implements RecordListReader {
+	static final String CHUNK_SIZE_SETTING = "recordListStreamChunkSize";
+	private static final int DEFAULT_CHUNK_SIZE = 1000;
+	private static final String TO_NO = "toNo";
 	private Authenticator authenticator;
 	private SpiderAuthorizator spiderAuthorizator;
 	private DataList dataList;
 	private DataGroupToRecordEnhancer dataGroupToRecordEnhancer;
 	private DataValidator dataValidator;
 	private StorageReadResult readResult;
+	private long numberOfPositionsRead;
 	private RecordTypeHandler recordTypeHandler;
 	private ExtendedFunctionalityProvider extendedFunctionalityProvider;
+	private boolean lean = false;
+	private int maxConcurrency;
 
 	private RecordListReaderImp(SpiderDependencyProvider dependencyProvider,
 			DataGroupToRecordEnhancer dataGroupToRecordEnhancer) {
@@ -69,6 +86,7 @@ public final class RecordListReaderImp extends RecordHandler implements RecordLi
 		spiderAuthorizator = dependencyProvider.getSpiderAuthorizator();
 		recordStorage = dependencyProvider.getRecordStorage();
 		dataValidator = dependencyProvider.getDataValidator();
+		maxConcurrency = ParallelRecordEnhancer.readMaxConcurrencyFromSettings();
 	}
 
 	public static RecordListReaderImp usingDependencyProviderAndDataGroupToRecordEnhancer(
@@ -79,21 +97,77 @@ public final class RecordListReaderImp extends RecordHandler implements RecordLi
 
 	@Override
 	public DataList readRecordList(String authToken, String recordType, DataGroup filter) {
+		checkAccessAndValidateFilter(authToken, recordType, filter);
+
+		dataList = DataProvider.createListWithNameOfDataType(recordType);
+		readRecordsOfType(filter);
+		setFromToInReadRecordList();
+
+		return dataList;
+	}
+
+	private void checkAccessAndValidateFilter(String authToken, String recordType,
+			DataGroup filter) {
 		this.recordType = recordType;
 		this.authToken = authToken;
 		recordTypeHandler = dependencyProvider.getRecordTypeHandler(recordType);
 		ensureActiveUserHasListPermissionUsingAuthToken();
 		useExtendedFunctionalityForPosition(READLIST_AFTER_AUTHORIZATION);
-
-		dataList = DataProvider.createListWithNameOfDataType(recordType);
 		validateFilterIfNotEmpty(filter, recordType);
+	}
 
-		readRecordsOfType(filter);
-		setFromToInReadRecordList();
+	@Override
+	public DataList readRecordListLean(String authToken, String recordType, DataGroup filter) {
+		lean = true;
+		return readRecordList(authToken, recordType, filter);
+	}
+
+	@Override
+	public DataList readRecordListCountOnly(String authToken, String recordType,
+			DataGroup filter) {
+		checkAccessAndValidateFilter(authToken, recordType, filter);
 
+		long totalNumberOfMatches = recordStorage
+				.getTotalNumberOfRecordsForTypes(List.of(recordType), convertFilter(filter));
+		return createCountOnlyList(totalNumberOfMatches);
+	}
+
+	private DataList createCountOnlyList(long totalNumberOfMatches) {
+		dataList = DataProvider.createListWithNameOfDataType(recordType);
+		dataList.setTotalNo(String.valueOf(totalNumberOfMatches));
+		setFromToValuesToZeroForResultWithoutRecords();
 		return dataList;
 	}
 
+	@Override
+	public Stream<DataRecord> readRecordListAsStream(String authToken, String recordType,
+			DataGroup filter) {
+		checkAccessAndValidateFilter(authToken, recordType, filter);
+
+		Filter storageFilter = convertFilter(filter);
+		Iterator<DataRecord> records = new ChunkedRecordIterator(storageFilter,
+				getLastNoToStream(filter, storageFilter), dependencyProvider.getDataRedactor(),
+				readChunkSizeFromSettings());
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(records,
+				Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
+	private long getLastNoToStream(DataGroup dataFilter, Filter filter) {
+		if (dataFilter.containsChildWithNameInData(TO_NO)) {
+			return filter.toNo;
+		}
+		return Long.MAX_VALUE;
+	}
+
+	private int readChunkSizeFromSettings() {
+		try {
+			int chunkSize = Integer.parseInt(SettingsProvider.getSetting(CHUNK_SIZE_SETTING));
+			return chunkSize > 0 ? chunkSize : DEFAULT_CHUNK_SIZE;
+		} catch (Exception _) {
+			return DEFAULT_CHUNK_SIZE;
+		}
+	}
+
 	private void ensureActiveUserHasListPermissionUsingAuthToken() {
 		tryToGetActiveUser();
 		checkUserIsAuthorizedForActionOnRecordType();
@@ -161,28 +235,100 @@ public final class RecordListReaderImp extends RecordHandler implements RecordLi
 	}
 
 	private void readRecordsOfType(DataGroup dataFilter) {
-		DataGroupToFilter converter = dependencyProvider.getDataGroupToFilterConverter();
-		Filter filter = converter.convert(dataFilter);
+		Filter filter = convertFilter(dataFilter);
 
 		DataRedactor dataRedactor = dependencyProvider.getDataRedactor();
-		readAndAddToReadRecordList(filter, dataRedactor);
+		readAndAddToReadRecordList(filter, dataRedactor, getNumberRequested(dataFilter, filter));
+	}
+
+	private long getNumberRequested(DataGroup dataFilter, Filter filter) {
+		if (dataFilter.containsChildWithNameInData(TO_NO)) {
+			return filter.toNo - filter.fromNo + 1;
+		}
+		return 0;
+	}
+
+	private Filter convertFilter(DataGroup dataFilter) {
+		DataGroupToFilter converter = dependencyProvider.getDataGroupToFilterConverter();
+		return converter.convert(dataFilter);
 	}
 
-	private void readAndAddToReadRecordList(Filter filter, DataRedactor dataRedactor) {
+	private void readAndAddToReadRecordList(Filter filter, DataRedactor dataRedactor,
+			long numberRequested) {
 		readResult = recordStorage.readList(recordType, filter);
-		Collection<DataRecordGroup> dataRecordList = readResult.listOfDataRecordGroups;
+		PageFiller pageFiller = PageFiller.usingChunkReaderAndEnhancer(
+				(fromNo, toNo) -> readChunk(filter, fromNo, toNo),
+				records -> enhanceRecordsUserHasReadAccessTo(records, dataRedactor));
+		FilledPage page = pageFiller.fillPage(readResult.listOfDataRecordGroups, filter.fromNo,
+				numberRequested, readResult.totalNumberOfMatches);
+		page.records().forEach(dataList::addData);
+		numberOfPositionsRead = page.numberOfPositionsRead();
+	}
+
+	private List<DataRecordGroup> readChunk(Filter filter, long fromNo, long toNo) {
+		filter.fromNo = fromNo;
+		filter.toNo = toNo;
+		return recordStorage.readList(recordType, filter).listOfDataRecordGroups;
+	}
+
+	private List<DataRecord> enhanceRecordsUserHasReadAccessTo(
+			Collection<DataRecordGroup> dataRecordList, DataRedactor dataRedactor) {
+		return enhanceRecordsUserHasReadAccessToUsingEnhancer(dataRecordList, dataRedactor,
+				dataGroupToRecordEnhancer);
+	}
+
+	private List<DataRecord> enhanceRecordsUserHasReadAccessToUsingEnhancer(
+			Collection<DataRecordGroup> dataRecordList, DataRedactor dataRedactor,
+			DataGroupToRecordEnhancer enhancer) {
+		if (enhanceInParallel(dataRecordList)) {
+			return enhanceUsingParallelRecordEnhancer(List.copyOf(dataRecordList));
+		}
+		return enhanceOneAtATime(dataRecordList, dataRedactor, enhancer);
+	}
+
+	private boolean enhanceInParallel(Collection<DataRecordGroup> dataRecordList) {
+		return maxConcurrency > 1 && dataRecordList.size() > 1;
+	}
+
+	private List<DataRecord> enhanceUsingParallelRecordEnhancer(
+			List<DataRecordGroup> dataRecordList) {
+		ParallelRecordEnhancer parallelEnhancer = ParallelRecordEnhancer
+				.usingDependencyProviderMaxConcurrencyAndBeforeEnhance(dependencyProvider,
+						maxConcurrency, this::useExtendedFunctionalityBeforeEnhanceSingle);
+		return enhanceUsingParallelEnhancer(parallelEnhancer, dataRecordList);
+	}
+
+	private List<DataRecord> enhanceUsingParallelEnhancer(
+			ParallelRecordEnhancer parallelEnhancer, List<DataRecordGroup> dataRecordList) {
+		if (lean) {
+			return parallelEnhancer.enhanceLeanIfUserHasReadAccess(user, dataRecordList);
+		}
+		return parallelEnhancer.enhanceIfUserHasReadAccess(user, dataRecordList);
+	}
+
+	private List<DataRecord> enhanceOneAtATime(Collection<DataRecordGroup> dataRecordList,
+			DataRedactor dataRedactor, DataGroupToRecordEnhancer enhancer) {
+		possiblyPrefetchIncomingLinks(dataRecordList, enhancer);
+		List<DataRecord> enhancedRecords = new ArrayList<>();
 		for (DataRecordGroup dataRecordGroup : dataRecordList) {
-			useExtendedFunctionalityBeforeEnhanceSingle(READLIST_BEFORE_ENHANCE_SINGLE, dataRecordGroup);
-			enhanceDataGroupAndPossiblyAddToRecordList(dataRecordGroup, dataRecordGroup.getType(),
-					dataRedactor);
+			useExtendedFunctionalityBeforeEnhanceSingle(dataRecordGroup);
+			enhanceIfUserHasReadAccess(enhancer, dataRecordGroup, dataRedactor)
+					.ifPresent(enhancedRecords::add);
 		}
+		return enhancedRecords;
 	}
 
-	private void useExtendedFunctionalityBeforeEnhanceSingle(ExtendedFunctionalityPosition position,
-			DataRecordGroup dataRecordGroup) {
+	private void possiblyPrefetchIncomingLinks(Collection<DataRecordGroup> dataRecordList,
+			DataGroupToRecordEnhancer enhancer) {
+		if (!lean) {
+			enhancer.prefetchIncomingLinksForRecords(dataRecordList);
+		}
+	}
+
+	private void useExtendedFunctionalityBeforeEnhanceSingle(DataRecordGroup dataRecordGroup) {
 		ExtendedFunctionalityData data = createExtendedFunctionalityDataUsingDataRecordGroup(
 				dataRecordGroup);
-		useExtendedFunctionality(position, data);
+		useExtendedFunctionality(READLIST_BEFORE_ENHANCE_SINGLE, data);
 	}
 
 	private ExtendedFunctionalityData createExtendedFunctionalityDataUsingDataRecordGroup(
@@ -192,15 +338,15 @@ public final class RecordListReaderImp extends RecordHandler implements RecordLi
 		return data;
 	}
 
-	private void enhanceDataGroupAndPossiblyAddToRecordList(DataRecordGroup dataRecordGroup,
-			String recordTypeForRecord, DataRedactor dataRedactor) {
-		try {
-			DataRecord dataRecord = dataGroupToRecordEnhancer.enhance(user, recordTypeForRecord,
+	private Optional<DataRecord> enhanceIfUserHasReadAccess(DataGroupToRecordEnhancer enhancer,
+			DataRecordGroup dataRecordGroup, DataRedactor dataRedactor) {
+		String recordTypeForRecord = dataRecordGroup.getType();
+		if (lean) {
+			return enhancer.enhanceLeanIfUserHasReadAccess(user, recordTypeForRecord,
 					dataRecordGroup, dataRedactor);
-			dataList.addData(dataRecord);
-		} catch (AuthorizationException noReadAuthorization) {
-			// do nothing
 		}
+		return enhancer.enhanceIfUserHasReadAccess(user, recordTypeForRecord, dataRecordGroup,
+				dataRedactor);
 	}
 
 	private void setFromToInReadRecordList() {
@@ -218,11 +364,75 @@ public final class RecordListReaderImp extends RecordHandler implements RecordLi
 
 	private void setFromToValuesForReturnedRecords() {
 		dataList.setFromNo(String.valueOf(readResult.start));
-		dataList.setToNo(String.valueOf(readResult.start + dataList.getDataList().size()));
+		dataList.setToNo(String.valueOf(readResult.start + numberOfPositionsRead));
 	}
 
 	private void setFromToValuesToZeroForResultWithoutRecords() {
 		dataList.setFromNo("0");
 		dataList.setToNo("0");
 	}
+
+	/**
+	 * ChunkedRecordIterator reads the requested records from storage one chunk at a time, when the
+	 * records read so far have been consumed. Consumed records are removed from the iterator, so
+	 * that at most one chunk of records is kept in memory.
+	 * <p>
+	 * Each chunk is enhanced using a new {@link DataGroupToRecordEnhancer} from the dependency
+	 * provider, so that what an enhancer remembers, such as prefetched incoming links, only is
+	 * kept for one chunk and does not grow for the whole stream.
+	 * <p>
+	 * If the filter has no toNo are records read until storage has no more matching records.
+	 */
+	private final class ChunkedRecordIterator implements Iterator<DataRecord> {
+		private final Filter filter;
+		private final DataRedactor dataRedactor;
+		private final int chunkSize;
+		private final long lastNo;
+		private final Deque<DataRecord> enhancedRecords = new ArrayDeque<>();
+		private long nextFromNo;
+		private boolean allChunksRead;
+
+		ChunkedRecordIterator(Filter filter, long lastNo, DataRedactor dataRedactor,
+				int chunkSize) {
+			this.filter = filter;
+			this.lastNo = lastNo;
+			this.dataRedactor = dataRedactor;
+			this.chunkSize = chunkSize;
+			nextFromNo = filter.fromNo;
+			allChunksRead = nextFromNo > lastNo;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (enhancedRecords.isEmpty() && !allChunksRead) {
+				readAndEnhanceNextChunk();
+			}
+			return !enhancedRecords.isEmpty();
+		}
+
+		@Override
+		public DataRecord next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return enhancedRecords.poll();
+		}
+
+		private void readAndEnhanceNextChunk() {
+			long toNo = Math.min(nextFromNo + chunkSize - 1, lastNo);
+			filter.fromNo = nextFromNo;
+			filter.toNo = toNo;
+			StorageReadResult chunk = recordStorage.readList(recordType, filter);
+			enhancedRecords.addAll(enhanceRecordsUserHasReadAccessToUsingEnhancer(
+					chunk.listOfDataRecordGroups, dataRedactor,
+					dependencyProvider.getDataGroupToRecordEnhancer()));
+			nextFromNo = toNo + 1;
+			allChunksRead = isLastChunk(chunk, toNo);
+		}
+
+		private boolean isLastChunk(StorageReadResult chunk, long toNo) {
+			return toNo >= lastNo || toNo >= chunk.totalNumberOfMatches
+					|| chunk.listOfDataRecordGroups.size() < chunkSize;
+		}
+	}
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.record.internal;
+
+import java.util.Set;
+
+import se.uu.ub.cora.bookkeeper.metadata.Constraint;
+
+/**
+ * RecordPartConstraints decides if a {@link se.uu.ub.cora.bookkeeper.recordpart.DataRedactor}
+ * needs to be called for a set of record part constraints and the record part permissions a user
+ * has. The redactor only changes the children for constraints the user has no permission for, so
+ * if there are no constraints, or if the user has a permission for every constraint, can the
+ * record be used as it is, without the traversal and copy done by the redactor.
+ */
+final class RecordPartConstraints {
+
+	private RecordPartConstraints() {
+		// not called
+		throw new UnsupportedOperationException();
+	}
+
+	static boolean permissionsCoverAllConstraints(Set<Constraint> constraints,
+			Set<String> permissions) {
+		for (Constraint constraint : constraints) {
+			if (!permissions.contains(constraint.getNameInData())) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
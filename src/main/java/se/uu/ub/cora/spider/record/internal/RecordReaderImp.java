@@ -53,6 +53,7 @@ public final class RecordReaderImp implements RecordReader {
 	private String recordType;
 	private ExtendedFunctionalityProvider extendedFunctionalityProvider;
 	private String recordId;
+	private boolean lean = false;
 
 	private RecordReaderImp(SpiderDependencyProvider dependencyProvider,
 			DataGroupToRecordEnhancer dataGroupToRecordEnhancer) {
@@ -78,6 +79,12 @@ public final class RecordReaderImp implements RecordReader {
 		return tryToReadRecord();
 	}
 
+	@Override
+	public DataRecord readRecordLean(String authToken, String recordType, String recordId) {
+		lean = true;
+		return readRecord(authToken, recordType, recordId);
+	}
+
 	private DataRecord tryToReadRecord() {
 		tryToGetUserWithActiveToken();
 
@@ -136,6 +143,10 @@ public final class RecordReaderImp implements RecordReader {
 
 	private DataRecord tryToReadAndEnhanceRecord(DataRecordGroup dataRecordGroup) {
 		DataRedactor dataRedactor = dependencyProvider.getDataRedactor();
+		if (lean) {
+			return dataGroupToRecordEnhancer.enhanceLean(user, recordType, dataRecordGroup,
+					dataRedactor);
+		}
 		return dataGroupToRecordEnhancer.enhance(user, recordType, dataRecordGroup, dataRedactor);
 	}
 
@@ -44,6 +44,18 @@ public class RecordSearcherDecoratedImp implements RecordSearcher {
 		return searchList;
 	}
 
+	@Override
+	public DataList searchLean(String authToken, String searchId, DataGroup searchData) {
+		RecordSearcher recordSearcher = SpiderInstanceProvider.getRecordSearcher();
+		return recordSearcher.searchLean(authToken, searchId, searchData);
+	}
+
+	@Override
+	public DataList searchCountOnly(String authToken, String searchId, DataGroup searchData) {
+		RecordSearcher recordSearcher = SpiderInstanceProvider.getRecordSearcher();
+		return recordSearcher.searchCountOnly(authToken, searchId, searchData);
+	}
+
 	private DataList searchUsingStandardSearch(String authToken, String searchId,
 			DataGroup searchData) {
 		RecordSearcher recordSearcher = SpiderInstanceProvider.getRecordSearcher();
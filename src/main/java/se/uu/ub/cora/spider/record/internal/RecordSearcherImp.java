@@ -21,13 +21,17 @@ package se.uu.ub.cora.spider.record.internal;
 import static se.uu.ub.cora.spider.extendedfunctionality.ExtendedFunctionalityPosition.SEARCH_AFTER_AUTHORIZATION;
 import static se.uu.ub.cora.spider.extendedfunctionality.ExtendedFunctionalityPosition.SEARCH_BEFORE_ENHANCE_SINGLE;
 
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import se.uu.ub.cora.beefeater.authentication.User;
 import se.uu.ub.cora.bookkeeper.recordpart.DataRedactor;
 import se.uu.ub.cora.bookkeeper.validator.DataValidator;
 import se.uu.ub.cora.bookkeeper.validator.ValidationAnswer;
+import se.uu.ub.cora.data.DataAttribute;
+import se.uu.ub.cora.data.DataChild;
 import se.uu.ub.cora.data.DataGroup;
 import se.uu.ub.cora.data.DataList;
 import se.uu.ub.cora.data.DataProvider;
@@ -36,7 +40,6 @@ import se.uu.ub.cora.data.DataRecordGroup;
 import se.uu.ub.cora.search.RecordSearch;
 import se.uu.ub.cora.search.SearchResult;
 import se.uu.ub.cora.spider.authentication.Authenticator;
-import se.uu.ub.cora.spider.authorization.AuthorizationException;
 import se.uu.ub.cora.spider.authorization.SpiderAuthorizator;
 import se.uu.ub.cora.spider.dependency.SpiderDependencyProvider;
 import se.uu.ub.cora.spider.extendedfunctionality.ExtendedFunctionality;
@@ -46,35 +49,44 @@ import se.uu.ub.cora.spider.extendedfunctionality.ExtendedFunctionalityProvider;
 import se.uu.ub.cora.spider.record.DataException;
 import se.uu.ub.cora.spider.record.DataGroupToRecordEnhancer;
 import se.uu.ub.cora.spider.record.RecordSearcher;
-import se.uu.ub.cora.storage.RecordStorage;
+import se.uu.ub.cora.spider.record.internal.PageFiller.FilledPage;
+import se.uu.ub.cora.spider.searchdefinition.SearchDefinition;
+import se.uu.ub.cora.spider.searchresult.SearchResultCache;
+import se.uu.ub.cora.spider.searchresult.SearchResultCacheKey;
+import se.uu.ub.cora.spider.searchresult.SearchResultPage;
+import se.uu.ub.cora.storage.Link;
 
 public final class RecordSearcherImp implements RecordSearcher {
-	private static final String LINKED_RECORD_ID = "linkedRecordId";
 	private static final String SEARCH = "search";
+	private static final String START = "start";
+	private static final String ROWS = "rows";
 	private Authenticator authenticator;
 	private SpiderAuthorizator spiderAuthorizator;
 	private DataValidator dataValidator;
 	private User user;
 	private DataGroupToRecordEnhancer dataGroupToRecordEnhancer;
-	private RecordStorage recordStorage;
 	private DataGroup searchData;
 	private RecordSearch recordSearch;
 	private DataList dataList;
-	private DataRecordGroup searchMetadataAsRecord;
-	private List<DataGroup> recordTypeToSearchInGroups;
+	private List<DataRecord> recordsInPage;
+	private SearchDefinition searchDefinition;
 	private SpiderDependencyProvider dependencyProvider;
 	private ExtendedFunctionalityProvider extendedFunctionalityProvider;
 	private String authToken;
+	private boolean lean = false;
+	private SearchResultCache searchResultCache;
+	private int maxConcurrency;
 
 	private RecordSearcherImp(SpiderDependencyProvider dependencyProvider) {
 		this.dependencyProvider = dependencyProvider;
+		searchResultCache = dependencyProvider.getSearchResultCache();
 		this.authenticator = dependencyProvider.getAuthenticator();
 		this.spiderAuthorizator = dependencyProvider.getSpiderAuthorizator();
 		this.dataValidator = dependencyProvider.getDataValidator();
-		this.recordStorage = dependencyProvider.getRecordStorage();
 		this.recordSearch = dependencyProvider.getRecordSearch();
 		this.dataGroupToRecordEnhancer = dependencyProvider.getDataGroupToRecordEnhancer();
 		extendedFunctionalityProvider = dependencyProvider.getExtendedFunctionalityProvider();
+		maxConcurrency = ParallelRecordEnhancer.readMaxConcurrencyFromSettings();
 	}
 
 	public static RecordSearcher usingDependencyProvider(
@@ -84,54 +96,180 @@ public final class RecordSearcherImp implements RecordSearcher {
 
 	@Override
 	public DataList search(String authToken, String searchId, DataGroup searchData) {
+		checkSearchAccess(authToken, searchId, searchData);
+
+		Optional<SearchResultCacheKey> cacheKey = possiblyCreateCacheKey(searchId);
+		if (cacheKey.isPresent()) {
+			return searchUsingSearchResultCache(cacheKey.get());
+		}
+		return validateSearchFilterAndEnhance();
+	}
+
+	private DataList searchUsingSearchResultCache(SearchResultCacheKey cacheKey) {
+		SearchResultPage page = searchResultCache.getOrLoadSearchResult(cacheKey,
+				this::validateSearchFilterAndEnhanceToPage);
+		if (searchedDuringThisCall()) {
+			return dataList;
+		}
+		Optional<DataList> cachedList = searchAndEnhanceRecordsInPageIfAllCanBeRead(page);
+		if (cachedList.isPresent()) {
+			return cachedList.get();
+		}
+		searchResultCache.removeSearchResult(cacheKey);
+		return validateSearchFilterAndEnhance();
+	}
+
+	private SearchResultPage validateSearchFilterAndEnhanceToPage() {
+		validateSearchFilterAndEnhance();
+		List<Link> records = recordsInPage.stream().map(this::createLinkForRecord).toList();
+		return new SearchResultPage(records, dataList.getFromNo(), dataList.getToNo(),
+				dataList.getTotalNumberOfTypeInStorage());
+	}
+
+	private Link createLinkForRecord(DataRecord dataRecord) {
+		return createLinkForRecordGroup(dataRecord.getDataRecordGroup());
+	}
+
+	private Link createLinkForRecordGroup(DataRecordGroup dataRecordGroup) {
+		return new Link(dataRecordGroup.getType(), dataRecordGroup.getId());
+	}
+
+	private boolean searchedDuringThisCall() {
+		return dataList != null;
+	}
+
+	private Optional<DataList> searchAndEnhanceRecordsInPageIfAllCanBeRead(
+			SearchResultPage page) {
+		List<DataRecordGroup> dataRecordGroups = searchRecordsInPage(page);
+		if (!sameRecordsAsInPage(page, dataRecordGroups)) {
+			return Optional.empty();
+		}
+		List<DataRecord> enhancedRecords = filterAndEnhance(dataRecordGroups,
+				dependencyProvider.getDataRedactor());
+		return allRecordsInPageAreEnhanced(page, enhancedRecords)
+				? Optional.of(createListFromPage(page, enhancedRecords))
+				: Optional.empty();
+	}
+
+	private List<DataRecordGroup> searchRecordsInPage(SearchResultPage page) {
+		if (page.records().isEmpty()) {
+			return List.of();
+		}
+		Set<Link> recordsInPage = Set.copyOf(page.records());
+		List<DataRecordGroup> dataRecordGroups = searchChunk(Long.parseLong(page.fromNo()),
+				Long.parseLong(page.toNo()));
+		return dataRecordGroups.stream()
+				.filter(dataRecordGroup -> recordsInPage
+						.contains(createLinkForRecordGroup(dataRecordGroup)))
+				.toList();
+	}
+
+	private boolean sameRecordsAsInPage(SearchResultPage page,
+			List<DataRecordGroup> dataRecordGroups) {
+		return dataRecordGroups.stream().map(this::createLinkForRecordGroup).toList()
+				.equals(page.records());
+	}
+
+	private boolean allRecordsInPageAreEnhanced(SearchResultPage page,
+			List<DataRecord> enhancedRecords) {
+		return enhancedRecords.size() == page.records().size();
+	}
+
+	private DataList createListFromPage(SearchResultPage page, List<DataRecord> enhancedRecords) {
+		dataList = DataProvider.createListWithNameOfDataType("mix");
+		enhancedRecords.forEach(dataList::addData);
+		dataList.setFromNo(page.fromNo());
+		dataList.setToNo(page.toNo());
+		dataList.setTotalNo(page.totalNo());
+		return dataList;
+	}
+
+	private void checkSearchAccess(String authToken, String searchId, DataGroup searchData) {
 		this.authToken = authToken;
 		this.searchData = searchData;
 		tryToGetActiveUser();
-		readSearchRecordFromStorageUsingSearchId(searchId);
-		checkUserHasSearchAccessOnAllRecordTypesToSearchIn(recordTypeToSearchInGroups);
-		ExtendedFunctionalityData data = createExtendedFunctionalityData();
-		useExtendedFunctionalityUsingPosition(SEARCH_AFTER_AUTHORIZATION, data);
-		validateSearchInputForUser();
+		searchDefinition = dependencyProvider.getSearchDefinition(searchId);
+		checkUserHasSearchAccessOnAllRecordTypesToSearchIn();
+		useExtendedFunctionalityAfterAuthorization(searchId);
+	}
 
-		SearchResult searchResult = callSearch();
+	private void useExtendedFunctionalityAfterAuthorization(String searchId) {
+		List<ExtendedFunctionality> extendedFunctionality = extendedFunctionalityProvider
+				.getFunctionalityForPositionAndRecordType(SEARCH_AFTER_AUTHORIZATION, SEARCH);
+		if (!extendedFunctionality.isEmpty()) {
+			ExtendedFunctionalityData data = createExtendedFunctionalityData();
+			data.dataRecordGroup = readSearchRecord(searchId);
+			useExtendedFunctionality(extendedFunctionality, data);
+		}
+	}
 
-		return filterAndEnhanceSearchResult(searchResult);
+	private DataRecordGroup readSearchRecord(String searchId) {
+		return dependencyProvider.getRecordStorage().read(SEARCH, searchId);
 	}
 
-	private void tryToGetActiveUser() {
-		user = authenticator.getUserForToken(authToken);
+	private Optional<SearchResultCacheKey> possiblyCreateCacheKey(String searchId) {
+		if (!searchResultsCanBeCached()) {
+			return Optional.empty();
+		}
+		return SearchResultCacheKey.normalizeSearchData(searchData)
+				.map(normalizedSearchData -> new SearchResultCacheKey(searchId,
+						searchDefinition.recordTypesToSearchIn(), normalizedSearchData,
+						spiderAuthorizator.getProvidedRulesFingerprintForUser(user), lean));
 	}
 
-	private void readSearchRecordFromStorageUsingSearchId(String searchId) {
-		searchMetadataAsRecord = recordStorage.read(SEARCH, searchId);
-		recordTypeToSearchInGroups = getRecordTypesToSearchInFromSearchGroup();
+	private boolean searchResultsCanBeCached() {
+		return searchResultCache.isEnabled()
+				&& searchDefinition.recordTypesToSearchIn().stream()
+						.allMatch(this::resultsForRecordTypeCanBeCached);
 	}
 
-	private List<DataGroup> getRecordTypesToSearchInFromSearchGroup() {
-		return searchMetadataAsRecord.getAllGroupsWithNameInData("recordTypeToSearchIn");
+	private boolean resultsForRecordTypeCanBeCached(String recordType) {
+		return !dependencyProvider.getRecordTypeHandler(recordType).usePermissionUnit()
+				&& extendedFunctionalityProvider.getFunctionalityForPositionAndRecordType(
+						SEARCH_BEFORE_ENHANCE_SINGLE, recordType).isEmpty();
 	}
 
-	private void checkUserHasSearchAccessOnAllRecordTypesToSearchIn(
-			List<DataGroup> recordTypeToSearchInGroups) {
-		recordTypeToSearchInGroups.stream().forEach(this::isAuthorized);
+	private DataList validateSearchFilterAndEnhance() {
+		validateSearchInputForUser();
+		SearchResult searchResult = callSearch();
+		return filterAndEnhanceSearchResult(searchResult);
 	}
 
-	private void isAuthorized(DataGroup group) {
-		String linkedRecordTypeId = getLinkedRecordId(group);
-		spiderAuthorizator.checkUserIsAuthorizedForActionOnRecordType(user, SEARCH,
-				linkedRecordTypeId);
+	@Override
+	public DataList searchLean(String authToken, String searchId, DataGroup searchData) {
+		lean = true;
+		return search(authToken, searchId, searchData);
 	}
 
-	private String getLinkedRecordId(DataGroup group) {
-		return group.getFirstAtomicValueWithNameInData(LINKED_RECORD_ID);
+	@Override
+	public DataList searchCountOnly(String authToken, String searchId, DataGroup searchData) {
+		checkSearchAccess(authToken, searchId, searchData);
+		validateSearchInputForUser();
+
+		DataGroup countSearchData = copySearchDataWithoutChildren(ROWS);
+		addAtomicToSearchData(countSearchData, ROWS, "0");
+		SearchResult searchResult = callSearchUsingSearchData(countSearchData);
+		return createCountOnlyList(searchResult.totalNumberOfMatches);
 	}
 
-	private void useExtendedFunctionalityUsingPosition(ExtendedFunctionalityPosition position,
-			ExtendedFunctionalityData data) {
-		List<ExtendedFunctionality> extendedFunctionality = extendedFunctionalityProvider
-				.getFunctionalityForPositionAndRecordType(position, SEARCH);
-		useExtendedFunctionality(extendedFunctionality, data);
+	private DataList createCountOnlyList(long totalNumberOfMatches) {
+		dataList = DataProvider.createListWithNameOfDataType("mix");
+		dataList.setFromNo("0");
+		dataList.setToNo("0");
+		dataList.setTotalNo(String.valueOf(totalNumberOfMatches));
+		return dataList;
+	}
 
+	private void tryToGetActiveUser() {
+		user = authenticator.getUserForToken(authToken);
+	}
+
+	private void checkUserHasSearchAccessOnAllRecordTypesToSearchIn() {
+		searchDefinition.recordTypesToSearchIn().forEach(this::isAuthorized);
+	}
+
+	private void isAuthorized(String recordTypeId) {
+		spiderAuthorizator.checkUserIsAuthorizedForActionOnRecordType(user, SEARCH, recordTypeId);
 	}
 
 	protected void useExtendedFunctionality(List<ExtendedFunctionality> functionalityList,
@@ -146,15 +284,11 @@ public final class RecordSearcherImp implements RecordSearcher {
 		data.recordType = SEARCH;
 		data.authToken = authToken;
 		data.user = user;
-		data.dataRecordGroup = searchMetadataAsRecord;
 		return data;
 	}
 
 	private void validateSearchInputForUser() {
-		DataGroup metadataGroup = searchMetadataAsRecord.getFirstGroupWithNameInData("metadataId");
-		String metadataGroupIdToValidateAgainst = metadataGroup
-				.getFirstAtomicValueWithNameInData(LINKED_RECORD_ID);
-		validateIncomingDataAsSpecifiedInMetadata(metadataGroupIdToValidateAgainst);
+		validateIncomingDataAsSpecifiedInMetadata(searchDefinition.metadataId());
 	}
 
 	private void validateIncomingDataAsSpecifiedInMetadata(
@@ -167,44 +301,135 @@ public final class RecordSearcherImp implements RecordSearcher {
 	}
 
 	private SearchResult callSearch() {
-		List<String> list = recordTypeToSearchInGroups.stream().map(this::getLinkedRecordId)
-				.toList();
-		return recordSearch.searchUsingListOfRecordTypesToSearchInAndSearchData(list, searchData);
+		return callSearchUsingSearchData(searchData);
+	}
+
+	private SearchResult callSearchUsingSearchData(DataGroup searchDataToUse) {
+		return recordSearch.searchUsingListOfRecordTypesToSearchInAndSearchData(
+				searchDefinition.recordTypesToSearchIn(), searchDataToUse);
 	}
 
 	private DataList filterAndEnhanceSearchResult(SearchResult spiderSearchResult) {
 		dataList = DataProvider.createListWithNameOfDataType("mix");
-		enhanceDataGroupsAndAddToList(spiderSearchResult);
+		int startRow = getStartRow();
+		long numberOfPositionsRead = fillPageAndAddToList(spiderSearchResult, startRow);
 
-		return fillDataList(spiderSearchResult);
+		return fillDataList(spiderSearchResult, startRow, numberOfPositionsRead);
 	}
 
-	private DataList fillDataList(SearchResult spiderSearchResult) {
-		int startRow = getStartRow();
+	private long fillPageAndAddToList(SearchResult spiderSearchResult, int startRow) {
+		DataRedactor dataRedactor = dependencyProvider.getDataRedactor();
+		PageFiller pageFiller = PageFiller.usingChunkReaderAndEnhancer(this::searchChunk,
+				records -> filterAndEnhance(records, dataRedactor));
+		FilledPage page = pageFiller.fillPage(toDataRecordGroups(spiderSearchResult), startRow,
+				getNumberOfRowsRequested(), spiderSearchResult.totalNumberOfMatches);
+		recordsInPage = page.records();
+		recordsInPage.forEach(dataList::addData);
+		return page.numberOfPositionsRead();
+	}
+
+	private List<DataRecordGroup> searchChunk(long fromNo, long toNo) {
+		DataGroup chunkSearchData = copySearchDataWithoutChildren(START, ROWS);
+		addAtomicToSearchData(chunkSearchData, START, String.valueOf(fromNo));
+		addAtomicToSearchData(chunkSearchData, ROWS, String.valueOf(toNo - fromNo + 1));
+		return toDataRecordGroups(callSearchUsingSearchData(chunkSearchData));
+	}
+
+	private DataGroup copySearchDataWithoutChildren(String... namesInDataToLeaveOut) {
+		List<String> leaveOut = List.of(namesInDataToLeaveOut);
+		DataGroup copy = DataProvider.createGroupUsingNameInData(searchData.getNameInData());
+		for (DataAttribute attribute : searchData.getAttributes()) {
+			copy.addAttributeByIdWithValue(attribute.getNameInData(), attribute.getValue());
+		}
+		for (DataChild child : searchData.getChildren()) {
+			if (!leaveOut.contains(child.getNameInData())) {
+				copy.addChild(child);
+			}
+		}
+		return copy;
+	}
+
+	private void addAtomicToSearchData(DataGroup searchDataToChange, String nameInData,
+			String value) {
+		searchDataToChange
+				.addChild(DataProvider.createAtomicUsingNameInDataAndValue(nameInData, value));
+	}
+
+	private List<DataRecordGroup> toDataRecordGroups(SearchResult spiderSearchResult) {
+		return spiderSearchResult.listOfDataGroups.stream()
+				.map(DataProvider::createRecordGroupFromDataGroup).toList();
+	}
+
+	private DataList fillDataList(SearchResult spiderSearchResult, int startRow,
+			long numberOfPositionsRead) {
 		dataList.setFromNo(String.valueOf(startRow));
-		dataList.setToNo(String.valueOf(startRow - 1 + dataList.getDataList().size()));
+		dataList.setToNo(String.valueOf(startRow - 1 + numberOfPositionsRead));
 		dataList.setTotalNo(String.valueOf(spiderSearchResult.totalNumberOfMatches));
 		return dataList;
 	}
 
-	private void enhanceDataGroupsAndAddToList(SearchResult spiderSearchResult) {
-		Collection<DataGroup> dataGroupList = spiderSearchResult.listOfDataGroups;
-		DataRedactor dataRedactor = dependencyProvider.getDataRedactor();
-		dataGroupList.forEach(dataGroup -> filterEnhanceAndAddToList(dataGroup, dataRedactor));
+	private List<DataRecord> filterAndEnhance(List<DataRecordGroup> dataRecordGroups,
+			DataRedactor dataRedactor) {
+		if (enhanceInParallel(dataRecordGroups)) {
+			return filterAndEnhanceInParallel(dataRecordGroups);
+		}
+		return filterAndEnhanceOneAtATime(dataRecordGroups, dataRedactor);
+	}
+
+	private boolean enhanceInParallel(List<DataRecordGroup> dataRecordGroups) {
+		return maxConcurrency > 1 && dataRecordGroups.size() > 1;
 	}
 
-	private void filterEnhanceAndAddToList(DataGroup dataGroup, DataRedactor dataRedactor) {
-		DataRecordGroup recordAsDataRecordGroup = DataProvider
-				.createRecordGroupFromDataGroup(dataGroup);
+	private List<DataRecord> filterAndEnhanceInParallel(List<DataRecordGroup> dataRecordGroups) {
+		ParallelRecordEnhancer parallelEnhancer = ParallelRecordEnhancer
+				.usingDependencyProviderMaxConcurrencyAndBeforeEnhance(dependencyProvider,
+						maxConcurrency, this::useExtendedFunctionalityBeforeEnhanceSingle);
+		return enhanceUsingParallelEnhancer(parallelEnhancer, dataRecordGroups);
+	}
+
+	private List<DataRecord> enhanceUsingParallelEnhancer(
+			ParallelRecordEnhancer parallelEnhancer, List<DataRecordGroup> dataRecordGroups) {
+		if (lean) {
+			return parallelEnhancer.enhanceLeanIfUserHasReadAccess(user, dataRecordGroups);
+		}
+		return parallelEnhancer.enhanceIfUserHasReadAccess(user, dataRecordGroups);
+	}
+
+	private List<DataRecord> filterAndEnhanceOneAtATime(List<DataRecordGroup> dataRecordGroups,
+			DataRedactor dataRedactor) {
+		possiblyPrefetchIncomingLinks(dataRecordGroups);
+		List<DataRecord> enhancedRecords = new ArrayList<>();
+		for (DataRecordGroup dataRecordGroup : dataRecordGroups) {
+			filterAndEnhanceRecord(dataRecordGroup, dataRedactor).ifPresent(enhancedRecords::add);
+		}
+		return enhancedRecords;
+	}
+
+	private void possiblyPrefetchIncomingLinks(List<DataRecordGroup> dataRecordGroups) {
+		if (!lean) {
+			dataGroupToRecordEnhancer.prefetchIncomingLinksForRecords(dataRecordGroups);
+		}
+	}
+
+	private Optional<DataRecord> filterAndEnhanceRecord(DataRecordGroup recordAsDataRecordGroup,
+			DataRedactor dataRedactor) {
 		String recordType = recordAsDataRecordGroup.getType();
-		useExtendedFunctionalityBeforeReturn(SEARCH_BEFORE_ENHANCE_SINGLE, recordAsDataRecordGroup);
-		try {
-			DataRecord enhancedRecord = dataGroupToRecordEnhancer.enhance(user, recordType,
+		useExtendedFunctionalityBeforeEnhanceSingle(recordAsDataRecordGroup);
+		return enhanceIfUserHasReadAccess(recordType, recordAsDataRecordGroup, dataRedactor);
+	}
+
+	private void useExtendedFunctionalityBeforeEnhanceSingle(DataRecordGroup dataRecordGroup) {
+		useExtendedFunctionalityBeforeReturn(SEARCH_BEFORE_ENHANCE_SINGLE, dataRecordGroup);
+	}
+
+	private Optional<DataRecord> enhanceIfUserHasReadAccess(String recordType,
+			DataRecordGroup recordAsDataRecordGroup, DataRedactor dataRedactor) {
+		if (lean) {
+			return dataGroupToRecordEnhancer.enhanceLeanIfUserHasReadAccess(user, recordType,
 					recordAsDataRecordGroup, dataRedactor);
-			dataList.addData(enhancedRecord);
-		} catch (AuthorizationException _) {
-			// do nothing
 		}
+		return dataGroupToRecordEnhancer.enhanceIfUserHasReadAccess(user, recordType,
+				recordAsDataRecordGroup, dataRedactor);
 	}
 
 	private void useExtendedFunctionalityBeforeReturn(ExtendedFunctionalityPosition position,
@@ -231,13 +456,20 @@ public final class RecordSearcherImp implements RecordSearcher {
 	}
 
 	private int getStartRow() {
-		if (searchData.containsChildWithNameInData("start")) {
-			String start = searchData.getFirstAtomicValueWithNameInData("start");
+		if (searchData.containsChildWithNameInData(START)) {
+			String start = searchData.getFirstAtomicValueWithNameInData(START);
 			return Integer.parseInt(start);
 		}
 		return 1;
 	}
 
+	private long getNumberOfRowsRequested() {
+		if (searchData.containsChildWithNameInData(ROWS)) {
+			return Long.parseLong(searchData.getFirstAtomicValueWithNameInData(ROWS));
+		}
+		return 0;
+	}
+
 	public SpiderDependencyProvider onlyForTestGetDependencyProvider() {
 		return dependencyProvider;
 	}
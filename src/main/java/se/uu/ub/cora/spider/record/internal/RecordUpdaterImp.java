@@ -35,6 +35,7 @@ import java.util.Set;
 import java.util.function.Consumer;
 
 import se.uu.ub.cora.bookkeeper.linkcollector.DataRecordLinkCollector;
+import se.uu.ub.cora.bookkeeper.metadata.Constraint;
 import se.uu.ub.cora.bookkeeper.recordpart.DataRedactor;
 import se.uu.ub.cora.bookkeeper.recordtype.RecordTypeHandler;
 import se.uu.ub.cora.bookkeeper.termcollector.DataGroupTermCollector;
@@ -86,6 +87,7 @@ public final class RecordUpdaterImp extends RecordHandler implements RecordUpdat
 	private RecordArchive recordArchive;
 	private String updateDefinitionId;
 	private String dataDivider;
+	private boolean extendedFunctionalityUsedSinceTermsWereCollected;
 
 	private RecordUpdaterImp(SpiderDependencyProvider dependencyProvider,
 			DataGroupToRecordEnhancer dataGroupToRecordEnhancer) {
@@ -154,6 +156,7 @@ public final class RecordUpdaterImp extends RecordHandler implements RecordUpdat
 		checkRecordTypeAndIdIsSameAsInEnteredRecord();
 
 		CollectTerms collectTerms = dataGroupTermCollector.collectTerms(definitionId, recordGroup);
+		extendedFunctionalityUsedSinceTermsWereCollected = false;
 
 		var mixedPermissionTerms = getMixedPermissionTermValuesConsideringModeState(
 				previouslyStoredCollectTerms, collectTerms);
@@ -181,9 +184,7 @@ public final class RecordUpdaterImp extends RecordHandler implements RecordUpdat
 
 		indexData(collectTerms);
 		useExtendedFunctionalityForPosition(UPDATE_AFTER_STORE);
-		DataRedactor dataRedactor = dependencyProvider.getDataRedactor();
-		DataRecord dataRecord = dataGroupToRecordEnhancer.enhanceIgnoringReadAccess(user,
-				recordType, recordGroup, dataRedactor);
+		DataRecord dataRecord = enhanceDataGroupToRecord(collectTerms);
 		useExtendedFunctionalityBeforeReturn(dataRecord);
 		return dataRecord;
 	}
@@ -229,6 +230,19 @@ public final class RecordUpdaterImp extends RecordHandler implements RecordUpdat
 		List<ExtendedFunctionality> exFunctionality = extendedFunctionalityProvider
 				.getFunctionalityForPositionAndRecordType(position, recordType);
 		useExtendedFunctionality(recordGroup, exFunctionality);
+		if (!exFunctionality.isEmpty()) {
+			extendedFunctionalityUsedSinceTermsWereCollected = true;
+		}
+	}
+
+	private DataRecord enhanceDataGroupToRecord(CollectTerms collectTerms) {
+		DataRedactor dataRedactor = dependencyProvider.getDataRedactor();
+		if (extendedFunctionalityUsedSinceTermsWereCollected) {
+			return dataGroupToRecordEnhancer.enhanceIgnoringReadAccess(user, recordType,
+					recordGroup, dataRedactor);
+		}
+		return dataGroupToRecordEnhancer.enhanceIgnoringReadAccessUsingCollectedTerms(user,
+				recordType, recordGroup, dataRedactor, collectTerms);
 	}
 
 	private void checkUserIsAuthorizedForPermissionUnit() {
@@ -346,10 +360,14 @@ public final class RecordUpdaterImp extends RecordHandler implements RecordUpdat
 	}
 
 	private void replaceRecordPartsUserIsNotAllowedToChange() {
+		Set<Constraint> writeConstraints = recordTypeHandler.getUpdateWriteRecordPartConstraints();
+		if (RecordPartConstraints.permissionsCoverAllConstraints(writeConstraints,
+				writePermissions)) {
+			return;
+		}
 		DataRedactor dataRedactor = dependencyProvider.getDataRedactor();
 		recordGroup = dataRedactor.replaceChildrenForConstraintsWithoutPermissions(definitionId,
-				previouslyStoredRecord, recordGroup,
-				recordTypeHandler.getUpdateWriteRecordPartConstraints(), writePermissions);
+				previouslyStoredRecord, recordGroup, writeConstraints, writePermissions);
 	}
 
 	private void validateIncomingDataAsSpecifiedInMetadata() {
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.recordtype;
+
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.bookkeeper.recordtype.RecordTypeHandler;
+import se.uu.ub.cora.spider.cache.ChangeAwareCache;
+
+/**
+ * RecordTypeHandlerCache is a process wide cache of {@link RecordTypeHandler}s, so that handlers
+ * do not have to be created from storage for every request.
+ * <p>
+ * The cached handlers are shared, the same handler instance is returned to all requests and
+ * threads asking for the same recordType. Spider only uses a handler to read information about the
+ * recordType and never changes it, and a handler is only cached once it is fully created. Code
+ * using a handler from the cache MUST NOT keep request specific state in it, code that needs a
+ * handler of its own must create it using a
+ * {@link se.uu.ub.cora.bookkeeper.recordtype.RecordTypeHandlerFactory}.
+ */
+public interface RecordTypeHandlerCache extends ChangeAwareCache {
+
+	/**
+	 * getOrLoadUsingRecordTypeId returns the cached {@link RecordTypeHandler} for the recordType.
+	 * If no handler is cached for the recordType is the handlerLoader used to create one, and the
+	 * created handler is cached before it is returned. Exceptions thrown by the handlerLoader are
+	 * passed on and nothing is cached.
+	 * 
+	 * @param recordTypeId
+	 *            A String with the id of the recordType to get a handler for
+	 * @param handlerLoader
+	 *            A Supplier that creates the handler for the recordType
+	 * @return The {@link RecordTypeHandler} for the recordType
+	 */
+	RecordTypeHandler getOrLoadUsingRecordTypeId(String recordTypeId,
+			Supplier<RecordTypeHandler> handlerLoader);
+
+	/**
+	 * getOrLoadUsingRecordTypeIdAndValidationTypeId returns the cached {@link RecordTypeHandler}
+	 * for the combination of recordType and validationType. It works in the same way as
+	 * {@link #getOrLoadUsingRecordTypeId(String, Supplier)}, but handlers are cached per
+	 * combination as the validationType decides the definitions used by the handler.
+	 * 
+	 * @param recordTypeId
+	 *            A String with the id of the recordType to get a handler for
+	 * @param validationTypeId
+	 *            A String with the id of the validationType to get a handler for
+	 * @param handlerLoader
+	 *            A Supplier that creates the handler for the recordType and validationType
+	 * @return The {@link RecordTypeHandler} for the recordType and validationType
+	 */
+	RecordTypeHandler getOrLoadUsingRecordTypeIdAndValidationTypeId(String recordTypeId,
+			String validationTypeId, Supplier<RecordTypeHandler> handlerLoader);
+}
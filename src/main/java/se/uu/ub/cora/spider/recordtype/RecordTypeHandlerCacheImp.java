@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.recordtype;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.bookkeeper.recordtype.RecordTypeHandler;
+import se.uu.ub.cora.spider.cache.GenerationGuardedCache;
+
+/**
+ * RecordTypeHandlerCacheImp keeps the created {@link RecordTypeHandler}s for all used recordTypes
+ * and combinations of recordType and validationType.
+ * <p>
+ * A handler depends on its recordType, on the recordTypes it inherits from, on the validationType,
+ * on the metadata for the definitions, on the search linked from the recordType and on the
+ * collectTerms used in the metadata. As a change to any of those can change any handler, are all
+ * cached handlers removed when a recordType, validationType, metadata, search or collectTerm
+ * changes.
+ */
+public final class RecordTypeHandlerCacheImp implements RecordTypeHandlerCache {
+	private static final Set<String> TYPES_AFFECTING_HANDLERS = Set.of("recordType",
+			"validationType", "metadata", "search", "collectTerm");
+	private GenerationGuardedCache<String, RecordTypeHandler> handlersByRecordType = GenerationGuardedCache
+			.unbounded();
+	private GenerationGuardedCache<TypeAndValidationType, RecordTypeHandler> handlersByValidationType = GenerationGuardedCache
+			.unbounded();
+
+	@Override
+	public RecordTypeHandler getOrLoadUsingRecordTypeId(String recordTypeId,
+			Supplier<RecordTypeHandler> handlerLoader) {
+		return handlersByRecordType.getOrLoad(recordTypeId, handlerLoader);
+	}
+
+	@Override
+	public RecordTypeHandler getOrLoadUsingRecordTypeIdAndValidationTypeId(String recordTypeId,
+			String validationTypeId, Supplier<RecordTypeHandler> handlerLoader) {
+		return handlersByValidationType.getOrLoad(
+				new TypeAndValidationType(recordTypeId, validationTypeId), handlerLoader);
+	}
+
+	@Override
+	public void dataChanged(String type, String id, String action) {
+		if (TYPES_AFFECTING_HANDLERS.contains(type)) {
+			handlersByRecordType.clear();
+			handlersByValidationType.clear();
+		}
+	}
+
+	Map<String, RecordTypeHandler> onlyForTestGetHandlersByRecordType() {
+		return handlersByRecordType.onlyForTestGetEntries();
+	}
+
+	Map<TypeAndValidationType, RecordTypeHandler> onlyForTestGetHandlersByValidationType() {
+		return handlersByValidationType.onlyForTestGetEntries();
+	}
+
+	record TypeAndValidationType(String recordTypeId, String validationTypeId) {
+	}
+}
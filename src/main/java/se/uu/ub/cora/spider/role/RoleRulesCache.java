@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.role;
+
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.spider.cache.ChangeAwareCache;
+
+/**
+ * RoleRulesCache is a process wide cache of the compiled rules for permissionRoles.
+ */
+public interface RoleRulesCache extends ChangeAwareCache {
+
+	/**
+	 * getOrLoadRulesForRole returns the cached {@link RoleRules} for the role. If no rules are
+	 * cached for the role is the rulesLoader used to load them, and the loaded rules are cached
+	 * before they are returned. Exceptions thrown by the rulesLoader are passed on and nothing is
+	 * cached.
+	 * <p>
+	 * The returned rules are shared between requests and MUST NOT be modified.
+	 * 
+	 * @param roleId
+	 *            A String with the id of the permissionRole to get rules for
+	 * @param rulesLoader
+	 *            A Supplier that compiles the rules for the role from storage
+	 * @return The {@link RoleRules} for the role
+	 */
+	RoleRules getOrLoadRulesForRole(String roleId, Supplier<RoleRules> rulesLoader);
+}
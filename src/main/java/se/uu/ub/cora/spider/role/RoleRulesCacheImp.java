@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.role;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.spider.cache.GenerationGuardedCache;
+
+/**
+ * RoleRulesCacheImp keeps the compiled rules for all used roles.
+ * <p>
+ * A change to a permissionRole removes the cached rules for that role, and a change to a
+ * permissionRule removes the cached rules for all roles linking to that rule. As a change to a
+ * collectTerm can change the permission key used in any rule, are all cached rules removed when a
+ * collectTerm changes.
+ */
+public final class RoleRulesCacheImp implements RoleRulesCache {
+	private GenerationGuardedCache<String, RoleRules> cachedRules = GenerationGuardedCache
+			.unbounded();
+
+	@Override
+	public RoleRules getOrLoadRulesForRole(String roleId, Supplier<RoleRules> rulesLoader) {
+		return cachedRules.getOrLoad(roleId, rulesLoader);
+	}
+
+	@Override
+	public void dataChanged(String type, String id, String action) {
+		if ("permissionRole".equals(type)) {
+			cachedRules.remove(id);
+		}
+		if ("permissionRule".equals(type)) {
+			cachedRules.removeIf((_, roleRules) -> roleRules.linkedRuleIds().contains(id));
+		}
+		if ("collectTerm".equals(type)) {
+			cachedRules.clear();
+		}
+	}
+
+	Map<String, RoleRules> onlyForTestGetCachedRules() {
+		return cachedRules.onlyForTestGetEntries();
+	}
+}
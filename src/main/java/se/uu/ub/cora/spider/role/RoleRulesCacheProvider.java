@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.role;
+
+import se.uu.ub.cora.spider.cache.ProcessWideCache;
+
+/**
+ * RoleRulesCacheProvider provides the process wide {@link RoleRulesCache}. The cache is created on
+ * first use.
+ */
+public final class RoleRulesCacheProvider {
+	private static final ProcessWideCache<RoleRulesCache> PROCESS_WIDE_CACHE = ProcessWideCache
+			.usingCacheFactory(RoleRulesCacheImp::new);
+
+	private RoleRulesCacheProvider() {
+		// not called
+		throw new UnsupportedOperationException();
+	}
+
+	public static RoleRulesCache getRoleRulesCache() {
+		return PROCESS_WIDE_CACHE.getCache();
+	}
+
+	/**
+	 * dataChanged informs the cache that a record has changed, see
+	 * {@link RoleRulesCache#dataChanged(String, String, String)}. Nothing is done if the cache has
+	 * not yet been created.
+	 */
+	public static void dataChanged(String type, String id, String action) {
+		PROCESS_WIDE_CACHE.dataChanged(type, id, action);
+	}
+
+	public static void onlyForTestSetRoleRulesCache(RoleRulesCache roleRulesCache) {
+		PROCESS_WIDE_CACHE.onlyForTestSetCache(roleRulesCache);
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016, 2018, 2019, 2024 Uppsala University Library
+ * Copyright 2016, 2018, 2019, 2024, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -22,51 +22,77 @@ package se.uu.ub.cora.spider.role;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import se.uu.ub.cora.beefeater.authorization.Rule;
 import se.uu.ub.cora.beefeater.authorization.RuleImp;
+import se.uu.ub.cora.beefeater.authorization.RulePartValues;
 import se.uu.ub.cora.beefeater.authorization.RulePartValuesImp;
 import se.uu.ub.cora.data.DataAtomic;
 import se.uu.ub.cora.data.DataChild;
 import se.uu.ub.cora.data.DataGroup;
 import se.uu.ub.cora.data.DataRecordGroup;
 import se.uu.ub.cora.data.DataRecordLink;
+import se.uu.ub.cora.spider.authorization.PermissionKeyTable;
 import se.uu.ub.cora.storage.RecordNotFoundException;
 import se.uu.ub.cora.storage.RecordStorage;
 
+/**
+ * RulesProviderImp compiles the active rules for a permissionRole from storage. Compiled rules are
+ * kept in a {@link RoleRulesCache}, shared between requests, and each call to
+ * {@link #getActiveRules(String)} returns new copies of the compiled rules so that callers are free
+ * to add user specific parts to them.
+ */
 public class RulesProviderImp implements RulesProvider {
 
 	private RecordStorage recordStorage;
+	private RoleRulesCache roleRulesCache;
+	private PermissionKeyTable permissionKeyTable;
 
-	public RulesProviderImp(RecordStorage recordStorage) {
+	public RulesProviderImp(RecordStorage recordStorage, RoleRulesCache roleRulesCache,
+			PermissionKeyTable permissionKeyTable) {
 		this.recordStorage = recordStorage;
+		this.roleRulesCache = roleRulesCache;
+		this.permissionKeyTable = permissionKeyTable;
 	}
 
 	@Override
 	public List<Rule> getActiveRules(String roleId) {
 		try {
-			DataRecordGroup readRole = recordStorage.read("permissionRole", roleId);
-			if (isInactiveRole(readRole)) {
-				return Collections.emptyList();
-			}
-			return getActiveRulesForRole(readRole);
+			RoleRules roleRules = roleRulesCache.getOrLoadRulesForRole(roleId,
+					() -> readRulesForRole(roleId));
+			return copyRules(roleRules.rules());
 		} catch (RecordNotFoundException e) {
 			return Collections.emptyList();
 		}
 	}
 
+	private RoleRules readRulesForRole(String roleId) {
+		DataRecordGroup readRole = recordStorage.read("permissionRole", roleId);
+		if (isInactiveRole(readRole)) {
+			return new RoleRules(Collections.emptyList(), Collections.emptySet());
+		}
+		List<DataRecordLink> ruleLinks = readRole.getChildrenOfTypeAndName(DataRecordLink.class,
+				"permissionRuleLink");
+		return new RoleRules(getActiveRulesForRole(ruleLinks), getLinkedRuleIds(ruleLinks));
+	}
+
 	private boolean isInactiveRole(DataRecordGroup readRole) {
 		return !dataContainsActiveStatusAsActive(readRole);
 	}
 
-	private List<Rule> getActiveRulesForRole(DataRecordGroup readRole) {
+	private Set<String> getLinkedRuleIds(List<DataRecordLink> ruleLinks) {
+		return ruleLinks.stream().map(DataRecordLink::getLinkedRecordId)
+				.collect(Collectors.toUnmodifiableSet());
+	}
+
+	private List<Rule> getActiveRulesForRole(List<DataRecordLink> ruleLinks) {
 		List<Rule> listOfRules = new ArrayList<>();
-		List<DataRecordLink> ruleLinks = readRole.getChildrenOfTypeAndName(DataRecordLink.class,
-				"permissionRuleLink");
 		for (DataRecordLink ruleLink : ruleLinks) {
 			possiblyAddRuleToListOfRules(ruleLink, listOfRules);
 		}
-		return listOfRules;
+		return Collections.unmodifiableList(listOfRules);
 	}
 
 	private void possiblyAddRuleToListOfRules(DataRecordLink dataElementRule,
@@ -133,10 +159,7 @@ public class RulesProviderImp implements RulesProvider {
 	private String getPermissionKeyForRuleTermPart(DataGroup ruleTermPart) {
 		DataRecordLink permissionTermRuleLink = ruleTermPart
 				.getFirstChildOfTypeAndName(DataRecordLink.class, "rule");
-		DataRecordGroup permissionTerm = recordStorage.read("collectTerm",
-				permissionTermRuleLink.getLinkedRecordId());
-		DataGroup extraData = permissionTerm.getFirstGroupWithNameInData("extraData");
-		return extraData.getFirstAtomicValueWithNameInData("permissionKey");
+		return permissionKeyTable.getPermissionKey(permissionTermRuleLink.getLinkedRecordId());
 	}
 
 	private void possiblyAddReadPermissions(Rule rule, DataRecordGroup readRule) {
@@ -173,7 +196,39 @@ public class RulesProviderImp implements RulesProvider {
 		}
 	}
 
+	private List<Rule> copyRules(List<Rule> rules) {
+		List<Rule> copiedRules = new ArrayList<>(rules.size());
+		for (Rule rule : rules) {
+			copiedRules.add(copyRule(rule));
+		}
+		return copiedRules;
+	}
+
+	private Rule copyRule(Rule rule) {
+		Rule copy = new RuleImp();
+		for (String key : rule.keySet()) {
+			copy.addRulePart(key, copyRulePartValues(rule.getRulePartValuesForKey(key)));
+		}
+		rule.getReadRecordPartPermissions().forEach(copy::addReadRecordPartPermission);
+		rule.getWriteRecordPartPermissions().forEach(copy::addWriteRecordPartPermission);
+		return copy;
+	}
+
+	private RulePartValuesImp copyRulePartValues(RulePartValues rulePartValues) {
+		RulePartValuesImp copy = new RulePartValuesImp();
+		rulePartValues.iterator().forEachRemaining(copy::add);
+		return copy;
+	}
+
 	public RecordStorage onlyForTestGetRecordStorage() {
 		return recordStorage;
 	}
+
+	public RoleRulesCache onlyForTestGetRoleRulesCache() {
+		return roleRulesCache;
+	}
+
+	public PermissionKeyTable onlyForTestGetPermissionKeyTable() {
+		return permissionKeyTable;
+	}
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.searchdefinition;
+
+import java.util.List;
+
+import se.uu.ub.cora.data.DataRecordGroup;
+import se.uu.ub.cora.data.DataRecordLink;
+
+/**
+ * SearchDefinition holds the parts of a search record that are needed to authorize and perform a
+ * search, so that they do not have to be read from the search record for every request.
+ * <p>
+ * The search record itself is not kept, as a definition is shared between requests and a
+ * DataRecordGroup can be changed by its users. Code that needs the search record reads it from
+ * storage.
+ */
+public record SearchDefinition(String searchId, String metadataId,
+		List<String> recordTypesToSearchIn) {
+
+	public SearchDefinition {
+		recordTypesToSearchIn = List.copyOf(recordTypesToSearchIn);
+	}
+
+	public static SearchDefinition usingSearchRecordGroup(DataRecordGroup searchRecordGroup) {
+		String metadataId = searchRecordGroup
+				.getFirstChildOfTypeAndName(DataRecordLink.class, "metadataId")
+				.getLinkedRecordId();
+		List<String> recordTypesToSearchIn = searchRecordGroup
+				.getChildrenOfTypeAndName(DataRecordLink.class, "recordTypeToSearchIn").stream()
+				.map(DataRecordLink::getLinkedRecordId).toList();
+		return new SearchDefinition(searchRecordGroup.getId(), metadataId, recordTypesToSearchIn);
+	}
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.searchdefinition;
+
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.spider.cache.ChangeAwareCache;
+
+/**
+ * SearchDefinitionCache is a process wide cache of {@link SearchDefinition}s, so that search
+ * records do not have to be read from storage for every search and every enhanced recordType.
+ */
+public interface SearchDefinitionCache extends ChangeAwareCache {
+
+	/**
+	 * getOrLoadSearchDefinition returns the cached {@link SearchDefinition} for the search. If no
+	 * definition is cached for the search is the definitionLoader used to create one, and the
+	 * created definition is cached before it is returned.
+	 * 
+	 * @param searchId
+	 *            A String with the id of the search to get a definition for
+	 * @param definitionLoader
+	 *            A Supplier that creates the definition for the search
+	 * @return The {@link SearchDefinition} for the search
+	 */
+	SearchDefinition getOrLoadSearchDefinition(String searchId,
+			Supplier<SearchDefinition> definitionLoader);
+}
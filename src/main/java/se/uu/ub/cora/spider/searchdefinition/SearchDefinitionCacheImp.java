@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.searchdefinition;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.spider.cache.GenerationGuardedCache;
+
+/**
+ * SearchDefinitionCacheImp keeps the created {@link SearchDefinition}s for all used searches.
+ * <p>
+ * A definition only depends on its own search record, so only the definition for the changed
+ * search is removed when a search record changes.
+ */
+public final class SearchDefinitionCacheImp implements SearchDefinitionCache {
+	private static final String SEARCH = "search";
+	private GenerationGuardedCache<String, SearchDefinition> definitions = GenerationGuardedCache
+			.unbounded();
+
+	@Override
+	public SearchDefinition getOrLoadSearchDefinition(String searchId,
+			Supplier<SearchDefinition> definitionLoader) {
+		return definitions.getOrLoad(searchId, definitionLoader);
+	}
+
+	@Override
+	public void dataChanged(String type, String id, String action) {
+		if (SEARCH.equals(type)) {
+			definitions.remove(id);
+		}
+	}
+
+	Map<String, SearchDefinition> onlyForTestGetDefinitions() {
+		return definitions.onlyForTestGetEntries();
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.searchdefinition;
+
+import se.uu.ub.cora.spider.cache.ProcessWideCache;
+
+/**
+ * SearchDefinitionCacheProvider provides the process wide {@link SearchDefinitionCache}. The cache
+ * is created on first use.
+ */
+public final class SearchDefinitionCacheProvider {
+	private static final ProcessWideCache<SearchDefinitionCache> PROCESS_WIDE_CACHE = ProcessWideCache
+			.usingCacheFactory(SearchDefinitionCacheImp::new);
+
+	private SearchDefinitionCacheProvider() {
+		// not called
+		throw new UnsupportedOperationException();
+	}
+
+	public static SearchDefinitionCache getSearchDefinitionCache() {
+		return PROCESS_WIDE_CACHE.getCache();
+	}
+
+	/**
+	 * dataChanged informs the cache that a record has changed, see
+	 * {@link SearchDefinitionCache#dataChanged(String, String, String)}. Nothing is done if the
+	 * cache has not yet been created.
+	 */
+	public static void dataChanged(String type, String id, String action) {
+		PROCESS_WIDE_CACHE.dataChanged(type, id, action);
+	}
+
+	public static void onlyForTestSetSearchDefinitionCache(
+			SearchDefinitionCache searchDefinitionCache) {
+		PROCESS_WIDE_CACHE.onlyForTestSetCache(searchDefinitionCache);
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.searchresult;
+
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.spider.cache.ChangeAwareCache;
+
+/**
+ * SearchResultCache is a process wide cache of filtered search results, so that identical searches
+ * made by users with the same rules do not have to be searched and filtered again.
+ * <p>
+ * The cache keeps {@link SearchResultPage}s, with the type and id of the records in the result and
+ * the positions they were found in. The users of the cache search the positions of a cached page
+ * in one search, without validating the search again, and enhance only the records in the page, so
+ * no records are shared between requests. A cached result therefore saves the validation, the
+ * extra searches needed to fill a page when records are left out, and the filtering of records
+ * outside the page. If the search no longer finds the records in a cached page, or a record can no
+ * longer be read by the user, the user of the cache removes the result using
+ * {@link #removeSearchResult} and searches again, so that pages are never returned with other
+ * records than in the cached result.
+ */
+public interface SearchResultCache extends ChangeAwareCache {
+
+	/**
+	 * isEnabled returns if search results should be cached or not.
+	 * 
+	 * @return A boolean, true if search results should be cached
+	 */
+	boolean isEnabled();
+
+	/**
+	 * getOrLoadSearchResult returns the cached search result for the key, if a result is cached
+	 * and has not expired. If no such result is cached is the resultLoader used to load the result,
+	 * and the loaded result is cached before it is returned.
+	 * 
+	 * @param key
+	 *            A {@link SearchResultCacheKey} identifying the search result
+	 * @param resultLoader
+	 *            A Supplier that searches, filters and returns the search result
+	 * @return A {@link SearchResultPage} with the search result
+	 */
+	SearchResultPage getOrLoadSearchResult(SearchResultCacheKey key,
+			Supplier<SearchResultPage> resultLoader);
+
+	/**
+	 * removeSearchResult removes the cached search result for the key, if any.
+	 * 
+	 * @param key
+	 *            A {@link SearchResultCacheKey} identifying the search result to remove
+	 */
+	void removeSearchResult(SearchResultCacheKey key);
+}
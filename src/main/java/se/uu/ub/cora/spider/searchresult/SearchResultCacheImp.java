@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.searchresult;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.spider.cache.GenerationGuardedCache;
+import se.uu.ub.cora.storage.Link;
+
+/**
+ * SearchResultCacheImp keeps a bounded number of search results, each for a limited time.
+ * <p>
+ * When a record changes are all results from searches in the type of the changed record removed,
+ * as well as all results from the changed search. A search in an abstract type finds records of
+ * the types implementing it, so the types of the records in a result are also kept with the result,
+ * and a change to a record of any of those types removes it as well. The RecordTypeHandler does not
+ * tell which types implement an abstract type, so a new record of an implementing type that is not
+ * yet in a result is first seen when the result expires. Changes to recordTypes and metadata can
+ * change how any record is enhanced, so all results are removed when such a record changes. The
+ * found records are searched and enhanced again each time a result is returned, so changes to
+ * records that are only linked from the found records do not need to remove any results.
+ */
+public final class SearchResultCacheImp implements SearchResultCache {
+	private static final String SEARCH = "search";
+	private static final String RECORD_TYPE = "recordType";
+	private static final String METADATA = "metadata";
+	private GenerationGuardedCache<SearchResultCacheKey, CachedSearchResult> cachedResults;
+	private Duration timeToLive;
+	private Clock clock = Clock.systemUTC();
+
+	public static SearchResultCacheImp usingMaxNumberOfResultsAndTimeToLive(
+			int maxNumberOfResults, Duration timeToLive) {
+		return new SearchResultCacheImp(maxNumberOfResults, timeToLive);
+	}
+
+	private SearchResultCacheImp(int maxNumberOfResults, Duration timeToLive) {
+		this.timeToLive = timeToLive;
+		cachedResults = GenerationGuardedCache.usingMaxSize(maxNumberOfResults);
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return timeToLive.isPositive();
+	}
+
+	@Override
+	public SearchResultPage getOrLoadSearchResult(SearchResultCacheKey key,
+			Supplier<SearchResultPage> resultLoader) {
+		Optional<CachedSearchResult> cached = cachedResults.get(key);
+		if (cached.isPresent() && cached.get().expires().isAfter(clock.instant())) {
+			return cached.get().result();
+		}
+		return cachedResults.loadAndPossiblyCache(key, resultLoader,
+				result -> new CachedSearchResult(result, collectRecordTypes(key, result),
+						clock.instant().plus(timeToLive)));
+	}
+
+	private Set<String> collectRecordTypes(SearchResultCacheKey key, SearchResultPage result) {
+		Set<String> recordTypes = new HashSet<>(key.recordTypesToSearchIn());
+		for (Link link : result.records()) {
+			recordTypes.add(link.type());
+		}
+		return recordTypes;
+	}
+
+	@Override
+	public void removeSearchResult(SearchResultCacheKey key) {
+		cachedResults.remove(key);
+	}
+
+	@Override
+	public void dataChanged(String type, String id, String action) {
+		if (RECORD_TYPE.equals(type) || METADATA.equals(type)) {
+			cachedResults.clear();
+			return;
+		}
+		cachedResults.removeIf((key, cached) -> cached.recordTypes().contains(type)
+				|| (SEARCH.equals(type) && key.searchId().equals(id)));
+	}
+
+	private record CachedSearchResult(SearchResultPage result, Set<String> recordTypes,
+			Instant expires) {
+	}
+
+	GenerationGuardedCache<SearchResultCacheKey, ?> onlyForTestGetCachedResults() {
+		return cachedResults;
+	}
+
+	public Duration onlyForTestGetTimeToLive() {
+		return timeToLive;
+	}
+
+	void onlyForTestSetClock(Clock clock) {
+		this.clock = clock;
+	}
+}
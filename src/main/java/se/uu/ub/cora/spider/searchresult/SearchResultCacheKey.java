@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.searchresult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import se.uu.ub.cora.data.DataAtomic;
+import se.uu.ub.cora.data.DataAttribute;
+import se.uu.ub.cora.data.DataChild;
+import se.uu.ub.cora.data.DataGroup;
+
+/**
+ * SearchResultCacheKey identifies a cached search result. Two searches get the same key if they
+ * are made using the same search, with the same search data, by users with the same rules, and
+ * are both lean or both not lean.
+ * <p>
+ * The search data is part of the key in a normalized form, where the order of children and their
+ * repeatIds are left out, as they do not change the result of a search.
+ */
+public record SearchResultCacheKey(String searchId, List<String> recordTypesToSearchIn,
+		String normalizedSearchData, String rulesFingerprint, boolean lean) {
+
+	public SearchResultCacheKey {
+		recordTypesToSearchIn = List.copyOf(recordTypesToSearchIn);
+	}
+
+	/**
+	 * normalizeSearchData returns the search data as a String that is equal for all search data
+	 * with the same content, regardless of the order of children and their repeatIds.
+	 * <p>
+	 * An empty Optional is returned if the search data contains children that are neither groups
+	 * nor atomics, as such search data can not be normalized.
+	 * 
+	 * @param searchData
+	 *            A DataGroup with the search data to normalize
+	 * @return An Optional with the normalized search data
+	 */
+	public static Optional<String> normalizeSearchData(DataGroup searchData) {
+		try {
+			return Optional.of(normalizeChild(searchData));
+		} catch (NotNormalizableException _) {
+			return Optional.empty();
+		}
+	}
+
+	private static String normalizeChild(DataChild child) {
+		if (child instanceof DataGroup group) {
+			return normalizeNameAndAttributes(group) + "{" + normalizeChildren(group) + "}";
+		}
+		if (child instanceof DataAtomic atomic) {
+			return normalizeNameAndAttributes(atomic) + "=" + lengthPrefixed(atomic.getValue());
+		}
+		throw new NotNormalizableException();
+	}
+
+	private static String normalizeNameAndAttributes(DataChild child) {
+		return child.getNameInData() + normalizeAttributes(child);
+	}
+
+	private static String normalizeAttributes(DataChild child) {
+		if (!child.hasAttributes()) {
+			return "";
+		}
+		List<String> attributes = new ArrayList<>();
+		for (DataAttribute attribute : child.getAttributes()) {
+			attributes.add(attribute.getNameInData() + "=" + lengthPrefixed(attribute.getValue()));
+		}
+		return "(" + String.join(",", attributes.stream().sorted().toList()) + ")";
+	}
+
+	private static String normalizeChildren(DataGroup group) {
+		List<String> children = new ArrayList<>();
+		for (DataChild child : group.getChildren()) {
+			children.add(normalizeChild(child));
+		}
+		return String.join(",", children.stream().sorted().toList());
+	}
+
+	private static String lengthPrefixed(String value) {
+		return value.length() + ":" + value;
+	}
+
+	private static final class NotNormalizableException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+	}
+}
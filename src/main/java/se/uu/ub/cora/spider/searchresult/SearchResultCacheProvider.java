@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.searchresult;
+
+import java.time.Duration;
+
+import se.uu.ub.cora.initialize.SettingsProvider;
+import se.uu.ub.cora.spider.cache.ProcessWideCache;
+
+/**
+ * SearchResultCacheProvider provides the process wide {@link SearchResultCache}. The cache is
+ * created on first use.
+ * <p>
+ * Search results are only cached if the setting searchResultCacheTimeToLiveInSeconds is set to a
+ * positive number of seconds.
+ */
+public final class SearchResultCacheProvider {
+	static final String TIME_TO_LIVE_SETTING = "searchResultCacheTimeToLiveInSeconds";
+	private static final Duration DEFAULT_TIME_TO_LIVE = Duration.ZERO;
+	private static final int MAX_NUMBER_OF_CACHED_RESULTS = 1000;
+	private static final ProcessWideCache<SearchResultCache> PROCESS_WIDE_CACHE = ProcessWideCache
+			.usingCacheFactory(() -> SearchResultCacheImp.usingMaxNumberOfResultsAndTimeToLive(
+					MAX_NUMBER_OF_CACHED_RESULTS, readTimeToLive()));
+
+	private SearchResultCacheProvider() {
+		// not called
+		throw new UnsupportedOperationException();
+	}
+
+	public static SearchResultCache getSearchResultCache() {
+		return PROCESS_WIDE_CACHE.getCache();
+	}
+
+	private static Duration readTimeToLive() {
+		try {
+			return Duration
+					.ofSeconds(Long.parseLong(SettingsProvider.getSetting(TIME_TO_LIVE_SETTING)));
+		} catch (Exception _) {
+			return DEFAULT_TIME_TO_LIVE;
+		}
+	}
+
+	/**
+	 * dataChanged informs the cache that a record has changed, see
+	 * {@link SearchResultCache#dataChanged(String, String, String)}. Nothing is done if the cache
+	 * has not yet been created.
+	 */
+	public static void dataChanged(String type, String id, String action) {
+		PROCESS_WIDE_CACHE.dataChanged(type, id, action);
+	}
+
+	public static void onlyForTestSetSearchResultCache(SearchResultCache searchResultCache) {
+		PROCESS_WIDE_CACHE.onlyForTestSetCache(searchResultCache);
+	}
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.searchresult;
+
+import java.util.List;
+
+import se.uu.ub.cora.storage.Link;
+
+/**
+ * SearchResultPage is a search result as it is kept in the {@link SearchResultCache}. It holds the
+ * type and id of the records the user could read, instead of the enhanced records, together with
+ * the numbers for the returned list. For each request that gets the page from the cache, are the
+ * positions from fromNo to toNo searched again in one search, and only the records in the page are
+ * enhanced, so no records are shared between requests.
+ */
+public record SearchResultPage(List<Link> records, String fromNo, String toNo, String totalNo) {
+
+	public SearchResultPage {
+		records = List.copyOf(records);
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization;
+
+import java.time.Duration;
+
+import se.uu.ub.cora.testutils.mcr.MethodCallRecorder;
+import se.uu.ub.cora.testutils.mrv.MethodReturnValues;
+
+public class AuthorizationMetricsSpy implements AuthorizationMetrics {
+	public MethodCallRecorder MCR = new MethodCallRecorder();
+	public MethodReturnValues MRV = new MethodReturnValues();
+
+	public AuthorizationMetricsSpy() {
+		MCR.useMRV(MRV);
+		MRV.setDefaultReturnValuesSupplier("isEnabled", () -> true);
+		MRV.setDefaultReturnValuesSupplier("getSlowCheckThreshold", () -> Duration.ofHours(1));
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return (boolean) MCR.addCallAndReturnFromMRV();
+	}
+
+	@Override
+	public Duration getSlowCheckThreshold() {
+		return (Duration) MCR.addCallAndReturnFromMRV();
+	}
+
+	@Override
+	public void authorizationChecked(AuthorizationCheck check) {
+		MCR.addCall("check", check);
+	}
+
+	@Override
+	public void slowAuthorizationChecked(AuthorizationCheck check) {
+		MCR.addCall("check", check);
+	}
+
+	@Override
+	public void cacheAccessed(String cacheName, boolean hit) {
+		MCR.addCall("cacheName", cacheName, "hit", hit);
+	}
+}
@@ -21,9 +21,14 @@
 package se.uu.ub.cora.spider.authorization;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -176,6 +181,86 @@ public class BasePermissionRuleCalculatorTest {
 				"otherTermValue2");
 	}
 
+	@Test
+	public void testIterateWithCollectedDataNoPermissions() {
+		Iterator<Rule> requiredRules = ruleCalculator
+				.iterateRulesForActionAndRecordTypeAndCollectedData(action, recordType,
+						permissionTerms);
+
+		Rule requiredRule = requiredRules.next();
+		assertEquals(requiredRule.keySet().size(), 2);
+		assertCorrectActionAndRecordType(requiredRule);
+		assertFalse(requiredRules.hasNext());
+	}
+
+	@Test
+	public void testIterateWithCollectedDataGivesSameRulesInSameOrderAsCalculate() {
+		createPermissionTerm("someTermId", "someTermValue", "SOME_PERMISSION_KEY");
+		createPermissionTerm("someTermId", "someTermValue2", "SOME_PERMISSION_KEY");
+		createPermissionTerm("otherTermId", "otherTermValue", "OTHER_PERMISSION_KEY");
+		createPermissionTerm("otherTermId", "otherTermValue2", "OTHER_PERMISSION_KEY");
+		createPermissionTerm("thirdTermId", "thirdTermValue", "THIRD_PERMISSION_KEY");
+		List<Rule> calculatedRules = ruleCalculator
+				.calculateRulesForActionAndRecordTypeAndCollectedData(action, recordType,
+						permissionTerms);
+
+		Iterator<Rule> requiredRules = ruleCalculator
+				.iterateRulesForActionAndRecordTypeAndCollectedData(action, recordType,
+						permissionTerms);
+
+		assertEquals(calculatedRules.size(), 4);
+		for (Rule calculatedRule : calculatedRules) {
+			assertTrue(requiredRules.hasNext());
+			assertSameRuleParts(requiredRules.next(), calculatedRule);
+		}
+		assertFalse(requiredRules.hasNext());
+	}
+
+	private void assertSameRuleParts(Rule rule, Rule expectedRule) {
+		assertEquals(rule.keySet(), expectedRule.keySet());
+		for (String key : expectedRule.keySet()) {
+			assertEquals(rule.getRulePartValuesForKey(key).iterator().next(),
+					expectedRule.getRulePartValuesForKey(key).iterator().next());
+		}
+	}
+
+	@Test
+	public void testIterateWithCollectedDataCreatesRulesWhenRequested() {
+		createPermissionTerm("someTermId", "someTermValue", "SOME_PERMISSION_KEY");
+		createPermissionTerm("someTermId", "someTermValue2", "SOME_PERMISSION_KEY");
+
+		Iterator<Rule> requiredRules = ruleCalculator
+				.iterateRulesForActionAndRecordTypeAndCollectedData(action, recordType,
+						permissionTerms);
+
+		Rule requiredRule = requiredRules.next();
+		assertCorrectActionAndRecordType(requiredRule);
+		assertCorrectRulePartForRuleAndKeyAndValue(requiredRule, "SOME_PERMISSION_KEY",
+				"someTermValue");
+		assertTrue(requiredRules.hasNext());
+		Rule requiredRule2 = requiredRules.next();
+		assertCorrectRulePartForRuleAndKeyAndValue(requiredRule2, "SOME_PERMISSION_KEY",
+				"someTermValue2");
+		assertFalse(requiredRules.hasNext());
+	}
+
+	@Test
+	public void testIterateWithCollectedDataNoMoreRules() {
+		createPermissionTerm("someTermId", "someTermValue", "SOME_PERMISSION_KEY");
+		Iterator<Rule> requiredRules = ruleCalculator
+				.iterateRulesForActionAndRecordTypeAndCollectedData(action, recordType,
+						permissionTerms);
+		requiredRules.next();
+
+		try {
+			requiredRules.next();
+			fail();
+		} catch (Exception e) {
+			assertTrue(e instanceof NoSuchElementException);
+			assertEquals(e.getMessage(), "No more rules to create");
+		}
+	}
+
 	private void createPermissionTerm(String id, String value, String permissionKey) {
 		PermissionTerm permissionTerm = new PermissionTerm(id, value, permissionKey);
 		permissionTerms.add(permissionTerm);
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.beefeater.authorization.Rule;
+import se.uu.ub.cora.beefeater.authorization.RuleImp;
+import se.uu.ub.cora.data.collected.PermissionTerm;
+import se.uu.ub.cora.spider.spy.RuleCalculatorSpy;
+
+public class MemoizingPermissionRuleCalculatorTest {
+	private static final String CALCULATE_WITH_COLLECTED_DATA = "calculateRulesForActionAndRecordTypeAndCollectedData";
+	private static final String CALCULATE = "calculateRulesForActionAndRecordType";
+	private static final String ITERATE_WITH_COLLECTED_DATA = "iterateRulesForActionAndRecordTypeAndCollectedData";
+	private static final List<PermissionTerm> SOME_TERMS = List
+			.of(new PermissionTerm("someId", "someValue", "SOME_KEY"));
+	private RuleCalculatorSpy wrappedCalculator;
+	private MemoizingPermissionRuleCalculator calculator;
+
+	@BeforeMethod
+	private void beforeMethod() {
+		wrappedCalculator = new RuleCalculatorSpy();
+		calculator = MemoizingPermissionRuleCalculator
+				.usingRuleCalculatorAndMaxNumberOfEntries(wrappedCalculator, 2);
+	}
+
+	@Test
+	public void testImplementsPermissionRuleCalculator() {
+		assertTrue(calculator instanceof PermissionRuleCalculator);
+	}
+
+	@Test
+	public void testOnlyForTest() {
+		assertSame(calculator.onlyForTestGetRuleCalculator(), wrappedCalculator);
+		assertEquals(calculator.onlyForTestGetMaxNumberOfEntries(), 2);
+	}
+
+	@Test
+	public void testCalculateRulesForActionAndRecordType() {
+		List<Rule> rules = calculator.calculateRulesForActionAndRecordType("read", "book");
+
+		wrappedCalculator.MCR.assertParameters(CALCULATE, 0, "read", "book");
+		assertEquals(rules, wrappedCalculator.returnedRules);
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class)
+	public void testReturnedRulesCanNotBeModified() {
+		List<Rule> rules = calculator.calculateRulesForActionAndRecordType("read", "book");
+
+		rules.clear();
+	}
+
+	@Test
+	public void testCalculateRulesForActionAndRecordTypeIsRemembered() {
+		List<Rule> rules = calculator.calculateRulesForActionAndRecordType("read", "book");
+		List<Rule> rules2 = calculator.calculateRulesForActionAndRecordType("read", "book");
+
+		wrappedCalculator.MCR.assertNumberOfCallsToMethod(CALCULATE, 1);
+		assertSame(rules2, rules);
+	}
+
+	@Test
+	public void testRulesAreRememberedPerActionAndRecordType() {
+		calculator.calculateRulesForActionAndRecordType("read", "book");
+		calculator.calculateRulesForActionAndRecordType("update", "book");
+		calculator.calculateRulesForActionAndRecordType("read", "person");
+
+		wrappedCalculator.MCR.assertNumberOfCallsToMethod(CALCULATE, 3);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsRemovedWhenFull() {
+		calculator.calculateRulesForActionAndRecordType("read", "book");
+		calculator.calculateRulesForActionAndRecordType("read", "person");
+		calculator.calculateRulesForActionAndRecordType("read", "book");
+		calculator.calculateRulesForActionAndRecordType("read", "place");
+
+		calculator.calculateRulesForActionAndRecordType("read", "book");
+		calculator.calculateRulesForActionAndRecordType("read", "person");
+
+		wrappedCalculator.MCR.assertNumberOfCallsToMethod(CALCULATE, 4);
+		wrappedCalculator.MCR.assertParameters(CALCULATE, 3, "read", "person");
+	}
+
+	@Test
+	public void testCalculateRulesWithCollectedData() {
+		List<PermissionTerm> permissionTerms = List
+				.of(new PermissionTerm("someId", "someValue", "SOME_KEY"));
+
+		List<Rule> rules = calculator.calculateRulesForActionAndRecordTypeAndCollectedData("read",
+				"book", permissionTerms);
+
+		wrappedCalculator.MCR.assertParameters(CALCULATE_WITH_COLLECTED_DATA, 0, "read", "book",
+				permissionTerms);
+		assertEquals(rules, wrappedCalculator.returnedRules);
+	}
+
+	@Test
+	public void testCalculateRulesWithCollectedDataIsRememberedRegardlessOfTermOrder() {
+		PermissionTerm term1 = new PermissionTerm("someId", "someValue", "SOME_KEY");
+		PermissionTerm term2 = new PermissionTerm("otherId", "otherValue", "OTHER_KEY");
+
+		List<Rule> rules = calculator.calculateRulesForActionAndRecordTypeAndCollectedData("read",
+				"book", List.of(term1, term2));
+		List<Rule> rules2 = calculator.calculateRulesForActionAndRecordTypeAndCollectedData("read",
+				"book", List.of(term2, term1));
+
+		wrappedCalculator.MCR.assertNumberOfCallsToMethod(CALCULATE_WITH_COLLECTED_DATA, 1);
+		assertSame(rules2, rules);
+	}
+
+	@Test
+	public void testCalculateRulesWithDifferentCollectedDataIsNotShared() {
+		calculator.calculateRulesForActionAndRecordTypeAndCollectedData("read", "book",
+				List.of(new PermissionTerm("someId", "someValue", "SOME_KEY")));
+		calculator.calculateRulesForActionAndRecordTypeAndCollectedData("read", "book",
+				List.of(new PermissionTerm("someId", "otherValue", "SOME_KEY")));
+		calculator.calculateRulesForActionAndRecordTypeAndCollectedData("read", "book",
+				List.of(new PermissionTerm("someId", "someValue", "OTHER_KEY")));
+
+		wrappedCalculator.MCR.assertNumberOfCallsToMethod(CALCULATE_WITH_COLLECTED_DATA, 3);
+	}
+
+	@Test
+	public void testCollectedDataRulesAreNotSharedWithRulesWithoutCollectedData() {
+		List<Rule> rules = calculator.calculateRulesForActionAndRecordType("read", "book");
+		List<Rule> rules2 = calculator.calculateRulesForActionAndRecordTypeAndCollectedData("read",
+				"book", List.of(new PermissionTerm("someId", "someValue", "SOME_KEY")));
+
+		wrappedCalculator.MCR.assertNumberOfCallsToMethod(CALCULATE, 1);
+		wrappedCalculator.MCR.assertNumberOfCallsToMethod(CALCULATE_WITH_COLLECTED_DATA, 1);
+		assertNotSame(rules2, rules);
+	}
+
+	@Test
+	public void testIterateRulesWithCollectedData() {
+		Iterator<Rule> rules = calculator.iterateRulesForActionAndRecordTypeAndCollectedData("read",
+				"book", SOME_TERMS);
+
+		wrappedCalculator.MCR.assertParameters(ITERATE_WITH_COLLECTED_DATA, 0, "read", "book",
+				SOME_TERMS);
+		assertSame(rules.next(), wrappedCalculator.returnedRules.get(0));
+		assertFalse(rules.hasNext());
+	}
+
+	@Test
+	public void testIteratedRulesAreRememberedWhenIteratedToTheEnd() {
+		Iterator<Rule> rules = calculator.iterateRulesForActionAndRecordTypeAndCollectedData("read",
+				"book", SOME_TERMS);
+		Rule rule = rules.next();
+		rules.hasNext();
+
+		Iterator<Rule> rules2 = calculator
+				.iterateRulesForActionAndRecordTypeAndCollectedData("read", "book", SOME_TERMS);
+		List<Rule> rules3 = calculator.calculateRulesForActionAndRecordTypeAndCollectedData("read",
+				"book", SOME_TERMS);
+
+		wrappedCalculator.MCR.assertNumberOfCallsToMethod(ITERATE_WITH_COLLECTED_DATA, 1);
+		wrappedCalculator.MCR.assertNumberOfCallsToMethod(CALCULATE_WITH_COLLECTED_DATA, 0);
+		assertSame(rules2.next(), rule);
+		assertFalse(rules2.hasNext());
+		assertEquals(rules3, List.of(rule));
+	}
+
+	@Test
+	public void testIteratedRulesAreNotRememberedWhenNotIteratedToTheEnd() {
+		wrappedCalculator.returnedRules.add(new RuleImp());
+		Iterator<Rule> rules = calculator.iterateRulesForActionAndRecordTypeAndCollectedData("read",
+				"book", SOME_TERMS);
+		rules.next();
+		rules.hasNext();
+
+		calculator.iterateRulesForActionAndRecordTypeAndCollectedData("read", "book", SOME_TERMS);
+
+		wrappedCalculator.MCR.assertNumberOfCallsToMethod(ITERATE_WITH_COLLECTED_DATA, 2);
+	}
+
+	@Test
+	public void testIterateUsesRulesRememberedFromCalculate() {
+		List<Rule> rules = calculator.calculateRulesForActionAndRecordTypeAndCollectedData("read",
+				"book", SOME_TERMS);
+
+		Iterator<Rule> rules2 = calculator
+				.iterateRulesForActionAndRecordTypeAndCollectedData("read", "book", SOME_TERMS);
+
+		wrappedCalculator.MCR.assertNumberOfCallsToMethod(ITERATE_WITH_COLLECTED_DATA, 0);
+		assertSame(rules2.next(), rules.get(0));
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization;
+
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.spider.authorization.internal.PermissionKeyTableImp;
+import se.uu.ub.cora.storage.spies.RecordStorageSpy;
+
+public class PermissionKeyTableProviderTest {
+	private RecordStorageSpy recordStorage;
+
+	@BeforeMethod
+	private void beforeMethod() {
+		PermissionKeyTableProvider.onlyForTestSetPermissionKeyTable(null);
+		recordStorage = new RecordStorageSpy();
+	}
+
+	@AfterMethod
+	private void afterMethod() {
+		PermissionKeyTableProvider.onlyForTestSetPermissionKeyTable(null);
+	}
+
+	@Test
+	public void testPrivateConstructor() throws Exception {
+		Constructor<PermissionKeyTableProvider> constructor = PermissionKeyTableProvider.class
+				.getDeclaredConstructor();
+		assertTrue(Modifier.isPrivate(constructor.getModifiers()));
+	}
+
+	@Test(expectedExceptions = InvocationTargetException.class)
+	public void testPrivateConstructorInvoke() throws Exception {
+		Constructor<PermissionKeyTableProvider> constructor = PermissionKeyTableProvider.class
+				.getDeclaredConstructor();
+		constructor.setAccessible(true);
+		constructor.newInstance();
+	}
+
+	@Test
+	public void testGetPermissionKeyTableCreatesTableUsingRecordStorageOnFirstCall() {
+		PermissionKeyTable table = PermissionKeyTableProvider
+				.getPermissionKeyTableUsingRecordStorage(recordStorage);
+
+		PermissionKeyTableImp tableImp = (PermissionKeyTableImp) table;
+		assertSame(tableImp.onlyForTestGetRecordStorage(), recordStorage);
+	}
+
+	@Test
+	public void testGetPermissionKeyTableReturnsSameTable() {
+		PermissionKeyTable table = PermissionKeyTableProvider
+				.getPermissionKeyTableUsingRecordStorage(recordStorage);
+
+		PermissionKeyTable table2 = PermissionKeyTableProvider
+				.getPermissionKeyTableUsingRecordStorage(new RecordStorageSpy());
+
+		assertSame(table2, table);
+	}
+
+	@Test
+	public void testStorageIsNotReadWhenTableIsCreated() {
+		PermissionKeyTableProvider.getPermissionKeyTableUsingRecordStorage(recordStorage);
+
+		recordStorage.MCR.assertMethodNotCalled("readList");
+	}
+
+	@Test
+	public void testOnlyForTestSetPermissionKeyTable() {
+		PermissionKeyTableSpy tableSpy = new PermissionKeyTableSpy();
+
+		PermissionKeyTableProvider.onlyForTestSetPermissionKeyTable(tableSpy);
+
+		assertSame(PermissionKeyTableProvider.getPermissionKeyTableUsingRecordStorage(recordStorage),
+				tableSpy);
+	}
+
+	@Test
+	public void testDataChangedIsSentToTable() {
+		PermissionKeyTableSpy tableSpy = new PermissionKeyTableSpy();
+		PermissionKeyTableProvider.onlyForTestSetPermissionKeyTable(tableSpy);
+
+		PermissionKeyTableProvider.dataChanged("someType", "someId", "someAction");
+
+		tableSpy.MCR.assertParameters("dataChanged", 0, "someType", "someId", "someAction");
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.data.collected.PermissionTerm;
+import se.uu.ub.cora.spider.authorization.PermissionTermFingerprint.KeyAndValue;
+
+public class PermissionTermFingerprintTest {
+
+	@Test
+	public void testOnlyPermissionKeyAndValueArePartOfFingerprint() {
+		PermissionTermFingerprint fingerprint = PermissionTermFingerprint
+				.usingPermissionTerms(List.of(new PermissionTerm("someId", "someValue", "KEY_A")));
+
+		assertEquals(fingerprint.terms(), List.of(new KeyAndValue("KEY_A", "someValue")));
+	}
+
+	@Test
+	public void testSameFingerprintRegardlessOfOrderIdAndDuplicates() {
+		PermissionTermFingerprint fingerprint1 = PermissionTermFingerprint
+				.usingPermissionTerms(List.of(new PermissionTerm("id1", "value1", "KEY_A"),
+						new PermissionTerm("id2", "value2", "KEY_B")));
+		PermissionTermFingerprint fingerprint2 = PermissionTermFingerprint
+				.usingPermissionTerms(List.of(new PermissionTerm("id3", "value2", "KEY_B"),
+						new PermissionTerm("id4", "value1", "KEY_A"),
+						new PermissionTerm("id5", "value1", "KEY_A")));
+
+		assertEquals(fingerprint1, fingerprint2);
+		assertEquals(fingerprint1.hashCode(), fingerprint2.hashCode());
+	}
+
+	@Test
+	public void testSeveralValuesForSameKeyAreSortedOnValue() {
+		PermissionTermFingerprint fingerprint = PermissionTermFingerprint
+				.usingPermissionTerms(List.of(new PermissionTerm("id1", "valueB", "KEY_A"),
+						new PermissionTerm("id2", "valueA", "KEY_A")));
+
+		assertEquals(fingerprint.terms(), List.of(new KeyAndValue("KEY_A", "valueA"),
+				new KeyAndValue("KEY_A", "valueB")));
+	}
+
+	@Test
+	public void testDifferentValuesGivesDifferentFingerprints() {
+		PermissionTermFingerprint fingerprint1 = PermissionTermFingerprint
+				.usingPermissionTerms(List.of(new PermissionTerm("id1", "value1", "KEY_A")));
+		PermissionTermFingerprint fingerprint2 = PermissionTermFingerprint
+				.usingPermissionTerms(List.of(new PermissionTerm("id1", "value2", "KEY_A")));
+
+		assertNotEquals(fingerprint1, fingerprint2);
+	}
+
+	@Test
+	public void testDifferentKeysGivesDifferentFingerprints() {
+		PermissionTermFingerprint fingerprint1 = PermissionTermFingerprint
+				.usingPermissionTerms(List.of(new PermissionTerm("id1", "value1", "KEY_A")));
+		PermissionTermFingerprint fingerprint2 = PermissionTermFingerprint
+				.usingPermissionTerms(List.of(new PermissionTerm("id1", "value1", "KEY_B")));
+
+		assertNotEquals(fingerprint1, fingerprint2);
+	}
+
+	@Test
+	public void testNoPermissionTerms() {
+		PermissionTermFingerprint fingerprint = PermissionTermFingerprint
+				.usingPermissionTerms(Collections.emptyList());
+
+		assertEquals(fingerprint.terms(), Collections.emptyList());
+	}
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.beefeater.authentication.User;
+import se.uu.ub.cora.beefeater.authorization.Rule;
+import se.uu.ub.cora.testutils.mcr.MethodCallRecorder;
+import se.uu.ub.cora.testutils.mrv.MethodReturnValues;
+
+public class ProvidedRulesCacheSpy implements ProvidedRulesCache {
+	public MethodCallRecorder MCR = new MethodCallRecorder();
+	public MethodReturnValues MRV = new MethodReturnValues();
+
+	public ProvidedRulesCacheSpy() {
+		MCR.useMRV(MRV);
+	}
+
+	@Override
+	public ProvidedRules getOrLoadProvidedRulesForUser(User user,
+			Supplier<List<Rule>> rulesLoader) {
+		MCR.addCall("user", user, "rulesLoader", rulesLoader);
+		ProvidedRules rules = ProvidedRules.indexRules(rulesLoader.get());
+		MCR.addReturned(rules);
+		return rules;
+	}
+
+	@Override
+	public void dataChanged(String type, String id, String action) {
+		MCR.addCall("type", type, "id", id, "action", action);
+	}
+}
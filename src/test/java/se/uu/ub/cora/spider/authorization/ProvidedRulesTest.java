@@ -0,0 +1,294 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.beefeater.authorization.Rule;
+import se.uu.ub.cora.beefeater.authorization.RuleImp;
+import se.uu.ub.cora.beefeater.authorization.RulePartValuesImp;
+
+public class ProvidedRulesTest {
+
+	@Test
+	public void testGetRulesKeepsOrder() {
+		Rule rule1 = createRule("system.read", "system.book");
+		Rule rule2 = createRule("system.update", "system.book");
+
+		ProvidedRules providedRules = ProvidedRules.indexRules(List.of(rule1, rule2));
+
+		List<Rule> rules = providedRules.getRules();
+		assertEquals(rules.size(), 2);
+		assertSame(rules.get(0), rule1);
+		assertSame(rules.get(1), rule2);
+	}
+
+	@Test
+	public void testGetRulesIsUnmodifiable() {
+		List<Rule> rulesIn = new ArrayList<>();
+		rulesIn.add(createRule("system.read", "system.book"));
+		ProvidedRules providedRules = ProvidedRules.indexRules(rulesIn);
+
+		rulesIn.add(new RuleImp());
+		assertEquals(providedRules.getRules().size(), 1);
+		try {
+			providedRules.getRules().add(new RuleImp());
+			fail();
+		} catch (Exception e) {
+			assertTrue(e instanceof UnsupportedOperationException);
+		}
+	}
+
+	@Test
+	public void testOnlyRulesForSameActionAndRecordTypeAreCandidates() {
+		Rule readBook = createRule("system.read", "system.book");
+		Rule updateBook = createRule("system.update", "system.book");
+		Rule readPerson = createRule("system.read", "system.person");
+		ProvidedRules providedRules = ProvidedRules
+				.indexRules(List.of(readBook, updateBook, readPerson));
+
+		List<Rule> candidates = providedRules.getCandidateRulesForRequiredRules(
+				List.of(createRule("system.read", "system.book")));
+
+		assertEquals(candidates, List.of(readBook));
+	}
+
+	@Test
+	public void testNoCandidatesForUnknownActionAndRecordType() {
+		ProvidedRules providedRules = ProvidedRules
+				.indexRules(List.of(createRule("system.read", "system.book")));
+
+		List<Rule> candidates = providedRules.getCandidateRulesForRequiredRules(
+				List.of(createRule("system.delete", "system.book")));
+
+		assertEquals(candidates, Collections.emptyList());
+	}
+
+	@Test
+	public void testRuleWithSeveralValuesIsIndexedForAllCombinations() {
+		Rule rule = new RuleImp();
+		RulePartValuesImp actionPart = new RulePartValuesImp();
+		actionPart.add("system.read");
+		actionPart.add("system.update");
+		rule.addRulePart("action", actionPart);
+		RulePartValuesImp recordTypePart = new RulePartValuesImp();
+		recordTypePart.add("system.book");
+		recordTypePart.add("system.person");
+		rule.addRulePart("recordType", recordTypePart);
+		ProvidedRules providedRules = ProvidedRules.indexRules(List.of(rule));
+
+		assertEquals(providedRules.getCandidateRulesForRequiredRules(
+				List.of(createRule("system.update", "system.person"))), List.of(rule));
+		assertEquals(providedRules.getCandidateRulesForRequiredRules(
+				List.of(createRule("system.read", "system.person"))), List.of(rule));
+	}
+
+	@Test
+	public void testRulesThatCanNotBeIndexedAreAlwaysCandidates() {
+		Rule readBook = createRule("system.read", "system.book");
+		Rule onlyAction = createRuleWithRulePart("action", "system.read");
+		Rule wildcardRecordType = createRule("system.update", "system.*");
+		Rule wildcardAction = createRule("system.*", "system.person");
+		ProvidedRules providedRules = ProvidedRules
+				.indexRules(List.of(onlyAction, readBook, wildcardRecordType, wildcardAction));
+
+		List<Rule> candidates = providedRules.getCandidateRulesForRequiredRules(
+				List.of(createRule("system.delete", "system.image")));
+
+		assertEquals(candidates, List.of(onlyAction, wildcardRecordType, wildcardAction));
+	}
+
+	@Test
+	public void testRequiredRuleWithoutActionReturnsAllRules() {
+		Rule readBook = createRule("system.read", "system.book");
+		Rule readPerson = createRule("system.read", "system.person");
+		ProvidedRules providedRules = ProvidedRules.indexRules(List.of(readBook, readPerson));
+
+		List<Rule> candidates = providedRules.getCandidateRulesForRequiredRules(
+				List.of(createRuleWithRulePart("recordType", "system.book")));
+
+		assertSame(candidates, providedRules.getRules());
+	}
+
+	@Test
+	public void testRequiredRuleWithoutRecordTypeReturnsAllRules() {
+		Rule readBook = createRule("system.read", "system.book");
+		ProvidedRules providedRules = ProvidedRules.indexRules(List.of(readBook));
+
+		List<Rule> candidates = providedRules.getCandidateRulesForRequiredRules(
+				List.of(createRuleWithRulePart("action", "system.delete")));
+
+		assertSame(candidates, providedRules.getRules());
+	}
+
+	@Test
+	public void testSeveralRequiredRulesGivesUnionInProvidedOrderWithoutDuplicates() {
+		Rule readPerson = createRule("system.read", "system.person");
+		Rule readBook = createRule("system.read", "system.book");
+		Rule updateBook = createRule("system.update", "system.book");
+		ProvidedRules providedRules = ProvidedRules
+				.indexRules(List.of(readPerson, readBook, updateBook));
+
+		List<Rule> candidates = providedRules.getCandidateRulesForRequiredRules(
+				List.of(createRule("system.read", "system.book"),
+						createRule("system.read", "system.person"),
+						createRule("system.read", "system.book")));
+
+		assertEquals(candidates, List.of(readPerson, readBook));
+	}
+
+	@Test
+	public void testFingerprintIsSameForSameRulesInOtherOrder() {
+		Rule readBook = createRule("system.read", "system.book");
+		Rule readPerson = createRule("system.read", "system.person");
+
+		ProvidedRules providedRules = ProvidedRules.indexRules(List.of(readBook, readPerson));
+		ProvidedRules sameRules = ProvidedRules.indexRules(List.of(
+				createRule("system.read", "system.person"), readPerson,
+				createRule("system.read", "system.book")));
+
+		assertEquals(providedRules.getFingerprint(), sameRules.getFingerprint());
+	}
+
+	@Test
+	public void testFingerprintIsSameForSameValuesInOtherOrder() {
+		ProvidedRules providedRules = ProvidedRules
+				.indexRules(List.of(createRuleWithTwoActions("system.read", "system.update")));
+		ProvidedRules sameRules = ProvidedRules
+				.indexRules(List.of(createRuleWithTwoActions("system.update", "system.read")));
+
+		assertEquals(providedRules.getFingerprint(), sameRules.getFingerprint());
+	}
+
+	@Test
+	public void testFingerprintDiffersForOtherRules() {
+		ProvidedRules providedRules = ProvidedRules
+				.indexRules(List.of(createRule("system.read", "system.book")));
+		ProvidedRules otherRules = ProvidedRules
+				.indexRules(List.of(createRule("system.update", "system.book")));
+
+		assertNotEquals(providedRules.getFingerprint(), otherRules.getFingerprint());
+	}
+
+	@Test
+	public void testFingerprintDiffersForOtherReadRecordPartPermissions() {
+		Rule readBook = createRule("system.read", "system.book");
+		Rule readBookWithPrice = createRule("system.read", "system.book");
+		readBookWithPrice.addReadRecordPartPermission("book.price");
+
+		ProvidedRules providedRules = ProvidedRules.indexRules(List.of(readBook));
+		ProvidedRules otherRules = ProvidedRules.indexRules(List.of(readBookWithPrice));
+
+		assertNotEquals(providedRules.getFingerprint(), otherRules.getFingerprint());
+	}
+
+	@Test
+	public void testFingerprintDiffersForOtherWriteRecordPartPermissions() {
+		Rule updateBook = createRule("system.update", "system.book");
+		updateBook.addWriteRecordPartPermission("book.price");
+		Rule updateBookOtherPart = createRule("system.update", "system.book");
+		updateBookOtherPart.addWriteRecordPartPermission("book.placement");
+
+		ProvidedRules providedRules = ProvidedRules.indexRules(List.of(updateBook));
+		ProvidedRules otherRules = ProvidedRules.indexRules(List.of(updateBookOtherPart));
+
+		assertNotEquals(providedRules.getFingerprint(), otherRules.getFingerprint());
+	}
+
+	@Test
+	public void testFingerprintIsSameForSameRecordPartPermissionsInOtherOrder() {
+		Rule readBook = createRule("system.read", "system.book");
+		readBook.addReadRecordPartPermission("book.price");
+		readBook.addReadRecordPartPermission("book.placement");
+		Rule sameReadBook = createRule("system.read", "system.book");
+		sameReadBook.addReadRecordPartPermission("book.placement");
+		sameReadBook.addReadRecordPartPermission("book.price");
+
+		ProvidedRules providedRules = ProvidedRules.indexRules(List.of(readBook));
+		ProvidedRules sameRules = ProvidedRules.indexRules(List.of(sameReadBook));
+
+		assertEquals(providedRules.getFingerprint(), sameRules.getFingerprint());
+	}
+
+	@Test
+	public void testNoRecordPartPermissions() {
+		ProvidedRules providedRules = ProvidedRules
+				.indexRules(List.of(createRule("system.read", "system.book")));
+
+		assertFalse(providedRules.hasReadRecordPartPermissions());
+		assertFalse(providedRules.hasWriteRecordPartPermissions());
+	}
+
+	@Test
+	public void testReadRecordPartPermissions() {
+		Rule readBook = createRule("system.read", "system.book");
+		readBook.addReadRecordPartPermission("book.price");
+		ProvidedRules providedRules = ProvidedRules
+				.indexRules(List.of(createRule("system.read", "system.person"), readBook));
+
+		assertTrue(providedRules.hasReadRecordPartPermissions());
+		assertFalse(providedRules.hasWriteRecordPartPermissions());
+	}
+
+	@Test
+	public void testWriteRecordPartPermissions() {
+		Rule updateBook = createRule("system.update", "system.book");
+		updateBook.addWriteRecordPartPermission("book.price");
+		ProvidedRules providedRules = ProvidedRules.indexRules(List.of(updateBook));
+
+		assertFalse(providedRules.hasReadRecordPartPermissions());
+		assertTrue(providedRules.hasWriteRecordPartPermissions());
+	}
+
+	private Rule createRuleWithTwoActions(String action, String otherAction) {
+		Rule rule = createRuleWithRulePart("recordType", "system.book");
+		RulePartValuesImp actionPart = new RulePartValuesImp();
+		actionPart.add(action);
+		actionPart.add(otherAction);
+		rule.addRulePart("action", actionPart);
+		return rule;
+	}
+
+	private Rule createRule(String action, String recordType) {
+		Rule rule = createRuleWithRulePart("action", action);
+		RulePartValuesImp recordTypePart = new RulePartValuesImp();
+		recordTypePart.add(recordType);
+		rule.addRulePart("recordType", recordTypePart);
+		return rule;
+	}
+
+	private Rule createRuleWithRulePart(String key, String value) {
+		Rule rule = new RuleImp();
+		RulePartValuesImp rulePart = new RulePartValuesImp();
+		rulePart.add(value);
+		rule.addRulePart(key, rulePart);
+		return rule;
+	}
+}
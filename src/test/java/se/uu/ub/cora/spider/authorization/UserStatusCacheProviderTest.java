@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.initialize.SettingsProvider;
+import se.uu.ub.cora.spider.authorization.internal.UserStatusCacheImp;
+
+public class UserStatusCacheProviderTest {
+
+	@BeforeMethod
+	private void beforeMethod() {
+		UserStatusCacheProvider.onlyForTestSetUserStatusCache(null);
+		SettingsProvider.setSettings(new HashMap<>());
+	}
+
+	@AfterMethod
+	private void afterMethod() {
+		UserStatusCacheProvider.onlyForTestSetUserStatusCache(null);
+	}
+
+	@Test
+	public void testPrivateConstructor() throws Exception {
+		Constructor<UserStatusCacheProvider> constructor = UserStatusCacheProvider.class
+				.getDeclaredConstructor();
+		assertTrue(Modifier.isPrivate(constructor.getModifiers()));
+	}
+
+	@Test(expectedExceptions = InvocationTargetException.class)
+	public void testPrivateConstructorInvoke() throws Exception {
+		Constructor<UserStatusCacheProvider> constructor = UserStatusCacheProvider.class
+				.getDeclaredConstructor();
+		constructor.setAccessible(true);
+		constructor.newInstance();
+	}
+
+	@Test
+	public void testGetUserStatusCacheCreatesCacheOnFirstCall() {
+		UserStatusCache cache = UserStatusCacheProvider.getUserStatusCache();
+
+		assertTrue(cache instanceof UserStatusCacheImp);
+	}
+
+	@Test
+	public void testDefaultTimeToLiveWhenNotSet() {
+		UserStatusCacheImp cache = (UserStatusCacheImp) UserStatusCacheProvider
+				.getUserStatusCache();
+
+		assertEquals(cache.onlyForTestGetTimeToLive(), Duration.ofSeconds(60));
+	}
+
+	@Test
+	public void testTimeToLiveIsReadFromSettings() {
+		Map<String, String> settings = new HashMap<>();
+		settings.put("userStatusCacheTimeToLiveInSeconds", "120");
+		SettingsProvider.setSettings(settings);
+
+		UserStatusCacheImp cache = (UserStatusCacheImp) UserStatusCacheProvider
+				.getUserStatusCache();
+
+		assertEquals(cache.onlyForTestGetTimeToLive(), Duration.ofSeconds(120));
+	}
+
+	@Test
+	public void testOnlyForTestSetUserStatusCache() {
+		UserStatusCacheSpy cacheSpy = new UserStatusCacheSpy();
+
+		UserStatusCacheProvider.onlyForTestSetUserStatusCache(cacheSpy);
+
+		assertSame(UserStatusCacheProvider.getUserStatusCache(), cacheSpy);
+	}
+
+	@Test
+	public void testDataChangedIsSentToCache() {
+		UserStatusCacheSpy cacheSpy = new UserStatusCacheSpy();
+		UserStatusCacheProvider.onlyForTestSetUserStatusCache(cacheSpy);
+
+		UserStatusCacheProvider.dataChanged("someType", "someId", "someAction");
+
+		cacheSpy.MCR.assertParameters("dataChanged", 0, "someType", "someId", "someAction");
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.time.Duration;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.spider.authorization.AuthorizationCheck;
+import se.uu.ub.cora.spider.authorization.AuthorizationMetricsSpy;
+
+public class CheckMeasurementTest {
+	private AuthorizationMetricsSpy metrics;
+
+	@BeforeMethod
+	private void beforeMethod() {
+		metrics = new AuthorizationMetricsSpy();
+	}
+
+	@Test
+	public void testNotEnabledGivesNotMeasured() {
+		metrics.MRV.setDefaultReturnValuesSupplier("isEnabled", () -> false);
+
+		CheckMeasurement measurement = CheckMeasurement.start(metrics, "read", "book");
+
+		assertSame(measurement, CheckMeasurement.notMeasured());
+	}
+
+	@Test
+	public void testNotMeasuredReportsNothing() {
+		CheckMeasurement measurement = CheckMeasurement.notMeasured();
+
+		measurement.addRules(1, 2);
+		boolean authorized = measurement.finish(true);
+
+		assertTrue(authorized);
+		metrics.MCR.assertMethodNotCalled("authorizationChecked");
+	}
+
+	@Test
+	public void testFinishReportsCheck() {
+		CheckMeasurement measurement = CheckMeasurement.start(metrics, "read", "book");
+		measurement.addRules(1, 3);
+		measurement.addRules(1, 2);
+
+		boolean authorized = measurement.finish(false);
+
+		assertFalse(authorized);
+		AuthorizationCheck check = getReportedCheck();
+		assertEquals(check.action(), "read");
+		assertEquals(check.recordType(), "book");
+		assertFalse(check.authorized());
+		assertTrue(check.durationInNanos() >= 0);
+		assertEquals(check.numberOfRequiredRules(), 2);
+		assertEquals(check.numberOfScannedProvidedRules(), 5);
+	}
+
+	private AuthorizationCheck getReportedCheck() {
+		return (AuthorizationCheck) metrics.MCR.getParameterForMethodAndCallNumberAndParameter(
+				"authorizationChecked", 0, "check");
+	}
+
+	@Test
+	public void testCheckFasterThanThresholdIsNotReportedAsSlow() {
+		CheckMeasurement measurement = CheckMeasurement.start(metrics, "read", "book");
+
+		measurement.finish(true);
+
+		metrics.MCR.assertMethodNotCalled("slowAuthorizationChecked");
+	}
+
+	@Test
+	public void testSlowCheckIsReportedAsSlow() {
+		metrics.MRV.setDefaultReturnValuesSupplier("getSlowCheckThreshold", () -> Duration.ZERO);
+		CheckMeasurement measurement = CheckMeasurement.start(metrics, "read", "book");
+
+		measurement.finish(true);
+
+		metrics.MCR.assertParameters("slowAuthorizationChecked", 0, getReportedCheck());
+	}
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.time.Duration;
+
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.spider.authorization.AuthorizationCheck;
+import se.uu.ub.cora.spider.authorization.AuthorizationMetrics;
+
+public class NoAuthorizationMetricsTest {
+	private NoAuthorizationMetrics metrics = new NoAuthorizationMetrics();
+
+	@Test
+	public void testImplementsAuthorizationMetrics() {
+		assertTrue(metrics instanceof AuthorizationMetrics);
+	}
+
+	@Test
+	public void testIsNotEnabled() {
+		assertFalse(metrics.isEnabled());
+	}
+
+	@Test
+	public void testSlowCheckThreshold() {
+		assertEquals(metrics.getSlowCheckThreshold(), Duration.ZERO);
+	}
+
+	@Test
+	public void testReportingDoesNothing() {
+		AuthorizationCheck check = new AuthorizationCheck("read", "book", true, 1, 1, 1);
+
+		metrics.authorizationChecked(check);
+		metrics.slowAuthorizationChecked(check);
+		metrics.cacheAccessed("someCache", true);
+	}
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.data.DataRecordGroup;
+import se.uu.ub.cora.data.spies.DataGroupSpy;
+import se.uu.ub.cora.data.spies.DataRecordGroupSpy;
+import se.uu.ub.cora.spider.authorization.PermissionKeyTable;
+import se.uu.ub.cora.storage.Filter;
+import se.uu.ub.cora.storage.RecordNotFoundException;
+import se.uu.ub.cora.storage.StorageReadResult;
+import se.uu.ub.cora.storage.spies.RecordStorageSpy;
+
+public class PermissionKeyTableTest {
+	private RecordStorageSpy recordStorage;
+	private PermissionKeyTableImp permissionKeyTable;
+	private List<DataRecordGroup> collectTermsInStorage;
+
+	@BeforeMethod
+	private void beforeMethod() {
+		recordStorage = new RecordStorageSpy();
+		collectTermsInStorage = new ArrayList<>();
+		recordStorage.MRV.setDefaultReturnValuesSupplier("readList", this::createReadResult);
+		permissionKeyTable = PermissionKeyTableImp.usingRecordStorage(recordStorage);
+	}
+
+	private StorageReadResult createReadResult() {
+		StorageReadResult readResult = new StorageReadResult();
+		readResult.listOfDataRecordGroups = collectTermsInStorage;
+		readResult.totalNumberOfMatches = collectTermsInStorage.size();
+		return readResult;
+	}
+
+	@Test
+	public void testImplementsPermissionKeyTable() {
+		assertTrue(permissionKeyTable instanceof PermissionKeyTable);
+	}
+
+	@Test
+	public void testOnlyForTestGetRecordStorage() {
+		assertSame(permissionKeyTable.onlyForTestGetRecordStorage(), recordStorage);
+	}
+
+	@Test
+	public void testNothingIsReadBeforeFirstUse() {
+		recordStorage.MCR.assertMethodNotCalled("readList");
+	}
+
+	@Test
+	public void testAllCollectTermsAreLoadedOnFirstUse() {
+		addCollectTermInStorage("organisationPermissionTerm", "OWNING_ORGANISATION");
+		addCollectTermInStorage("publishedPermissionTerm", "PUBLISHED_STATUS");
+
+		String permissionKey = permissionKeyTable.getPermissionKey("organisationPermissionTerm");
+
+		assertEquals(permissionKey, "OWNING_ORGANISATION");
+		recordStorage.MCR.assertNumberOfCallsToMethod("readList", 1);
+		recordStorage.MCR.assertParameter("readList", 0, "type", "collectTerm");
+		assertTrue(recordStorage.MCR.getParameterForMethodAndCallNumberAndParameter("readList",
+				0, "filter") instanceof Filter);
+		recordStorage.MCR.assertMethodNotCalled("read");
+		assertEquals(permissionKeyTable.onlyForTestGetPermissionKeys().size(), 2);
+	}
+
+	private DataRecordGroupSpy addCollectTermInStorage(String id, String permissionKey) {
+		DataRecordGroupSpy collectTerm = createCollectTermWithPermissionKey(id, permissionKey);
+		collectTermsInStorage.add(collectTerm);
+		return collectTerm;
+	}
+
+	private DataRecordGroupSpy createCollectTermWithPermissionKey(String id,
+			String permissionKey) {
+		DataGroupSpy extraData = new DataGroupSpy();
+		extraData.MRV.setSpecificReturnValuesSupplier("containsChildWithNameInData", () -> true,
+				"permissionKey");
+		extraData.MRV.setSpecificReturnValuesSupplier("getFirstAtomicValueWithNameInData",
+				() -> permissionKey, "permissionKey");
+
+		DataRecordGroupSpy collectTerm = new DataRecordGroupSpy();
+		collectTerm.MRV.setDefaultReturnValuesSupplier("getId", () -> id);
+		collectTerm.MRV.setSpecificReturnValuesSupplier("containsChildWithNameInData",
+				() -> true, "extraData");
+		collectTerm.MRV.setSpecificReturnValuesSupplier("getFirstGroupWithNameInData",
+				() -> extraData, "extraData");
+		return collectTerm;
+	}
+
+	@Test
+	public void testCollectTermsWithoutPermissionKeyAreNotLoaded() {
+		DataRecordGroupSpy indexTerm = new DataRecordGroupSpy();
+		indexTerm.MRV.setDefaultReturnValuesSupplier("getId", () -> "someIndexTerm");
+		collectTermsInStorage.add(indexTerm);
+		DataRecordGroupSpy storageTerm = new DataRecordGroupSpy();
+		storageTerm.MRV.setDefaultReturnValuesSupplier("getId", () -> "someStorageTerm");
+		storageTerm.MRV.setSpecificReturnValuesSupplier("containsChildWithNameInData",
+				() -> true, "extraData");
+		storageTerm.MRV.setSpecificReturnValuesSupplier("getFirstGroupWithNameInData",
+				DataGroupSpy::new, "extraData");
+		collectTermsInStorage.add(storageTerm);
+		addCollectTermInStorage("organisationPermissionTerm", "OWNING_ORGANISATION");
+
+		permissionKeyTable.getPermissionKey("organisationPermissionTerm");
+
+		assertEquals(permissionKeyTable.onlyForTestGetPermissionKeys().size(), 1);
+	}
+
+	@Test
+	public void testCollectTermsAreLoadedOnlyOnce() {
+		addCollectTermInStorage("organisationPermissionTerm", "OWNING_ORGANISATION");
+
+		permissionKeyTable.getPermissionKey("organisationPermissionTerm");
+		permissionKeyTable.getPermissionKey("organisationPermissionTerm");
+
+		recordStorage.MCR.assertNumberOfCallsToMethod("readList", 1);
+		recordStorage.MCR.assertMethodNotCalled("read");
+	}
+
+	@Test
+	public void testCollectTermsAreLoadedAgainWhenChangeReportedDuringLoad() {
+		addCollectTermInStorage("organisationPermissionTerm", "OWNING_ORGANISATION");
+		setPermissionTermInStorageForSingleRead("organisationPermissionTerm",
+				"OWNING_ORGANISATION");
+		recordStorage.MRV.setDefaultReturnValuesSupplier("readList", () -> {
+			permissionKeyTable.dataChanged("collectTerm", "otherPermissionTerm", "update");
+			return createReadResult();
+		});
+
+		permissionKeyTable.getPermissionKey("organisationPermissionTerm");
+		recordStorage.MRV.setDefaultReturnValuesSupplier("readList", this::createReadResult);
+		permissionKeyTable.getPermissionKey("organisationPermissionTerm");
+		permissionKeyTable.getPermissionKey("organisationPermissionTerm");
+
+		recordStorage.MCR.assertNumberOfCallsToMethod("readList", 2);
+		recordStorage.MCR.assertNumberOfCallsToMethod("read", 1);
+	}
+
+	@Test
+	public void testTableIsNotLockedWhileCollectTermsAreLoaded() throws Exception {
+		addCollectTermInStorage("organisationPermissionTerm", "OWNING_ORGANISATION");
+		Thread changeReporter = Thread.ofVirtual().unstarted(() -> permissionKeyTable
+				.dataChanged("someType", "someId", "update"));
+		recordStorage.MRV.setDefaultReturnValuesSupplier("readList", () -> {
+			startAndWaitForThread(changeReporter);
+			return createReadResult();
+		});
+
+		permissionKeyTable.getPermissionKey("organisationPermissionTerm");
+
+		assertFalse(changeReporter.isAlive());
+	}
+
+	private void startAndWaitForThread(Thread thread) {
+		thread.start();
+		try {
+			thread.join(Duration.ofSeconds(5));
+		} catch (InterruptedException _) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Test
+	public void testPermissionKeyReadBeforeAllAreLoadedIsKept() {
+		setPermissionTermInStorageForSingleRead("newPermissionTerm", "NEW_KEY");
+		recordStorage.MRV.setDefaultReturnValuesSupplier("readList", () -> {
+			permissionKeyTable.dataChanged("collectTerm", "otherPermissionTerm", "update");
+			return createReadResult();
+		});
+		permissionKeyTable.getPermissionKey("newPermissionTerm");
+		recordStorage.MRV.setDefaultReturnValuesSupplier("readList", this::createReadResult);
+		addCollectTermInStorage("organisationPermissionTerm", "OWNING_ORGANISATION");
+
+		permissionKeyTable.getPermissionKey("organisationPermissionTerm");
+
+		assertEquals(permissionKeyTable.onlyForTestGetPermissionKeys().size(), 2);
+		recordStorage.MCR.assertNumberOfCallsToMethod("read", 1);
+	}
+
+	@Test
+	public void testPermissionTermNotInTableIsReadFromStorageAndAdded() {
+		setPermissionTermInStorageForSingleRead("newPermissionTerm", "NEW_KEY");
+
+		String permissionKey = permissionKeyTable.getPermissionKey("newPermissionTerm");
+		String permissionKey2 = permissionKeyTable.getPermissionKey("newPermissionTerm");
+
+		assertEquals(permissionKey, "NEW_KEY");
+		assertEquals(permissionKey2, "NEW_KEY");
+		recordStorage.MCR.assertNumberOfCallsToMethod("read", 1);
+		recordStorage.MCR.assertParameters("read", 0, "collectTerm", "newPermissionTerm");
+	}
+
+	private void setPermissionTermInStorageForSingleRead(String id, String permissionKey) {
+		DataRecordGroupSpy collectTerm = createCollectTermWithPermissionKey(id, permissionKey);
+		recordStorage.MRV.setSpecificReturnValuesSupplier("read", () -> collectTerm,
+				"collectTerm", id);
+	}
+
+	@Test(expectedExceptions = RecordNotFoundException.class, expectedExceptionsMessageRegExp = ""
+			+ "someMessage")
+	public void testPermissionTermNotInStorage() {
+		recordStorage.MRV.setThrowException("read",
+				RecordNotFoundException.withMessage("someMessage"), "collectTerm",
+				"nonExistingTerm");
+
+		permissionKeyTable.getPermissionKey("nonExistingTerm");
+	}
+
+	@Test
+	public void testCollectTermChangedIsReadAgain() {
+		addCollectTermInStorage("organisationPermissionTerm", "OWNING_ORGANISATION");
+		permissionKeyTable.getPermissionKey("organisationPermissionTerm");
+		setPermissionTermInStorageForSingleRead("organisationPermissionTerm", "CHANGED_KEY");
+
+		permissionKeyTable.dataChanged("collectTerm", "organisationPermissionTerm", "update");
+		String permissionKey = permissionKeyTable.getPermissionKey("organisationPermissionTerm");
+
+		assertEquals(permissionKey, "CHANGED_KEY");
+		recordStorage.MCR.assertNumberOfCallsToMethod("readList", 1);
+		recordStorage.MCR.assertNumberOfCallsToMethod("read", 1);
+	}
+
+	@Test
+	public void testOtherTypeChangedKeepsPermissionKey() {
+		addCollectTermInStorage("organisationPermissionTerm", "OWNING_ORGANISATION");
+		permissionKeyTable.getPermissionKey("organisationPermissionTerm");
+
+		permissionKeyTable.dataChanged("someType", "organisationPermissionTerm", "update");
+
+		assertTrue(permissionKeyTable.onlyForTestGetPermissionKeys()
+				.containsKey("organisationPermissionTerm"));
+	}
+
+	@Test
+	public void testPermissionKeyNotAddedWhenChangeReportedDuringRead() {
+		DataRecordGroupSpy collectTerm = createCollectTermWithPermissionKey("newPermissionTerm",
+				"NEW_KEY");
+		recordStorage.MRV.setSpecificReturnValuesSupplier("read", () -> {
+			permissionKeyTable.dataChanged("collectTerm", "newPermissionTerm", "update");
+			return collectTerm;
+		}, "collectTerm", "newPermissionTerm");
+
+		String permissionKey = permissionKeyTable.getPermissionKey("newPermissionTerm");
+
+		assertEquals(permissionKey, "NEW_KEY");
+		assertFalse(permissionKeyTable.onlyForTestGetPermissionKeys()
+				.containsKey("newPermissionTerm"));
+	}
+}
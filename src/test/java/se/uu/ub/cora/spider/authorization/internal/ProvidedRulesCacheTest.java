@@ -0,0 +1,207 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.beefeater.authentication.User;
+import se.uu.ub.cora.beefeater.authorization.Rule;
+import se.uu.ub.cora.beefeater.authorization.RuleImp;
+import se.uu.ub.cora.spider.authorization.ProvidedRules;
+import se.uu.ub.cora.spider.authorization.ProvidedRulesCache;
+
+public class ProvidedRulesCacheTest {
+	private ProvidedRulesCacheImp cache;
+	private User user;
+	private RulesLoaderSpy rulesLoader;
+
+	@BeforeMethod
+	private void beforeMethod() {
+		cache = ProvidedRulesCacheImp.usingMaxNumberOfUsers(2);
+		user = createUser("someUserId", "someRole");
+		rulesLoader = new RulesLoaderSpy();
+	}
+
+	private User createUser(String userId, String... roles) {
+		User createdUser = new User(userId);
+		for (String role : roles) {
+			createdUser.roles.add(role);
+		}
+		return createdUser;
+	}
+
+	@Test
+	public void testImplementsProvidedRulesCache() {
+		assertTrue(cache instanceof ProvidedRulesCache);
+	}
+
+	@Test
+	public void testMaxNumberOfUsers() {
+		assertEquals(cache.onlyForTestGetCachedRules().onlyForTestGetMaxSize(), 2);
+	}
+
+	@Test
+	public void testRulesAreLoadedOnFirstCall() {
+		ProvidedRules rules = cache.getOrLoadProvidedRulesForUser(user, rulesLoader);
+
+		assertEquals(rulesLoader.numberOfCalls, 1);
+		assertEquals(rules.getRules(), rulesLoader.loadedRules.get(0));
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class)
+	public void testReturnedRulesCanNotBeModified() {
+		ProvidedRules rules = cache.getOrLoadProvidedRulesForUser(user, rulesLoader);
+
+		rules.getRules().add(new RuleImp());
+	}
+
+	@Test
+	public void testRulesAreCachedForUser() {
+		ProvidedRules rules = cache.getOrLoadProvidedRulesForUser(user, rulesLoader);
+		ProvidedRules rules2 = cache.getOrLoadProvidedRulesForUser(user, rulesLoader);
+
+		assertEquals(rulesLoader.numberOfCalls, 1);
+		assertSame(rules, rules2);
+	}
+
+	@Test
+	public void testRulesAreCachedPerUser() {
+		User otherUser = createUser("otherUserId", "someRole");
+
+		ProvidedRules rules = cache.getOrLoadProvidedRulesForUser(user, rulesLoader);
+		ProvidedRules rules2 = cache.getOrLoadProvidedRulesForUser(otherUser, rulesLoader);
+
+		assertEquals(rulesLoader.numberOfCalls, 2);
+		assertNotSame(rules, rules2);
+	}
+
+	@Test
+	public void testRulesAreReloadedIfUserHasOtherRoles() {
+		User sameUserOtherRoles = createUser("someUserId", "someRole", "otherRole");
+
+		cache.getOrLoadProvidedRulesForUser(user, rulesLoader);
+		cache.getOrLoadProvidedRulesForUser(sameUserOtherRoles, rulesLoader);
+		cache.getOrLoadProvidedRulesForUser(sameUserOtherRoles, rulesLoader);
+
+		assertEquals(rulesLoader.numberOfCalls, 2);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedUserIsEvicted() {
+		cache.getOrLoadProvidedRulesForUser(user, rulesLoader);
+		cache.getOrLoadProvidedRulesForUser(createUser("user2", "someRole"), rulesLoader);
+		cache.getOrLoadProvidedRulesForUser(createUser("user3", "someRole"), rulesLoader);
+
+		cache.getOrLoadProvidedRulesForUser(user, rulesLoader);
+
+		assertEquals(rulesLoader.numberOfCalls, 4);
+	}
+
+	@Test
+	public void testDataChangedForUserRemovesOnlyThatUser() {
+		User otherUser = createUser("otherUserId", "someRole");
+		cache.getOrLoadProvidedRulesForUser(user, rulesLoader);
+		cache.getOrLoadProvidedRulesForUser(otherUser, rulesLoader);
+
+		cache.dataChanged("user", "someUserId", "update");
+		cache.getOrLoadProvidedRulesForUser(user, rulesLoader);
+		cache.getOrLoadProvidedRulesForUser(otherUser, rulesLoader);
+
+		assertEquals(rulesLoader.numberOfCalls, 3);
+	}
+
+	@Test
+	public void testDataChangedForOtherTypeKeepsCachedRules() {
+		cache.getOrLoadProvidedRulesForUser(user, rulesLoader);
+
+		cache.dataChanged("someType", "someUserId", "update");
+		cache.getOrLoadProvidedRulesForUser(user, rulesLoader);
+
+		assertEquals(rulesLoader.numberOfCalls, 1);
+	}
+
+	@Test
+	public void testDataChangedForPermissionRoleRemovesAllUsers() {
+		assertDataChangedForTypeRemovesAllUsers("permissionRole");
+	}
+
+	@Test
+	public void testDataChangedForPermissionRuleRemovesAllUsers() {
+		assertDataChangedForTypeRemovesAllUsers("permissionRule");
+	}
+
+	@Test
+	public void testDataChangedForCollectTermRemovesAllUsers() {
+		assertDataChangedForTypeRemovesAllUsers("collectTerm");
+	}
+
+	private void assertDataChangedForTypeRemovesAllUsers(String type) {
+		User otherUser = createUser("otherUserId", "someRole");
+		cache.getOrLoadProvidedRulesForUser(user, rulesLoader);
+		cache.getOrLoadProvidedRulesForUser(otherUser, rulesLoader);
+
+		cache.dataChanged(type, "someId", "update");
+
+		assertEquals(cache.onlyForTestGetCachedRules().size(), 0);
+	}
+
+	@Test
+	public void testRulesLoadedDuringDataChangeAreNotCached() {
+		Supplier<List<Rule>> loaderReportingChange = () -> {
+			cache.dataChanged("permissionRole", "someRole", "update");
+			return rulesLoader.get();
+		};
+
+		cache.getOrLoadProvidedRulesForUser(user, loaderReportingChange);
+		cache.getOrLoadProvidedRulesForUser(user, rulesLoader);
+
+		assertEquals(rulesLoader.numberOfCalls, 2);
+	}
+
+	@Test(expectedExceptions = RuntimeException.class, expectedExceptionsMessageRegExp = ""
+			+ "someError")
+	public void testErrorFromLoaderIsNotCached() {
+		cache.getOrLoadProvidedRulesForUser(user, () -> {
+			throw new RuntimeException("someError");
+		});
+	}
+
+	private class RulesLoaderSpy implements Supplier<List<Rule>> {
+		int numberOfCalls = 0;
+		List<List<Rule>> loadedRules = new ArrayList<>();
+
+		@Override
+		public List<Rule> get() {
+			numberOfCalls++;
+			List<Rule> rules = List.of(new RuleImp());
+			loadedRules.add(rules);
+			return rules;
+		}
+	}
+}
@@ -21,10 +21,14 @@ package se.uu.ub.cora.spider.authorization.internal;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
@@ -37,6 +41,7 @@ import org.testng.annotations.Test;
 
 import se.uu.ub.cora.beefeater.authentication.User;
 import se.uu.ub.cora.beefeater.authorization.Rule;
+import se.uu.ub.cora.beefeater.authorization.RuleImp;
 import se.uu.ub.cora.beefeater.authorization.RulePartValues;
 import se.uu.ub.cora.data.DataFactory;
 import se.uu.ub.cora.data.DataProvider;
@@ -45,8 +50,15 @@ import se.uu.ub.cora.data.spies.DataFactorySpy;
 import se.uu.ub.cora.logger.LoggerProvider;
 import se.uu.ub.cora.spider.authentication.Authenticator;
 import se.uu.ub.cora.spider.authentication.OldAuthenticatorSpy;
+import se.uu.ub.cora.spider.authorization.AuthorizationCheck;
 import se.uu.ub.cora.spider.authorization.AuthorizationException;
+import se.uu.ub.cora.spider.authorization.AuthorizationMetricsSpy;
+import se.uu.ub.cora.spider.authorization.AuthorizedActions;
+import se.uu.ub.cora.spider.authorization.PermissionKeyTableSpy;
+import se.uu.ub.cora.spider.authorization.ProvidedRules;
 import se.uu.ub.cora.spider.authorization.RulesProviderSpy;
+import se.uu.ub.cora.spider.authorization.UserStatus;
+import se.uu.ub.cora.spider.authorization.UserStatusCacheSpy;
 import se.uu.ub.cora.spider.dependency.spy.SpiderDependencyProviderOldSpy;
 import se.uu.ub.cora.spider.log.LoggerFactorySpy;
 import se.uu.ub.cora.spider.spy.RecordStorageForAuthorizatorSpy;
@@ -58,6 +70,7 @@ public class SpiderAuthorizatorTest {
 
 	private static final String READ = "read";
 	private static final String BOOK = "book";
+	private static final String UPDATE = "update";
 
 	private LoggerFactorySpy loggerFactorySpy;
 	private DataFactory dataFactorySpy;
@@ -68,6 +81,7 @@ public class SpiderAuthorizatorTest {
 	private RuleCalculatorSpy ruleCalculator;
 	private RulesProviderSpy rulesProvider;
 	private SpiderDependencyProviderOldSpy dependencyProvider;
+	private PermissionKeyTableSpy permissionKeyTable;
 
 	private SpiderAuthorizatorImp spiderAuthorizator;
 
@@ -105,12 +119,22 @@ public class SpiderAuthorizatorTest {
 		dependencyProvider.authenticator = authenticator;
 		dependencyProvider.recordStorage = recordStorage;
 		dependencyProvider.ruleCalculator = ruleCalculator;
+		setUpPermissionKeyTable();
 
 		spiderAuthorizator = SpiderAuthorizatorImp
 				.usingSpiderDependencyProviderAndAuthorizatorAndRulesProvider(dependencyProvider,
 						beefeaterAuthorizator, rulesProvider);
 	}
 
+	private void setUpPermissionKeyTable() {
+		permissionKeyTable = new PermissionKeyTableSpy();
+		permissionKeyTable.MRV.setSpecificReturnValuesSupplier("getPermissionKey",
+				() -> "OWNING_ORGANISATION", "organisationPermissionTerm");
+		permissionKeyTable.MRV.setSpecificReturnValuesSupplier("getPermissionKey",
+				() -> "JOURNAL_ACCESS", "journalPermissionTerm");
+		dependencyProvider.permissionKeyTable = permissionKeyTable;
+	}
+
 	@Test
 	public void testGetDependencyProvider() {
 		assertSame(spiderAuthorizator.getDependencyProvider(), dependencyProvider);
@@ -185,9 +209,253 @@ public class SpiderAuthorizatorTest {
 	}
 
 	private void assertUserIsActiveCalledOncePerUser() {
+		assertUserIsReadOnceFromStorage();
+	}
+
+	@Test
+	public void testUserIsReadOnceWhenStatusAndRulesAreNotCached() {
+		setUpDependencyProvider();
+
+		spiderAuthorizator.userIsAuthorizedForActionOnRecordType(user, READ, BOOK);
+
+		assertEquals(((RecordStorageForAuthorizatorSpy) recordStorage).userReadNumberOfTimesMap
+				.get(user.id).intValue(), 1);
+	}
+
+	@Test
+	public void testUserIsReadOnceWhenStatusAndRulesAreNotCachedForCollectedData() {
+		setupForUserWithOnePermissionTerm();
+
+		spiderAuthorizator.userIsAuthorizedForActionOnRecordTypeAndCollectedData(user, READ,
+				BOOK, permissionTerms);
+
+		assertEquals(((RecordStorageForAuthorizatorSpy) recordStorage).userReadNumberOfTimesMap
+				.get(user.id).intValue(), 1);
+	}
+
+	@Test
+	public void testUserIsReadAgainInNextCheckWhenOnlyRulesAreRemoved() {
+		spiderAuthorizator.userIsAuthorizedForActionOnRecordType(user, READ, BOOK);
+		dependencyProvider.providedRulesCache.dataChanged("permissionRole", "someRole",
+				"update");
+
+		spiderAuthorizator.userIsAuthorizedForActionOnRecordType(user, READ, BOOK);
+
 		assertEquals(((RecordStorageForAuthorizatorSpy) recordStorage).userReadNumberOfTimesMap
 				.get(user.id).intValue(), 2);
-		assertEquals(rulesProvider.returnedRules.size(), 1);
+	}
+
+	@Test
+	public void testUserStatusIsLoadedThroughUserStatusCache() {
+		UserStatusCacheSpy userStatusCache = new UserStatusCacheSpy();
+		dependencyProvider.userStatusCache = userStatusCache;
+		spiderAuthorizator = createAuthorizatorUsingDependencyProvider();
+
+		spiderAuthorizator.userIsAuthorizedForActionOnRecordType(user, READ, BOOK);
+
+		dependencyProvider.MCR.assertMethodWasCalled("getUserStatusCache");
+		userStatusCache.MCR.assertParameter("getOrLoadUserStatus", 0, "userId", user.id);
+		userStatusCache.MCR.assertReturn("getOrLoadUserStatus", 0, UserStatus.ACTIVE);
+	}
+
+	private SpiderAuthorizatorImp createAuthorizatorUsingDependencyProvider() {
+		return SpiderAuthorizatorImp.usingSpiderDependencyProviderAndAuthorizatorAndRulesProvider(
+				dependencyProvider, beefeaterAuthorizator, rulesProvider);
+	}
+
+	@Test
+	public void testUserStatusAndRulesAreSharedBetweenInstances() {
+		spiderAuthorizator.userIsAuthorizedForActionOnRecordType(user, READ, BOOK);
+		SpiderAuthorizatorImp spiderAuthorizator2 = createAuthorizatorUsingDependencyProvider();
+
+		spiderAuthorizator2.userIsAuthorizedForActionOnRecordType(user, READ, BOOK);
+
+		assertUserIsReadOnceFromStorage();
+	}
+
+	@Test
+	public void testInactiveUserStatusIsSharedBetweenInstances() {
+		User inactiveUser = setupForInactiveAndNotSatisfyActionForRecordType();
+		assertUserIsInactive(spiderAuthorizator, inactiveUser);
+		SpiderAuthorizatorImp spiderAuthorizator2 = createAuthorizatorUsingDependencyProvider();
+
+		assertUserIsInactive(spiderAuthorizator2, inactiveUser);
+
+		assertEquals(((RecordStorageForAuthorizatorSpy) recordStorage).userReadNumberOfTimesMap
+				.get(inactiveUser.id).intValue(), 1);
+	}
+
+	private void assertUserIsInactive(SpiderAuthorizatorImp authorizator, User inactiveUser) {
+		try {
+			authorizator.userIsAuthorizedForActionOnRecordType(inactiveUser, READ, BOOK);
+			fail();
+		} catch (AuthorizationException e) {
+			assertEquals(e.getMessage(), "user with id inactiveUserId is inactive");
+		}
+	}
+
+	@Test
+	public void testNonExistingUserStatusIsSharedBetweenInstances() {
+		User nonExistingUser = setupForNonExistingUser();
+		assertUserDoesNotExist(spiderAuthorizator, nonExistingUser);
+		SpiderAuthorizatorImp spiderAuthorizator2 = createAuthorizatorUsingDependencyProvider();
+
+		assertUserDoesNotExist(spiderAuthorizator2, nonExistingUser);
+
+		assertEquals(((RecordStorageForAuthorizatorSpy) recordStorage).userReadNumberOfTimesMap
+				.get(nonExistingUser.id).intValue(), 1);
+	}
+
+	private void assertUserDoesNotExist(SpiderAuthorizatorImp authorizator,
+			User nonExistingUser) {
+		try {
+			authorizator.userIsAuthorizedForActionOnRecordType(nonExistingUser, READ, BOOK);
+			fail();
+		} catch (AuthorizationException e) {
+			assertEquals(e.getMessage(), "user with id nonExistingUserId does not exist");
+		}
+	}
+
+	@Test
+	public void testNoMetricsReportedWhenMetricsNotEnabled() {
+		AuthorizationMetricsSpy metrics = setUpAuthorizatorWithMetrics();
+		metrics.MRV.setDefaultReturnValuesSupplier("isEnabled", () -> false);
+
+		spiderAuthorizator.userIsAuthorizedForActionOnRecordType(user, READ, BOOK);
+
+		dependencyProvider.MCR.assertMethodWasCalled("getAuthorizationMetrics");
+		metrics.MCR.assertMethodNotCalled("authorizationChecked");
+		metrics.MCR.assertMethodNotCalled("cacheAccessed");
+		metrics.MCR.assertMethodNotCalled("getSlowCheckThreshold");
+	}
+
+	private AuthorizationMetricsSpy setUpAuthorizatorWithMetrics() {
+		AuthorizationMetricsSpy metrics = new AuthorizationMetricsSpy();
+		dependencyProvider.authorizationMetrics = metrics;
+		spiderAuthorizator = createAuthorizatorUsingDependencyProvider();
+		return metrics;
+	}
+
+	@Test
+	public void testMetricsForUserIsAuthorizedForActionOnRecordType() {
+		AuthorizationMetricsSpy metrics = setUpAuthorizatorWithMetrics();
+
+		spiderAuthorizator.userIsAuthorizedForActionOnRecordType(user, READ, BOOK);
+
+		AuthorizationCheck check = getReportedCheck(metrics, 0);
+		assertEquals(check.action(), READ);
+		assertEquals(check.recordType(), BOOK);
+		assertTrue(check.authorized());
+		assertEquals(check.numberOfRequiredRules(), ruleCalculator.returnedRules.size());
+		assertEquals(check.numberOfScannedProvidedRules(),
+				rulesProvider.returnedRules.get(0).size());
+		metrics.MCR.assertNumberOfCallsToMethod("authorizationChecked", 1);
+	}
+
+	private AuthorizationCheck getReportedCheck(AuthorizationMetricsSpy metrics, int callNumber) {
+		return (AuthorizationCheck) metrics.MCR.getParameterForMethodAndCallNumberAndParameter(
+				"authorizationChecked", callNumber, "check");
+	}
+
+	@Test
+	public void testMetricsForUserIsAuthorizedForActionOnRecordTypeAndCollectedData() {
+		AuthorizationMetricsSpy metrics = setUpAuthorizatorWithMetrics();
+		beefeaterAuthorizator.providedRulesSatisfiesRequiredRules = false;
+
+		spiderAuthorizator.userIsAuthorizedForActionOnRecordTypeAndCollectedData(user, READ,
+				BOOK, permissionTerms);
+
+		AuthorizationCheck check = getReportedCheck(metrics, 0);
+		assertEquals(check.action(), READ);
+		assertEquals(check.recordType(), BOOK);
+		assertFalse(check.authorized());
+		assertEquals(check.numberOfRequiredRules(), ruleCalculator.returnedRules.size());
+	}
+
+	@Test
+	public void testMetricsAreReportedPerActionForGetActionsUserIsAuthorizedFor() {
+		AuthorizationMetricsSpy metrics = setUpAuthorizatorWithMetrics();
+
+		spiderAuthorizator.getActionsUserIsAuthorizedForOnRecordTypeAndCollectedData(user,
+				List.of(READ, UPDATE), BOOK, permissionTerms);
+
+		assertEquals(getReportedCheck(metrics, 0).action(), READ);
+		assertEquals(getReportedCheck(metrics, 1).action(), UPDATE);
+		metrics.MCR.assertNumberOfCallsToMethod("authorizationChecked", 2);
+	}
+
+	@Test
+	public void testRulesAreCountedPerCheck() {
+		AuthorizationMetricsSpy metrics = setUpAuthorizatorWithMetrics();
+
+		spiderAuthorizator.userIsAuthorizedForActionOnRecordType(user, READ, BOOK);
+		spiderAuthorizator.userIsAuthorizedForActionOnRecordType(user, READ, BOOK);
+
+		AuthorizationCheck firstCheck = getReportedCheck(metrics, 0);
+		AuthorizationCheck secondCheck = getReportedCheck(metrics, 1);
+		assertEquals(secondCheck.numberOfRequiredRules(), firstCheck.numberOfRequiredRules());
+		assertEquals(secondCheck.numberOfScannedProvidedRules(),
+				firstCheck.numberOfScannedProvidedRules());
+	}
+
+	@Test
+	public void testSlowChecksAreReported() {
+		AuthorizationMetricsSpy metrics = setUpAuthorizatorWithMetrics();
+		metrics.MRV.setDefaultReturnValuesSupplier("getSlowCheckThreshold", () -> Duration.ZERO);
+
+		spiderAuthorizator.userIsAuthorizedForActionOnRecordType(user, READ, BOOK);
+
+		metrics.MCR.assertParameters("slowAuthorizationChecked", 0,
+				getReportedCheck(metrics, 0));
+	}
+
+	@Test
+	public void testCacheAccessesAreReported() {
+		AuthorizationMetricsSpy metrics = setUpAuthorizatorWithMetrics();
+
+		spiderAuthorizator.userIsAuthorizedForActionOnRecordType(user, READ, BOOK);
+		createAuthorizatorUsingDependencyProvider().userIsAuthorizedForActionOnRecordType(user,
+				READ, BOOK);
+
+		metrics.MCR.assertParameters("cacheAccessed", 0, "userStatus", false);
+		metrics.MCR.assertParameters("cacheAccessed", 1, "providedRules", false);
+		metrics.MCR.assertParameters("cacheAccessed", 2, "userStatus", true);
+		metrics.MCR.assertParameters("cacheAccessed", 3, "providedRules", true);
+		metrics.MCR.assertNumberOfCallsToMethod("cacheAccessed", 4);
+	}
+
+	@Test
+	public void testUserIsReadAgainAfterUserDataChanged() {
+		spiderAuthorizator.userIsAuthorizedForActionOnRecordType(user, READ, BOOK);
+		dependencyProvider.userStatusCache.dataChanged("user", user.id, "update");
+		dependencyProvider.providedRulesCache.dataChanged("user", user.id, "update");
+		SpiderAuthorizatorImp spiderAuthorizator2 = createAuthorizatorUsingDependencyProvider();
+
+		spiderAuthorizator2.userIsAuthorizedForActionOnRecordType(user, READ, BOOK);
+
+		assertEquals(((RecordStorageForAuthorizatorSpy) recordStorage).userReadNumberOfTimesMap
+				.get(user.id).intValue(), 2);
+	}
+
+	@Test
+	public void testGetProvidedRulesFingerprintForUserIsFingerprintOfCachedRules() {
+		String fingerprint = spiderAuthorizator.getProvidedRulesFingerprintForUser(user);
+
+		ProvidedRules providedRules = dependencyProvider.providedRulesCache
+				.getOrLoadProvidedRulesForUser(user, List::of);
+		assertEquals(fingerprint, providedRules.getFingerprint());
+	}
+
+	@Test
+	public void testProvidedRulesFingerprintDiffersForUsersWithDifferentRecordPartPermissions() {
+		User otherUser = new User("someOtherUserId");
+		otherUser.roles.add("guest");
+
+		String fingerprint = spiderAuthorizator.getProvidedRulesFingerprintForUser(user);
+		rulesProvider.returnReadRecordPartPermissions = true;
+		String otherFingerprint = spiderAuthorizator.getProvidedRulesFingerprintForUser(otherUser);
+
+		assertNotEquals(otherFingerprint, fingerprint);
 	}
 
 	@Test
@@ -317,7 +585,7 @@ public class SpiderAuthorizatorTest {
 	}
 
 	private void assertCheckUserSatisfiesActionForCollectedDataWithPermissionTermForUser() {
-		ruleCalculator.MCR.assertParameters("calculateRulesForActionAndRecordTypeAndCollectedData",
+		ruleCalculator.MCR.assertParameters("iterateRulesForActionAndRecordTypeAndCollectedData",
 				0, READ, BOOK, permissionTerms);
 
 		List<Rule> providedRules = getProvidedRulesForFirstCallToProvidedRulesSatisfiesRequiredRules();
@@ -325,9 +593,7 @@ public class SpiderAuthorizatorTest {
 		assertEquals(rulesProvider.roleIds.get(0), roleIterator.next());
 		assertUserRulesMatchWithProvidedRules(providedRules);
 
-		beefeaterAuthorizator.MCR.assertParameter("providedRulesSatisfiesRequiredRules", 0,
-				"requiredRules", ruleCalculator.MCR
-						.getReturnValue("calculateRulesForActionAndRecordTypeAndCollectedData", 0));
+		assertFirstCalculatedRuleIsRequiredRuleForFirstCallToProvidedRulesSatisfiesRequiredRules();
 	}
 
 	private void setupForUserWithOnePermissionTerm() {
@@ -336,6 +602,21 @@ public class SpiderAuthorizatorTest {
 		setUpDependencyProvider();
 	}
 
+	@Test
+	public void testPermissionKeyForUserPermissionTermIsResolvedUsingPermissionKeyTable() {
+		setupForUserWithOnePermissionTerm();
+
+		spiderAuthorizator
+				.checkGetUsersMatchedRecordPartPermissionsForActionOnRecordTypeAndCollectedData(
+						user, READ, BOOK, permissionTerms, false);
+
+		dependencyProvider.MCR.assertMethodWasCalled("getPermissionKeyTable");
+		permissionKeyTable.MCR.assertParameters("getPermissionKey", 0,
+				"organisationPermissionTerm");
+		assertNull(((RecordStorageForAuthorizatorSpy) recordStorage).userReadNumberOfTimesMap
+				.get("organisationPermissionTerm"));
+	}
+
 	@Test
 	public void testRolePermissionTermDoesNotOverwriteRulePermissionTerm() {
 		setupForUserWithOnePermissionTerm();
@@ -361,7 +642,7 @@ public class SpiderAuthorizatorTest {
 				.checkGetUsersMatchedRecordPartPermissionsForActionOnRecordTypeAndCollectedData(
 						user, READ, BOOK, permissionTerms, false);
 
-		ruleCalculator.MCR.assertParameters("calculateRulesForActionAndRecordTypeAndCollectedData",
+		ruleCalculator.MCR.assertParameters("iterateRulesForActionAndRecordTypeAndCollectedData",
 				0, READ, BOOK, permissionTerms);
 
 		List<Rule> providedRules = getProvidedRulesForFirstCallToProvidedRulesSatisfiesRequiredRules();
@@ -394,9 +675,15 @@ public class SpiderAuthorizatorTest {
 		assertEquals(fourthRule.getRulePartValuesForKey("OWNING_ORGANISATION").size(), 1);
 		assertRuleContainsAllKeys(fourthRule, "OWNING_ORGANISATION", "action");
 
-		beefeaterAuthorizator.MCR.assertParameter("providedRulesSatisfiesRequiredRules", 0,
-				"requiredRules", ruleCalculator.MCR
-						.getReturnValue("calculateRulesForActionAndRecordTypeAndCollectedData", 0));
+		assertFirstCalculatedRuleIsRequiredRuleForFirstCallToProvidedRulesSatisfiesRequiredRules();
+	}
+
+	private void assertFirstCalculatedRuleIsRequiredRuleForFirstCallToProvidedRulesSatisfiesRequiredRules() {
+		List<Rule> requiredRules = (List<Rule>) beefeaterAuthorizator.MCR
+				.getParameterForMethodAndCallNumberAndParameter(
+						"providedRulesSatisfiesRequiredRules", 0, "requiredRules");
+		assertEquals(requiredRules.size(), 1);
+		assertSame(requiredRules.get(0), ruleCalculator.returnedRules.get(0));
 	}
 
 	private List<Rule> getProvidedRulesForFirstCallToProvidedRulesSatisfiesRequiredRules() {
@@ -451,7 +738,7 @@ public class SpiderAuthorizatorTest {
 	}
 
 	private void assertOtherSupportClassesUsedCorrectly() {
-		ruleCalculator.MCR.assertParameters("calculateRulesForActionAndRecordTypeAndCollectedData",
+		ruleCalculator.MCR.assertParameters("iterateRulesForActionAndRecordTypeAndCollectedData",
 				0, READ, BOOK, permissionTerms);
 
 		List<Rule> providedRules = getProvidedRulesForFirstCallToProvidedRulesSatisfiesRequiredRules();
@@ -465,9 +752,7 @@ public class SpiderAuthorizatorTest {
 		assertEquals(providedRules.get(2), rulesProvider.returnedRules.get(1).get(0));
 		assertEquals(providedRules.get(3), rulesProvider.returnedRules.get(1).get(1));
 
-		beefeaterAuthorizator.MCR.assertParameter("providedRulesSatisfiesRequiredRules", 0,
-				"requiredRules", ruleCalculator.MCR
-						.getReturnValue("calculateRulesForActionAndRecordTypeAndCollectedData", 0));
+		assertFirstCalculatedRuleIsRequiredRuleForFirstCallToProvidedRulesSatisfiesRequiredRules();
 	}
 
 	@Test
@@ -483,16 +768,14 @@ public class SpiderAuthorizatorTest {
 	}
 
 	private void assertUserSatisfiesActionForCollectedDataWithPermissionTermForUser() {
-		ruleCalculator.MCR.assertParameters("calculateRulesForActionAndRecordTypeAndCollectedData",
+		ruleCalculator.MCR.assertParameters("iterateRulesForActionAndRecordTypeAndCollectedData",
 				0, READ, BOOK, permissionTerms);
 
 		List<Rule> providedRules = getProvidedRulesForFirstCallToProvidedRulesSatisfiesRequiredRules();
 
 		assertUserRulesMatchWithProvidedRules(providedRules);
 
-		beefeaterAuthorizator.MCR.assertParameter("providedRulesSatisfiesRequiredRules", 0,
-				"requiredRules", ruleCalculator.MCR
-						.getReturnValue("calculateRulesForActionAndRecordTypeAndCollectedData", 0));
+		assertFirstCalculatedRuleIsRequiredRuleForFirstCallToProvidedRulesSatisfiesRequiredRules();
 	}
 
 	private void assertUserRulesMatchWithProvidedRules(List<Rule> providedRules) {
@@ -533,7 +816,7 @@ public class SpiderAuthorizatorTest {
 
 	private void assertUserSatisfiesActionForCollectedDataWithPermissionTermWithTwoRolesAndPermissionTermsForUser() {
 
-		ruleCalculator.MCR.assertParameters("calculateRulesForActionAndRecordTypeAndCollectedData",
+		ruleCalculator.MCR.assertParameters("iterateRulesForActionAndRecordTypeAndCollectedData",
 				0, READ, BOOK, permissionTerms);
 
 		List<Rule> providedRules = getProvidedRulesForFirstCallToProvidedRulesSatisfiesRequiredRules();
@@ -566,9 +849,7 @@ public class SpiderAuthorizatorTest {
 		assertEquals(fourthRule.getRulePartValuesForKey("OWNING_ORGANISATION").size(), 1);
 		assertRuleContainsAllKeys(fourthRule, "OWNING_ORGANISATION", "action");
 
-		beefeaterAuthorizator.MCR.assertParameter("providedRulesSatisfiesRequiredRules", 0,
-				"requiredRules", ruleCalculator.MCR
-						.getReturnValue("calculateRulesForActionAndRecordTypeAndCollectedData", 0));
+		assertFirstCalculatedRuleIsRequiredRuleForFirstCallToProvidedRulesSatisfiesRequiredRules();
 	}
 
 	@Test
@@ -598,6 +879,43 @@ public class SpiderAuthorizatorTest {
 		assertFalse(authorized);
 	}
 
+	@Test
+	public void testUserSatisfiesActionForCollectedDataStopsAtFirstSatisfiedRequiredRule() {
+		setupForUserWithRoleGuest2();
+		ruleCalculator.returnedRules.add(new RuleImp());
+
+		boolean authorized = spiderAuthorizator
+				.userIsAuthorizedForActionOnRecordTypeAndCollectedData(user, READ, BOOK,
+						permissionTerms);
+
+		assertTrue(authorized);
+		beefeaterAuthorizator.MCR.assertNumberOfCallsToMethod("providedRulesSatisfiesRequiredRules",
+				1);
+		Iterator<Rule> requiredRules = (Iterator<Rule>) ruleCalculator.MCR
+				.getReturnValue("iterateRulesForActionAndRecordTypeAndCollectedData", 0);
+		assertTrue(requiredRules.hasNext());
+	}
+
+	@Test
+	public void testUserDoesNotSatisfyActionForCollectedDataTriesAllRequiredRules() {
+		setupForprovidedRulesDoesNotSatisfiyRequiredRules();
+		Rule secondRequiredRule = new RuleImp();
+		ruleCalculator.returnedRules.add(secondRequiredRule);
+
+		boolean authorized = spiderAuthorizator
+				.userIsAuthorizedForActionOnRecordTypeAndCollectedData(user, READ, BOOK,
+						permissionTerms);
+
+		assertFalse(authorized);
+		beefeaterAuthorizator.MCR.assertNumberOfCallsToMethod("providedRulesSatisfiesRequiredRules",
+				2);
+		List<Rule> requiredRules = (List<Rule>) beefeaterAuthorizator.MCR
+				.getParameterForMethodAndCallNumberAndParameter(
+						"providedRulesSatisfiesRequiredRules", 1, "requiredRules");
+		assertEquals(requiredRules.size(), 1);
+		assertSame(requiredRules.get(0), secondRequiredRule);
+	}
+
 	@Test(expectedExceptions = AuthorizationException.class)
 	public void testCheckUserSatisfiesActionForCollectedDataNotAuthorized() {
 		setupForprovidedRulesDoesNotSatisfiyRequiredRules();
@@ -667,9 +985,6 @@ public class SpiderAuthorizatorTest {
 				"requiredRules", ruleCalculator.MCR
 						.getReturnValue("calculateRulesForActionAndRecordTypeAndCollectedData", 0));
 
-		assertEquals(spiderAuthorizator.onlyForTestGetMatchedRules(),
-				beefeaterAuthorizator.MCR.getReturnValue("providedRulesMatchRequiredRules", 0));
-
 		assertTrue(usersReadRecordPartPermissions.isEmpty());
 	}
 
@@ -815,6 +1130,154 @@ public class SpiderAuthorizatorTest {
 						user, READ, BOOK, permissionTerms, true);
 	}
 
+	@Test
+	public void testGetActionsUserIsAuthorizedForOnRecordType() {
+		setUpDependencyProvider();
+
+		Set<String> authorizedActions = spiderAuthorizator
+				.getActionsUserIsAuthorizedForOnRecordType(user, List.of(READ, UPDATE), BOOK);
+
+		assertEquals(authorizedActions, Set.of(READ, UPDATE));
+		ruleCalculator.MCR.assertParameters("calculateRulesForActionAndRecordType", 0, READ, BOOK);
+		ruleCalculator.MCR.assertParameters("calculateRulesForActionAndRecordType", 1, UPDATE,
+				BOOK);
+		beefeaterAuthorizator.MCR.assertNumberOfCallsToMethod("providedRulesSatisfiesRequiredRules",
+				2);
+		assertUserIsReadOnceFromStorage();
+	}
+
+	private void assertUserIsReadOnceFromStorage() {
+		assertEquals(((RecordStorageForAuthorizatorSpy) recordStorage).userReadNumberOfTimesMap
+				.get(user.id).intValue(), 1);
+		assertEquals(rulesProvider.returnedRules.size(), 1);
+	}
+
+	@Test
+	public void testGetActionsUserIsAuthorizedForOnRecordTypeNotAuthorized() {
+		setupForprovidedRulesDoesNotSatisfiyRequiredRules();
+
+		Set<String> authorizedActions = spiderAuthorizator
+				.getActionsUserIsAuthorizedForOnRecordType(user, List.of(READ, UPDATE), BOOK);
+
+		assertTrue(authorizedActions.isEmpty());
+		beefeaterAuthorizator.MCR.assertNumberOfCallsToMethod("providedRulesSatisfiesRequiredRules",
+				2);
+	}
+
+	@Test(expectedExceptions = AuthorizationException.class, expectedExceptionsMessageRegExp = ""
+			+ "user with id inactiveUserId is inactive")
+	public void testGetActionsUserIsAuthorizedForOnRecordTypeInactiveUser() {
+		User inactiveUser = setupForInactiveAndNotSatisfyActionForRecordType();
+
+		spiderAuthorizator.getActionsUserIsAuthorizedForOnRecordType(inactiveUser, List.of(READ),
+				BOOK);
+	}
+
+	@Test
+	public void testGetActionsUserIsAuthorizedForOnRecordTypeAndCollectedData() {
+		setupForUserWithOnePermissionTerm();
+		rulesProvider.returnReadRecordPartPermissions = true;
+		rulesProvider.returnWriteRecordPartPermissions = true;
+
+		AuthorizedActions authorizedActions = spiderAuthorizator
+				.getActionsUserIsAuthorizedForOnRecordTypeAndCollectedData(user,
+						List.of(READ, UPDATE), BOOK, permissionTerms);
+
+		assertEquals(authorizedActions.actions(), Set.of(READ, UPDATE));
+		assertEquals(authorizedActions.getRecordPartPermissionsForAction(READ),
+				Set.of("price", "placement"));
+		assertEquals(authorizedActions.getRecordPartPermissionsForAction(UPDATE),
+				Set.of("priceWrite", "placementWrite"));
+		ruleCalculator.MCR.assertParameters("calculateRulesForActionAndRecordTypeAndCollectedData",
+				0, READ, BOOK, permissionTerms);
+		ruleCalculator.MCR.assertParameters("calculateRulesForActionAndRecordTypeAndCollectedData",
+				1, UPDATE, BOOK, permissionTerms);
+		beefeaterAuthorizator.MCR.assertNumberOfCallsToMethod("providedRulesMatchRequiredRules", 2);
+		assertUserIsReadOnceFromStorage();
+	}
+
+	@Test
+	public void testGetActionsUserIsAuthorizedForOnRecordTypeAndCollectedDataOnlyMatchesAllRulesForActionsWithRecordPartPermissions() {
+		setupForUserWithOnePermissionTerm();
+		rulesProvider.returnWriteRecordPartPermissions = true;
+
+		AuthorizedActions authorizedActions = spiderAuthorizator
+				.getActionsUserIsAuthorizedForOnRecordTypeAndCollectedData(user,
+						List.of(READ, UPDATE), BOOK, permissionTerms);
+
+		assertEquals(authorizedActions.actions(), Set.of(READ, UPDATE));
+		assertEquals(authorizedActions.getRecordPartPermissionsForAction(READ), Set.of());
+		assertEquals(authorizedActions.getRecordPartPermissionsForAction(UPDATE),
+				Set.of("priceWrite", "placementWrite"));
+		ruleCalculator.MCR.assertParameters("iterateRulesForActionAndRecordTypeAndCollectedData",
+				0, READ, BOOK, permissionTerms);
+		ruleCalculator.MCR.assertParameters("calculateRulesForActionAndRecordTypeAndCollectedData",
+				0, UPDATE, BOOK, permissionTerms);
+		beefeaterAuthorizator.MCR.assertNumberOfCallsToMethod("providedRulesSatisfiesRequiredRules",
+				1);
+		beefeaterAuthorizator.MCR.assertNumberOfCallsToMethod("providedRulesMatchRequiredRules", 1);
+	}
+
+	@Test
+	public void testGetActionsUserIsAuthorizedForOnRecordTypeAndCollectedDataWithoutRecordPartPermissionsStopsAtFirstSatisfiedRequiredRule() {
+		setupForUserWithRoleGuest2();
+		ruleCalculator.returnedRules.add(new RuleImp());
+
+		AuthorizedActions authorizedActions = spiderAuthorizator
+				.getActionsUserIsAuthorizedForOnRecordTypeAndCollectedData(user, List.of(READ),
+						BOOK, permissionTerms);
+
+		assertEquals(authorizedActions.actions(), Set.of(READ));
+		assertTrue(authorizedActions.getRecordPartPermissionsForAction(READ).isEmpty());
+		ruleCalculator.MCR.assertMethodNotCalled(
+				"calculateRulesForActionAndRecordTypeAndCollectedData");
+		beefeaterAuthorizator.MCR.assertMethodNotCalled("providedRulesMatchRequiredRules");
+		beefeaterAuthorizator.MCR.assertNumberOfCallsToMethod("providedRulesSatisfiesRequiredRules",
+				1);
+		Iterator<Rule> requiredRules = (Iterator<Rule>) ruleCalculator.MCR
+				.getReturnValue("iterateRulesForActionAndRecordTypeAndCollectedData", 0);
+		assertTrue(requiredRules.hasNext());
+	}
+
+	@Test
+	public void testGetActionsUserIsAuthorizedForOnRecordTypeAndCollectedDataNotAuthorizedWithoutRecordPartPermissions() {
+		setupForprovidedRulesDoesNotSatisfiyRequiredRules();
+
+		AuthorizedActions authorizedActions = spiderAuthorizator
+				.getActionsUserIsAuthorizedForOnRecordTypeAndCollectedData(user,
+						List.of(READ, UPDATE), BOOK, permissionTerms);
+
+		assertTrue(authorizedActions.actions().isEmpty());
+		beefeaterAuthorizator.MCR.assertNumberOfCallsToMethod("providedRulesSatisfiesRequiredRules",
+				2);
+	}
+
+	@Test
+	public void testGetActionsUserIsAuthorizedForOnRecordTypeAndCollectedDataNotAuthorized() {
+		setupUserWithTwoRolesPermissionTerm();
+		rulesProvider.returnReadRecordPartPermissions = true;
+		rulesProvider.returnWriteRecordPartPermissions = true;
+		beefeaterAuthorizator.returnNoMatchedRules = true;
+
+		AuthorizedActions authorizedActions = spiderAuthorizator
+				.getActionsUserIsAuthorizedForOnRecordTypeAndCollectedData(user,
+						List.of(READ, UPDATE), BOOK, permissionTerms);
+
+		assertTrue(authorizedActions.actions().isEmpty());
+		assertFalse(authorizedActions.isAuthorizedFor(READ));
+		assertTrue(authorizedActions.getRecordPartPermissionsForAction(UPDATE).isEmpty());
+		beefeaterAuthorizator.MCR.assertNumberOfCallsToMethod("providedRulesMatchRequiredRules", 2);
+	}
+
+	@Test(expectedExceptions = AuthorizationException.class, expectedExceptionsMessageRegExp = ""
+			+ "user with id inactiveUserId is inactive")
+	public void testGetActionsUserIsAuthorizedForOnRecordTypeAndCollectedDataInactiveUser() {
+		User inactiveUser = setupForInactiveAndNotSatisfyActionForRecordType();
+
+		spiderAuthorizator.getActionsUserIsAuthorizedForOnRecordTypeAndCollectedData(inactiveUser,
+				List.of(READ), BOOK, permissionTerms);
+	}
+
 	@Test
 	public void testCheckUserIsAuthorizedForPemissionUnit_isCalledAndReturn() {
 		beefeaterAuthorizator.MRV
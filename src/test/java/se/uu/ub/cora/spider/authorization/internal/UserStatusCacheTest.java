@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.authorization.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.function.Supplier;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.spider.authorization.UserStatus;
+import se.uu.ub.cora.spider.authorization.UserStatusCache;
+
+public class UserStatusCacheTest {
+	private static final String SOME_USER_ID = "someUserId";
+	private static final Duration TIME_TO_LIVE = Duration.ofSeconds(60);
+	private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+	private UserStatusCacheImp cache;
+	private StatusLoaderSpy statusLoader;
+
+	@BeforeMethod
+	private void beforeMethod() {
+		cache = UserStatusCacheImp.usingMaxNumberOfUsersAndTimeToLive(2, TIME_TO_LIVE);
+		setTime(START);
+		statusLoader = new StatusLoaderSpy(UserStatus.ACTIVE);
+	}
+
+	private void setTime(Instant instant) {
+		cache.onlyForTestSetClock(Clock.fixed(instant, ZoneOffset.UTC));
+	}
+
+	@Test
+	public void testImplementsUserStatusCache() {
+		assertTrue(cache instanceof UserStatusCache);
+	}
+
+	@Test
+	public void testMaxNumberOfUsersAndTimeToLive() {
+		assertEquals(cache.onlyForTestGetCachedStatuses().onlyForTestGetMaxSize(), 2);
+		assertEquals(cache.onlyForTestGetTimeToLive(), TIME_TO_LIVE);
+	}
+
+	@Test
+	public void testStatusIsLoadedOnFirstCall() {
+		UserStatus status = cache.getOrLoadUserStatus(SOME_USER_ID, statusLoader);
+
+		assertEquals(statusLoader.numberOfCalls, 1);
+		assertEquals(status, UserStatus.ACTIVE);
+	}
+
+	@Test
+	public void testStatusIsCachedForUser() {
+		cache.getOrLoadUserStatus(SOME_USER_ID, statusLoader);
+		UserStatus status = cache.getOrLoadUserStatus(SOME_USER_ID, statusLoader);
+
+		assertEquals(statusLoader.numberOfCalls, 1);
+		assertEquals(status, UserStatus.ACTIVE);
+	}
+
+	@Test
+	public void testStatusIsCachedPerUser() {
+		cache.getOrLoadUserStatus(SOME_USER_ID, statusLoader);
+		cache.getOrLoadUserStatus("otherUserId", statusLoader);
+
+		assertEquals(statusLoader.numberOfCalls, 2);
+	}
+
+	@Test
+	public void testInactiveStatusIsCached() {
+		assertNegativeStatusIsCached(UserStatus.INACTIVE);
+	}
+
+	@Test
+	public void testNotFoundStatusIsCached() {
+		assertNegativeStatusIsCached(UserStatus.NOT_FOUND);
+	}
+
+	private void assertNegativeStatusIsCached(UserStatus negativeStatus) {
+		StatusLoaderSpy negativeLoader = new StatusLoaderSpy(negativeStatus);
+
+		cache.getOrLoadUserStatus(SOME_USER_ID, negativeLoader);
+		UserStatus status = cache.getOrLoadUserStatus(SOME_USER_ID, negativeLoader);
+
+		assertEquals(negativeLoader.numberOfCalls, 1);
+		assertEquals(status, negativeStatus);
+	}
+
+	@Test
+	public void testStatusIsUsedUntilTimeToLiveHasPassed() {
+		cache.getOrLoadUserStatus(SOME_USER_ID, statusLoader);
+		setTime(START.plus(TIME_TO_LIVE).minusMillis(1));
+
+		cache.getOrLoadUserStatus(SOME_USER_ID, statusLoader);
+
+		assertEquals(statusLoader.numberOfCalls, 1);
+	}
+
+	@Test
+	public void testStatusIsReloadedWhenTimeToLiveHasPassed() {
+		cache.getOrLoadUserStatus(SOME_USER_ID, statusLoader);
+		setTime(START.plus(TIME_TO_LIVE));
+
+		cache.getOrLoadUserStatus(SOME_USER_ID, statusLoader);
+		cache.getOrLoadUserStatus(SOME_USER_ID, statusLoader);
+
+		assertEquals(statusLoader.numberOfCalls, 2);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedUserIsEvicted() {
+		cache.getOrLoadUserStatus(SOME_USER_ID, statusLoader);
+		cache.getOrLoadUserStatus("user2", statusLoader);
+		cache.getOrLoadUserStatus("user3", statusLoader);
+
+		cache.getOrLoadUserStatus(SOME_USER_ID, statusLoader);
+
+		assertEquals(statusLoader.numberOfCalls, 4);
+	}
+
+	@Test
+	public void testUserChangedRemovesStatusForThatUser() {
+		cache.getOrLoadUserStatus(SOME_USER_ID, statusLoader);
+		cache.getOrLoadUserStatus("otherUserId", statusLoader);
+
+		cache.dataChanged("user", SOME_USER_ID, "update");
+		cache.getOrLoadUserStatus(SOME_USER_ID, statusLoader);
+		cache.getOrLoadUserStatus("otherUserId", statusLoader);
+
+		assertEquals(statusLoader.numberOfCalls, 3);
+	}
+
+	@Test
+	public void testChangeOfOtherTypeKeepsStatus() {
+		cache.getOrLoadUserStatus(SOME_USER_ID, statusLoader);
+
+		cache.dataChanged("someOtherType", SOME_USER_ID, "update");
+		cache.getOrLoadUserStatus(SOME_USER_ID, statusLoader);
+
+		assertEquals(statusLoader.numberOfCalls, 1);
+	}
+
+	@Test
+	public void testStatusLoadedDuringUserChangeIsNotCached() {
+		Supplier<UserStatus> loaderChangingUser = () -> {
+			cache.dataChanged("user", SOME_USER_ID, "update");
+			return statusLoader.get();
+		};
+
+		cache.getOrLoadUserStatus(SOME_USER_ID, loaderChangingUser);
+		cache.getOrLoadUserStatus(SOME_USER_ID, statusLoader);
+
+		assertEquals(statusLoader.numberOfCalls, 2);
+	}
+
+	private class StatusLoaderSpy implements Supplier<UserStatus> {
+		int numberOfCalls = 0;
+		private UserStatus statusToReturn;
+
+		StatusLoaderSpy(UserStatus statusToReturn) {
+			this.statusToReturn = statusToReturn;
+		}
+
+		@Override
+		public UserStatus get() {
+			numberOfCalls++;
+			return statusToReturn;
+		}
+	}
+}
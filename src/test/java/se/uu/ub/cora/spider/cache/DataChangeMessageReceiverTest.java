@@ -35,6 +35,22 @@ import se.uu.ub.cora.logger.spies.LoggerFactorySpy;
 import se.uu.ub.cora.logger.spies.LoggerSpy;
 import se.uu.ub.cora.messaging.MessageReceiver;
 import se.uu.ub.cora.messaging.MessagingProvider;
+import se.uu.ub.cora.spider.authorization.PermissionKeyTableProvider;
+import se.uu.ub.cora.spider.authorization.PermissionKeyTableSpy;
+import se.uu.ub.cora.spider.authorization.ProvidedRulesCacheProvider;
+import se.uu.ub.cora.spider.authorization.ProvidedRulesCacheSpy;
+import se.uu.ub.cora.spider.authorization.UserStatusCacheProvider;
+import se.uu.ub.cora.spider.authorization.UserStatusCacheSpy;
+import se.uu.ub.cora.spider.linkplan.LinkPlanCacheProvider;
+import se.uu.ub.cora.spider.linkplan.LinkPlanCacheSpy;
+import se.uu.ub.cora.spider.recordtype.RecordTypeHandlerCacheProvider;
+import se.uu.ub.cora.spider.recordtype.RecordTypeHandlerCacheSpy;
+import se.uu.ub.cora.spider.role.RoleRulesCacheProvider;
+import se.uu.ub.cora.spider.role.RoleRulesCacheSpy;
+import se.uu.ub.cora.spider.searchdefinition.SearchDefinitionCacheProvider;
+import se.uu.ub.cora.spider.searchdefinition.SearchDefinitionCacheSpy;
+import se.uu.ub.cora.spider.searchresult.SearchResultCacheProvider;
+import se.uu.ub.cora.spider.searchresult.SearchResultCacheSpy;
 import se.uu.ub.cora.spider.spy.TextHolderSpy;
 import se.uu.ub.cora.storage.RecordStorageProvider;
 import se.uu.ub.cora.storage.spies.RecordStorageInstanceProviderSpy;
@@ -52,6 +68,14 @@ public class DataChangeMessageReceiverTest {
 	private MetadataHolderSpy metadataHolder;
 	private TextHolderSpy textHolder;
 	private MetadataStorageViewInstanceProviderSpy metadataInstanceProvider;
+	private ProvidedRulesCacheSpy providedRulesCache;
+	private UserStatusCacheSpy userStatusCache;
+	private RecordTypeHandlerCacheSpy recordTypeHandlerCache;
+	private LinkPlanCacheSpy linkPlanCache;
+	private SearchDefinitionCacheSpy searchDefinitionCache;
+	private SearchResultCacheSpy searchResultCache;
+	private RoleRulesCacheSpy roleRulesCache;
+	private PermissionKeyTableSpy permissionKeyTable;
 
 	@BeforeMethod
 	private void beforeMethod() {
@@ -64,6 +88,14 @@ public class DataChangeMessageReceiverTest {
 	private void afterMethod() {
 		RecordStorageProvider.onlyForTestSetRecordStorageInstanceProvider(null);
 		MetadataHolderProvider.onlyForTestSetHolder(null);
+		ProvidedRulesCacheProvider.onlyForTestSetProvidedRulesCache(null);
+		UserStatusCacheProvider.onlyForTestSetUserStatusCache(null);
+		RecordTypeHandlerCacheProvider.onlyForTestSetRecordTypeHandlerCache(null);
+		LinkPlanCacheProvider.onlyForTestSetLinkPlanCache(null);
+		SearchDefinitionCacheProvider.onlyForTestSetSearchDefinitionCache(null);
+		SearchResultCacheProvider.onlyForTestSetSearchResultCache(null);
+		RoleRulesCacheProvider.onlyForTestSetRoleRulesCache(null);
+		PermissionKeyTableProvider.onlyForTestSetPermissionKeyTable(null);
 	}
 
 	private void setUpRecordStorageProvider() {
@@ -82,6 +114,28 @@ public class DataChangeMessageReceiverTest {
 
 		textHolder = new TextHolderSpy();
 		TextHolderProvider.onlyForTestSetHolder(textHolder);
+
+		providedRulesCache = new ProvidedRulesCacheSpy();
+		ProvidedRulesCacheProvider.onlyForTestSetProvidedRulesCache(providedRulesCache);
+
+		userStatusCache = new UserStatusCacheSpy();
+		UserStatusCacheProvider.onlyForTestSetUserStatusCache(userStatusCache);
+
+		recordTypeHandlerCache = new RecordTypeHandlerCacheSpy();
+		RecordTypeHandlerCacheProvider.onlyForTestSetRecordTypeHandlerCache(recordTypeHandlerCache);
+
+		linkPlanCache = new LinkPlanCacheSpy();
+		LinkPlanCacheProvider.onlyForTestSetLinkPlanCache(linkPlanCache);
+		searchDefinitionCache = new SearchDefinitionCacheSpy();
+		SearchDefinitionCacheProvider.onlyForTestSetSearchDefinitionCache(searchDefinitionCache);
+		searchResultCache = new SearchResultCacheSpy();
+		SearchResultCacheProvider.onlyForTestSetSearchResultCache(searchResultCache);
+
+		roleRulesCache = new RoleRulesCacheSpy();
+		RoleRulesCacheProvider.onlyForTestSetRoleRulesCache(roleRulesCache);
+
+		permissionKeyTable = new PermissionKeyTableSpy();
+		PermissionKeyTableProvider.onlyForTestSetPermissionKeyTable(permissionKeyTable);
 	}
 
 	@Test
@@ -183,6 +237,177 @@ public class DataChangeMessageReceiverTest {
 		metadataHolder.MCR.assertMethodNotCalled("deleteMetadataElement");
 	}
 
+	@Test
+	public void testReceiveMessage_providedRulesCacheUpdated() {
+		Map<String, String> headers = createHeadersForType("permissionRole", "update",
+				SOME_OTHER_MESSAGING_ID);
+
+		receiver.receiveMessage(headers, EMPTY_MESSAGE);
+
+		providedRulesCache.MCR.assertParameters("dataChanged", 0, "permissionRole", "someId",
+				"update");
+	}
+
+	@Test
+	public void testReceiveMessage_sameMessagingId_providedRulesCacheUpdated() {
+		Map<String, String> headers = createHeadersForType("user", "update",
+				MessagingProvider.getMessagingId());
+
+		receiver.receiveMessage(headers, EMPTY_MESSAGE);
+
+		providedRulesCache.MCR.assertParameters("dataChanged", 0, "user", "someId", "update");
+	}
+
+	@Test
+	public void testReceiveMessage_userStatusCacheUpdated() {
+		Map<String, String> headers = createHeadersForType("user", "update",
+				SOME_OTHER_MESSAGING_ID);
+
+		receiver.receiveMessage(headers, EMPTY_MESSAGE);
+
+		userStatusCache.MCR.assertParameters("dataChanged", 0, "user", "someId", "update");
+	}
+
+	@Test
+	public void testReceiveMessage_sameMessagingId_userStatusCacheUpdated() {
+		Map<String, String> headers = createHeadersForType("user", "update",
+				MessagingProvider.getMessagingId());
+
+		receiver.receiveMessage(headers, EMPTY_MESSAGE);
+
+		userStatusCache.MCR.assertParameters("dataChanged", 0, "user", "someId", "update");
+	}
+
+	@Test
+	public void testReceiveMessage_recordTypeHandlerCacheUpdated() {
+		Map<String, String> headers = createHeadersForType("recordType", "update",
+				SOME_OTHER_MESSAGING_ID);
+
+		receiver.receiveMessage(headers, EMPTY_MESSAGE);
+
+		recordTypeHandlerCache.MCR.assertParameters("dataChanged", 0, "recordType", "someId",
+				"update");
+	}
+
+	@Test
+	public void testReceiveMessage_sameMessagingId_recordTypeHandlerCacheUpdated() {
+		Map<String, String> headers = createHeadersForType("recordType", "update",
+				MessagingProvider.getMessagingId());
+
+		receiver.receiveMessage(headers, EMPTY_MESSAGE);
+
+		recordTypeHandlerCache.MCR.assertParameters("dataChanged", 0, "recordType", "someId",
+				"update");
+	}
+
+	@Test
+	public void testReceiveMessage_linkPlanCacheUpdated() {
+		Map<String, String> headers = createHeadersForType("metadata", "update",
+				SOME_OTHER_MESSAGING_ID);
+
+		receiver.receiveMessage(headers, EMPTY_MESSAGE);
+
+		linkPlanCache.MCR.assertParameters("dataChanged", 0, "metadata", "someId", "update");
+	}
+
+	@Test
+	public void testReceiveMessage_sameMessagingId_linkPlanCacheUpdated() {
+		Map<String, String> headers = createHeadersForType("metadata", "update",
+				MessagingProvider.getMessagingId());
+
+		receiver.receiveMessage(headers, EMPTY_MESSAGE);
+
+		linkPlanCache.MCR.assertParameters("dataChanged", 0, "metadata", "someId", "update");
+	}
+
+	@Test
+	public void testReceiveMessage_searchDefinitionCacheUpdated() {
+		Map<String, String> headers = createHeadersForType("search", "update",
+				SOME_OTHER_MESSAGING_ID);
+
+		receiver.receiveMessage(headers, EMPTY_MESSAGE);
+
+		searchDefinitionCache.MCR.assertParameters("dataChanged", 0, "search", "someId",
+				"update");
+	}
+
+	@Test
+	public void testReceiveMessage_sameMessagingId_searchDefinitionCacheUpdated() {
+		Map<String, String> headers = createHeadersForType("search", "update",
+				MessagingProvider.getMessagingId());
+
+		receiver.receiveMessage(headers, EMPTY_MESSAGE);
+
+		searchDefinitionCache.MCR.assertParameters("dataChanged", 0, "search", "someId",
+				"update");
+	}
+
+	@Test
+	public void testReceiveMessage_searchResultCacheUpdated() {
+		Map<String, String> headers = createHeadersForType("someType", "update",
+				SOME_OTHER_MESSAGING_ID);
+
+		receiver.receiveMessage(headers, EMPTY_MESSAGE);
+
+		searchResultCache.MCR.assertParameters("dataChanged", 0, "someType", "someId",
+				"update");
+	}
+
+	@Test
+	public void testReceiveMessage_sameMessagingId_searchResultCacheUpdated() {
+		Map<String, String> headers = createHeadersForType("someType", "update",
+				MessagingProvider.getMessagingId());
+
+		receiver.receiveMessage(headers, EMPTY_MESSAGE);
+
+		searchResultCache.MCR.assertParameters("dataChanged", 0, "someType", "someId",
+				"update");
+	}
+
+	@Test
+	public void testReceiveMessage_roleRulesCacheUpdated() {
+		Map<String, String> headers = createHeadersForType("permissionRule", "update",
+				SOME_OTHER_MESSAGING_ID);
+
+		receiver.receiveMessage(headers, EMPTY_MESSAGE);
+
+		roleRulesCache.MCR.assertParameters("dataChanged", 0, "permissionRule", "someId",
+				"update");
+	}
+
+	@Test
+	public void testReceiveMessage_sameMessagingId_roleRulesCacheUpdated() {
+		Map<String, String> headers = createHeadersForType("permissionRole", "update",
+				MessagingProvider.getMessagingId());
+
+		receiver.receiveMessage(headers, EMPTY_MESSAGE);
+
+		roleRulesCache.MCR.assertParameters("dataChanged", 0, "permissionRole", "someId",
+				"update");
+	}
+
+	@Test
+	public void testReceiveMessage_permissionKeyTableUpdated() {
+		Map<String, String> headers = createHeadersForType("collectTerm", "update",
+				SOME_OTHER_MESSAGING_ID);
+
+		receiver.receiveMessage(headers, EMPTY_MESSAGE);
+
+		permissionKeyTable.MCR.assertParameters("dataChanged", 0, "collectTerm", "someId",
+				"update");
+	}
+
+	@Test
+	public void testReceiveMessage_sameMessagingId_permissionKeyTableUpdated() {
+		Map<String, String> headers = createHeadersForType("collectTerm", "update",
+				MessagingProvider.getMessagingId());
+
+		receiver.receiveMessage(headers, EMPTY_MESSAGE);
+
+		permissionKeyTable.MCR.assertParameters("dataChanged", 0, "collectTerm", "someId",
+				"update");
+	}
+
 	@Test
 	public void testTopicClosed() {
 		DataChangeMessageRecieverForTest receiverForTest = new DataChangeMessageRecieverForTest();
@@ -23,6 +23,7 @@ import static org.testng.Assert.assertEquals;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.BeforeTest;
 import org.testng.annotations.Test;
@@ -32,8 +33,24 @@ import se.uu.ub.cora.logger.LoggerProvider;
 import se.uu.ub.cora.logger.spies.LoggerFactorySpy;
 import se.uu.ub.cora.messaging.AmqpMessageSenderRoutingInfo;
 import se.uu.ub.cora.messaging.MessagingProvider;
+import se.uu.ub.cora.spider.authorization.PermissionKeyTableProvider;
+import se.uu.ub.cora.spider.authorization.PermissionKeyTableSpy;
+import se.uu.ub.cora.spider.authorization.ProvidedRulesCacheProvider;
+import se.uu.ub.cora.spider.authorization.ProvidedRulesCacheSpy;
+import se.uu.ub.cora.spider.authorization.UserStatusCacheProvider;
+import se.uu.ub.cora.spider.authorization.UserStatusCacheSpy;
+import se.uu.ub.cora.spider.linkplan.LinkPlanCacheProvider;
+import se.uu.ub.cora.spider.linkplan.LinkPlanCacheSpy;
+import se.uu.ub.cora.spider.recordtype.RecordTypeHandlerCacheProvider;
+import se.uu.ub.cora.spider.recordtype.RecordTypeHandlerCacheSpy;
 import se.uu.ub.cora.spider.resourceconvert.spy.MessageSenderSpy;
 import se.uu.ub.cora.spider.resourceconvert.spy.MessagingFactorySpy;
+import se.uu.ub.cora.spider.role.RoleRulesCacheProvider;
+import se.uu.ub.cora.spider.role.RoleRulesCacheSpy;
+import se.uu.ub.cora.spider.searchdefinition.SearchDefinitionCacheProvider;
+import se.uu.ub.cora.spider.searchdefinition.SearchDefinitionCacheSpy;
+import se.uu.ub.cora.spider.searchresult.SearchResultCacheProvider;
+import se.uu.ub.cora.spider.searchresult.SearchResultCacheSpy;
 
 public class DataChangedSenderTest {
 	private static final String SOME_TYPE = "someType";
@@ -47,6 +64,14 @@ public class DataChangedSenderTest {
 	private LoggerFactorySpy loggerFactorySpy = new LoggerFactorySpy();
 	private MessagingFactorySpy messagingFactory;
 	private DataChangedSender sender;
+	private RoleRulesCacheSpy roleRulesCache;
+	private ProvidedRulesCacheSpy providedRulesCache;
+	private UserStatusCacheSpy userStatusCache;
+	private RecordTypeHandlerCacheSpy recordTypeHandlerCache;
+	private LinkPlanCacheSpy linkPlanCache;
+	private SearchDefinitionCacheSpy searchDefinitionCache;
+	private SearchResultCacheSpy searchResultCache;
+	private PermissionKeyTableSpy permissionKeyTable;
 
 	@BeforeTest
 	public void beforeTest() {
@@ -60,6 +85,35 @@ public class DataChangedSenderTest {
 
 		sender = DataChangedSenderImp.create();
 		setServerInfoInSettingsProvider();
+
+		roleRulesCache = new RoleRulesCacheSpy();
+		RoleRulesCacheProvider.onlyForTestSetRoleRulesCache(roleRulesCache);
+		providedRulesCache = new ProvidedRulesCacheSpy();
+		ProvidedRulesCacheProvider.onlyForTestSetProvidedRulesCache(providedRulesCache);
+		userStatusCache = new UserStatusCacheSpy();
+		UserStatusCacheProvider.onlyForTestSetUserStatusCache(userStatusCache);
+		recordTypeHandlerCache = new RecordTypeHandlerCacheSpy();
+		RecordTypeHandlerCacheProvider.onlyForTestSetRecordTypeHandlerCache(recordTypeHandlerCache);
+		linkPlanCache = new LinkPlanCacheSpy();
+		LinkPlanCacheProvider.onlyForTestSetLinkPlanCache(linkPlanCache);
+		searchDefinitionCache = new SearchDefinitionCacheSpy();
+		SearchDefinitionCacheProvider.onlyForTestSetSearchDefinitionCache(searchDefinitionCache);
+		searchResultCache = new SearchResultCacheSpy();
+		SearchResultCacheProvider.onlyForTestSetSearchResultCache(searchResultCache);
+		permissionKeyTable = new PermissionKeyTableSpy();
+		PermissionKeyTableProvider.onlyForTestSetPermissionKeyTable(permissionKeyTable);
+	}
+
+	@AfterMethod
+	public void afterMethod() {
+		RoleRulesCacheProvider.onlyForTestSetRoleRulesCache(null);
+		ProvidedRulesCacheProvider.onlyForTestSetProvidedRulesCache(null);
+		UserStatusCacheProvider.onlyForTestSetUserStatusCache(null);
+		RecordTypeHandlerCacheProvider.onlyForTestSetRecordTypeHandlerCache(null);
+		LinkPlanCacheProvider.onlyForTestSetLinkPlanCache(null);
+		SearchDefinitionCacheProvider.onlyForTestSetSearchDefinitionCache(null);
+		SearchResultCacheProvider.onlyForTestSetSearchResultCache(null);
+		PermissionKeyTableProvider.onlyForTestSetPermissionKeyTable(null);
 	}
 
 	private void setServerInfoInSettingsProvider() {
@@ -115,4 +169,22 @@ public class DataChangedSenderTest {
 		messageSender.MCR.assertParameterAsEqual("sendMessage", 0, "message", "");
 	}
 
+	@Test
+	public void testLocalAuthorizationCachesAreUpdatedDirectly() {
+		sender.sendDataChanged(SOME_TYPE, SOME_ID, SOME_ACTION);
+
+		roleRulesCache.MCR.assertParameters("dataChanged", 0, SOME_TYPE, SOME_ID, SOME_ACTION);
+		providedRulesCache.MCR.assertParameters("dataChanged", 0, SOME_TYPE, SOME_ID,
+				SOME_ACTION);
+		userStatusCache.MCR.assertParameters("dataChanged", 0, SOME_TYPE, SOME_ID, SOME_ACTION);
+		recordTypeHandlerCache.MCR.assertParameters("dataChanged", 0, SOME_TYPE, SOME_ID,
+				SOME_ACTION);
+		linkPlanCache.MCR.assertParameters("dataChanged", 0, SOME_TYPE, SOME_ID, SOME_ACTION);
+		searchDefinitionCache.MCR.assertParameters("dataChanged", 0, SOME_TYPE, SOME_ID,
+				SOME_ACTION);
+		searchResultCache.MCR.assertParameters("dataChanged", 0, SOME_TYPE, SOME_ID,
+				SOME_ACTION);
+		permissionKeyTable.MCR.assertParameters("dataChanged", 0, SOME_TYPE, SOME_ID,
+				SOME_ACTION);
+	}
 }
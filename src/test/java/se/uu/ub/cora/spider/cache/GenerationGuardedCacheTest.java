@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.cache;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class GenerationGuardedCacheTest {
+	private static final String SOME_KEY = "someKey";
+	private GenerationGuardedCache<String, String> cache;
+	private int numberOfLoads;
+
+	@BeforeMethod
+	private void beforeMethod() {
+		cache = GenerationGuardedCache.usingMaxSize(2);
+		numberOfLoads = 0;
+	}
+
+	@Test
+	public void testUsingMaxSize() {
+		assertEquals(cache.onlyForTestGetMaxSize(), 2);
+	}
+
+	@Test
+	public void testUnbounded() {
+		GenerationGuardedCache<String, String> unbounded = GenerationGuardedCache.unbounded();
+
+		assertEquals(unbounded.onlyForTestGetMaxSize(), Integer.MAX_VALUE);
+	}
+
+	@Test
+	public void testGetNotCached() {
+		assertTrue(cache.get(SOME_KEY).isEmpty());
+	}
+
+	@Test
+	public void testGetOrLoadUsesLoaderWhenNotCached() {
+		String returned = cache.getOrLoad(SOME_KEY, countingLoader("someValue"));
+
+		assertEquals(returned, "someValue");
+		assertEquals(numberOfLoads, 1);
+		assertEquals(cache.get(SOME_KEY).get(), "someValue");
+	}
+
+	private Supplier<String> countingLoader(String value) {
+		return () -> {
+			numberOfLoads++;
+			return value;
+		};
+	}
+
+	@Test
+	public void testGetOrLoadUsesCachedValue() {
+		cache.getOrLoad(SOME_KEY, countingLoader("someValue"));
+
+		String returned = cache.getOrLoad(SOME_KEY, countingLoader("otherValue"));
+
+		assertEquals(returned, "someValue");
+		assertEquals(numberOfLoads, 1);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsEvictedWhenFull() {
+		cache.getOrLoad("key1", countingLoader("value1"));
+		cache.getOrLoad("key2", countingLoader("value2"));
+		cache.get("key1");
+
+		cache.getOrLoad("key3", countingLoader("value3"));
+
+		assertEquals(cache.size(), 2);
+		assertTrue(cache.get("key2").isEmpty());
+	}
+
+	@Test
+	public void testLoadAndPossiblyCacheReturnsLoadedAndCachesCreatedEntry() {
+		Integer loaded = 5;
+
+		Integer returned = cache.loadAndPossiblyCache(SOME_KEY, () -> loaded,
+				value -> "entryFor" + value);
+
+		assertSame(returned, loaded);
+		assertEquals(cache.get(SOME_KEY).get(), "entryFor5");
+	}
+
+	@Test
+	public void testValueLoadedDuringRemoveIsNotCached() {
+		String returned = cache.getOrLoad(SOME_KEY, () -> {
+			cache.remove("otherKey");
+			return "someValue";
+		});
+
+		assertEquals(returned, "someValue");
+		assertEquals(cache.size(), 0);
+	}
+
+	@Test
+	public void testValueLoadedDuringRemoveIfIsNotCached() {
+		cache.getOrLoad(SOME_KEY, () -> {
+			cache.removeIf((_, _) -> false);
+			return "someValue";
+		});
+
+		assertEquals(cache.size(), 0);
+	}
+
+	@Test
+	public void testValueLoadedDuringClearIsNotCached() {
+		cache.getOrLoad(SOME_KEY, () -> {
+			cache.clear();
+			return "someValue";
+		});
+
+		assertEquals(cache.size(), 0);
+	}
+
+	@Test
+	public void testValueLoadedAfterRemoveIsCached() {
+		cache.remove("otherKey");
+
+		cache.getOrLoad(SOME_KEY, countingLoader("someValue"));
+
+		assertEquals(cache.size(), 1);
+	}
+
+	@Test
+	public void testRemove() {
+		cache.getOrLoad("key1", countingLoader("value1"));
+		cache.getOrLoad("key2", countingLoader("value2"));
+
+		cache.remove("key1");
+
+		assertEquals(cache.onlyForTestGetEntries(), Map.of("key2", "value2"));
+	}
+
+	@Test
+	public void testRemoveIf() {
+		cache.getOrLoad("key1", countingLoader("value1"));
+		cache.getOrLoad("key2", countingLoader("otherValue"));
+
+		cache.removeIf((key, value) -> "key1".equals(key) || value.startsWith("other"));
+
+		assertEquals(cache.size(), 0);
+	}
+
+	@Test
+	public void testClear() {
+		cache.getOrLoad("key1", countingLoader("value1"));
+		cache.getOrLoad("key2", countingLoader("value2"));
+
+		cache.clear();
+
+		assertEquals(cache.size(), 0);
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.cache;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class LruCacheTest {
+	private LruCache<String, String> cache;
+
+	@BeforeMethod
+	private void beforeMethod() {
+		cache = new LruCache<>(2);
+	}
+
+	@Test
+	public void testMaxSize() {
+		assertEquals(cache.onlyForTestGetMaxSize(), 2);
+	}
+
+	@Test
+	public void testGetNotCached() {
+		assertTrue(cache.get("someKey").isEmpty());
+	}
+
+	@Test
+	public void testPutAndGet() {
+		cache.put("someKey", "someValue");
+
+		assertEquals(cache.get("someKey").get(), "someValue");
+		assertEquals(cache.size(), 1);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsEvictedWhenFull() {
+		cache.put("key1", "value1");
+		cache.put("key2", "value2");
+		cache.get("key1");
+
+		cache.put("key3", "value3");
+
+		assertEquals(cache.size(), 2);
+		assertTrue(cache.get("key2").isEmpty());
+		assertEquals(cache.get("key1").get(), "value1");
+		assertEquals(cache.get("key3").get(), "value3");
+	}
+
+	@Test
+	public void testRemove() {
+		cache.put("key1", "value1");
+		cache.put("key2", "value2");
+
+		cache.remove("key1");
+
+		assertTrue(cache.get("key1").isEmpty());
+		assertEquals(cache.get("key2").get(), "value2");
+	}
+
+	@Test
+	public void testRemoveIf() {
+		cache.put("key1", "value1");
+		cache.put("otherKey", "value2");
+
+		cache.removeIf((key, _) -> key.startsWith("key"));
+
+		assertTrue(cache.get("key1").isEmpty());
+		assertEquals(cache.get("otherKey").get(), "value2");
+	}
+
+	@Test
+	public void testRemoveIfUsingValue() {
+		cache.put("key1", "value1");
+		cache.put("key2", "otherValue");
+
+		cache.removeIf((_, value) -> value.startsWith("value"));
+
+		assertTrue(cache.get("key1").isEmpty());
+		assertEquals(cache.get("key2").get(), "otherValue");
+	}
+
+	@Test
+	public void testOnlyForTestGetEntriesReturnsCopy() {
+		cache.put("key1", "value1");
+
+		Map<String, String> entries = cache.onlyForTestGetEntries();
+		entries.clear();
+
+		assertEquals(cache.onlyForTestGetEntries(), Map.of("key1", "value1"));
+	}
+
+	@Test
+	public void testClear() {
+		cache.put("key1", "value1");
+		cache.put("key2", "value2");
+
+		cache.clear();
+
+		assertEquals(cache.size(), 0);
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.cache;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ProcessWideCacheTest {
+	private ProcessWideCache<ChangeAwareCacheSpy> processWideCache;
+	private int numberOfCreatedCaches;
+
+	@BeforeMethod
+	private void beforeMethod() {
+		numberOfCreatedCaches = 0;
+		processWideCache = ProcessWideCache.usingCacheFactory(() -> {
+			numberOfCreatedCaches++;
+			return new ChangeAwareCacheSpy();
+		});
+	}
+
+	@Test
+	public void testCacheIsNotCreatedBeforeFirstUse() {
+		assertEquals(numberOfCreatedCaches, 0);
+	}
+
+	@Test
+	public void testGetCacheCreatesCacheOnFirstCall() {
+		processWideCache.getCache();
+
+		assertEquals(numberOfCreatedCaches, 1);
+	}
+
+	@Test
+	public void testGetCacheReturnsSameCache() {
+		ChangeAwareCacheSpy cache = processWideCache.getCache();
+
+		assertSame(processWideCache.getCache(), cache);
+		assertEquals(numberOfCreatedCaches, 1);
+	}
+
+	@Test
+	public void testGetCacheUsingCacheFactoryCreatesCacheOnFirstCall() {
+		ChangeAwareCacheSpy cacheSpy = new ChangeAwareCacheSpy();
+
+		ChangeAwareCacheSpy cache = processWideCache.getCacheUsingCacheFactory(() -> cacheSpy);
+
+		assertSame(cache, cacheSpy);
+		assertEquals(numberOfCreatedCaches, 0);
+	}
+
+	@Test
+	public void testGetCacheUsingCacheFactoryReturnsAlreadyCreatedCache() {
+		ChangeAwareCacheSpy cache = processWideCache.getCache();
+
+		ChangeAwareCacheSpy returned = processWideCache
+				.getCacheUsingCacheFactory(ChangeAwareCacheSpy::new);
+
+		assertSame(returned, cache);
+		assertEquals(numberOfCreatedCaches, 1);
+	}
+
+	@Test
+	public void testCreatedByCallerUsesCacheFactoryFromCaller() {
+		ProcessWideCache<ChangeAwareCacheSpy> createdByCaller = ProcessWideCache.createdByCaller();
+		ChangeAwareCacheSpy cacheSpy = new ChangeAwareCacheSpy();
+
+		createdByCaller.getCacheUsingCacheFactory(() -> cacheSpy);
+
+		assertSame(createdByCaller.getCacheUsingCacheFactory(ChangeAwareCacheSpy::new), cacheSpy);
+		assertSame(createdByCaller.getCache(), cacheSpy);
+	}
+
+	@Test
+	public void testOnlyForTestSetCache() {
+		ChangeAwareCacheSpy cacheSpy = new ChangeAwareCacheSpy();
+
+		processWideCache.onlyForTestSetCache(cacheSpy);
+
+		assertSame(processWideCache.getCache(), cacheSpy);
+		assertEquals(numberOfCreatedCaches, 0);
+	}
+
+	@Test
+	public void testOnlyForTestSetCacheToNullCreatesNewCacheOnNextCall() {
+		ChangeAwareCacheSpy cache = processWideCache.getCache();
+
+		processWideCache.onlyForTestSetCache(null);
+
+		assertNotSame(processWideCache.getCache(), cache);
+		assertEquals(numberOfCreatedCaches, 2);
+	}
+
+	@Test
+	public void testDataChangedIsSentToCache() {
+		ChangeAwareCacheSpy cache = processWideCache.getCache();
+
+		processWideCache.dataChanged("someType", "someId", "someAction");
+
+		cache.MCR.assertParameters("dataChanged", 0, "someType", "someId", "someAction");
+	}
+
+	@Test
+	public void testDataChangedDoesNotCreateCache() {
+		processWideCache.dataChanged("someType", "someId", "someAction");
+
+		assertEquals(numberOfCreatedCaches, 0);
+	}
+}
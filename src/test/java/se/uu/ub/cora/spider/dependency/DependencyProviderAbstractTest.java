@@ -48,12 +48,23 @@ import se.uu.ub.cora.bookkeeper.termcollector.PermissionTermDataHandlerImp;
 import se.uu.ub.cora.bookkeeper.validator.DataValidator;
 import se.uu.ub.cora.bookkeeper.validator.DataValidatorFactory;
 import se.uu.ub.cora.bookkeeper.validator.DataValidatorFactoryImp;
-import se.uu.ub.cora.data.DataRecordGroup;
+import se.uu.ub.cora.data.DataRecordLink;
 import se.uu.ub.cora.data.spies.DataRecordGroupSpy;
+import se.uu.ub.cora.data.spies.DataRecordLinkSpy;
 import se.uu.ub.cora.initialize.SettingsProvider;
 import se.uu.ub.cora.logger.LoggerProvider;
+import se.uu.ub.cora.spider.authorization.AuthorizationMetrics;
+import se.uu.ub.cora.spider.authorization.AuthorizationMetricsProvider;
 import se.uu.ub.cora.spider.authorization.BasePermissionRuleCalculator;
+import se.uu.ub.cora.spider.authorization.MemoizingPermissionRuleCalculator;
+import se.uu.ub.cora.spider.authorization.PermissionKeyTable;
+import se.uu.ub.cora.spider.authorization.PermissionKeyTableProvider;
 import se.uu.ub.cora.spider.authorization.PermissionRuleCalculator;
+import se.uu.ub.cora.spider.authorization.ProvidedRulesCache;
+import se.uu.ub.cora.spider.authorization.ProvidedRulesCacheProvider;
+import se.uu.ub.cora.spider.authorization.UserStatusCache;
+import se.uu.ub.cora.spider.authorization.UserStatusCacheProvider;
+import se.uu.ub.cora.spider.authorization.internal.PermissionKeyTableImp;
 import se.uu.ub.cora.spider.authorization.internal.SpiderAuthorizatorImp;
 import se.uu.ub.cora.spider.cache.DataChangedSender;
 import se.uu.ub.cora.spider.cache.DataChangedSenderImp;
@@ -66,11 +77,22 @@ import se.uu.ub.cora.spider.dependency.spy.StreamStorageProviderSpy;
 import se.uu.ub.cora.spider.extendedfunctionality.ExtendedFunctionalityProvider;
 import se.uu.ub.cora.spider.extendedfunctionality.internal.ExtendedFunctionalityProviderImp;
 import se.uu.ub.cora.spider.extendedfunctionality.internal.FactorySorterImp;
+import se.uu.ub.cora.spider.linkplan.LinkPlan;
+import se.uu.ub.cora.spider.linkplan.LinkPlanCacheProvider;
+import se.uu.ub.cora.spider.linkplan.LinkPlanCacheSpy;
 import se.uu.ub.cora.spider.log.LoggerFactorySpy;
 import se.uu.ub.cora.spider.record.internal.DataGroupToRecordEnhancerImp;
 import se.uu.ub.cora.spider.record.internal.RecordDecoratorImp;
+import se.uu.ub.cora.spider.recordtype.RecordTypeHandlerCacheProvider;
+import se.uu.ub.cora.spider.recordtype.RecordTypeHandlerCacheSpy;
 import se.uu.ub.cora.spider.recordtype.internal.RecordTypeHandlerFactorySpy;
+import se.uu.ub.cora.spider.role.RoleRulesCacheProvider;
 import se.uu.ub.cora.spider.role.RulesProviderImp;
+import se.uu.ub.cora.spider.searchdefinition.SearchDefinition;
+import se.uu.ub.cora.spider.searchdefinition.SearchDefinitionCacheProvider;
+import se.uu.ub.cora.spider.searchdefinition.SearchDefinitionCacheSpy;
+import se.uu.ub.cora.spider.searchresult.SearchResultCache;
+import se.uu.ub.cora.spider.searchresult.SearchResultCacheProvider;
 import se.uu.ub.cora.spider.unique.UniqueValidatorImp;
 import se.uu.ub.cora.storage.RecordStorageProvider;
 import se.uu.ub.cora.storage.StreamStorageProvider;
@@ -98,6 +120,7 @@ public class DependencyProviderAbstractTest {
 		settings.put("foundKey", "someValue");
 		SettingsProvider.setSettings(settings);
 
+		PermissionKeyTableProvider.onlyForTestSetPermissionKeyTable(null);
 		dependencyProvider = new SpiderDependencyProviderTestHelper();
 
 		setPluggedInStorageNormallySetByTheRestModuleStarterImp();
@@ -211,6 +234,10 @@ public class DependencyProviderAbstractTest {
 		assertTrue(rulesProvider instanceof RulesProviderImp);
 		recordStorageInstanceProvider.MCR.assertReturn("getRecordStorage", 0,
 				rulesProvider.onlyForTestGetRecordStorage());
+		assertSame(rulesProvider.onlyForTestGetRoleRulesCache(),
+				RoleRulesCacheProvider.getRoleRulesCache());
+		assertSame(rulesProvider.onlyForTestGetPermissionKeyTable(),
+				dependencyProvider.getPermissionKeyTable());
 	}
 
 	@Test
@@ -247,9 +274,19 @@ public class DependencyProviderAbstractTest {
 
 	@Test
 	public void testGetPermissionRuleCalculator() {
+		MemoizingPermissionRuleCalculator permissionRuleCalculator = (MemoizingPermissionRuleCalculator) dependencyProvider
+				.getPermissionRuleCalculator();
+		assertTrue(permissionRuleCalculator
+				.onlyForTestGetRuleCalculator() instanceof BasePermissionRuleCalculator);
+		assertEquals(permissionRuleCalculator.onlyForTestGetMaxNumberOfEntries(), 10000);
+	}
+
+	@Test
+	public void testGetPermissionRuleCalculatorReturnsSameInstance() {
 		PermissionRuleCalculator permissionRuleCalculator = dependencyProvider
 				.getPermissionRuleCalculator();
-		assertTrue(permissionRuleCalculator instanceof BasePermissionRuleCalculator);
+
+		assertSame(dependencyProvider.getPermissionRuleCalculator(), permissionRuleCalculator);
 	}
 
 	@Test
@@ -274,7 +311,10 @@ public class DependencyProviderAbstractTest {
 
 	@Test
 	public void testGetRecordTypeHandlerUsingDataRecordGroup() {
-		DataRecordGroup dataRecordGroup = new DataRecordGroupSpy();
+		DataRecordGroupSpy dataRecordGroup = new DataRecordGroupSpy();
+		dataRecordGroup.MRV.setDefaultReturnValuesSupplier("getType", () -> "someRecordType");
+		dataRecordGroup.MRV.setDefaultReturnValuesSupplier("getValidationType",
+				() -> "someValidationType");
 
 		RecordTypeHandler recordTypeHandler = dependencyProvider
 				.getRecordTypeHandlerUsingDataRecordGroup(dataRecordGroup);
@@ -286,6 +326,124 @@ public class DependencyProviderAbstractTest {
 		typeHandlerFactorySpy.MCR.assertReturn("factorUsingDataRecordGroup", 0, recordTypeHandler);
 	}
 
+	@Test
+	public void testDefaultRecordTypeHandlerCacheIsProcessWideCache() {
+		assertSame(dependencyProvider.useOriginalGetRecordTypeHandlerCache(),
+				RecordTypeHandlerCacheProvider.getRecordTypeHandlerCache());
+	}
+
+	@Test
+	public void testGetRecordTypeHandlerIsCached() {
+		RecordTypeHandler recordTypeHandler = dependencyProvider
+				.getRecordTypeHandler("someRecordType");
+
+		assertSame(dependencyProvider.getRecordTypeHandler("someRecordType"), recordTypeHandler);
+		RecordTypeHandlerFactorySpy typeHandlerFactorySpy = (RecordTypeHandlerFactorySpy) dependencyProvider.recordTypeHandlerFactory;
+		typeHandlerFactorySpy.MCR.assertNumberOfCallsToMethod("factorUsingRecordTypeId", 1);
+	}
+
+	@Test
+	public void testGetRecordTypeHandlerUsesRecordTypeHandlerCache() {
+		RecordTypeHandlerCacheSpy cacheSpy = new RecordTypeHandlerCacheSpy();
+		dependencyProvider.recordTypeHandlerCache = cacheSpy;
+
+		RecordTypeHandler recordTypeHandler = dependencyProvider
+				.getRecordTypeHandler("someRecordType");
+
+		cacheSpy.MCR.assertParameter("getOrLoadUsingRecordTypeId", 0, "recordTypeId",
+				"someRecordType");
+		cacheSpy.MCR.assertReturn("getOrLoadUsingRecordTypeId", 0, recordTypeHandler);
+	}
+
+	@Test
+	public void testGetRecordTypeHandlerUsingDataRecordGroupUsesRecordTypeHandlerCache() {
+		RecordTypeHandlerCacheSpy cacheSpy = new RecordTypeHandlerCacheSpy();
+		dependencyProvider.recordTypeHandlerCache = cacheSpy;
+		DataRecordGroupSpy dataRecordGroup = new DataRecordGroupSpy();
+		dataRecordGroup.MRV.setDefaultReturnValuesSupplier("getType", () -> "someRecordType");
+		dataRecordGroup.MRV.setDefaultReturnValuesSupplier("getValidationType",
+				() -> "someValidationType");
+
+		RecordTypeHandler recordTypeHandler = dependencyProvider
+				.getRecordTypeHandlerUsingDataRecordGroup(dataRecordGroup);
+
+		cacheSpy.MCR.assertParameter("getOrLoadUsingRecordTypeIdAndValidationTypeId", 0,
+				"recordTypeId", "someRecordType");
+		cacheSpy.MCR.assertParameter("getOrLoadUsingRecordTypeIdAndValidationTypeId", 0,
+				"validationTypeId", "someValidationType");
+		cacheSpy.MCR.assertReturn("getOrLoadUsingRecordTypeIdAndValidationTypeId", 0,
+				recordTypeHandler);
+	}
+
+	@Test
+	public void testDefaultLinkPlanCacheIsProcessWideCache() {
+		assertSame(dependencyProvider.useOriginalGetLinkPlanCache(),
+				LinkPlanCacheProvider.getLinkPlanCache());
+	}
+
+	@Test
+	public void testGetLinkPlanUsesLinkPlanCache() {
+		LinkPlanCacheSpy cacheSpy = new LinkPlanCacheSpy();
+		dependencyProvider.linkPlanCache = cacheSpy;
+
+		LinkPlan linkPlan = dependencyProvider.getLinkPlan("someDefinitionId");
+
+		cacheSpy.MCR.assertParameter("getOrLoadLinkPlan", 0, "definitionId", "someDefinitionId");
+		cacheSpy.MCR.assertReturn("getOrLoadLinkPlan", 0, linkPlan);
+	}
+
+	@Test
+	public void testGetLinkPlanIsBuiltFromMetadataInRecordStorage() {
+		dependencyProvider.linkPlanCache = new LinkPlanCacheSpy();
+
+		dependencyProvider.getLinkPlan("someDefinitionId");
+
+		RecordStorageSpy recordStorage = (RecordStorageSpy) recordStorageInstanceProvider.MCR
+				.getReturnValue("getRecordStorage", 0);
+		recordStorage.MCR.assertParameters("read", 0, "metadata", "someDefinitionId");
+	}
+
+	@Test
+	public void testDefaultSearchDefinitionCacheIsProcessWideCache() {
+		assertSame(dependencyProvider.useOriginalGetSearchDefinitionCache(),
+				SearchDefinitionCacheProvider.getSearchDefinitionCache());
+	}
+
+	@Test
+	public void testGetSearchDefinitionUsesSearchDefinitionCache() {
+		SearchDefinitionCacheSpy cacheSpy = new SearchDefinitionCacheSpy();
+		dependencyProvider.searchDefinitionCache = cacheSpy;
+		setSearchRecordInRecordStorage();
+
+		SearchDefinition searchDefinition = dependencyProvider.getSearchDefinition("someSearchId");
+
+		cacheSpy.MCR.assertParameter("getOrLoadSearchDefinition", 0, "searchId", "someSearchId");
+		cacheSpy.MCR.assertReturn("getOrLoadSearchDefinition", 0, searchDefinition);
+	}
+
+	private RecordStorageSpy setSearchRecordInRecordStorage() {
+		DataRecordGroupSpy searchRecordGroup = new DataRecordGroupSpy();
+		searchRecordGroup.MRV.setSpecificReturnValuesSupplier("getFirstChildOfTypeAndName",
+				() -> new DataRecordLinkSpy(), DataRecordLink.class, "metadataId");
+		RecordStorageSpy recordStorage = new RecordStorageSpy();
+		recordStorage.MRV.setDefaultReturnValuesSupplier("read", () -> searchRecordGroup);
+		recordStorageInstanceProvider.MRV.setDefaultReturnValuesSupplier("getRecordStorage",
+				() -> recordStorage);
+		return recordStorage;
+	}
+
+	@Test
+	public void testGetSearchDefinitionIsCreatedFromSearchInRecordStorage() {
+		dependencyProvider.searchDefinitionCache = new SearchDefinitionCacheSpy();
+		RecordStorageSpy recordStorage = setSearchRecordInRecordStorage();
+
+		SearchDefinition searchDefinition = dependencyProvider.getSearchDefinition("someSearchId");
+
+		recordStorage.MCR.assertParameters("read", 0, "search", "someSearchId");
+		var searchRecordGroup = (DataRecordGroupSpy) recordStorage.MCR.getReturnValue("read", 0);
+		searchRecordGroup.MCR.assertReturn("getId", 0, searchDefinition.searchId());
+	}
+
 	@Test
 	public void testGetDefaultDataRedactor() {
 		assertTrue(dependencyProvider
@@ -360,4 +518,53 @@ public class DependencyProviderAbstractTest {
 		assertTrue(permissionTermDataHandler instanceof PermissionTermDataHandlerImp);
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void testGetProvidedRulesCache() {
+		ProvidedRulesCache providedRulesCache = dependencyProvider.getProvidedRulesCache();
+
+		assertSame(providedRulesCache, ProvidedRulesCacheProvider.getProvidedRulesCache());
+		assertSame(dependencyProvider.getProvidedRulesCache(), providedRulesCache);
+	}
+
+	@Test
+	public void testGetPermissionKeyTable() {
+		PermissionKeyTable permissionKeyTable = dependencyProvider.getPermissionKeyTable();
+
+		assertSame(permissionKeyTable, PermissionKeyTableProvider
+				.getPermissionKeyTableUsingRecordStorage(new RecordStorageSpy()));
+		assertSame(dependencyProvider.getPermissionKeyTable(), permissionKeyTable);
+	}
+
+	@Test
+	public void testPermissionKeyTableUsesRecordStorageFromDependencyProvider() {
+		PermissionKeyTableImp permissionKeyTable = (PermissionKeyTableImp) dependencyProvider
+				.getPermissionKeyTable();
+
+		recordStorageInstanceProvider.MCR.assertReturn("getRecordStorage", 0,
+				permissionKeyTable.onlyForTestGetRecordStorage());
+	}
+
+	@Test
+	public void testGetUserStatusCache() {
+		UserStatusCache userStatusCache = dependencyProvider.getUserStatusCache();
+
+		assertSame(userStatusCache, UserStatusCacheProvider.getUserStatusCache());
+		assertSame(dependencyProvider.getUserStatusCache(), userStatusCache);
+	}
+
+	@Test
+	public void testGetAuthorizationMetrics() {
+		AuthorizationMetrics authorizationMetrics = dependencyProvider.getAuthorizationMetrics();
+
+		assertSame(authorizationMetrics, AuthorizationMetricsProvider.getAuthorizationMetrics());
+		assertSame(dependencyProvider.getAuthorizationMetrics(), authorizationMetrics);
+	}
+
+	@Test
+	public void testGetSearchResultCache() {
+		SearchResultCache searchResultCache = dependencyProvider.getSearchResultCache();
+
+		assertSame(searchResultCache, SearchResultCacheProvider.getSearchResultCache());
+		assertSame(dependencyProvider.getSearchResultCache(), searchResultCache);
+	}
+}
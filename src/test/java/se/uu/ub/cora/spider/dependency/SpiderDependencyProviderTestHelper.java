@@ -34,7 +34,13 @@ import se.uu.ub.cora.spider.binary.Uploader;
 import se.uu.ub.cora.spider.dependency.spy.DataRedactorFactorySpy;
 import se.uu.ub.cora.spider.dependency.spy.DataValidatorFactoySpy;
 import se.uu.ub.cora.spider.extendedfunctionality.ExtendedFunctionalityProvider;
+import se.uu.ub.cora.spider.linkplan.LinkPlanCache;
+import se.uu.ub.cora.spider.linkplan.LinkPlanCacheImp;
+import se.uu.ub.cora.spider.recordtype.RecordTypeHandlerCache;
+import se.uu.ub.cora.spider.recordtype.RecordTypeHandlerCacheImp;
 import se.uu.ub.cora.spider.recordtype.internal.RecordTypeHandlerFactorySpy;
+import se.uu.ub.cora.spider.searchdefinition.SearchDefinitionCache;
+import se.uu.ub.cora.spider.searchdefinition.SearchDefinitionCacheImp;
 import se.uu.ub.cora.testutils.mcr.MethodCallRecorder;
 import se.uu.ub.cora.testutils.mrv.MethodReturnValues;
 
@@ -56,6 +62,9 @@ public class SpiderDependencyProviderTestHelper extends DependencyProviderAbstra
 	DataValidatorFactoySpy dataValidatorFactory = new DataValidatorFactoySpy();
 	boolean standardDataValidatorFactory = false;
 	public RecordTypeHandlerFactory recordTypeHandlerFactory = new RecordTypeHandlerFactorySpy();
+	public RecordTypeHandlerCache recordTypeHandlerCache = new RecordTypeHandlerCacheImp();
+	public LinkPlanCache linkPlanCache = new LinkPlanCacheImp();
+	public SearchDefinitionCache searchDefinitionCache = new SearchDefinitionCacheImp();
 	// public static Exception exceptionToThrow;
 
 	public static MethodCallRecorder MCR = new MethodCallRecorder();
@@ -130,4 +139,31 @@ public class SpiderDependencyProviderTestHelper extends DependencyProviderAbstra
 		return recordTypeHandlerFactory;
 	}
 
+	public RecordTypeHandlerCache useOriginalGetRecordTypeHandlerCache() {
+		return super.getRecordTypeHandlerCache();
+	}
+
+	@Override
+	RecordTypeHandlerCache getRecordTypeHandlerCache() {
+		return recordTypeHandlerCache;
+	}
+
+	public LinkPlanCache useOriginalGetLinkPlanCache() {
+		return super.getLinkPlanCache();
+	}
+
+	@Override
+	LinkPlanCache getLinkPlanCache() {
+		return linkPlanCache;
+	}
+
+	public SearchDefinitionCache useOriginalGetSearchDefinitionCache() {
+		return super.getSearchDefinitionCache();
+	}
+
+	@Override
+	SearchDefinitionCache getSearchDefinitionCache() {
+		return searchDefinitionCache;
+	}
+
 }
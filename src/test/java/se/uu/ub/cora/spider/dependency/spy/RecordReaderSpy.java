@@ -29,4 +29,10 @@ public class RecordReaderSpy implements RecordReader {
 		return null;
 	}
 
+	@Override
+	public DataRecord readRecordLean(String authToken, String type, String id) {
+		// TODO Auto-generated method stub
+		return null;
+	}
+
 }
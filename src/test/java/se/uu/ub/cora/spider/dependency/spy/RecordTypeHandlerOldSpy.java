@@ -78,6 +78,8 @@ public class RecordTypeHandlerOldSpy implements RecordTypeHandler {
 				() -> List.of("someCombinedIdFromSpy"));
 		MRV.setDefaultReturnValuesSupplier("getUniqueDefinitions", Collections::emptyList);
 		MRV.setDefaultReturnValuesSupplier("isPublicForRead", () -> isPublicForRead);
+		MRV.setDefaultReturnValuesSupplier("getReadRecordPartConstraints",
+				() -> new HashSet<>(Set.of(new Constraint("someKey"))));
 		MRV.setDefaultReturnValuesSupplier("storeInArchive", () -> false);
 		MRV.setDefaultReturnValuesSupplier("useVisibility", () -> false);
 		MRV.setDefaultReturnValuesSupplier("useTrashBin", () -> false);
@@ -129,11 +131,7 @@ public class RecordTypeHandlerOldSpy implements RecordTypeHandler {
 
 	@Override
 	public Set<Constraint> getReadRecordPartConstraints() {
-		MCR.addCall();
-		Set<Constraint> constraints = new HashSet<Constraint>();
-		constraints.add(new Constraint("someKey"));
-		MCR.addReturned(constraints);
-		return constraints;
+		return (Set<Constraint>) MCR.addCallAndReturnFromMRV();
 	}
 
 	@Override
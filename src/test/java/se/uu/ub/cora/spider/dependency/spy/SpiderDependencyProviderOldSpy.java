@@ -19,7 +19,9 @@
 
 package se.uu.ub.cora.spider.dependency.spy;
 
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import se.uu.ub.cora.bookkeeper.decorator.DataDecarator;
@@ -33,16 +35,28 @@ import se.uu.ub.cora.data.DataRecordGroup;
 import se.uu.ub.cora.search.RecordIndexer;
 import se.uu.ub.cora.search.RecordSearch;
 import se.uu.ub.cora.spider.authentication.Authenticator;
+import se.uu.ub.cora.spider.authorization.AuthorizationMetrics;
+import se.uu.ub.cora.spider.authorization.PermissionKeyTable;
+import se.uu.ub.cora.spider.authorization.PermissionKeyTableSpy;
 import se.uu.ub.cora.spider.authorization.PermissionRuleCalculator;
+import se.uu.ub.cora.spider.authorization.ProvidedRulesCache;
 import se.uu.ub.cora.spider.authorization.SpiderAuthorizator;
+import se.uu.ub.cora.spider.authorization.UserStatusCache;
+import se.uu.ub.cora.spider.authorization.internal.NoAuthorizationMetrics;
+import se.uu.ub.cora.spider.authorization.internal.ProvidedRulesCacheImp;
+import se.uu.ub.cora.spider.authorization.internal.UserStatusCacheImp;
 import se.uu.ub.cora.spider.binary.Uploader;
 import se.uu.ub.cora.spider.cache.DataChangedSender;
 import se.uu.ub.cora.spider.data.DataGroupToFilter;
 import se.uu.ub.cora.spider.dependency.SpiderDependencyProvider;
 import se.uu.ub.cora.spider.extendedfunctionality.ExtendedFunctionalityProvider;
+import se.uu.ub.cora.spider.linkplan.LinkPlan;
 import se.uu.ub.cora.spider.record.DataGroupToRecordEnhancer;
 import se.uu.ub.cora.spider.record.DataRedactorOldSpy;
 import se.uu.ub.cora.spider.record.RecordDecorator;
+import se.uu.ub.cora.spider.searchdefinition.SearchDefinition;
+import se.uu.ub.cora.spider.searchresult.SearchResultCache;
+import se.uu.ub.cora.spider.searchresult.SearchResultCacheSpy;
 import se.uu.ub.cora.spider.spy.UniqueValidatorSpy;
 import se.uu.ub.cora.spider.unique.UniqueValidator;
 import se.uu.ub.cora.storage.RecordStorage;
@@ -76,6 +90,12 @@ public class SpiderDependencyProviderOldSpy implements SpiderDependencyProvider
 
 	public RecordStorage recordStorage = new RecordStorageSpy();
 	public RecordArchive recordArchive;
+	public ProvidedRulesCache providedRulesCache = ProvidedRulesCacheImp
+			.usingMaxNumberOfUsers(100);
+	public PermissionKeyTable permissionKeyTable = new PermissionKeyTableSpy();
+	public UserStatusCache userStatusCache = UserStatusCacheImp
+			.usingMaxNumberOfUsersAndTimeToLive(100, Duration.ofMinutes(1));
+	public AuthorizationMetrics authorizationMetrics = new NoAuthorizationMetrics();
 
 	public SpiderDependencyProviderOldSpy() {
 		MCR.useMRV(MRV);
@@ -83,6 +103,11 @@ public class SpiderDependencyProviderOldSpy implements SpiderDependencyProvider
 				() -> recordTypeHandlerSpy);
 		MRV.setDefaultReturnValuesSupplier("getInitInfoValueUsingKey", () -> "someInitValue");
 		MRV.setDefaultReturnValuesSupplier("getUniqueValidator", UniqueValidatorSpy::new);
+		MRV.setDefaultReturnValuesSupplier("getLinkPlan", LinkPlan::visitAll);
+		MRV.setDefaultReturnValuesSupplier("getSearchDefinition",
+				() -> new SearchDefinition("someSearchId", "someMetadataId",
+						List.of("someRecordType")));
+		MRV.setDefaultReturnValuesSupplier("getSearchResultCache", SearchResultCacheSpy::new);
 	}
 
 	@Override
@@ -243,4 +268,47 @@ public class SpiderDependencyProviderOldSpy implements SpiderDependencyProvider
 		// TODO Auto-generated method stub
 		return null;
 	}
+
+	@Override
+	public ProvidedRulesCache getProvidedRulesCache() {
+		MCR.addCall();
+		MCR.addReturned(providedRulesCache);
+		return providedRulesCache;
+	}
+
+	@Override
+	public PermissionKeyTable getPermissionKeyTable() {
+		MCR.addCall();
+		MCR.addReturned(permissionKeyTable);
+		return permissionKeyTable;
+	}
+
+	@Override
+	public UserStatusCache getUserStatusCache() {
+		MCR.addCall();
+		MCR.addReturned(userStatusCache);
+		return userStatusCache;
+	}
+
+	@Override
+	public AuthorizationMetrics getAuthorizationMetrics() {
+		MCR.addCall();
+		MCR.addReturned(authorizationMetrics);
+		return authorizationMetrics;
+	}
+
+	@Override
+	public LinkPlan getLinkPlan(String definitionId) {
+		return (LinkPlan) MCR.addCallAndReturnFromMRV("definitionId", definitionId);
+	}
+
+	@Override
+	public SearchDefinition getSearchDefinition(String searchId) {
+		return (SearchDefinition) MCR.addCallAndReturnFromMRV("searchId", searchId);
+	}
+
+	@Override
+	public SearchResultCache getSearchResultCache() {
+		return (SearchResultCache) MCR.addCallAndReturnFromMRV();
+	}
 }
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.linkplan;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.data.DataChild;
+import se.uu.ub.cora.data.spies.DataGroupSpy;
+import se.uu.ub.cora.data.spies.DataRecordGroupSpy;
+import se.uu.ub.cora.data.spies.DataRecordLinkSpy;
+import se.uu.ub.cora.logger.LoggerProvider;
+import se.uu.ub.cora.logger.spies.LoggerFactorySpy;
+import se.uu.ub.cora.logger.spies.LoggerSpy;
+import se.uu.ub.cora.storage.RecordNotFoundException;
+import se.uu.ub.cora.storage.spies.RecordStorageSpy;
+
+public class LinkPlanBuilderTest {
+	private static final String METADATA = "metadata";
+	private RecordStorageSpy recordStorage;
+	private LinkPlanBuilder builder;
+	private LoggerFactorySpy loggerFactory;
+
+	@BeforeMethod
+	private void beforeMethod() {
+		loggerFactory = new LoggerFactorySpy();
+		LoggerProvider.setLoggerFactory(loggerFactory);
+		recordStorage = new RecordStorageSpy();
+		builder = LinkPlanBuilder.usingRecordStorage(recordStorage);
+	}
+
+	@Test
+	public void testLinksAndGroupsWithLinksAreInPlan() {
+		addMetadata("someLinkId", "recordLink", "someLink");
+		addMetadata("someResourceLinkId", "resourceLink", "someResourceLink");
+		addMetadata("someTextVariableId", "textVariable", "someTextVariable");
+		addMetadata("linkInChildGroupId", "recordLink", "linkInChildGroup");
+		addGroup("childGroupId", "childGroup", "linkInChildGroupId", "someTextVariableId");
+		addGroup("noLinksGroupId", "noLinksGroup", "someTextVariableId");
+		addGroup("someDefinitionId", "someRoot", "someLinkId", "someResourceLinkId",
+				"someTextVariableId", "childGroupId", "noLinksGroupId");
+
+		LinkPlan plan = builder.buildForDefinitionId("someDefinitionId");
+
+		assertTrue(plan.shouldVisitChild(createChild("someLink")));
+		assertTrue(plan.shouldVisitChild(createChild("someResourceLink")));
+		assertTrue(plan.shouldVisitChild(createChild("childGroup")));
+		assertFalse(plan.shouldVisitChild(createChild("someTextVariable")));
+		assertFalse(plan.shouldVisitChild(createChild("noLinksGroup")));
+		LinkPlan childPlan = plan.getPlanForChildGroup(createChild("childGroup"));
+		assertTrue(childPlan.shouldVisitChild(createChild("linkInChildGroup")));
+		assertFalse(childPlan.shouldVisitChild(createChild("someTextVariable")));
+	}
+
+	@Test
+	public void testGroupWithoutLinksGivesPlanWithoutLinks() {
+		addMetadata("someTextVariableId", "textVariable", "someTextVariable");
+		addGroup("someDefinitionId", "someRoot", "someTextVariableId");
+
+		LinkPlan plan = builder.buildForDefinitionId("someDefinitionId");
+
+		assertFalse(plan.mayContainLinks());
+	}
+
+	@Test
+	public void testGroupUsedSeveralTimesIsOnlyReadOnce() {
+		addMetadata("someLinkId", "recordLink", "someLink");
+		addGroup("childGroupId", "childGroup", "someLinkId");
+		addGroup("otherGroupId", "otherGroup", "childGroupId");
+		addGroup("someDefinitionId", "someRoot", "childGroupId", "otherGroupId");
+
+		builder.buildForDefinitionId("someDefinitionId");
+
+		recordStorage.MCR.assertNumberOfCallsToMethod("read", 4);
+	}
+
+	@Test
+	public void testRecursiveGroupIsVisitedCompletely() {
+		addGroup("recursiveGroupId", "recursiveGroup", "recursiveGroupId");
+		addGroup("someDefinitionId", "someRoot", "recursiveGroupId");
+
+		LinkPlan plan = builder.buildForDefinitionId("someDefinitionId");
+
+		LinkPlan recursivePlan = plan.getPlanForChildGroup(createChild("recursiveGroup"));
+		assertSame(recursivePlan.getPlanForChildGroup(createChild("recursiveGroup")),
+				LinkPlan.visitAll());
+	}
+
+	@Test
+	public void testMissingMetadataGivesVisitAll() {
+		addGroup("someDefinitionId", "someRoot", "missingId");
+		recordStorage.MRV.setThrowException("read",
+				RecordNotFoundException.withMessage("missing"), METADATA, "missingId");
+
+		LinkPlan plan = builder.buildForDefinitionId("someDefinitionId");
+
+		assertSame(plan, LinkPlan.visitAll());
+		LoggerSpy logger = (LoggerSpy) loggerFactory.MCR
+				.assertCalledParametersReturn("factorForClass", LinkPlanBuilder.class);
+		logger.MCR.assertParameters("logWarnUsingMessage", 0,
+				"Metadata missing when creating link plan for definition: someDefinitionId,"
+						+ " all children will be visited. missing");
+	}
+
+	@Test
+	public void testOtherErrorsArePassedOn() {
+		addGroup("someDefinitionId", "someRoot", "someChildId");
+		RuntimeException error = new RuntimeException("someError");
+		recordStorage.MRV.setThrowException("read", error, METADATA, "someChildId");
+
+		try {
+			builder.buildForDefinitionId("someDefinitionId");
+			fail("An exception should have been thrown");
+		} catch (RuntimeException e) {
+			assertSame(e, error);
+		}
+		loggerFactory.MCR.assertMethodNotCalled("factorForClass");
+	}
+
+	private void addMetadata(String id, String type, String nameInData) {
+		DataRecordGroupSpy metadata = createMetadata(type, nameInData);
+		recordStorage.MRV.setSpecificReturnValuesSupplier("read", () -> metadata, METADATA, id);
+	}
+
+	private DataRecordGroupSpy createMetadata(String type, String nameInData) {
+		DataRecordGroupSpy metadata = new DataRecordGroupSpy();
+		metadata.MRV.setDefaultReturnValuesSupplier("getAttributeValue", () -> Optional.of(type));
+		metadata.MRV.setDefaultReturnValuesSupplier("getFirstAtomicValueWithNameInData",
+				() -> nameInData);
+		return metadata;
+	}
+
+	private void addGroup(String id, String nameInData, String... childIds) {
+		DataRecordGroupSpy group = createMetadata("group", nameInData);
+		DataGroupSpy childReferences = new DataGroupSpy();
+		List<DataChild> references = new ArrayList<>();
+		for (String childId : childIds) {
+			references.add(createChildReference(childId));
+		}
+		childReferences.MRV.setDefaultReturnValuesSupplier("getChildren", () -> references);
+		group.MRV.setDefaultReturnValuesSupplier("getFirstChildWithNameInData",
+				() -> childReferences);
+		recordStorage.MRV.setSpecificReturnValuesSupplier("read", () -> group, METADATA, id);
+	}
+
+	private DataGroupSpy createChildReference(String childId) {
+		DataRecordLinkSpy ref = new DataRecordLinkSpy();
+		ref.MRV.setDefaultReturnValuesSupplier("getLinkedRecordId", () -> childId);
+		DataGroupSpy childReference = new DataGroupSpy();
+		childReference.MRV.setDefaultReturnValuesSupplier("getFirstChildOfTypeAndName",
+				() -> ref);
+		return childReference;
+	}
+
+	private DataChild createChild(String nameInData) {
+		DataGroupSpy child = new DataGroupSpy();
+		child.MRV.setDefaultReturnValuesSupplier("getNameInData", () -> nameInData);
+		return child;
+	}
+}
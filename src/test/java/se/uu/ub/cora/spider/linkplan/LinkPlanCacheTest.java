@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.linkplan;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class LinkPlanCacheTest {
+	private static final String SOME_DEFINITION_ID = "someDefinitionId";
+	private LinkPlanCacheImp cache;
+	private int numberOfLoads;
+
+	@BeforeMethod
+	private void beforeMethod() {
+		cache = new LinkPlanCacheImp();
+		numberOfLoads = 0;
+	}
+
+	@Test
+	public void testImplementsLinkPlanCache() {
+		assertTrue(cache instanceof LinkPlanCache);
+	}
+
+	@Test
+	public void testLoaderUsedWhenNotCached() {
+		LinkPlan plan = createPlan();
+
+		LinkPlan returned = cache.getOrLoadLinkPlan(SOME_DEFINITION_ID, countingLoader(plan));
+
+		assertSame(returned, plan);
+		assertEquals(numberOfLoads, 1);
+	}
+
+	private LinkPlan createPlan() {
+		return LinkPlan.usingLinkNamesAndChildGroupPlans(Set.of("someLink"),
+				Collections.emptyMap());
+	}
+
+	private Supplier<LinkPlan> countingLoader(LinkPlan plan) {
+		return () -> {
+			numberOfLoads++;
+			return plan;
+		};
+	}
+
+	@Test
+	public void testSecondCallUsesCachedPlan() {
+		LinkPlan plan = createPlan();
+		cache.getOrLoadLinkPlan(SOME_DEFINITION_ID, countingLoader(plan));
+
+		LinkPlan returned = cache.getOrLoadLinkPlan(SOME_DEFINITION_ID,
+				countingLoader(createPlan()));
+
+		assertSame(returned, plan);
+		assertEquals(numberOfLoads, 1);
+	}
+
+	@Test
+	public void testPlansAreCachedPerDefinition() {
+		cache.getOrLoadLinkPlan(SOME_DEFINITION_ID, countingLoader(createPlan()));
+		cache.getOrLoadLinkPlan("otherDefinitionId", countingLoader(createPlan()));
+
+		assertEquals(numberOfLoads, 2);
+		assertEquals(cache.onlyForTestGetPlans().size(), 2);
+	}
+
+	@Test
+	public void testMetadataChangedRemovesAllPlans() {
+		cache.getOrLoadLinkPlan(SOME_DEFINITION_ID, countingLoader(createPlan()));
+
+		cache.dataChanged("metadata", "someId", "update");
+
+		assertTrue(cache.onlyForTestGetPlans().isEmpty());
+	}
+
+	@Test
+	public void testOtherTypeChangedKeepsPlans() {
+		cache.getOrLoadLinkPlan(SOME_DEFINITION_ID, countingLoader(createPlan()));
+
+		cache.dataChanged("recordType", "someId", "update");
+
+		assertEquals(cache.onlyForTestGetPlans().size(), 1);
+	}
+
+	@Test
+	public void testPlanLoadedDuringChangeIsNotCached() {
+		LinkPlan plan = createPlan();
+
+		LinkPlan returned = cache.getOrLoadLinkPlan(SOME_DEFINITION_ID, () -> {
+			cache.dataChanged("metadata", SOME_DEFINITION_ID, "update");
+			return plan;
+		});
+
+		assertSame(returned, plan);
+		assertTrue(cache.onlyForTestGetPlans().isEmpty());
+	}
+}
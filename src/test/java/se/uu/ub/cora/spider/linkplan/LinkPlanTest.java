@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.linkplan;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.data.spies.DataGroupSpy;
+import se.uu.ub.cora.data.spies.DataRecordLinkSpy;
+
+public class LinkPlanTest {
+
+	@Test
+	public void testVisitAllVisitsAllChildren() {
+		LinkPlan plan = LinkPlan.visitAll();
+
+		assertTrue(plan.mayContainLinks());
+		assertTrue(plan.shouldVisitChild(createGroup("anyName")));
+	}
+
+	@Test
+	public void testVisitAllUsesVisitAllForChildGroups() {
+		LinkPlan plan = LinkPlan.visitAll();
+
+		assertSame(plan.getPlanForChildGroup(createGroup("anyName")), plan);
+	}
+
+	@Test
+	public void testNoLinks() {
+		LinkPlan plan = LinkPlan.noLinks();
+
+		assertFalse(plan.mayContainLinks());
+		assertFalse(plan.shouldVisitChild(createLink("someLink")));
+	}
+
+	@Test
+	public void testOnlyLinksAndGroupsWithLinksAreVisited() {
+		LinkPlan plan = createPlanWithLinkAndChildGroup();
+
+		assertTrue(plan.mayContainLinks());
+		assertTrue(plan.shouldVisitChild(createLink("someLink")));
+		assertTrue(plan.shouldVisitChild(createGroup("someGroup")));
+		assertFalse(plan.shouldVisitChild(createGroup("otherGroup")));
+		assertFalse(plan.shouldVisitChild(createLink("otherLink")));
+	}
+
+	private LinkPlan createPlanWithLinkAndChildGroup() {
+		return LinkPlan.usingLinkNamesAndChildGroupPlans(Set.of("someLink"),
+				Map.of("someGroup", createPlanWithLink("linkInGroup")));
+	}
+
+	private LinkPlan createPlanWithLink(String linkName) {
+		return LinkPlan.usingLinkNamesAndChildGroupPlans(Set.of(linkName),
+				Collections.emptyMap());
+	}
+
+	@Test
+	public void testChildGroupsWithoutLinksAreNotVisited() {
+		LinkPlan plan = LinkPlan.usingLinkNamesAndChildGroupPlans(Collections.emptySet(),
+				Map.of("someGroup", LinkPlan.noLinks()));
+
+		assertFalse(plan.mayContainLinks());
+		assertFalse(plan.shouldVisitChild(createGroup("someGroup")));
+	}
+
+	@Test
+	public void testPlanForChildGroup() {
+		LinkPlan plan = createPlanWithLinkAndChildGroup();
+
+		LinkPlan childPlan = plan.getPlanForChildGroup(createGroup("someGroup"));
+
+		assertTrue(childPlan.shouldVisitChild(createLink("linkInGroup")));
+		assertFalse(childPlan.shouldVisitChild(createLink("someLink")));
+	}
+
+	@Test
+	public void testPlanForUnknownChildGroupHasNoLinks() {
+		LinkPlan plan = createPlanWithLinkAndChildGroup();
+
+		assertSame(plan.getPlanForChildGroup(createGroup("otherGroup")), LinkPlan.noLinks());
+	}
+
+	@Test
+	public void testCombineVisitsChildrenFromBothPlans() {
+		LinkPlan plan = LinkPlan.usingLinkNamesAndChildGroupPlans(Set.of("someLink"),
+				Map.of("someGroup", createPlanWithLink("linkInSomeGroup")));
+		LinkPlan otherPlan = LinkPlan.usingLinkNamesAndChildGroupPlans(Set.of("otherLink"),
+				Map.of("someGroup", createPlanWithLink("otherLinkInSomeGroup")));
+
+		LinkPlan combined = plan.combine(otherPlan);
+
+		assertTrue(combined.shouldVisitChild(createLink("someLink")));
+		assertTrue(combined.shouldVisitChild(createLink("otherLink")));
+		LinkPlan childPlan = combined.getPlanForChildGroup(createGroup("someGroup"));
+		assertTrue(childPlan.shouldVisitChild(createLink("linkInSomeGroup")));
+		assertTrue(childPlan.shouldVisitChild(createLink("otherLinkInSomeGroup")));
+	}
+
+	@Test
+	public void testCombineWithVisitAllIsVisitAll() {
+		LinkPlan plan = createPlanWithLink("someLink");
+
+		assertSame(plan.combine(LinkPlan.visitAll()), LinkPlan.visitAll());
+		assertSame(LinkPlan.visitAll().combine(plan), LinkPlan.visitAll());
+	}
+
+	private DataGroupSpy createGroup(String nameInData) {
+		DataGroupSpy group = new DataGroupSpy();
+		group.MRV.setDefaultReturnValuesSupplier("getNameInData", () -> nameInData);
+		return group;
+	}
+
+	private DataRecordLinkSpy createLink(String nameInData) {
+		DataRecordLinkSpy link = new DataRecordLinkSpy();
+		link.MRV.setDefaultReturnValuesSupplier("getNameInData", () -> nameInData);
+		return link;
+	}
+}
@@ -20,13 +20,16 @@
 package se.uu.ub.cora.spider.record;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import se.uu.ub.cora.beefeater.authentication.User;
 import se.uu.ub.cora.bookkeeper.recordpart.DataRedactor;
 import se.uu.ub.cora.data.Action;
 import se.uu.ub.cora.data.DataRecord;
 import se.uu.ub.cora.data.DataRecordGroup;
+import se.uu.ub.cora.data.collected.CollectTerms;
 import se.uu.ub.cora.spider.authorization.AuthorizationException;
 import se.uu.ub.cora.spider.data.DataRecordOldSpy;
 import se.uu.ub.cora.testutils.mcr.MethodCallRecorder;
@@ -44,13 +47,15 @@ public class DataGroupToRecordEnhancerSpy implements DataGroupToRecordEnhancer {
 	 * be thrown, if method
 	 * {@link #enhanceIgnoringReadAccess(User, String, DataRecordGroup, DataRedactor)} is called,
 	 * will no exception be thrown and the enhanced record returned, as is specified in interface
-	 * for DataGroupToRecordEnhancer.
+	 * for DataGroupToRecordEnhancer. For method
+	 * {@link #enhanceIfUserHasReadAccess(User, String, DataRecordGroup, DataRedactor)} will an
+	 * empty Optional be returned.
 	 */
 	public boolean addReadAction = true;
 	/**
 	 * addReadActionOnlyFirst is default false, if set to true will add read action for the first
-	 * call to enhance, and following calls will get (an AuthorizationException thrown) instead of
-	 * an added action.
+	 * call to enhance, and following calls will get (an AuthorizationException thrown or an empty
+	 * Optional returned) instead of an added action.
 	 */
 	public boolean addReadActionOnlyFirst = false;
 
@@ -75,6 +80,65 @@ public class DataGroupToRecordEnhancerSpy implements DataGroupToRecordEnhancer {
 		return dataGroupSpy;
 	}
 
+	@Override
+	public Optional<DataRecord> enhanceIfUserHasReadAccess(User user, String recordType,
+			DataRecordGroup dataRecordGroup, DataRedactor dataRedactor) {
+		MCR.addCall("user", user, "recordType", recordType, "dataRecordGroup", dataRecordGroup,
+				"dataRedactor", dataRedactor);
+
+		Optional<DataRecord> enhancedRecord = Optional.empty();
+		if (addReadAction) {
+			enhancedRecord = Optional
+					.of(spyEnhanceDataGroupToRecord(user, recordType, dataRecordGroup));
+		}
+		MCR.addReturned(enhancedRecord);
+		return enhancedRecord;
+	}
+
+	@Override
+	public DataRecord enhanceLean(User user, String recordType, DataRecordGroup dataRecordGroup,
+			DataRedactor dataRedactor) {
+		MCR.addCall("user", user, "recordType", recordType, "dataRecordGroup", dataRecordGroup,
+				"dataRedactor", dataRedactor);
+
+		if (!addReadAction) {
+			throw new AuthorizationException(recordType);
+		}
+
+		DataRecord dataRecordSpy = spyLeanDataGroupToRecord(user, recordType, dataRecordGroup);
+		MCR.addReturned(dataRecordSpy);
+		return dataRecordSpy;
+	}
+
+	@Override
+	public Optional<DataRecord> enhanceLeanIfUserHasReadAccess(User user, String recordType,
+			DataRecordGroup dataRecordGroup, DataRedactor dataRedactor) {
+		MCR.addCall("user", user, "recordType", recordType, "dataRecordGroup", dataRecordGroup,
+				"dataRedactor", dataRedactor);
+
+		Optional<DataRecord> enhancedRecord = Optional.empty();
+		if (addReadAction) {
+			enhancedRecord = Optional
+					.of(spyLeanDataGroupToRecord(user, recordType, dataRecordGroup));
+		}
+		MCR.addReturned(enhancedRecord);
+		return enhancedRecord;
+	}
+
+	private DataRecord spyLeanDataGroupToRecord(User user, String recordType,
+			DataRecordGroup dataRecordGroup) {
+		enhancedDataGroups.add(dataRecordGroup);
+		this.user = user;
+		this.recordType = recordType;
+		this.dataRecordGroup = dataRecordGroup;
+		return new DataRecordOldSpy(dataRecordGroup);
+	}
+
+	@Override
+	public void prefetchIncomingLinksForRecords(Collection<DataRecordGroup> dataRecordGroups) {
+		MCR.addCall("dataRecordGroups", dataRecordGroups);
+	}
+
 	private DataRecord spyEnhanceDataGroupToRecord(User user, String recordType,
 			DataRecordGroup dataRecordGroup) {
 		if (throwOtherException) {
@@ -106,4 +170,15 @@ public class DataGroupToRecordEnhancerSpy implements DataGroupToRecordEnhancer {
 		return dataGroupSpy;
 	}
 
+	@Override
+	public DataRecord enhanceIgnoringReadAccessUsingCollectedTerms(User user, String recordType,
+			DataRecordGroup dataRecordGroup, DataRedactor dataRedactor,
+			CollectTerms collectedTerms) {
+		MCR.addCall("user", user, "recordType", recordType, "dataRecordGroup", dataRecordGroup,
+				"dataRedactor", dataRedactor, "collectedTerms", collectedTerms);
+		DataRecord dataGroupSpy = spyEnhanceDataGroupToRecord(user, recordType, dataRecordGroup);
+		MCR.addReturned(dataGroupSpy);
+		return dataGroupSpy;
+	}
+
 }
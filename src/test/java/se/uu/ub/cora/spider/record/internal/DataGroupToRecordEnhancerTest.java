@@ -31,12 +31,14 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import se.uu.ub.cora.beefeater.authentication.User;
+import se.uu.ub.cora.bookkeeper.metadata.Constraint;
 import se.uu.ub.cora.data.Action;
 import se.uu.ub.cora.data.DataLink;
 import se.uu.ub.cora.data.DataProvider;
@@ -54,14 +56,17 @@ import se.uu.ub.cora.data.spies.DataResourceLinkSpy;
 import se.uu.ub.cora.logger.LoggerProvider;
 import se.uu.ub.cora.spider.authentication.OldAuthenticatorSpy;
 import se.uu.ub.cora.spider.authorization.AuthorizationException;
+import se.uu.ub.cora.spider.authorization.AuthorizedActions;
 import se.uu.ub.cora.spider.authorization.PermissionRuleCalculator;
 import se.uu.ub.cora.spider.dependency.SpiderDependencyProvider;
 import se.uu.ub.cora.spider.dependency.spy.RecordTypeHandlerOldSpy;
 import se.uu.ub.cora.spider.dependency.spy.SpiderDependencyProviderOldSpy;
+import se.uu.ub.cora.spider.linkplan.LinkPlan;
 import se.uu.ub.cora.spider.log.LoggerFactorySpy;
 import se.uu.ub.cora.spider.record.DataException;
 import se.uu.ub.cora.spider.record.DataGroupToRecordEnhancer;
 import se.uu.ub.cora.spider.record.RecordEnhancerTestsRecordStorage;
+import se.uu.ub.cora.spider.searchdefinition.SearchDefinition;
 import se.uu.ub.cora.spider.spy.DataGroupTermCollectorSpy;
 import se.uu.ub.cora.spider.spy.OldSpiderAuthorizatorSpy;
 import se.uu.ub.cora.spider.spy.RuleCalculatorSpy;
@@ -80,6 +85,13 @@ public class DataGroupToRecordEnhancerTest {
 	private static final String READ = "read";
 	private static final String SOME_RECORD_TYPE = "someRecordType";
 	private static final String BINARY_RECORD_TYPE = "binary";
+	private static final String GET_ACTIONS_FOR_RECORD_TYPE = "getActionsUserIsAuthorizedForOnRecordType";
+	private static final String GET_ACTIONS_FOR_COLLECTED_DATA = "getActionsUserIsAuthorizedForOnRecordTypeAndCollectedData";
+	private static final List<String> RECORD_ACTIONS = List.of(READ, UPDATE, "index", "delete");
+	private static final List<String> BINARY_RECORD_ACTIONS = List.of(READ, UPDATE, "index",
+			"delete", "upload");
+	private static final List<String> RECORD_TYPE_ACTIONS = List.of(CREATE, LIST, "validate",
+			"batch_index");
 	private RecordEnhancerTestsRecordStorage oldRecordStorage;
 	private OldAuthenticatorSpy authenticator;
 	private OldSpiderAuthorizatorSpy oldAuthorizator;
@@ -148,11 +160,7 @@ public class DataGroupToRecordEnhancerTest {
 	}
 
 	private void assertCheckAndGetAuthorizationCalledForReadActionPartOfEnhance() {
-		var permissionTerms = getAssertedCollectedPermissionTermsForRecordType(SOME_RECORD_TYPE,
-				someDataRecordGroup);
-		oldAuthorizator.MCR.assertParameters(
-				"checkGetUsersMatchedRecordPartPermissionsForActionOnRecordTypeAndCollectedData", 0,
-				user, READ, SOME_RECORD_TYPE, permissionTerms, true);
+		assertActionsCheckedForRecordTypeAndCollectedData(SOME_RECORD_TYPE, RECORD_ACTIONS);
 	}
 
 	private void assertRecordContainsReadAction(DataRecordSpy recordToEnhance) {
@@ -224,9 +232,6 @@ public class DataGroupToRecordEnhancerTest {
 		assertNotNull(auxiliaryException);
 		assertTrue(auxiliaryException instanceof AuthorizationException);
 		assertCheckAndGetAuthorizationCalledForReadActionPartOfEnhance();
-		oldAuthorizator.MCR.assertNumberOfCallsToMethod(
-				"checkGetUsersMatchedRecordPartPermissionsForActionOnRecordTypeAndCollectedData",
-				1);
 	}
 
 	@Test
@@ -245,6 +250,19 @@ public class DataGroupToRecordEnhancerTest {
 		assertFalse(recordToEnhance.getActions().contains(Action.READ));
 	}
 
+	@Test
+	public void testReadActionIsAddedForNextRecordAfterEnhanceIgnoreReadAccessNotAuthorized() {
+		setupForNoReadAccess();
+		enhancer.enhanceIgnoringReadAccess(user, SOME_RECORD_TYPE, someDataRecordGroup,
+				dataRedactor);
+		oldAuthorizator.authorizedForActionAndRecordTypeAndCollectedData = true;
+
+		DataRecordSpy recordToEnhance = (DataRecordSpy) enhancer.enhance(new User("otherUserId"),
+				SOME_RECORD_TYPE, someDataRecordGroup, dataRedactor);
+
+		assertRecordContainsReadAction(recordToEnhance);
+	}
+
 	@Test
 	public void testReadActionPartOfEnhanceNotAuthorizedButPublicData() {
 		setupForNoReadAccessButPublicData();
@@ -264,9 +282,7 @@ public class DataGroupToRecordEnhancerTest {
 	private void assertReadActionPartOfEnhanceNotAuthorizedButPublicData(
 			DataRecordSpy recordToEnhance) {
 		recordTypeHandlerSpy.MCR.assertMethodWasCalled("isPublicForRead");
-		oldAuthorizator.MCR.assertNumberOfCallsToMethod(
-				"checkGetUsersMatchedRecordPartPermissionsForActionOnRecordTypeAndCollectedData",
-				1);
+		assertCheckAndGetAuthorizationCalledForReadActionPartOfEnhance();
 		assertRecordContainsReadAction(recordToEnhance);
 	}
 
@@ -280,6 +296,24 @@ public class DataGroupToRecordEnhancerTest {
 		assertReadActionPartOfEnhanceNotAuthorizedButPublicData(recordToEnhance);
 	}
 
+	@Test
+	public void testEnhanceIgnoreReadAccessUsingCollectedTermsDoesNotCollectTerms() {
+		createRecordStorageSpy();
+		CollectTerms collectedTerms = new CollectTerms();
+		collectedTerms.permissionTerms = List
+				.of(new PermissionTerm("someId", "someValue", "someKey"));
+
+		DataRecordSpy recordToEnhance = (DataRecordSpy) enhancer
+				.enhanceIgnoringReadAccessUsingCollectedTerms(user, SOME_RECORD_TYPE,
+						someDataRecordGroup, dataRedactor, collectedTerms);
+
+		termCollector.MCR.assertMethodNotCalled("collectTerms");
+		oldAuthorizator.MCR.assertParameter(GET_ACTIONS_FOR_COLLECTED_DATA, 0, "collectedData",
+				collectedTerms.permissionTerms);
+		assertRecordContainsReadAction(recordToEnhance);
+		assertRecordContainsUpdateAction(recordToEnhance);
+	}
+
 	@Test
 	public void testUpdateActionPartOfEnhance() {
 		createRecordStorageSpy();
@@ -300,11 +334,30 @@ public class DataGroupToRecordEnhancerTest {
 	}
 
 	private void assertCheckAndGetAuthorizationCalledForUpdateActionPartOfEnhance() {
-		var permissionTerms = getAssertedCollectedPermissionTermsForRecordType(SOME_RECORD_TYPE,
+		assertActionsCheckedForRecordTypeAndCollectedData(SOME_RECORD_TYPE, RECORD_ACTIONS);
+	}
+
+	private void assertActionsCheckedForRecordTypeAndCollectedData(String recordType,
+			List<String> actions) {
+		var permissionTerms = getAssertedCollectedPermissionTermsForRecordType(recordType,
 				someDataRecordGroup);
-		oldAuthorizator.MCR.assertParameters(
-				"checkGetUsersMatchedRecordPartPermissionsForActionOnRecordTypeAndCollectedData", 1,
-				user, UPDATE, SOME_RECORD_TYPE, permissionTerms, true);
+		oldAuthorizator.MCR.assertParameter(GET_ACTIONS_FOR_COLLECTED_DATA, 0, "user", user);
+		oldAuthorizator.MCR.assertParameterAsEqual(GET_ACTIONS_FOR_COLLECTED_DATA, 0, "actions",
+				actions);
+		oldAuthorizator.MCR.assertParameter(GET_ACTIONS_FOR_COLLECTED_DATA, 0, "recordType",
+				recordType);
+		oldAuthorizator.MCR.assertParameter(GET_ACTIONS_FOR_COLLECTED_DATA, 0, "collectedData",
+				permissionTerms);
+		oldAuthorizator.MCR.assertNumberOfCallsToMethod(GET_ACTIONS_FOR_COLLECTED_DATA, 1);
+	}
+
+	private void assertActionsCheckedForRecordType(String recordTypeId) {
+		oldAuthorizator.MCR.assertParameter(GET_ACTIONS_FOR_RECORD_TYPE, 0, "user", user);
+		oldAuthorizator.MCR.assertParameterAsEqual(GET_ACTIONS_FOR_RECORD_TYPE, 0, "actions",
+				RECORD_TYPE_ACTIONS);
+		oldAuthorizator.MCR.assertParameter(GET_ACTIONS_FOR_RECORD_TYPE, 0, "recordType",
+				recordTypeId);
+		oldAuthorizator.MCR.assertNumberOfCallsToMethod(GET_ACTIONS_FOR_RECORD_TYPE, 1);
 	}
 
 	@Test
@@ -472,11 +525,7 @@ public class DataGroupToRecordEnhancerTest {
 	}
 
 	private void assertTypeAndCollectedDataAuthorizationCalledForIndexActionPartOfEnhance() {
-		var permissionTerms = getAssertedCollectedPermissionTermsForRecordType(SOME_RECORD_TYPE,
-				someDataRecordGroup);
-		oldAuthorizator.MCR.assertParameters(
-				"userIsAuthorizedForActionOnRecordTypeAndCollectedData", 0, user, "index",
-				SOME_RECORD_TYPE, permissionTerms);
+		assertActionsCheckedForRecordTypeAndCollectedData(SOME_RECORD_TYPE, RECORD_ACTIONS);
 	}
 
 	private void assertRecordContainsIndexAction(DataRecordSpy recordToEnhance) {
@@ -501,8 +550,7 @@ public class DataGroupToRecordEnhancerTest {
 	}
 
 	private void assertTypeAndCollectedDataAuthorizationCalledForBatchIndexActionPartOfEnhance() {
-		oldAuthorizator.MCR.assertParameters("userIsAuthorizedForActionOnRecordType", 3, user,
-				"batch_index", "someId");
+		assertActionsCheckedForRecordType("someId");
 	}
 
 	private void assertRecordContainsBatchIndexAction(DataRecordSpy recordToEnhance) {
@@ -611,11 +659,7 @@ public class DataGroupToRecordEnhancerTest {
 	}
 
 	private void assertTypeAndCollectedDataAuthorizationCalledForDeleteActionPartOfEnhance() {
-		var permissionTerms = getAssertedCollectedPermissionTermsForRecordType(SOME_RECORD_TYPE,
-				someDataRecordGroup);
-		oldAuthorizator.MCR.assertParameters(
-				"userIsAuthorizedForActionOnRecordTypeAndCollectedData", 1, user, "delete",
-				SOME_RECORD_TYPE, permissionTerms);
+		assertActionsCheckedForRecordTypeAndCollectedData(SOME_RECORD_TYPE, RECORD_ACTIONS);
 	}
 
 	@Test
@@ -746,6 +790,62 @@ public class DataGroupToRecordEnhancerTest {
 		assertRecordContainsIncomingLinksAction(recordToEnhance);
 	}
 
+	@Test
+	public void testPrefetchIncomingLinksLooksUpEachRecord() {
+		changeToModernSpies();
+		DataRecordGroupSpy otherDataRecordGroup = createDataRecordGroupWithTypeAndId(
+				SOME_RECORD_TYPE, "otherId");
+		someDataRecordGroup.MRV.setDefaultReturnValuesSupplier("getType", () -> SOME_RECORD_TYPE);
+
+		enhancer.prefetchIncomingLinksForRecords(
+				List.of(someDataRecordGroup, otherDataRecordGroup, someDataRecordGroup));
+
+		recordStorage.MCR.assertNumberOfCallsToMethod("linksExistForRecord", 2);
+		recordStorage.MCR.assertParameters("linksExistForRecord", 0, SOME_RECORD_TYPE, "someId");
+		recordStorage.MCR.assertParameters("linksExistForRecord", 1, SOME_RECORD_TYPE, "otherId");
+	}
+
+	private DataRecordGroupSpy createDataRecordGroupWithTypeAndId(String type, String id) {
+		DataRecordGroupSpy dataRecordGroup = new DataRecordGroupSpy();
+		dataRecordGroup.MRV.setDefaultReturnValuesSupplier("getType", () -> type);
+		dataRecordGroup.MRV.setDefaultReturnValuesSupplier("getId", () -> id);
+		return dataRecordGroup;
+	}
+
+	@Test
+	public void testPrefetchedIncomingLinksAreUsedWhenEnhancing() {
+		changeToModernSpies();
+		DataRecordGroupSpy otherDataRecordGroup = createDataRecordGroupWithTypeAndId(
+				SOME_RECORD_TYPE, "otherId");
+		someDataRecordGroup.MRV.setDefaultReturnValuesSupplier("getType", () -> SOME_RECORD_TYPE);
+		recordStorage.MRV.setSpecificReturnValuesSupplier("linksExistForRecord", () -> true,
+				SOME_RECORD_TYPE, "someId");
+		enhancer.prefetchIncomingLinksForRecords(
+				List.of(someDataRecordGroup, otherDataRecordGroup));
+
+		DataRecord withLinks = enhancer.enhance(user, SOME_RECORD_TYPE, someDataRecordGroup,
+				dataRedactor);
+		DataRecord withoutLinks = enhancer.enhance(user, SOME_RECORD_TYPE, otherDataRecordGroup,
+				dataRedactor);
+
+		recordStorage.MCR.assertNumberOfCallsToMethod("linksExistForRecord", 2);
+		assertRecordContainsIncomingLinksAction((DataRecordSpy) withLinks);
+		assertRecordDoesNotContainIncomingLinksAction(withoutLinks);
+	}
+
+	@Test
+	public void testRecordNotPrefetchedUsesLinksExistForRecord() {
+		changeToModernSpies();
+		DataRecordGroupSpy otherDataRecordGroup = createDataRecordGroupWithTypeAndId(
+				SOME_RECORD_TYPE, "otherId");
+		enhancer.prefetchIncomingLinksForRecords(List.of(otherDataRecordGroup));
+
+		enhancer.enhance(user, SOME_RECORD_TYPE, someDataRecordGroup, dataRedactor);
+
+		recordStorage.MCR.assertNumberOfCallsToMethod("linksExistForRecord", 2);
+		recordStorage.MCR.assertParameters("linksExistForRecord", 1, SOME_RECORD_TYPE, "someId");
+	}
+
 	@Test
 	public void testUploadActionPartOfEnhance() {
 		setupForUploadAction();
@@ -766,11 +866,8 @@ public class DataGroupToRecordEnhancerTest {
 	}
 
 	private void assertTypeAndCollectedDataAuthorizationCalledForUploadActionPartOfEnhance() {
-		var permissionTerms = getAssertedCollectedPermissionTermsForRecordType(BINARY_RECORD_TYPE,
-				someDataRecordGroup);
-		oldAuthorizator.MCR.assertParameters(
-				"userIsAuthorizedForActionOnRecordTypeAndCollectedData", 2, user, "upload",
-				BINARY_RECORD_TYPE, permissionTerms);
+		assertActionsCheckedForRecordTypeAndCollectedData(BINARY_RECORD_TYPE,
+				BINARY_RECORD_ACTIONS);
 	}
 
 	private void assertRecordContainsUploadAction(DataRecordSpy recordToEnhance) {
@@ -805,9 +902,6 @@ public class DataGroupToRecordEnhancerTest {
 	private void assertUploadActionNotAuthorized(DataRecord recordToEnhance) {
 		assertTypeAndCollectedDataAuthorizationCalledForUploadActionPartOfEnhance();
 		assertRecordDoesNotContainUploadAction(recordToEnhance);
-
-		oldAuthorizator.MCR.assertNumberOfCallsToMethod(
-				"userIsAuthorizedForActionOnRecordTypeAndCollectedData", 3);
 	}
 
 	@Test
@@ -831,8 +925,7 @@ public class DataGroupToRecordEnhancerTest {
 	}
 
 	private void assertUploadActionNotChildOfBinary(DataRecord recordToEnhance) {
-		oldAuthorizator.MCR.assertNumberOfCallsToMethod(
-				"userIsAuthorizedForActionOnRecordTypeAndCollectedData", 2);
+		assertActionsCheckedForRecordTypeAndCollectedData(SOME_RECORD_TYPE, RECORD_ACTIONS);
 		assertRecordDoesNotContainUploadAction(recordToEnhance);
 	}
 
@@ -1017,8 +1110,7 @@ public class DataGroupToRecordEnhancerTest {
 		dependencyProvider.MCR.assertNumberOfCallsToMethod("getRecordTypeHandler", 2);
 		dependencyProvider.MCR.assertParameters("getRecordTypeHandler", 1, "someId");
 
-		oldAuthorizator.MCR.assertParameters("userIsAuthorizedForActionOnRecordType", 0, user,
-				CREATE, "someId");
+		assertActionsCheckedForRecordType("someId");
 		assertRecordContainsCreateAction(recordToEnhance);
 	}
 
@@ -1059,8 +1151,7 @@ public class DataGroupToRecordEnhancerTest {
 			DataRecord recordToEnhance) {
 		recordTypeHandlerSpy.MCR
 				.assertMethodWasCalled("representsTheRecordTypeDefiningRecordTypes");
-		oldAuthorizator.MCR.assertParameters("userIsAuthorizedForActionOnRecordType", 0, user,
-				CREATE, "otherId");
+		assertActionsCheckedForRecordType("otherId");
 		assertRecordDoesNotContainCreateAction(recordToEnhance);
 	}
 
@@ -1125,8 +1216,7 @@ public class DataGroupToRecordEnhancerTest {
 	private void assertListActionForRecordTypeRecordType(DataRecordSpy recordToEnhance) {
 		recordTypeHandlerSpy.MCR
 				.assertMethodWasCalled("representsTheRecordTypeDefiningRecordTypes");
-		oldAuthorizator.MCR.assertParameters("userIsAuthorizedForActionOnRecordType", 1, user, LIST,
-				"someId");
+		assertActionsCheckedForRecordType("someId");
 		assertRecordContainsListAction(recordToEnhance);
 	}
 
@@ -1162,8 +1252,7 @@ public class DataGroupToRecordEnhancerTest {
 	private void assertListActionForRecordTypeRecordTypeNotAuthorized(DataRecord recordToEnhance) {
 		recordTypeHandlerSpy.MCR
 				.assertMethodWasCalled("representsTheRecordTypeDefiningRecordTypes");
-		oldAuthorizator.MCR.assertParameters("userIsAuthorizedForActionOnRecordType", 1, user, LIST,
-				"someId");
+		assertActionsCheckedForRecordType("someId");
 		assertRecordDoesNotContainListAction(recordToEnhance);
 	}
 
@@ -1221,8 +1310,7 @@ public class DataGroupToRecordEnhancerTest {
 	private void assertValidateActionForRecordTypeRecordType(DataRecordSpy recordToEnhance) {
 		recordTypeHandlerSpy.MCR
 				.assertMethodWasCalled("representsTheRecordTypeDefiningRecordTypes");
-		oldAuthorizator.MCR.assertParameters("userIsAuthorizedForActionOnRecordType", 2, user,
-				"validate", "someId");
+		assertActionsCheckedForRecordType("someId");
 		recordToEnhance.MCR.assertCalledParameters("addAction", Action.VALIDATE);
 	}
 
@@ -1250,8 +1338,7 @@ public class DataGroupToRecordEnhancerTest {
 			DataRecord recordToEnhance) {
 		recordTypeHandlerSpy.MCR
 				.assertMethodWasCalled("representsTheRecordTypeDefiningRecordTypes");
-		oldAuthorizator.MCR.assertParameters("userIsAuthorizedForActionOnRecordType", 2, user,
-				"validate", "otherId");
+		assertActionsCheckedForRecordType("otherId");
 		assertValidateActionForRecordTypeRecordTypeNotRecordType(recordToEnhance);
 	}
 
@@ -1309,7 +1396,7 @@ public class DataGroupToRecordEnhancerTest {
 
 	private RecordTypeHandlerOldSpy setupForSearchActionWhenEnhancingTypeOfRecordType() {
 		createRecordStorageSpy();
-		createAndSetReturnDataGroupForReadInStorageForReadOfLinkedSearch();
+		setSearchDefinitionForLinkedSearch();
 		recordTypeHandlerSpy.MRV.setDefaultReturnValuesSupplier(
 				"representsTheRecordTypeDefiningRecordTypes", () -> true);
 		return getRecordTypeHandlerForRecordTypeInData();
@@ -1333,24 +1420,25 @@ public class DataGroupToRecordEnhancerTest {
 				recordTypeHandlerForRecordTypeInData);
 
 		recordTypeHandlerForRecordTypeInData.MCR.assertMethodWasCalled("hasLinkedSearch");
-		recordTypeHandlerForRecordTypeInData.MCR.getReturnValue("getSearchId", 0);
-
-		var oldReturnedRecordStorage = (RecordStorageOldSpy) dependencyProvider.getRecordStorage();
+		String returnedSearchId = (String) recordTypeHandlerForRecordTypeInData.MCR
+				.getReturnValue("getSearchId", 0);
 
-		assertReadForSearchRecordToOldRecordStorageSpy(oldReturnedRecordStorage);
+		assertSearchDefinitionIsUsedInsteadOfReadingSearchFromStorage(returnedSearchId);
 
-		oldAuthorizator.MCR.assertParameters("userIsAuthorizedForActionOnRecordType", 3, user,
+		oldAuthorizator.MCR.assertParameters("userIsAuthorizedForActionOnRecordType", 0, user,
 				SEARCH, "linkedSearchId1");
-		oldAuthorizator.MCR.assertParameters("userIsAuthorizedForActionOnRecordType", 4, user,
+		oldAuthorizator.MCR.assertParameters("userIsAuthorizedForActionOnRecordType", 1, user,
 				SEARCH, "linkedSearchId2");
-		oldAuthorizator.MCR.assertNumberOfCallsToMethod("userIsAuthorizedForActionOnRecordType", 6);
+		oldAuthorizator.MCR.assertNumberOfCallsToMethod("userIsAuthorizedForActionOnRecordType", 2);
+		assertActionsCheckedForRecordType("someId");
 		assertRecordContainsSearchAction(recordToEnhance);
 	}
 
-	private void assertReadForSearchRecordToOldRecordStorageSpy(RecordStorageOldSpy recordStorage) {
-		recordStorage.MCR.assertNumberOfCallsToMethod("read", 1);
-		recordStorage.MCR.assertParameterAsEqual("read", 0, "type", SEARCH);
-		recordStorage.MCR.assertParameter("read", 0, "id", "someSearchId");
+	private void assertSearchDefinitionIsUsedInsteadOfReadingSearchFromStorage(
+			String returnedSearchId) {
+		dependencyProvider.MCR.assertParameters("getSearchDefinition", 0, returnedSearchId);
+		var recordStorageSpy = (RecordStorageOldSpy) dependencyProvider.recordStorage;
+		recordStorageSpy.MCR.assertMethodNotCalled("read");
 	}
 
 	@Test
@@ -1378,7 +1466,7 @@ public class DataGroupToRecordEnhancerTest {
 	private RecordTypeHandlerOldSpy setupForSearchActionWhenEnhancingTypeOfRecordTypeNotAuthorized() {
 		oldAuthorizator.authorizedForActionAndRecordType = false;
 		createRecordStorageSpy();
-		createAndSetReturnDataGroupForReadInStorageForReadOfLinkedSearch();
+		setSearchDefinitionForLinkedSearch();
 		recordTypeHandlerSpy.MRV.setDefaultReturnValuesSupplier(
 				"representsTheRecordTypeDefiningRecordTypes", () -> true);
 
@@ -1398,30 +1486,20 @@ public class DataGroupToRecordEnhancerTest {
 		recordTypeHandlerForRecordTypeInData.MCR.assertMethodWasCalled("hasLinkedSearch");
 		String returnedSearchId = (String) recordTypeHandlerForRecordTypeInData.MCR
 				.getReturnValue("getSearchId", 0);
-		var oldReturnedRecordStorage = (RecordStorageOldSpy) dependencyProvider.getRecordStorage();
-
-		assertReadForSearchRecordToOldRecordStorageSpy(oldReturnedRecordStorage);
 
-		oldReturnedRecordStorage.MCR.assertParameter("read", 0, "id", returnedSearchId);
-		oldAuthorizator.MCR.assertParameters("userIsAuthorizedForActionOnRecordType", 3, user,
+		assertSearchDefinitionIsUsedInsteadOfReadingSearchFromStorage(returnedSearchId);
+		oldAuthorizator.MCR.assertParameters("userIsAuthorizedForActionOnRecordType", 0, user,
 				SEARCH, "linkedSearchId1");
-		oldAuthorizator.MCR.assertNumberOfCallsToMethod("userIsAuthorizedForActionOnRecordType", 5);
+		oldAuthorizator.MCR.assertNumberOfCallsToMethod("userIsAuthorizedForActionOnRecordType", 1);
+		assertActionsCheckedForRecordType("someId");
 		assertRecordDoesNotContainSearchAction(recordToEnhance);
 	}
 
-	private void createAndSetReturnDataGroupForReadInStorageForReadOfLinkedSearch() {
-		DataRecordLinkSpy linkSpy21 = createRecordLinkSpyUsingId("linkedSearchId1");
-		DataRecordLinkSpy linkSpy22 = createRecordLinkSpyUsingId("linkedSearchId2");
-		List<DataRecordLinkSpy> linkList2 = List.of(linkSpy21, linkSpy22);
-
-		DataRecordGroupSpy searchGroupLinkedFromRecordType = new DataRecordGroupSpy();
-		searchGroupLinkedFromRecordType.MRV.setSpecificReturnValuesSupplier(
-				"getChildrenOfTypeAndName", () -> linkList2, DataRecordLink.class,
-				"recordTypeToSearchIn");
-
-		var oldReturnedRecordStorage = (RecordStorageOldSpy) dependencyProvider.getRecordStorage();
-		oldReturnedRecordStorage.MRV.setSpecificReturnValuesSupplier("read",
-				() -> searchGroupLinkedFromRecordType, "search", "someSearchId");
+	private void setSearchDefinitionForLinkedSearch() {
+		SearchDefinition searchDefinition = new SearchDefinition("someSearchId",
+				"someMetadataId", List.of("linkedSearchId1", "linkedSearchId2"));
+		dependencyProvider.MRV.setSpecificReturnValuesSupplier("getSearchDefinition",
+				() -> searchDefinition, "someSearchId");
 	}
 
 	@Test
@@ -1447,12 +1525,8 @@ public class DataGroupToRecordEnhancerTest {
 	private void assertReadPermissionsAreAddedToRecord() {
 		String expectedPermissions = "someRecordType.someReadMetadataId";
 
-		oldAuthorizator.MCR.assertParameter(
-				"checkGetUsersMatchedRecordPartPermissionsForActionOnRecordTypeAndCollectedData", 0,
-				"action", READ);
-		Set<?> readPermissions = (Set<?>) oldAuthorizator.MCR.getReturnValue(
-				"checkGetUsersMatchedRecordPartPermissionsForActionOnRecordTypeAndCollectedData",
-				0);
+		assertActionsCheckedForRecordTypeAndCollectedData(SOME_RECORD_TYPE, RECORD_ACTIONS);
+		Set<?> readPermissions = getReadPermissionsFromAuthorizedActions();
 		assertTrue(readPermissions.contains(expectedPermissions));
 		assertTrue(readPermissions.size() == 1);
 	}
@@ -1533,14 +1607,12 @@ public class DataGroupToRecordEnhancerTest {
 	}
 
 	private void assertWritePermissionsAreAddedToRecord(DataRecordSpy recordToEnhance) {
-		oldAuthorizator.MCR.assertParameter(
-				"checkGetUsersMatchedRecordPartPermissionsForActionOnRecordTypeAndCollectedData", 1,
-				"action", UPDATE);
+		assertActionsCheckedForRecordTypeAndCollectedData(SOME_RECORD_TYPE, RECORD_ACTIONS);
 		var writePermissions = recordToEnhance.MCR.getParameterForMethodAndCallNumberAndParameter(
 				"addWritePermissions", 0, "writePermissions");
-		oldAuthorizator.MCR.assertReturn(
-				"checkGetUsersMatchedRecordPartPermissionsForActionOnRecordTypeAndCollectedData", 1,
-				writePermissions);
+		AuthorizedActions authorizedActions = (AuthorizedActions) oldAuthorizator.MCR
+				.getReturnValue(GET_ACTIONS_FOR_COLLECTED_DATA, 0);
+		assertSame(writePermissions, authorizedActions.getRecordPartPermissionsForAction(UPDATE));
 
 		recordToEnhance.MCR.assertNumberOfCallsToMethod("addReadPermissions", 2);
 		Set<?> call1 = (Set<?>) recordToEnhance.MCR.getParameterForMethodAndCallNumberAndParameter(
@@ -1578,9 +1650,7 @@ public class DataGroupToRecordEnhancerTest {
 	}
 
 	private void assertWritePermissionsAreAddedToRecordNotAutorized(DataRecord recordToEnhance) {
-		oldAuthorizator.MCR.assertParameter(
-				"checkGetUsersMatchedRecordPartPermissionsForActionOnRecordTypeAndCollectedData", 1,
-				"action", UPDATE);
+		assertActionsCheckedForRecordTypeAndCollectedData(SOME_RECORD_TYPE, RECORD_ACTIONS);
 		assertEquals(recordToEnhance.getWritePermissions(), Collections.emptySet());
 	}
 
@@ -1605,10 +1675,14 @@ public class DataGroupToRecordEnhancerTest {
 		assertAswerFromRedactorIsReturned(recordToEnhance);
 	}
 
+	private Set<String> getReadPermissionsFromAuthorizedActions() {
+		AuthorizedActions authorizedActions = (AuthorizedActions) oldAuthorizator.MCR
+				.getReturnValue(GET_ACTIONS_FOR_COLLECTED_DATA, 0);
+		return authorizedActions.getRecordPartPermissionsForAction(READ);
+	}
+
 	private void assertRedactCalledWithCorrectArguments() {
-		Set<?> usersReadRecordPartPermissions = (Set<?>) oldAuthorizator.MCR.getReturnValue(
-				"checkGetUsersMatchedRecordPartPermissionsForActionOnRecordTypeAndCollectedData",
-				0);
+		Set<?> usersReadRecordPartPermissions = getReadPermissionsFromAuthorizedActions();
 
 		Set<?> recordPartConstraints = (Set<?>) recordTypeHandlerSpy.MCR
 				.getReturnValue("getReadRecordPartConstraints", 0);
@@ -1626,6 +1700,47 @@ public class DataGroupToRecordEnhancerTest {
 		assertSame(recordToEnhance, redactedRecord);
 	}
 
+	@Test
+	public void testRedactorNotCalledWhenThereAreNoReadConstraints() {
+		createRecordStorageSpy();
+		recordTypeHandlerSpy.MRV.setDefaultReturnValuesSupplier("getReadRecordPartConstraints",
+				Collections::emptySet);
+
+		enhancer.enhance(user, SOME_RECORD_TYPE, someDataRecordGroup, dataRedactor);
+
+		dataRedactor.MCR.assertMethodNotCalled("removeChildrenForConstraintsWithoutPermissions");
+		dataFactorySpy.MCR.assertParameters("factorRecordUsingDataRecordGroup", 0,
+				someDataRecordGroup);
+	}
+
+	@Test
+	public void testRedactorNotCalledWhenUserHasPermissionForAllReadConstraints() {
+		createRecordStorageSpy();
+		recordTypeHandlerSpy.MRV.setDefaultReturnValuesSupplier("getReadRecordPartConstraints",
+				() -> Set.of(new Constraint("someRecordType.someReadMetadataId")));
+
+		enhancer.enhance(user, SOME_RECORD_TYPE, someDataRecordGroup, dataRedactor);
+
+		dataRedactor.MCR.assertMethodNotCalled("removeChildrenForConstraintsWithoutPermissions");
+		dataFactorySpy.MCR.assertParameters("factorRecordUsingDataRecordGroup", 0,
+				someDataRecordGroup);
+	}
+
+	@Test
+	public void testInputGroupIsNotChangedWhenRedactorIsNotCalled() {
+		createRecordStorageSpy();
+		recordTypeHandlerSpy.MRV.setDefaultReturnValuesSupplier("getReadRecordPartConstraints",
+				Collections::emptySet);
+
+		enhancer.enhance(user, SOME_RECORD_TYPE, someDataRecordGroup, dataRedactor);
+
+		dataRedactor.MCR.assertMethodNotCalled("removeChildrenForConstraintsWithoutPermissions");
+		someDataRecordGroup.MCR.assertMethodNotCalled("addChild");
+		someDataRecordGroup.MCR.assertMethodNotCalled("addChildren");
+		someDataRecordGroup.MCR.assertMethodNotCalled("removeFirstChildWithNameInData");
+		someDataRecordGroup.MCR.assertMethodNotCalled("removeAllChildrenWithNameInData");
+	}
+
 	@Test
 	public void testEnhanceIgnoreReadAccessRedactData() {
 		createRecordStorageSpy();
@@ -1717,7 +1832,7 @@ public class DataGroupToRecordEnhancerTest {
 		enhancer.enhance(user, SOME_RECORD_TYPE, someDataRecordGroup, dataRedactor);
 
 		authorizator.MCR.assertNumberOfCallsToMethod(
-				"userIsAuthorizedForActionOnRecordTypeAndCollectedData", 4);
+				"userIsAuthorizedForActionOnRecordTypeAndCollectedData", 1);
 
 		assertLinkHasNoAction(linkSpy1);
 		assertLinkHasNoAction(linkSpy2);
@@ -2116,17 +2231,125 @@ public class DataGroupToRecordEnhancerTest {
 		termCollector.MCR.assertParameter("collectTerms", 2, "metadataId", metadataId);
 		termCollector.MCR.assertNumberOfCallsToMethod("collectTerms", 3);
 
-		String methodName = "checkGetUsersMatchedRecordPartPermissionsForActionOnRecordTypeAndCollectedData";
-		authorizator.MCR.assertParameters(methodName, 0, user, READ, DATA_WITH_LINKS);
-		authorizator.MCR.assertParameters(methodName, 1, user, UPDATE, DATA_WITH_LINKS);
-		authorizator.MCR.assertNumberOfCallsToMethod(methodName, 2);
+		authorizator.MCR.assertParameter(GET_ACTIONS_FOR_COLLECTED_DATA, 0, "user", user);
+		authorizator.MCR.assertParameterAsEqual(GET_ACTIONS_FOR_COLLECTED_DATA, 0, "actions",
+				RECORD_ACTIONS);
+		authorizator.MCR.assertParameter(GET_ACTIONS_FOR_COLLECTED_DATA, 0, "recordType",
+				DATA_WITH_LINKS);
+		authorizator.MCR.assertNumberOfCallsToMethod(GET_ACTIONS_FOR_COLLECTED_DATA, 1);
 
 		String methodName2 = "userIsAuthorizedForActionOnRecordTypeAndCollectedData";
-		authorizator.MCR.assertNumberOfCallsToMethod(methodName2, 4);
+		authorizator.MCR.assertNumberOfCallsToMethod(methodName2, 1);
 		authorizator.MCR.assertParameters(methodName2, 0, user, READ, "someRecordLinkType");
-		authorizator.MCR.assertParameters(methodName2, 1, user, READ, "someRecordLinkType");
-		authorizator.MCR.assertParameters(methodName2, 2, user, "index", DATA_WITH_LINKS);
-		authorizator.MCR.assertParameters(methodName2, 3, user, "delete", DATA_WITH_LINKS);
+	}
+
+	@Test
+	public void testLinkedRecordsWithDifferentPermissionTermsAreAuthorizedSeparately() {
+		DataRecordLinkSpy linkSpy1 = createRecordLinkSpyUsingId("linkedSearchId1");
+		DataRecordLinkSpy linkSpy2 = createRecordLinkSpyUsingId("linkedSearchId2");
+		DataRecordLinkSpy linkSpy3 = createRecordLinkSpyUsingId("linkedSearchId3");
+		setupReturnedDataGroupOnDataRedactorSpy(linkSpy1, linkSpy2, linkSpy3);
+		changeToModernSpies();
+		recordTypeHandlerSpy.MRV.setDefaultReturnValuesSupplier("isPublicForRead", () -> false);
+		setUpTermCollectorToReturnPermissionTermsWithValues("uu", "uu", "kth", "uu");
+		Iterator<Boolean> answers = List.of(true, false).iterator();
+		authorizator.MRV.setDefaultReturnValuesSupplier(
+				"userIsAuthorizedForActionOnRecordTypeAndCollectedData", answers::next);
+
+		enhancer.enhanceIgnoringReadAccess(user, SOME_RECORD_TYPE, someDataRecordGroup,
+				dataRedactor);
+
+		recordStorage.MCR.assertNumberOfCallsToMethod("read", 3);
+		String methodName = "userIsAuthorizedForActionOnRecordTypeAndCollectedData";
+		authorizator.MCR.assertNumberOfCallsToMethod(methodName, 2);
+		authorizator.MCR.assertParameterAsEqual(methodName, 1, "permissionTerms",
+				List.of(new PermissionTerm("someId", "kth", "someKey")));
+		assertLinkOnlyHasReadAction(linkSpy1);
+		assertLinkHasNoAction(linkSpy2);
+		assertLinkOnlyHasReadAction(linkSpy3);
+	}
+
+	private void setUpTermCollectorToReturnPermissionTermsWithValues(String... values) {
+		Iterator<String> valueIterator = List.of(values).iterator();
+		termCollector.MRV.setDefaultReturnValuesSupplier("collectTerms", () -> {
+			CollectTerms collectTerms = new CollectTerms();
+			collectTerms.permissionTerms = List
+					.of(new PermissionTerm("someId", valueIterator.next(), "someKey"));
+			return collectTerms;
+		});
+	}
+
+	@Test
+	public void testLinkedRecordsAreOnlyAuthorizedOnceForSeveralRecords() {
+		DataRecordLinkSpy linkSpy1 = createRecordLinkSpyUsingId("linkedSearchId1");
+		setupReturnedDataGroupOnDataRedactorSpy(linkSpy1);
+		changeToModernSpies();
+		recordTypeHandlerSpy.MRV.setDefaultReturnValuesSupplier("isPublicForRead", () -> false);
+
+		enhancer.enhanceIgnoringReadAccess(user, SOME_RECORD_TYPE, someDataRecordGroup,
+				dataRedactor);
+		enhancer.enhanceIgnoringReadAccess(user, SOME_RECORD_TYPE, someDataRecordGroup,
+				dataRedactor);
+
+		recordStorage.MCR.assertNumberOfCallsToMethod("read", 1);
+		authorizator.MCR.assertNumberOfCallsToMethod(
+				"userIsAuthorizedForActionOnRecordTypeAndCollectedData", 1);
+		linkSpy1.MCR.assertNumberOfCallsToMethod("addAction", 2);
+	}
+
+	@Test
+	public void testLinkedRecordsAreAuthorizedForEachUser() {
+		DataRecordLinkSpy linkSpy1 = createRecordLinkSpyUsingId("linkedSearchId1");
+		setupReturnedDataGroupOnDataRedactorSpy(linkSpy1);
+		changeToModernSpies();
+		recordTypeHandlerSpy.MRV.setDefaultReturnValuesSupplier("isPublicForRead", () -> false);
+		User otherUser = new User("otherUserId");
+
+		enhancer.enhanceIgnoringReadAccess(user, SOME_RECORD_TYPE, someDataRecordGroup,
+				dataRedactor);
+		enhancer.enhanceIgnoringReadAccess(otherUser, SOME_RECORD_TYPE, someDataRecordGroup,
+				dataRedactor);
+
+		recordStorage.MCR.assertNumberOfCallsToMethod("read", 2);
+		authorizator.MCR.assertNumberOfCallsToMethod(
+				"userIsAuthorizedForActionOnRecordTypeAndCollectedData", 2);
+		authorizator.MCR.assertParameter("userIsAuthorizedForActionOnRecordTypeAndCollectedData",
+				1, "user", otherUser);
+	}
+
+	@Test
+	public void testLinkPlanForDefinitionOfRecordTypeIsUsed() {
+		DataRecordLinkSpy linkSpy1 = createRecordLinkSpyUsingId("linkedSearchId1");
+		setupReturnedDataGroupOnDataRedactorSpy(linkSpy1);
+		changeToModernSpies();
+
+		enhancer.enhanceIgnoringReadAccess(user, SOME_RECORD_TYPE, someDataRecordGroup,
+				dataRedactor);
+
+		dependencyProvider.MCR.assertParameters("getLinkPlan", 0,
+				recordTypeHandlerSpy.MCR.getReturnValue("getDefinitionId", 0));
+	}
+
+	@Test
+	public void testChildrenNotInLinkPlanAreNotVisited() {
+		DataRecordLinkSpy linkSpy1 = createRecordLinkSpyUsingId("linkedSearchId1");
+		linkSpy1.MRV.setDefaultReturnValuesSupplier("getNameInData", () -> "someLink");
+		DataRecordLinkSpy linkSpy2 = createRecordLinkSpyUsingId("linkedSearchId2");
+		linkSpy2.MRV.setDefaultReturnValuesSupplier("getNameInData", () -> "otherLink");
+		setupReturnedDataGroupOnDataRedactorSpy(linkSpy1, linkSpy2);
+		changeToModernSpies();
+		recordTypeHandlerSpy.MRV.setDefaultReturnValuesSupplier("isPublicForRead", () -> false);
+		LinkPlan linkPlan = LinkPlan.usingLinkNamesAndChildGroupPlans(Set.of("someLink"),
+				Collections.emptyMap());
+		dependencyProvider.MRV.setDefaultReturnValuesSupplier("getLinkPlan", () -> linkPlan);
+
+		enhancer.enhanceIgnoringReadAccess(user, SOME_RECORD_TYPE, someDataRecordGroup,
+				dataRedactor);
+
+		recordStorage.MCR.assertNumberOfCallsToMethod("read", 1);
+		assertLinkOnlyHasReadAction(linkSpy1);
+		assertLinkHasNoAction(linkSpy2);
+		linkSpy2.MCR.assertMethodNotCalled("getLinkedRecordId");
 	}
 
 	private void assertTwoLinksConatainReadActionOnly(DataRecordSpy recordToEnhance) {
@@ -2209,18 +2432,135 @@ public class DataGroupToRecordEnhancerTest {
 	}
 
 	@Test
-	public void testCallCheckUserIsAuthorizedForPermissionUnits_IfPermissionUnitsAndVisibilityAreUsedInRecordType() {
+	public void testCallGetUserIsAuthorizedForPermissionUnits_IfPermissionUnitsAndVisibilityAreUsedInRecordType() {
 		changeToModernSpies();
 		setupRecordTypeToUsePermissionUnit();
 		setupRecordTypeToUseVisibility();
 		setupSomeDataRecordGroupToHaveVisibilityUnpublished();
 		setupSomeDataRecordGroupToHaveSomePermissionUnit();
+		setupAuthorizatorToReturnTrueForGetUserIsAuthorizedForPemissionUnit();
 
 		enhancer.enhance(user, DATA_WITH_LINKS, someDataRecordGroup, dataRedactor);
 
 		recordTypeHandlerSpy.MCR.assertMethodWasCalled("usePermissionUnit");
-		authorizator.MCR.assertParameters("checkUserIsAuthorizedForPemissionUnit", 0, user,
+		authorizator.MCR.assertParameters("getUserIsAuthorizedForPemissionUnit", 0, user,
 				SOME_PERMISSION_UNIT);
+		authorizator.MCR.assertMethodNotCalled("checkUserIsAuthorizedForPemissionUnit");
+	}
+
+	@Test(expectedExceptions = AuthorizationException.class, expectedExceptionsMessageRegExp = ""
+			+ "User 987654321 is not authorized for permssionUnit: somePermissionUnit.")
+	public void testNotAuthorizedForPermissionUnit_IfPermissionUnitsAndVisibilityAreUsedInRecordType() {
+		changeToModernSpies();
+		setupRecordTypeToUsePermissionUnit();
+		setupRecordTypeToUseVisibility();
+		setupSomeDataRecordGroupToHaveVisibilityUnpublished();
+		setupSomeDataRecordGroupToHaveSomePermissionUnit();
+		setupAuthorizatorToReturnFalseForGetUserIsAuthorizedForPemissionUnit();
+		authorizator.MRV.setThrowException("checkUserIsAuthorizedForPemissionUnit",
+				new AuthorizationException(
+						"User 987654321 is not authorized for permssionUnit: somePermissionUnit."),
+				user, SOME_PERMISSION_UNIT);
+
+		enhancer.enhance(user, DATA_WITH_LINKS, someDataRecordGroup, dataRedactor);
+	}
+
+	@Test(expectedExceptions = AuthorizationException.class, expectedExceptionsMessageRegExp = ""
+			+ "user with id 987654321 is not authorized to read a record of type: dataWithLinks")
+	public void testAuthorizedForPermissionUnitButNotForRead_IfPermissionUnitsAndVisibilityAreUsedInRecordType() {
+		changeToModernSpies();
+		setupRecordTypeToUsePermissionUnit();
+		setupRecordTypeToUseVisibility();
+		setupSomeDataRecordGroupToHaveVisibilityUnpublished();
+		setupSomeDataRecordGroupToHaveSomePermissionUnit();
+		setupAuthorizatorToReturnTrueForGetUserIsAuthorizedForPemissionUnit();
+		authorizator.MRV.setDefaultReturnValuesSupplier(GET_ACTIONS_FOR_COLLECTED_DATA,
+				() -> new AuthorizedActions(Collections.emptySet(), Collections.emptyMap()));
+
+		enhancer.enhance(user, DATA_WITH_LINKS, someDataRecordGroup, dataRedactor);
+	}
+
+	@Test
+	public void testEnhanceIfUserHasReadAccess_NotAuthorizedForPermissionUnit() {
+		changeToModernSpies();
+		setupRecordTypeToUsePermissionUnit();
+		setupRecordTypeToUseVisibility();
+		setupSomeDataRecordGroupToHaveVisibilityUnpublished();
+		setupSomeDataRecordGroupToHaveSomePermissionUnit();
+		setupAuthorizatorToReturnFalseForGetUserIsAuthorizedForPemissionUnit();
+
+		Optional<DataRecord> enhancedRecord = enhancer.enhanceIfUserHasReadAccess(user,
+				DATA_WITH_LINKS, someDataRecordGroup, dataRedactor);
+
+		assertTrue(enhancedRecord.isEmpty());
+		authorizator.MCR.assertMethodNotCalled(GET_ACTIONS_FOR_COLLECTED_DATA);
+		dataRedactor.MCR.assertMethodNotCalled("removeChildrenForConstraintsWithoutPermissions");
+	}
+
+	@Test
+	public void testEnhanceIfUserHasReadAccess_NotAuthorizedForRead() {
+		changeToModernSpies();
+		authorizator.MRV.setDefaultReturnValuesSupplier(GET_ACTIONS_FOR_COLLECTED_DATA,
+				() -> new AuthorizedActions(Collections.emptySet(), Collections.emptyMap()));
+
+		Optional<DataRecord> enhancedRecord = enhancer.enhanceIfUserHasReadAccess(user,
+				DATA_WITH_LINKS, someDataRecordGroup, dataRedactor);
+
+		assertTrue(enhancedRecord.isEmpty());
+		authorizator.MCR.assertNumberOfCallsToMethod(GET_ACTIONS_FOR_COLLECTED_DATA, 1);
+		dataRedactor.MCR.assertMethodNotCalled("removeChildrenForConstraintsWithoutPermissions");
+	}
+
+	@Test
+	public void testEnhanceIfUserHasReadAccess_Authorized() {
+		changeToModernSpies();
+
+		Optional<DataRecord> enhancedRecord = enhancer.enhanceIfUserHasReadAccess(user,
+				DATA_WITH_LINKS, someDataRecordGroup, dataRedactor);
+
+		DataRecordSpy dataRecord = (DataRecordSpy) enhancedRecord.get();
+		dataRecord.MCR.assertCalledParameters("addAction", Action.READ);
+	}
+
+	@Test
+	public void testRecordsWithEquivalentPermissionTermsAreAuthorizedOnce() {
+		changeToModernSpies();
+		setupCollectedPermissionTerms(new PermissionTerm("id1", "value1", "KEY_A"),
+				new PermissionTerm("id2", "value2", "KEY_B"));
+		enhancer.enhanceIfUserHasReadAccess(user, DATA_WITH_LINKS, someDataRecordGroup,
+				dataRedactor);
+
+		setupCollectedPermissionTerms(new PermissionTerm("id3", "value2", "KEY_B"),
+				new PermissionTerm("id4", "value1", "KEY_A"),
+				new PermissionTerm("id5", "value1", "KEY_A"));
+		enhancer.enhanceIfUserHasReadAccess(user, DATA_WITH_LINKS, someDataRecordGroup,
+				dataRedactor);
+
+		authorizator.MCR.assertNumberOfCallsToMethod(GET_ACTIONS_FOR_COLLECTED_DATA, 1);
+		dataRedactor.MCR.assertNumberOfCallsToMethod(
+				"removeChildrenForConstraintsWithoutPermissions", 2);
+	}
+
+	private void setupCollectedPermissionTerms(PermissionTerm... permissionTerms) {
+		termCollector.MRV.setDefaultReturnValuesSupplier("collectTerms", () -> {
+			CollectTerms collectTerms = new CollectTerms();
+			collectTerms.permissionTerms = List.of(permissionTerms);
+			return collectTerms;
+		});
+	}
+
+	@Test
+	public void testRecordsWithDifferentPermissionTermsAreAuthorizedSeparately() {
+		changeToModernSpies();
+		setupCollectedPermissionTerms(new PermissionTerm("id1", "value1", "KEY_A"));
+		enhancer.enhanceIfUserHasReadAccess(user, DATA_WITH_LINKS, someDataRecordGroup,
+				dataRedactor);
+
+		setupCollectedPermissionTerms(new PermissionTerm("id1", "otherValue", "KEY_A"));
+		enhancer.enhanceIfUserHasReadAccess(user, DATA_WITH_LINKS, someDataRecordGroup,
+				dataRedactor);
+
+		authorizator.MCR.assertNumberOfCallsToMethod(GET_ACTIONS_FOR_COLLECTED_DATA, 2);
 	}
 
 	@Test(expectedExceptions = DataException.class, expectedExceptionsMessageRegExp = ""
@@ -2292,9 +2632,8 @@ public class DataGroupToRecordEnhancerTest {
 		setupRecordTypeToUseVisibility();
 		setupSomeDataRecordGroupToHaveVisibilityPublished();
 
-		authorizator.MRV.setAlwaysThrowException(
-				"checkGetUsersMatchedRecordPartPermissionsForActionOnRecordTypeAndCollectedData",
-				new RuntimeException("someException"));
+		authorizator.MRV.setDefaultReturnValuesSupplier(GET_ACTIONS_FOR_COLLECTED_DATA,
+				() -> new AuthorizedActions(Collections.emptySet(), Collections.emptyMap()));
 
 		DataRecordSpy enhancedRecord = (DataRecordSpy) enhancer.enhance(user, DATA_WITH_LINKS,
 				someDataRecordGroup, dataRedactor);
@@ -2306,23 +2645,90 @@ public class DataGroupToRecordEnhancerTest {
 		assertUsePermissionUnitOnlyCalledFromAddActions();
 	}
 
+	@Test
+	public void testTypesUsesVisibilityAndRecordIsPublishedAuthorizationExceptionGivesNoReadPermissions() {
+		changeToModernSpies();
+		setupRecordTypeToUseVisibility();
+		setupSomeDataRecordGroupToHaveVisibilityPublished();
+		throwAuthorizationExceptionOnFirstCallToGetActions();
+
+		DataRecordSpy enhancedRecord = (DataRecordSpy) enhancer.enhance(user, DATA_WITH_LINKS,
+				someDataRecordGroup, dataRedactor);
+
+		enhancedRecord.MCR.assertParameterAsEqual("addReadPermissions", 0, "readPermissions",
+				Collections.emptySet());
+		enhancedRecord.MCR.assertCalledParameters("addAction", Action.READ);
+	}
+
+	private void throwAuthorizationExceptionOnFirstCallToGetActions() {
+		AtomicInteger calls = new AtomicInteger();
+		authorizator.MRV.setDefaultReturnValuesSupplier(GET_ACTIONS_FOR_COLLECTED_DATA, () -> {
+			if (calls.getAndIncrement() == 0) {
+				throw new AuthorizationException("fromSpy");
+			}
+			return new AuthorizedActions(Collections.emptySet(), Collections.emptyMap());
+		});
+	}
+
+	@Test
+	public void testEnhanceIgnoringReadAccess_AuthorizationExceptionGivesNoReadActionOrPermissions() {
+		changeToModernSpies();
+		recordTypeHandlerSpy.MRV.setDefaultReturnValuesSupplier("isPublicForRead", () -> false);
+		throwAuthorizationExceptionOnFirstCallToGetActions();
+
+		DataRecordSpy enhancedRecord = (DataRecordSpy) enhancer.enhanceIgnoringReadAccess(user,
+				DATA_WITH_LINKS, someDataRecordGroup, dataRedactor);
+
+		enhancedRecord.MCR.assertParameterAsEqual("addReadPermissions", 0, "readPermissions",
+				Collections.emptySet());
+		enhancedRecord.MCR.assertMethodNotCalled("addAction");
+	}
+
+	@Test
+	public void testEnhanceIgnoringReadAccess_OtherExceptionGivesNoReadActionOrPermissions() {
+		changeToModernSpies();
+		recordTypeHandlerSpy.MRV.setDefaultReturnValuesSupplier("isPublicForRead", () -> false);
+		AtomicInteger calls = new AtomicInteger();
+		authorizator.MRV.setDefaultReturnValuesSupplier(GET_ACTIONS_FOR_COLLECTED_DATA, () -> {
+			if (calls.getAndIncrement() == 0) {
+				throw new RuntimeException("fromSpy");
+			}
+			return new AuthorizedActions(Collections.emptySet(), Collections.emptyMap());
+		});
+
+		DataRecordSpy enhancedRecord = (DataRecordSpy) enhancer.enhanceIgnoringReadAccess(user,
+				DATA_WITH_LINKS, someDataRecordGroup, dataRedactor);
+
+		enhancedRecord.MCR.assertParameterAsEqual("addReadPermissions", 0, "readPermissions",
+				Collections.emptySet());
+		enhancedRecord.MCR.assertMethodNotCalled("addAction");
+	}
+
 	private void assertCheckAuthorizedWhenRecordIsPublishedButNotAuthorized(
 			DataRecordSpy enhancedRecord) {
+		assertAuthorizedActionsCalledForDataWithLinks();
+		enhancedRecord.MCR.assertParameterAsEqual("addReadPermissions", 0, "readPermissions",
+				Collections.emptySet());
+	}
+
+	private AuthorizedActions assertAuthorizedActionsCalledForDataWithLinks() {
 		var permissionTerms = getAssertedCollectedPermissionTermsForRecordType(DATA_WITH_LINKS,
 				someDataRecordGroup);
-		authorizator.MCR.assertCalledParameters(
-				"checkGetUsersMatchedRecordPartPermissionsForActionOnRecordTypeAndCollectedData",
-				user, READ, DATA_WITH_LINKS, permissionTerms, true);
-		enhancedRecord.MCR.assertParameters("addReadPermissions", 0, Collections.emptySet());
+		authorizator.MCR.assertParameter(GET_ACTIONS_FOR_COLLECTED_DATA, 0, "user", user);
+		authorizator.MCR.assertParameterAsEqual(GET_ACTIONS_FOR_COLLECTED_DATA, 0, "actions",
+				RECORD_ACTIONS);
+		authorizator.MCR.assertParameter(GET_ACTIONS_FOR_COLLECTED_DATA, 0, "recordType",
+				DATA_WITH_LINKS);
+		authorizator.MCR.assertParameter(GET_ACTIONS_FOR_COLLECTED_DATA, 0, "permissionTerms",
+				permissionTerms);
+		return (AuthorizedActions) authorizator.MCR.getReturnValue(GET_ACTIONS_FOR_COLLECTED_DATA,
+				0);
 	}
 
 	private void assertCheckAuthorized(DataRecordSpy enhancedRecord) {
-		var permissionTerms = getAssertedCollectedPermissionTermsForRecordType(DATA_WITH_LINKS,
-				someDataRecordGroup);
-		var readRecordPartPermissions = authorizator.MCR.assertCalledParametersReturn(
-				"checkGetUsersMatchedRecordPartPermissionsForActionOnRecordTypeAndCollectedData",
-				user, READ, DATA_WITH_LINKS, permissionTerms, true);
-		enhancedRecord.MCR.assertParameters("addReadPermissions", 0, readRecordPartPermissions);
+		AuthorizedActions authorizedActions = assertAuthorizedActionsCalledForDataWithLinks();
+		enhancedRecord.MCR.assertParameterAsEqual("addReadPermissions", 0, "readPermissions",
+				authorizedActions.getRecordPartPermissionsForAction(READ));
 	}
 
 	@Test
@@ -2334,10 +2740,70 @@ public class DataGroupToRecordEnhancerTest {
 				DATA_WITH_LINKS, someDataRecordGroup, dataRedactor);
 
 		onlyForTestEnhancer.MCR.assertParameters(
-				"ensureReadAccessAndReturnReadRecordPartPermission", 0, someDataRecordGroup);
-		var readRecordPartPermissions = onlyForTestEnhancer.MCR
-				.getReturnValue("ensureReadAccessAndReturnReadRecordPartPermission", 0);
-		enhancedRecord.MCR.assertParameters("addReadPermissions", 0, readRecordPartPermissions);
+				"getReadRecordPartPermissionsIfUserHasReadAccess", 0, someDataRecordGroup);
+		var readRecordPartPermissions = (Optional<?>) onlyForTestEnhancer.MCR
+				.getReturnValue("getReadRecordPartPermissionsIfUserHasReadAccess", 0);
+		enhancedRecord.MCR.assertParameters("addReadPermissions", 0,
+				readRecordPartPermissions.get());
+	}
+
+	@Test
+	public void testEnhanceLeanRedactsAndAddsNoActionsPermissionsOrLinkActions() {
+		DataRecordLinkSpy linkSpy1 = createRecordLinkSpyUsingId("linkedSearchId1");
+		DataRecordLinkSpy linkSpy2 = createRecordLinkSpyUsingId("linkedSearchId2");
+		setupReturnedDataGroupOnDataRedactorSpy(linkSpy1, linkSpy2);
+		changeToModernSpies();
+
+		DataRecordSpy leanRecord = (DataRecordSpy) enhancer.enhanceLean(user, DATA_WITH_LINKS,
+				someDataRecordGroup, dataRedactor);
+
+		var redactedDataGroup = dataRedactor.MCR
+				.getReturnValue("removeChildrenForConstraintsWithoutPermissions", 0);
+		dataFactorySpy.MCR.assertReturn("factorRecordUsingDataRecordGroup", 0, leanRecord);
+		dataFactorySpy.MCR.assertParameters("factorRecordUsingDataRecordGroup", 0,
+				redactedDataGroup);
+		leanRecord.MCR.assertMethodNotCalled("addAction");
+		leanRecord.MCR.assertMethodNotCalled("addReadPermissions");
+		leanRecord.MCR.assertMethodNotCalled("addWritePermissions");
+		assertLinkHasNoAction(linkSpy1);
+		assertLinkHasNoAction(linkSpy2);
+		recordStorage.MCR.assertMethodNotCalled("read");
+		recordStorage.MCR.assertMethodNotCalled("linksExistForRecord");
+	}
+
+	@Test(expectedExceptions = AuthorizationException.class, expectedExceptionsMessageRegExp = ""
+			+ "user with id 987654321 is not authorized to read a record of type: dataWithLinks")
+	public void testEnhanceLeanNotAuthorizedForRead() {
+		changeToModernSpies();
+		authorizator.MRV.setDefaultReturnValuesSupplier(GET_ACTIONS_FOR_COLLECTED_DATA,
+				() -> new AuthorizedActions(Collections.emptySet(), Collections.emptyMap()));
+
+		enhancer.enhanceLean(user, DATA_WITH_LINKS, someDataRecordGroup, dataRedactor);
+	}
+
+	@Test
+	public void testEnhanceLeanIfUserHasReadAccess_NotAuthorizedForRead() {
+		changeToModernSpies();
+		authorizator.MRV.setDefaultReturnValuesSupplier(GET_ACTIONS_FOR_COLLECTED_DATA,
+				() -> new AuthorizedActions(Collections.emptySet(), Collections.emptyMap()));
+
+		Optional<DataRecord> leanRecord = enhancer.enhanceLeanIfUserHasReadAccess(user,
+				DATA_WITH_LINKS, someDataRecordGroup, dataRedactor);
+
+		assertTrue(leanRecord.isEmpty());
+		dataRedactor.MCR.assertMethodNotCalled("removeChildrenForConstraintsWithoutPermissions");
+	}
+
+	@Test
+	public void testEnhanceLeanIfUserHasReadAccess_Authorized() {
+		changeToModernSpies();
+
+		Optional<DataRecord> leanRecord = enhancer.enhanceLeanIfUserHasReadAccess(user,
+				DATA_WITH_LINKS, someDataRecordGroup, dataRedactor);
+
+		DataRecordSpy dataRecord = (DataRecordSpy) leanRecord.get();
+		dataRecord.MCR.assertMethodNotCalled("addAction");
+		dataRedactor.MCR.assertMethodWasCalled("removeChildrenForConstraintsWithoutPermissions");
 	}
 
 	class OnlyForTestDataGroupToRecordEnhancerImp extends DataGroupToRecordEnhancerImp {
@@ -2348,15 +2814,16 @@ public class DataGroupToRecordEnhancerTest {
 				SpiderDependencyProvider dependencyProvider) {
 			super(dependencyProvider);
 			MCR.useMRV(MRV);
-			MRV.setDefaultReturnValuesSupplier("ensureReadAccessAndReturnReadRecordPartPermission",
-					Collections::emptySet);
+			MRV.setDefaultReturnValuesSupplier("getReadRecordPartPermissionsIfUserHasReadAccess",
+					() -> Optional.of(Collections.emptySet()));
 		}
 
 		@SuppressWarnings("unchecked")
 		@Override
-		Set<String> ensureReadAccessAndReturnReadRecordPartPermission(
-				DataRecordGroup dataRecordGroup) {
-			return (Set<String>) MCR.addCallAndReturnFromMRV("dataRecordGroup", dataRecordGroup);
+		Optional<Set<String>> getReadRecordPartPermissionsIfUserHasReadAccess(
+				EnhanceContext context, DataRecordGroup dataRecordGroup) {
+			return (Optional<Set<String>>) MCR.addCallAndReturnFromMRV("dataRecordGroup",
+					dataRecordGroup);
 		}
 	}
 }
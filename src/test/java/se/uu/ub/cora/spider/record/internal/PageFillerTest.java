@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.record.internal;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.data.DataRecord;
+import se.uu.ub.cora.data.DataRecordGroup;
+import se.uu.ub.cora.data.spies.DataRecordGroupSpy;
+import se.uu.ub.cora.data.spies.DataRecordSpy;
+import se.uu.ub.cora.initialize.SettingsProvider;
+import se.uu.ub.cora.spider.record.internal.PageFiller.FilledPage;
+
+public class PageFillerTest {
+	private long totalNumberOfMatches;
+	private Set<Long> notReadablePositions;
+	private List<String> readFromTo;
+	private List<String> enhancedIds;
+	private PageFiller pageFiller;
+
+	@BeforeMethod
+	private void beforeMethod() {
+		SettingsProvider.setSettings(new HashMap<>());
+		totalNumberOfMatches = 10;
+		notReadablePositions = Set.of();
+		readFromTo = new ArrayList<>();
+		enhancedIds = new ArrayList<>();
+		pageFiller = PageFiller.usingChunkReaderAndEnhancer(this::readChunk, this::enhance);
+	}
+
+	@AfterMethod
+	private void afterMethod() {
+		SettingsProvider.setSettings(new HashMap<>());
+	}
+
+	private List<DataRecordGroup> readChunk(long fromNo, long toNo) {
+		readFromTo.add(fromNo + "-" + toNo);
+		return createRecordGroupsForPositions(fromNo, Math.min(toNo, totalNumberOfMatches));
+	}
+
+	private List<DataRecordGroup> createRecordGroupsForPositions(long fromNo, long toNo) {
+		List<DataRecordGroup> recordGroups = new ArrayList<>();
+		for (long position = fromNo; position <= toNo; position++) {
+			DataRecordGroupSpy recordGroup = new DataRecordGroupSpy();
+			String id = String.valueOf(position);
+			recordGroup.MRV.setDefaultReturnValuesSupplier("getId", () -> id);
+			recordGroups.add(recordGroup);
+		}
+		return recordGroups;
+	}
+
+	private List<DataRecord> enhance(List<DataRecordGroup> recordGroups) {
+		List<DataRecord> records = new ArrayList<>();
+		for (DataRecordGroup recordGroup : recordGroups) {
+			String id = recordGroup.getId();
+			if (!notReadablePositions.contains(Long.valueOf(id))) {
+				enhancedIds.add(id);
+				records.add(new DataRecordSpy());
+			}
+		}
+		return records;
+	}
+
+	@Test
+	public void testPageIsNotFilledWhenNumberRequestedIsZero() {
+		notReadablePositions = Set.of(2L);
+
+		FilledPage page = pageFiller.fillPage(createRecordGroupsForPositions(1, 3), 1, 0,
+				totalNumberOfMatches);
+
+		assertEquals(page.records().size(), 2);
+		assertEquals(page.numberOfPositionsRead(), 3);
+		assertEquals(readFromTo, List.of());
+	}
+
+	@Test
+	public void testFullPageIsNotFilled() {
+		FilledPage page = pageFiller.fillPage(createRecordGroupsForPositions(1, 3), 1, 3,
+				totalNumberOfMatches);
+
+		assertEquals(page.records().size(), 3);
+		assertEquals(page.numberOfPositionsRead(), 3);
+		assertEquals(readFromTo, List.of());
+	}
+
+	@Test
+	public void testPageIsFilledWithMissingNumberOfRecordsFromFollowingPositions() {
+		notReadablePositions = Set.of(2L, 3L);
+
+		FilledPage page = pageFiller.fillPage(createRecordGroupsForPositions(1, 3), 1, 3,
+				totalNumberOfMatches);
+
+		assertEquals(readFromTo, List.of("4-5"));
+		assertEquals(enhancedIds, List.of("1", "4", "5"));
+		assertEquals(page.records().size(), 3);
+		assertEquals(page.numberOfPositionsRead(), 5);
+	}
+
+	@Test
+	public void testPageIsFilledUsingSeveralReads() {
+		notReadablePositions = Set.of(4L, 5L, 7L);
+
+		FilledPage page = pageFiller.fillPage(createRecordGroupsForPositions(3, 5), 3, 3,
+				totalNumberOfMatches);
+
+		assertEquals(readFromTo, List.of("6-7", "8-8"));
+		assertEquals(enhancedIds, List.of("3", "6", "8"));
+		assertEquals(page.numberOfPositionsRead(), 6);
+	}
+
+	@Test
+	public void testPageIsNotFilledAfterLastMatch() {
+		totalNumberOfMatches = 4;
+		notReadablePositions = Set.of(2L, 3L, 4L);
+
+		FilledPage page = pageFiller.fillPage(createRecordGroupsForPositions(1, 3), 1, 3,
+				totalNumberOfMatches);
+
+		assertEquals(readFromTo, List.of("4-5"));
+		assertEquals(page.records().size(), 1);
+		assertEquals(page.numberOfPositionsRead(), 4);
+	}
+
+	@Test
+	public void testPageIsNotFilledWhenSourceReturnsNoRecords() {
+		FilledPage page = pageFiller.fillPage(List.of(), 1, 3, totalNumberOfMatches);
+
+		assertEquals(readFromTo, List.of());
+		assertEquals(page.numberOfPositionsRead(), 0);
+	}
+
+	@Test
+	public void testFillingStopsWhenReadBudgetIsUsedUp() {
+		SettingsProvider.setSettings(Map.of("pageFillReadBudget", "2"));
+		pageFiller = PageFiller.usingChunkReaderAndEnhancer(this::readChunk, this::enhance);
+		notReadablePositions = Set.of(2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+
+		FilledPage page = pageFiller.fillPage(createRecordGroupsForPositions(1, 3), 1, 3,
+				totalNumberOfMatches);
+
+		assertEquals(readFromTo, List.of("4-5", "6-7"));
+		assertEquals(page.records().size(), 1);
+		assertEquals(page.numberOfPositionsRead(), 7);
+	}
+
+	@Test
+	public void testDefaultReadBudget() {
+		assertEquals(PageFiller.readReadBudgetFromSettings(), 3);
+	}
+
+	@Test
+	public void testReadBudgetFromSettings() {
+		SettingsProvider.setSettings(Map.of("pageFillReadBudget", "5"));
+
+		assertEquals(PageFiller.readReadBudgetFromSettings(), 5);
+	}
+
+	@Test
+	public void testNegativeReadBudgetTurnsOffFilling() {
+		SettingsProvider.setSettings(Map.of("pageFillReadBudget", "-1"));
+
+		assertEquals(PageFiller.readReadBudgetFromSettings(), 0);
+	}
+
+	@Test
+	public void testReadBudgetThatIsNotANumberGivesDefault() {
+		SettingsProvider.setSettings(Map.of("pageFillReadBudget", "notANumber"));
+
+		assertEquals(PageFiller.readReadBudgetFromSettings(), 3);
+	}
+}
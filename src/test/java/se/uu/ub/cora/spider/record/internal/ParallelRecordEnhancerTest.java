@@ -0,0 +1,298 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.record.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.beefeater.authentication.User;
+import se.uu.ub.cora.data.DataRecord;
+import se.uu.ub.cora.data.DataRecordGroup;
+import se.uu.ub.cora.data.spies.DataRecordGroupSpy;
+import se.uu.ub.cora.initialize.SettingsProvider;
+import se.uu.ub.cora.spider.record.DataGroupToRecordEnhancerSpy;
+import se.uu.ub.cora.spider.spy.SpiderDependencyProviderSpy;
+
+public class ParallelRecordEnhancerTest {
+	private SpiderDependencyProviderSpy dependencyProvider;
+	private List<DataGroupToRecordEnhancerSpy> enhancers;
+	private User user;
+
+	@BeforeMethod
+	private void beforeMethod() {
+		SettingsProvider.setSettings(new HashMap<>());
+		dependencyProvider = new SpiderDependencyProviderSpy();
+		enhancers = List.of(new DataGroupToRecordEnhancerSpy(), new DataGroupToRecordEnhancerSpy(),
+				new DataGroupToRecordEnhancerSpy());
+		Iterator<DataGroupToRecordEnhancerSpy> enhancerIterator = enhancers.iterator();
+		dependencyProvider.MRV.setDefaultReturnValuesSupplier("getDataGroupToRecordEnhancer",
+				enhancerIterator::next);
+		user = new User("someUserId");
+	}
+
+	@AfterMethod
+	private void afterMethod() {
+		SettingsProvider.setSettings(new HashMap<>());
+	}
+
+	@Test
+	public void testMaxConcurrencyIsOneWhenSettingIsMissing() {
+		assertEquals(ParallelRecordEnhancer.readMaxConcurrencyFromSettings(), 1);
+	}
+
+	@Test
+	public void testMaxConcurrencyIsReadFromSettings() {
+		setMaxConcurrencySetting("4");
+
+		assertEquals(ParallelRecordEnhancer.readMaxConcurrencyFromSettings(), 4);
+	}
+
+	private void setMaxConcurrencySetting(String value) {
+		Map<String, String> settings = new HashMap<>();
+		settings.put("parallelEnhancementMaxConcurrency", value);
+		SettingsProvider.setSettings(settings);
+	}
+
+	@Test
+	public void testMaxConcurrencyIsOneWhenSettingIsLessThanOne() {
+		setMaxConcurrencySetting("0");
+
+		assertEquals(ParallelRecordEnhancer.readMaxConcurrencyFromSettings(), 1);
+	}
+
+	@Test
+	public void testMaxConcurrencyIsOneWhenSettingIsNotANumber() {
+		setMaxConcurrencySetting("notANumber");
+
+		assertEquals(ParallelRecordEnhancer.readMaxConcurrencyFromSettings(), 1);
+	}
+
+	@Test
+	public void testRecordsAreSplitIntoPartsWithOwnEnhancerAndRedactor() {
+		List<DataRecordGroup> records = createRecords(5);
+
+		createParallelEnhancer(2).enhanceIfUserHasReadAccess(user, records);
+
+		dependencyProvider.MCR.assertNumberOfCallsToMethod("getDataGroupToRecordEnhancer", 2);
+		dependencyProvider.MCR.assertNumberOfCallsToMethod("getDataRedactor", 2);
+		assertEquals(enhancers.get(0).enhancedDataGroups, records.subList(0, 3));
+		assertEquals(enhancers.get(1).enhancedDataGroups, records.subList(3, 5));
+		assertPartUsesRedactor(enhancers.get(0), 0);
+		assertPartUsesRedactor(enhancers.get(1), 1);
+	}
+
+	private List<DataRecordGroup> createRecords(int numberOfRecords) {
+		List<DataRecordGroup> records = new ArrayList<>();
+		for (int i = 0; i < numberOfRecords; i++) {
+			DataRecordGroupSpy dataRecordGroup = new DataRecordGroupSpy();
+			dataRecordGroup.MRV.setDefaultReturnValuesSupplier("getType", () -> "someType");
+			records.add(dataRecordGroup);
+		}
+		return records;
+	}
+
+	private ParallelRecordEnhancer createParallelEnhancer(int maxConcurrency) {
+		return createParallelEnhancerWithBeforeEnhance(maxConcurrency, dataRecordGroup -> {
+		});
+	}
+
+	private ParallelRecordEnhancer createParallelEnhancerWithBeforeEnhance(int maxConcurrency,
+			Consumer<DataRecordGroup> beforeEnhance) {
+		return ParallelRecordEnhancer.usingDependencyProviderMaxConcurrencyAndBeforeEnhance(
+				dependencyProvider, maxConcurrency, beforeEnhance);
+	}
+
+	private void assertPartUsesRedactor(DataGroupToRecordEnhancerSpy enhancer, int callNumber) {
+		var dataRedactor = dependencyProvider.MCR.getReturnValue("getDataRedactor", callNumber);
+		enhancer.MCR.assertParameter("enhanceIfUserHasReadAccess", 0, "dataRedactor",
+				dataRedactor);
+		enhancer.MCR.assertParameter("enhanceIfUserHasReadAccess", 0, "user", user);
+		enhancer.MCR.assertParameter("enhanceIfUserHasReadAccess", 0, "recordType", "someType");
+	}
+
+	@Test
+	public void testIncomingLinksArePrefetchedPerPart() {
+		List<DataRecordGroup> records = createRecords(4);
+
+		createParallelEnhancer(2).enhanceIfUserHasReadAccess(user, records);
+
+		enhancers.get(0).MCR.assertParameterAsEqual("prefetchIncomingLinksForRecords", 0,
+				"dataRecordGroups", records.subList(0, 2));
+		enhancers.get(1).MCR.assertParameterAsEqual("prefetchIncomingLinksForRecords", 0,
+				"dataRecordGroups", records.subList(2, 4));
+	}
+
+	@Test
+	public void testBeforeEnhanceIsCalledRightBeforeEachRecordIsEnhanced() {
+		List<DataRecordGroup> records = createRecords(5);
+		Map<DataRecordGroup, List<DataRecordGroup>> enhancedBeforeCall = new ConcurrentHashMap<>();
+
+		createParallelEnhancerWithBeforeEnhance(2,
+				record -> enhancedBeforeCall.put(record,
+						List.copyOf(getEnhancerForRecord(records, record).enhancedDataGroups)))
+				.enhanceIfUserHasReadAccess(user, records);
+
+		assertEquals(enhancedBeforeCall.get(records.get(0)), Collections.emptyList());
+		assertEquals(enhancedBeforeCall.get(records.get(1)), records.subList(0, 1));
+		assertEquals(enhancedBeforeCall.get(records.get(2)), records.subList(0, 2));
+		assertEquals(enhancedBeforeCall.get(records.get(3)), Collections.emptyList());
+		assertEquals(enhancedBeforeCall.get(records.get(4)), records.subList(3, 4));
+	}
+
+	private DataGroupToRecordEnhancerSpy getEnhancerForRecord(List<DataRecordGroup> records,
+			DataRecordGroup record) {
+		int recordsInFirstPart = 3;
+		int enhancerNo = records.indexOf(record) < recordsInFirstPart ? 0 : 1;
+		return enhancers.get(enhancerNo);
+	}
+
+	@Test
+	public void testBeforeEnhanceIsCalledRightBeforeEachLeanRecordIsEnhanced() {
+		List<DataRecordGroup> records = createRecords(5);
+		Map<DataRecordGroup, List<DataRecordGroup>> enhancedBeforeCall = new ConcurrentHashMap<>();
+
+		createParallelEnhancerWithBeforeEnhance(2,
+				record -> enhancedBeforeCall.put(record,
+						List.copyOf(getEnhancerForRecord(records, record).enhancedDataGroups)))
+				.enhanceLeanIfUserHasReadAccess(user, records);
+
+		assertEquals(enhancedBeforeCall.size(), 5);
+		assertEquals(enhancedBeforeCall.get(records.get(2)), records.subList(0, 2));
+		assertEquals(enhancedBeforeCall.get(records.get(4)), records.subList(3, 4));
+	}
+
+	@Test
+	public void testBeforeEnhanceIsNotCalledAtTheSameTimeFromSeveralParts() {
+		List<DataRecordGroup> records = createRecords(6);
+		List<Integer> callsInProgress = new ArrayList<>();
+		int[] current = { 0 };
+
+		createParallelEnhancerWithBeforeEnhance(3, record -> {
+			current[0]++;
+			callsInProgress.add(current[0]);
+			Thread.yield();
+			current[0]--;
+		}).enhanceIfUserHasReadAccess(user, records);
+
+		assertEquals(callsInProgress, List.of(1, 1, 1, 1, 1, 1));
+	}
+
+	@Test
+	public void testNoMorePartsThanRecords() {
+		createParallelEnhancer(8).enhanceIfUserHasReadAccess(user, createRecords(3));
+
+		dependencyProvider.MCR.assertNumberOfCallsToMethod("getDataGroupToRecordEnhancer", 3);
+	}
+
+	@Test
+	public void testEnhancedRecordsAreReturnedInOrder() {
+		List<DataRecord> enhancedRecords = createParallelEnhancer(3)
+				.enhanceIfUserHasReadAccess(user, createRecords(5));
+
+		assertEquals(enhancedRecords.size(), 5);
+		assertSame(enhancedRecords.get(0), getEnhancedRecord(0, 0));
+		assertSame(enhancedRecords.get(1), getEnhancedRecord(0, 1));
+		assertSame(enhancedRecords.get(2), getEnhancedRecord(1, 0));
+		assertSame(enhancedRecords.get(3), getEnhancedRecord(1, 1));
+		assertSame(enhancedRecords.get(4), getEnhancedRecord(2, 0));
+	}
+
+	private DataRecord getEnhancedRecord(int enhancerNo, int callNumber) {
+		@SuppressWarnings("unchecked")
+		Optional<DataRecord> enhancedRecord = (Optional<DataRecord>) enhancers.get(enhancerNo).MCR
+				.getReturnValue("enhanceIfUserHasReadAccess", callNumber);
+		return enhancedRecord.get();
+	}
+
+	@Test
+	public void testRecordsWithoutReadAccessAreLeftOut() {
+		enhancers.get(0).addReadAction = false;
+
+		List<DataRecord> enhancedRecords = createParallelEnhancer(2)
+				.enhanceIfUserHasReadAccess(user, createRecords(4));
+
+		assertEquals(enhancedRecords.size(), 2);
+		assertSame(enhancedRecords.get(0), getEnhancedRecord(1, 0));
+		assertSame(enhancedRecords.get(1), getEnhancedRecord(1, 1));
+	}
+
+	@Test
+	public void testExceptionFromEnhancementIsThrown() {
+		enhancers.get(1).throwOtherException = true;
+
+		try {
+			createParallelEnhancer(2).enhanceIfUserHasReadAccess(user, createRecords(4));
+			fail("An exception should have been thrown");
+		} catch (RuntimeException e) {
+			assertEquals(e.getClass(), RuntimeException.class);
+		}
+		enhancers.get(0).MCR.assertNumberOfCallsToMethod("enhanceIfUserHasReadAccess", 2);
+	}
+
+	@Test
+	public void testLeanRecordsAreEnhancedInPartsWithOwnEnhancerAndRedactor() {
+		List<DataRecordGroup> records = createRecords(5);
+
+		createParallelEnhancer(2).enhanceLeanIfUserHasReadAccess(user, records);
+
+		assertEquals(enhancers.get(0).enhancedDataGroups, records.subList(0, 3));
+		assertEquals(enhancers.get(1).enhancedDataGroups, records.subList(3, 5));
+		var dataRedactor = dependencyProvider.MCR.getReturnValue("getDataRedactor", 1);
+		enhancers.get(1).MCR.assertParameters("enhanceLeanIfUserHasReadAccess", 0, user,
+				"someType", records.get(3), dataRedactor);
+		enhancers.get(0).MCR.assertMethodNotCalled("enhanceIfUserHasReadAccess");
+	}
+
+	@Test
+	public void testIncomingLinksAreNotPrefetchedForLeanRecords() {
+		createParallelEnhancer(2).enhanceLeanIfUserHasReadAccess(user, createRecords(4));
+
+		enhancers.get(0).MCR.assertMethodNotCalled("prefetchIncomingLinksForRecords");
+		enhancers.get(1).MCR.assertMethodNotCalled("prefetchIncomingLinksForRecords");
+	}
+
+	@Test
+	public void testLeanRecordsWithoutReadAccessAreLeftOut() {
+		enhancers.get(0).addReadAction = false;
+
+		List<DataRecord> enhancedRecords = createParallelEnhancer(2)
+				.enhanceLeanIfUserHasReadAccess(user, createRecords(4));
+
+		assertEquals(enhancedRecords.size(), 2);
+		@SuppressWarnings("unchecked")
+		Optional<DataRecord> firstFromSecondPart = (Optional<DataRecord>) enhancers.get(1).MCR
+				.getReturnValue("enhanceLeanIfUserHasReadAccess", 0);
+		assertSame(enhancedRecords.get(0), firstFromSecondPart.get());
+	}
+}
@@ -56,6 +56,7 @@ import se.uu.ub.cora.spider.authorization.AuthorizationException;
 import se.uu.ub.cora.spider.dependency.spy.RecordTypeHandlerSpy;
 import se.uu.ub.cora.spider.extendedfunctionality.ExtendedFunctionalityData;
 import se.uu.ub.cora.spider.extendedfunctionality.ExtendedFunctionalityPosition;
+import se.uu.ub.cora.spider.extendedfunctionality.ExtendedFunctionalitySpy;
 import se.uu.ub.cora.spider.extendedfunctionality.internal.ExtendedFunctionalityProviderSpy;
 import se.uu.ub.cora.spider.log.LoggerFactorySpy;
 import se.uu.ub.cora.spider.record.ConflictException;
@@ -412,6 +413,37 @@ public class RecordCreatorTest {
 				RECORD_TYPE, recordWithoutId, dataRedactor);
 	}
 
+	@Test
+	public void testRecordEnhancerUsesCollectedTermsWhenNoExtendedFunctionalityIsUsedAfterCollect() {
+		extendedFunctionalityProvider.MRV.setDefaultReturnValuesSupplier(
+				"getFunctionalityForPositionAndRecordType", List::of);
+
+		recordCreator.createAndStoreRecord(AUTH_TOKEN, RECORD_TYPE, recordWithoutId);
+
+		termCollector.MCR.assertNumberOfCallsToMethod("collectTerms", 2);
+		var collectTerms = termCollector.MCR.getReturnValue("collectTerms", 1);
+		dataGroupToRecordEnhancer.MCR.assertParameters(
+				"enhanceIgnoringReadAccessUsingCollectedTerms", 0, getAuthenticatedUser(),
+				RECORD_TYPE, recordWithoutId, dataRedactor, collectTerms);
+		dataGroupToRecordEnhancer.MCR.assertMethodNotCalled("enhanceIgnoringReadAccess");
+	}
+
+	@Test
+	public void testRecordEnhancerCollectsTermsAgainWhenExtendedFunctionalityIsUsedAfterCollect() {
+		extendedFunctionalityProvider.MRV.setDefaultReturnValuesSupplier(
+				"getFunctionalityForPositionAndRecordType", List::of);
+		extendedFunctionalityProvider.MRV.setSpecificReturnValuesSupplier(
+				"getFunctionalityForPositionAndRecordType",
+				() -> List.of(new ExtendedFunctionalitySpy()), CREATE_BEFORE_ENHANCE, RECORD_TYPE);
+
+		recordCreator.createAndStoreRecord(AUTH_TOKEN, RECORD_TYPE, recordWithoutId);
+
+		dataGroupToRecordEnhancer.MCR.assertParameters("enhanceIgnoringReadAccess", 0,
+				getAuthenticatedUser(), RECORD_TYPE, recordWithoutId, dataRedactor);
+		dataGroupToRecordEnhancer.MCR
+				.assertMethodNotCalled("enhanceIgnoringReadAccessUsingCollectedTerms");
+	}
+
 	@Test(expectedExceptions = AuthenticationException.class, expectedExceptionsMessageRegExp = ""
 			+ "someMessage")
 	public void testGetActiveUserFails() {
@@ -23,7 +23,9 @@ import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -39,6 +41,7 @@ import se.uu.ub.cora.data.spies.DataRecordSpy;
 import se.uu.ub.cora.spider.dependency.SpiderInstanceProvider;
 import se.uu.ub.cora.spider.dependency.spy.DataDecoratorSpy;
 import se.uu.ub.cora.spider.dependency.spy.RecordTypeHandlerSpy;
+import se.uu.ub.cora.spider.linkplan.LinkPlan;
 import se.uu.ub.cora.spider.record.RecordDecorator;
 import se.uu.ub.cora.spider.spy.SpiderDependencyProviderSpy;
 import se.uu.ub.cora.spider.testspies.RecordReaderSpy;
@@ -154,6 +157,43 @@ public class RecordDecoratorTest {
 		assertNotLinkedRecordSetToLink(grandGrandChildRecord01);
 	}
 
+	@Test
+	public void testGroupsNotInLinkPlanAreNotVisited() {
+		inputRecord = new DataRecordSpy();
+		inputRecord.MRV.setDefaultReturnValuesSupplier("getType", () -> SOME_TYPE);
+		DataRecordGroupSpy dataRecordGroup = new DataRecordGroupSpy();
+		inputRecord.MRV.setDefaultReturnValuesSupplier("getDataRecordGroup",
+				() -> dataRecordGroup);
+		childRecord01 = createRecordToStorageAndReturnRelatedDataRecordAndDataRecordLinkUsingId(
+				"someChildId01");
+		childRecord02 = createRecordToStorageAndReturnRelatedDataRecordAndDataRecordLinkUsingId(
+				"someChildId02");
+		DataGroupSpy topGroup = createGroup();
+		DataGroupSpy groupWithLinks = createGroupWithNameInData("groupWithLinks");
+		DataGroupSpy groupWithoutLinks = createGroupWithNameInData("groupWithoutLinks");
+		setTopGroupToDataRecordGroup(dataRecordGroup, topGroup);
+		setTopGroupToDataRecordGroup(childRecord01.dataRecordGroup, createGroup());
+		setGroupAsChildAsGroup(topGroup, groupWithLinks, groupWithoutLinks);
+		addLinksToDataGroup(groupWithLinks, childRecord01.link);
+		addLinksToDataGroup(groupWithoutLinks, childRecord02.link);
+		LinkPlan linkPlan = LinkPlan.usingLinkNamesAndChildGroupPlans(Collections.emptySet(),
+				Map.of("groupWithLinks", LinkPlan.visitAll()));
+		dependencyProvider.MRV.setDefaultReturnValuesSupplier("getLinkPlan", () -> linkPlan);
+
+		recordDecorator.decorateRecord(inputRecord, SOME_AUTH_TOKEN);
+
+		dependencyProvider.MCR.assertParameters("getLinkPlan", 0, "someDefinitionId");
+		customRecordReader.MCR.assertNumberOfCallsToMethod("readRecord", 1);
+		assertRecordReadFromStorage(0, "someChildId01");
+		groupWithoutLinks.MCR.assertMethodNotCalled("getChildrenOfType");
+	}
+
+	private DataGroupSpy createGroupWithNameInData(String nameInData) {
+		DataGroupSpy dataGroupSpy = new DataGroupSpy();
+		dataGroupSpy.MRV.setDefaultReturnValuesSupplier("getNameInData", () -> nameInData);
+		return dataGroupSpy;
+	}
+
 	private void setChildLinkWithoutReadAction(DataRecordLinkSpy dataRecordLink) {
 		dataRecordLink.MRV.setDefaultReturnValuesSupplier("hasReadAction", () -> false);
 	}
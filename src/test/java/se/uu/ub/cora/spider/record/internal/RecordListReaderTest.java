@@ -26,8 +26,12 @@ import static se.uu.ub.cora.spider.extendedfunctionality.ExtendedFunctionalityPo
 import static se.uu.ub.cora.spider.extendedfunctionality.ExtendedFunctionalityPosition.READLIST_BEFORE_ENHANCE_SINGLE;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -43,11 +47,13 @@ import se.uu.ub.cora.data.spies.DataFactorySpy;
 import se.uu.ub.cora.data.spies.DataGroupSpy;
 import se.uu.ub.cora.data.spies.DataListSpy;
 import se.uu.ub.cora.data.spies.DataRecordGroupSpy;
+import se.uu.ub.cora.initialize.SettingsProvider;
 import se.uu.ub.cora.logger.LoggerProvider;
 import se.uu.ub.cora.spider.authentication.AuthenticationException;
 import se.uu.ub.cora.spider.authentication.OldAuthenticatorSpy;
 import se.uu.ub.cora.spider.authorization.AuthorizationException;
 import se.uu.ub.cora.spider.authorization.PermissionRuleCalculator;
+import se.uu.ub.cora.spider.data.DataGroupToFilter;
 import se.uu.ub.cora.spider.dependency.spy.DataGroupToFilterSpy;
 import se.uu.ub.cora.spider.dependency.spy.RecordTypeHandlerOldSpy;
 import se.uu.ub.cora.spider.extendedfunctionality.ExtendedFunctionalityData;
@@ -60,6 +66,7 @@ import se.uu.ub.cora.spider.record.RecordListReader;
 import se.uu.ub.cora.spider.spy.DataValidatorSpy;
 import se.uu.ub.cora.spider.spy.RuleCalculatorSpy;
 import se.uu.ub.cora.spider.spy.SpiderDependencyProviderSpy;
+import se.uu.ub.cora.storage.Filter;
 import se.uu.ub.cora.storage.StorageReadResult;
 import se.uu.ub.cora.storage.spies.RecordStorageSpy;
 
@@ -117,6 +124,11 @@ public class RecordListReaderTest {
 		recordStorage.MRV.setDefaultReturnValuesSupplier("readList", () -> storageReadResult);
 	}
 
+	@AfterMethod
+	public void afterMethod() {
+		SettingsProvider.setSettings(new HashMap<>());
+	}
+
 	private StorageReadResult createSpiderReadResult(int start, int totalNumberOfMatches,
 			int numberToReturnForReadList) {
 		StorageReadResult readResult = new StorageReadResult();
@@ -277,12 +289,23 @@ public class RecordListReaderTest {
 		recordStorage.MCR.assertParameters("readList", 0, RECORD_TYPE, filter);
 	}
 
+	@Test
+	public void testIncomingLinksArePrefetchedForRecordsReturnedFromStorage() {
+		recordListReader.readRecordList(USER_TOKEN, RECORD_TYPE, emptyFilter);
+
+		StorageReadResult storageReadResult = (StorageReadResult) recordStorage.MCR
+				.getReturnValue("readList", 0);
+		recordEnhancer.MCR.assertParameters("prefetchIncomingLinksForRecords", 0,
+				storageReadResult.listOfDataRecordGroups);
+		recordEnhancer.MCR.assertNumberOfCallsToMethod("prefetchIncomingLinksForRecords", 1);
+	}
+
 	@Test
 	public void testEnhanceIsCalledForRecordsReturnedFromStorage() {
 		recordListReader.readRecordList(USER_TOKEN, RECORD_TYPE, emptyFilter);
 
 		recordStorage.MCR.assertNumberOfCallsToMethod("readList", 1);
-		recordEnhancer.MCR.assertNumberOfCallsToMethod("enhance", 2);
+		recordEnhancer.MCR.assertNumberOfCallsToMethod("enhanceIfUserHasReadAccess", 2);
 
 		StorageReadResult storageReadResult = (StorageReadResult) recordStorage.MCR
 				.getReturnValue("readList", 0);
@@ -291,12 +314,12 @@ public class RecordListReaderTest {
 		DataRecordGroup returnedDataGroup1 = listOfReturnedDataGroupsFromStorage.get(0);
 		String returnedRecordType1 = returnedDataGroup1.getType();
 
-		recordEnhancer.MCR.assertParameters("enhance", 0, returnedUser, returnedRecordType1,
+		recordEnhancer.MCR.assertParameters("enhanceIfUserHasReadAccess", 0, returnedUser, returnedRecordType1,
 				returnedDataGroup1, dataRedactor);
 
 		DataRecordGroup returnedDataGroup2 = listOfReturnedDataGroupsFromStorage.get(1);
 		String returnedRecordType2 = returnedDataGroup1.getType();
-		recordEnhancer.MCR.assertParameters("enhance", 1, returnedUser, returnedRecordType2,
+		recordEnhancer.MCR.assertParameters("enhanceIfUserHasReadAccess", 1, returnedUser, returnedRecordType2,
 				returnedDataGroup2, dataRedactor);
 	}
 
@@ -308,10 +331,12 @@ public class RecordListReaderTest {
 		DataListSpy dataListSpy = (DataListSpy) dataFactorySpy.MCR
 				.getReturnValue("factorListUsingNameOfDataType", 0);
 		assertSame(dataListSpy, readRecordList);
-		DataRecord returnValue0 = (DataRecord) recordEnhancer.MCR.getReturnValue("enhance", 0);
+		DataRecord returnValue0 = (DataRecord) ((Optional<?>) recordEnhancer.MCR
+				.getReturnValue("enhanceIfUserHasReadAccess", 0)).get();
 		dataListSpy.MCR.assertParameters("addData", 0, returnValue0);
 
-		DataRecord returnValue1 = (DataRecord) recordEnhancer.MCR.getReturnValue("enhance", 1);
+		DataRecord returnValue1 = (DataRecord) ((Optional<?>) recordEnhancer.MCR
+				.getReturnValue("enhanceIfUserHasReadAccess", 1)).get();
 		dataListSpy.MCR.assertParameters("addData", 1, returnValue1);
 	}
 
@@ -337,7 +362,8 @@ public class RecordListReaderTest {
 		DataListSpy dataListSpy = (DataListSpy) dataFactorySpy.MCR
 				.getReturnValue("factorListUsingNameOfDataType", 0);
 		assertSame(dataListSpy, readRecordList);
-		DataRecord returnValue0 = (DataRecord) recordEnhancer.MCR.getReturnValue("enhance", 0);
+		DataRecord returnValue0 = (DataRecord) ((Optional<?>) recordEnhancer.MCR
+				.getReturnValue("enhanceIfUserHasReadAccess", 0)).get();
 		dataListSpy.MCR.assertParameters("addData", 0, returnValue0);
 
 		dataListSpy.MCR.assertNumberOfCallsToMethod("addData", 1);
@@ -359,7 +385,7 @@ public class RecordListReaderTest {
 		assertSame(dataList, readRecordList);
 		dataList.MCR.assertParameters("setTotalNo", 0, "25");
 		dataList.MCR.assertParameters("setFromNo", 0, "4");
-		dataList.MCR.assertParameters("setToNo", 0, "7");
+		dataList.MCR.assertParameters("setToNo", 0, "11");
 	}
 
 	@Test(expectedExceptions = RuntimeException.class)
@@ -384,7 +410,7 @@ public class RecordListReaderTest {
 		assertSame(dataList, readRecordList);
 		dataList.MCR.assertParameters("setTotalNo", 0, "20");
 		dataList.MCR.assertParameters("setFromNo", 0, "1");
-		dataList.MCR.assertParameters("setToNo", 0, "10");
+		dataList.MCR.assertParameters("setToNo", 0, "11");
 	}
 
 	@Test
@@ -442,4 +468,363 @@ public class RecordListReaderTest {
 		dataFactorySpy.MCR.assertMethodNotCalled("factorListUsingNameOfDataType");
 	}
 
+	@Test
+	public void testRecordsAreEnhancedInParallelWhenTurnedOnInSettings() {
+		turnOnParallelEnhancementAndRecreateReader();
+
+		recordListReader.readRecordList(USER_TOKEN, RECORD_TYPE, emptyFilter);
+
+		recordEnhancer.MCR.assertMethodNotCalled("enhanceIfUserHasReadAccess");
+		extendedFunctionalityProvider.MCR.assertParameter(
+				"getFunctionalityForPositionAndRecordType", 2, "position",
+				READLIST_BEFORE_ENHANCE_SINGLE);
+		dependencyProviderSpy.MCR.assertNumberOfCallsToMethod("getDataGroupToRecordEnhancer", 2);
+		User user = (User) authenticator.MCR.getReturnValue("getUserForToken", 0);
+		for (int i = 0; i < 2; i++) {
+			var enhancerForPart = (DataGroupToRecordEnhancerSpy) dependencyProviderSpy.MCR
+					.getReturnValue("getDataGroupToRecordEnhancer", i);
+			enhancerForPart.MCR.assertParameters("enhanceIfUserHasReadAccess", 0, user,
+					"dummyRecordType", listOfDataRecordGroups.get(i), dataRedactor);
+			DataRecord enhancedRecord = (DataRecord) ((Optional<?>) enhancerForPart.MCR
+					.getReturnValue("enhanceIfUserHasReadAccess", 0)).get();
+			dataList.MCR.assertParameters("addData", i, enhancedRecord);
+		}
+	}
+
+	private void turnOnParallelEnhancementAndRecreateReader() {
+		SettingsProvider.setSettings(Map.of("parallelEnhancementMaxConcurrency", "2"));
+		recordListReader = RecordListReaderImp.usingDependencyProviderAndDataGroupToRecordEnhancer(
+				dependencyProviderSpy, recordEnhancer);
+	}
+
+	@Test
+	public void testMaxConcurrencyIsReadFromSettingsWhenReaderIsCreated() {
+		turnOnParallelEnhancementAndRecreateReader();
+		SettingsProvider.setSettings(new HashMap<>());
+
+		recordListReader.readRecordList(USER_TOKEN, RECORD_TYPE, emptyFilter);
+
+		recordEnhancer.MCR.assertMethodNotCalled("enhanceIfUserHasReadAccess");
+		dependencyProviderSpy.MCR.assertNumberOfCallsToMethod("getDataGroupToRecordEnhancer", 2);
+	}
+
+	@Test
+	public void testReadListLeanUsesLeanEnhanceWithoutPrefetchingIncomingLinks() {
+		recordListReader.readRecordListLean(USER_TOKEN, RECORD_TYPE, emptyFilter);
+
+		recordEnhancer.MCR.assertMethodNotCalled("prefetchIncomingLinksForRecords");
+		recordEnhancer.MCR.assertMethodNotCalled("enhanceIfUserHasReadAccess");
+		User user = (User) authenticator.MCR.getReturnValue("getUserForToken", 0);
+		authorizator.MCR.assertParameters("checkUserIsAuthorizedForActionOnRecordType", 0, user,
+				"list", RECORD_TYPE);
+		for (int i = 0; i < 2; i++) {
+			recordEnhancer.MCR.assertParameters("enhanceLeanIfUserHasReadAccess", i, user,
+					"dummyRecordType", listOfDataRecordGroups.get(i), dataRedactor);
+			DataRecord leanRecord = (DataRecord) ((Optional<?>) recordEnhancer.MCR
+					.getReturnValue("enhanceLeanIfUserHasReadAccess", i)).get();
+			dataList.MCR.assertParameters("addData", i, leanRecord);
+		}
+	}
+
+	@Test
+	public void testRecordsAreEnhancedLeanInParallelWhenTurnedOnInSettings() {
+		turnOnParallelEnhancementAndRecreateReader();
+
+		recordListReader.readRecordListLean(USER_TOKEN, RECORD_TYPE, emptyFilter);
+
+		User user = (User) authenticator.MCR.getReturnValue("getUserForToken", 0);
+		for (int i = 0; i < 2; i++) {
+			var enhancerForPart = (DataGroupToRecordEnhancerSpy) dependencyProviderSpy.MCR
+					.getReturnValue("getDataGroupToRecordEnhancer", i);
+			enhancerForPart.MCR.assertParameters("enhanceLeanIfUserHasReadAccess", 0, user,
+					"dummyRecordType", listOfDataRecordGroups.get(i), dataRedactor);
+			enhancerForPart.MCR.assertMethodNotCalled("prefetchIncomingLinksForRecords");
+		}
+	}
+
+	@Test
+	public void testToNoInDataListIsLastPositionReadFromStorageWhenRecordsAreLeftOut() {
+		storageReadResult = createSpiderReadResult(1, 20, 10);
+		recordEnhancer.addReadActionOnlyFirst = true;
+		dataList.MRV.setDefaultReturnValuesSupplier("getDataList",
+				() -> List.of(new DataGroupSpy()));
+
+		recordListReader.readRecordList(USER_TOKEN, RECORD_TYPE, emptyFilter);
+
+		dataList.MCR.assertNumberOfCallsToMethod("addData", 1);
+		dataList.MCR.assertParameters("setFromNo", 0, "1");
+		dataList.MCR.assertParameters("setToNo", 0, "11");
+	}
+
+	@Test
+	public void testPageIsNotFilledWhenToNoIsNotInFilter() {
+		recordEnhancer.addReadActionOnlyFirst = true;
+		List<String> readFromTo = setUpStorageWithTotalNumberOfRecordsUsingFilter(10,
+				createFilterFromTo(1, 3));
+
+		recordListReader.readRecordList(USER_TOKEN, RECORD_TYPE, emptyFilter);
+
+		assertEquals(readFromTo, List.of("1-3"));
+	}
+
+	@Test
+	public void testPageIsFilledWithRecordsFromFollowingPositionsUpToReadBudget() {
+		recordEnhancer.addReadActionOnlyFirst = true;
+		dataList.MRV.setDefaultReturnValuesSupplier("getDataList",
+				() -> List.of(new DataGroupSpy()));
+		List<String> readFromTo = setUpStorageWithTotalNumberOfRecordsUsingFilter(10,
+				createFilterFromTo(1, 3));
+		DataGroupSpy filterWithToNo = createFilterContainingToNo();
+
+		recordListReader.readRecordList(USER_TOKEN, RECORD_TYPE, filterWithToNo);
+
+		assertEquals(readFromTo, List.of("1-3", "4-5", "6-7", "8-9"));
+		recordEnhancer.MCR.assertNumberOfCallsToMethod("enhanceIfUserHasReadAccess", 9);
+		dataList.MCR.assertNumberOfCallsToMethod("addData", 1);
+		dataList.MCR.assertParameters("setTotalNo", 0, "10");
+		dataList.MCR.assertParameters("setFromNo", 0, "1");
+		dataList.MCR.assertParameters("setToNo", 0, "10");
+	}
+
+	@Test
+	public void testPageIsFilledUsingReadBudgetFromSettings() {
+		SettingsProvider.setSettings(Map.of("pageFillReadBudget", "1"));
+		recordEnhancer.addReadActionOnlyFirst = true;
+		dataList.MRV.setDefaultReturnValuesSupplier("getDataList",
+				() -> List.of(new DataGroupSpy()));
+		List<String> readFromTo = setUpStorageWithTotalNumberOfRecordsUsingFilter(10,
+				createFilterFromTo(1, 3));
+
+		recordListReader.readRecordList(USER_TOKEN, RECORD_TYPE, createFilterContainingToNo());
+
+		assertEquals(readFromTo, List.of("1-3", "4-5"));
+		dataList.MCR.assertParameters("setToNo", 0, "6");
+	}
+
+	private DataGroupSpy createFilterContainingToNo() {
+		DataGroupSpy filter = new DataGroupSpy();
+		filter.MRV.setSpecificReturnValuesSupplier("containsChildWithNameInData", () -> true,
+				"toNo");
+		return filter;
+	}
+
+	@Test(expectedExceptions = AuthorizationException.class, expectedExceptionsMessageRegExp = ""
+			+ "Exception from SpiderAuthorizatorSpy")
+	public void testReadListAsStreamUserNotAuthorizedIsThrownBeforeStreamIsReturned() {
+		authorizator.MRV.setAlwaysThrowException("checkUserIsAuthorizedForActionOnRecordType",
+				new AuthorizationException("Exception from SpiderAuthorizatorSpy"));
+
+		recordListReader.readRecordListAsStream(USER_TOKEN, RECORD_TYPE, emptyFilter);
+	}
+
+	@Test
+	public void testReadListAsStreamNothingIsReadBeforeStreamIsConsumed() {
+		recordListReader.readRecordListAsStream(USER_TOKEN, RECORD_TYPE, nonEmptyFilter);
+
+		authorizator.MCR.assertParameters("checkUserIsAuthorizedForActionOnRecordType", 0,
+				authenticator.returnedUser, "list", RECORD_TYPE);
+		extendedFunctionalityProvider.MCR.assertParameters(
+				"getFunctionalityForPositionAndRecordType", 0, READLIST_AFTER_AUTHORIZATION,
+				RECORD_TYPE);
+		dataValidator.MCR.assertParameters("validateListFilter", 0, RECORD_TYPE, nonEmptyFilter);
+		recordStorage.MCR.assertMethodNotCalled("readList");
+	}
+
+	@Test
+	public void testReadListAsStreamReturnsEnhancedRecords() {
+		List<DataRecord> records = recordListReader
+				.readRecordListAsStream(USER_TOKEN, RECORD_TYPE, emptyFilter).toList();
+
+		recordStorage.MCR.assertNumberOfCallsToMethod("readList", 1);
+		var chunkEnhancer = (DataGroupToRecordEnhancerSpy) dependencyProviderSpy.MCR
+				.assertCalledParametersReturn("getDataGroupToRecordEnhancer");
+		chunkEnhancer.MCR.assertParameters("prefetchIncomingLinksForRecords", 0,
+				listOfDataRecordGroups);
+		recordEnhancer.MCR.assertMethodNotCalled("enhanceIfUserHasReadAccess");
+		assertEquals(records.size(), 2);
+		for (int i = 0; i < 2; i++) {
+			chunkEnhancer.MCR.assertParameters("enhanceIfUserHasReadAccess", i,
+					authenticator.returnedUser, "dummyRecordType", listOfDataRecordGroups.get(i),
+					dataRedactor);
+			DataRecord enhancedRecord = (DataRecord) ((Optional<?>) chunkEnhancer.MCR
+					.getReturnValue("enhanceIfUserHasReadAccess", i)).get();
+			assertSame(records.get(i), enhancedRecord);
+		}
+	}
+
+	@Test
+	public void testReadListAsStreamOnlyRecordsWithReadActionAreReturned() {
+		dependencyProviderSpy.MRV.setDefaultReturnValuesSupplier("getDataGroupToRecordEnhancer",
+				() -> {
+					DataGroupToRecordEnhancerSpy enhancer = new DataGroupToRecordEnhancerSpy();
+					enhancer.addReadAction = false;
+					return enhancer;
+				});
+
+		List<DataRecord> records = recordListReader
+				.readRecordListAsStream(USER_TOKEN, RECORD_TYPE, emptyFilter).toList();
+
+		assertEquals(records.size(), 0);
+	}
+
+	@Test
+	public void testReadListAsStreamReadsInChunksUsingChunkSizeFromSettings() {
+		SettingsProvider.setSettings(Map.of("recordListStreamChunkSize", "2"));
+		List<String> readFromTo = setUpStorageWithTotalNumberOfRecordsUsingFilter(5,
+				createFilterFromTo(1, Long.MAX_VALUE));
+
+		long numberOfRecords = recordListReader
+				.readRecordListAsStream(USER_TOKEN, RECORD_TYPE, emptyFilter).count();
+
+		assertEquals(numberOfRecords, 5);
+		assertEquals(readFromTo, List.of("1-2", "3-4", "5-6"));
+	}
+
+	@Test
+	public void testReadListAsStreamStopsAtToNoInFilter() {
+		SettingsProvider.setSettings(Map.of("recordListStreamChunkSize", "2"));
+		List<String> readFromTo = setUpStorageWithTotalNumberOfRecordsUsingFilter(10,
+				createFilterFromTo(2, 4));
+
+		long numberOfRecords = recordListReader
+				.readRecordListAsStream(USER_TOKEN, RECORD_TYPE, createFilterContainingToNo())
+				.count();
+
+		assertEquals(numberOfRecords, 3);
+		assertEquals(readFromTo, List.of("2-3", "4-4"));
+	}
+
+	@Test
+	public void testReadListAsStreamWithoutToNoInFilterReadsAllChunksIgnoringDefaultToNo() {
+		SettingsProvider.setSettings(Map.of("recordListStreamChunkSize", "2"));
+		List<String> readFromTo = setUpStorageWithTotalNumberOfRecordsUsingFilter(5,
+				createFilterFromTo(1, 3));
+
+		long numberOfRecords = recordListReader
+				.readRecordListAsStream(USER_TOKEN, RECORD_TYPE, emptyFilter).count();
+
+		assertEquals(numberOfRecords, 5);
+		assertEquals(readFromTo, List.of("1-2", "3-4", "5-6"));
+	}
+
+	@Test
+	public void testReadListAsStreamUsesNewEnhancerForEachChunk() {
+		SettingsProvider.setSettings(Map.of("recordListStreamChunkSize", "2"));
+		setUpStorageWithTotalNumberOfRecordsUsingFilter(5, createFilterFromTo(1, 3));
+
+		recordListReader.readRecordListAsStream(USER_TOKEN, RECORD_TYPE, emptyFilter).toList();
+
+		dependencyProviderSpy.MCR.assertNumberOfCallsToMethod("getDataGroupToRecordEnhancer", 3);
+		for (int chunk = 0; chunk < 3; chunk++) {
+			var chunkEnhancer = (DataGroupToRecordEnhancerSpy) dependencyProviderSpy.MCR
+					.getReturnValue("getDataGroupToRecordEnhancer", chunk);
+			chunkEnhancer.MCR.assertNumberOfCallsToMethod("prefetchIncomingLinksForRecords", 1);
+		}
+		recordEnhancer.MCR.assertMethodNotCalled("prefetchIncomingLinksForRecords");
+	}
+
+	@Test
+	public void testReadListAsStreamNextChunkIsOnlyReadWhenNeeded() {
+		SettingsProvider.setSettings(Map.of("recordListStreamChunkSize", "2"));
+		List<String> readFromTo = setUpStorageWithTotalNumberOfRecordsUsingFilter(10,
+				createFilterFromTo(1, Long.MAX_VALUE));
+
+		recordListReader.readRecordListAsStream(USER_TOKEN, RECORD_TYPE, emptyFilter).limit(2)
+				.toList();
+
+		assertEquals(readFromTo, List.of("1-2"));
+	}
+
+	@Test
+	public void testReadListAsStreamInvalidChunkSizeInSettingsUsesDefault() {
+		SettingsProvider.setSettings(Map.of("recordListStreamChunkSize", "notANumber"));
+		List<String> readFromTo = setUpStorageWithTotalNumberOfRecordsUsingFilter(5,
+				createFilterFromTo(1, Long.MAX_VALUE));
+
+		recordListReader.readRecordListAsStream(USER_TOKEN, RECORD_TYPE, emptyFilter).toList();
+
+		assertEquals(readFromTo, List.of("1-1000"));
+	}
+
+	private Filter createFilterFromTo(long fromNo, long toNo) {
+		Filter filter = new Filter();
+		filter.fromNo = fromNo;
+		filter.toNo = toNo;
+		DataGroupToFilter converter = _ -> filter;
+		dependencyProviderSpy.MRV.setDefaultReturnValuesSupplier("getDataGroupToFilterConverter",
+				() -> converter);
+		return filter;
+	}
+
+	private List<String> setUpStorageWithTotalNumberOfRecordsUsingFilter(long total,
+			Filter filter) {
+		List<String> readFromTo = new ArrayList<>();
+		recordStorage.MRV.setDefaultReturnValuesSupplier("readList", () -> {
+			readFromTo.add(filter.fromNo + "-" + filter.toNo);
+			long numberOfRecords = Math.max(0, Math.min(filter.toNo, total) - filter.fromNo + 1);
+			return createReadResultWithNumberOfRecords(filter.fromNo, total, numberOfRecords);
+		});
+		return readFromTo;
+	}
+
+	private StorageReadResult createReadResultWithNumberOfRecords(long fromNo, long total,
+			long numberOfRecords) {
+		StorageReadResult readResult = new StorageReadResult();
+		readResult.start = fromNo;
+		readResult.totalNumberOfMatches = total;
+		readResult.listOfDataRecordGroups = new ArrayList<>();
+		for (long i = 0; i < numberOfRecords; i++) {
+			DataRecordGroupSpy dataRecordGroup = new DataRecordGroupSpy();
+			dataRecordGroup.MRV.setDefaultReturnValuesSupplier("getType", () -> "dummyRecordType");
+			readResult.listOfDataRecordGroups.add(dataRecordGroup);
+		}
+		return readResult;
+	}
+
+	@Test(expectedExceptions = AuthorizationException.class, expectedExceptionsMessageRegExp = ""
+			+ "Exception from SpiderAuthorizatorSpy")
+	public void testReadListCountOnlyUserNotAuthorized() {
+		authorizator.MRV.setAlwaysThrowException("checkUserIsAuthorizedForActionOnRecordType",
+				new AuthorizationException("Exception from SpiderAuthorizatorSpy"));
+
+		recordListReader.readRecordListCountOnly(USER_TOKEN, RECORD_TYPE, emptyFilter);
+	}
+
+	@Test
+	public void testReadListCountOnlyChecksAccessAndValidatesFilter() {
+		recordListReader.readRecordListCountOnly(USER_TOKEN, RECORD_TYPE, nonEmptyFilter);
+
+		authorizator.MCR.assertParameters("checkUserIsAuthorizedForActionOnRecordType", 0,
+				authenticator.returnedUser, "list", RECORD_TYPE);
+		extendedFunctionalityProvider.MCR.assertParameters(
+				"getFunctionalityForPositionAndRecordType", 0, READLIST_AFTER_AUTHORIZATION,
+				RECORD_TYPE);
+		dataValidator.MCR.assertParameters("validateListFilter", 0, RECORD_TYPE, nonEmptyFilter);
+	}
+
+	@Test
+	public void testReadListCountOnlyReturnsTotalWithoutReadingRecords() {
+		recordStorage.MRV.setDefaultReturnValuesSupplier("getTotalNumberOfRecordsForTypes",
+				() -> 42L);
+
+		DataList countList = recordListReader.readRecordListCountOnly(USER_TOKEN, RECORD_TYPE,
+				emptyFilter);
+
+		DataGroupToFilterSpy converterToFilter = (DataGroupToFilterSpy) dependencyProviderSpy.MCR
+				.getReturnValue("getDataGroupToFilterConverter", 0);
+		converterToFilter.MCR.assertParameters("convert", 0, emptyFilter);
+		var filter = converterToFilter.MCR.getReturnValue("convert", 0);
+		recordStorage.MCR.assertParameterAsEqual("getTotalNumberOfRecordsForTypes", 0, "types",
+				List.of(RECORD_TYPE));
+		recordStorage.MCR.assertParameter("getTotalNumberOfRecordsForTypes", 0, "filter", filter);
+		recordStorage.MCR.assertMethodNotCalled("readList");
+		recordEnhancer.MCR.assertMethodNotCalled("enhanceIfUserHasReadAccess");
+
+		dataFactorySpy.MCR.assertParameters("factorListUsingNameOfDataType", 0, RECORD_TYPE);
+		assertSame(countList, dataList);
+		dataList.MCR.assertParameters("setTotalNo", 0, "42");
+		dataList.MCR.assertParameters("setFromNo", 0, "0");
+		dataList.MCR.assertParameters("setToNo", 0, "0");
+		dataList.MCR.assertMethodNotCalled("addData");
+	}
 }
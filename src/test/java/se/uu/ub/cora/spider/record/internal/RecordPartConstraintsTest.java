@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.record.internal;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.bookkeeper.metadata.Constraint;
+
+public class RecordPartConstraintsTest {
+
+	@Test
+	public void testPrivateConstructor() throws Exception {
+		Constructor<RecordPartConstraints> constructor = RecordPartConstraints.class
+				.getDeclaredConstructor();
+		assertTrue(Modifier.isPrivate(constructor.getModifiers()));
+	}
+
+	@Test(expectedExceptions = InvocationTargetException.class)
+	public void testPrivateConstructorInvoke() throws Exception {
+		Constructor<RecordPartConstraints> constructor = RecordPartConstraints.class
+				.getDeclaredConstructor();
+		constructor.setAccessible(true);
+		constructor.newInstance();
+	}
+
+	@Test
+	public void testNoConstraintsAreCovered() {
+		assertTrue(RecordPartConstraints.permissionsCoverAllConstraints(Collections.emptySet(),
+				Collections.emptySet()));
+	}
+
+	@Test
+	public void testConstraintWithoutPermissionIsNotCovered() {
+		Set<Constraint> constraints = Set.of(new Constraint("first"), new Constraint("second"));
+
+		assertFalse(RecordPartConstraints.permissionsCoverAllConstraints(constraints,
+				Set.of("first")));
+	}
+
+	@Test
+	public void testAllConstraintsWithPermissionAreCovered() {
+		Set<Constraint> constraints = Set.of(new Constraint("first"), new Constraint("second"));
+
+		assertTrue(RecordPartConstraints.permissionsCoverAllConstraints(constraints,
+				Set.of("first", "second", "third")));
+	}
+}
@@ -200,6 +200,19 @@ public class RecordReaderTest {
 		dataGroupToRecordEnhancer.MCR.assertReturn("enhance", 0, readRecord);
 	}
 
+	@Test
+	public void testReadLeanUsesLeanEnhance() {
+		DataRecord readRecord = recordReader.readRecordLean(USER_TOKEN, RECORD_TYPE, RECORD_ID);
+
+		User user = (User) authenticator.MCR.getReturnValue("getUserForToken", 0);
+		authorizator.MCR.assertParameters("checkUserIsAuthorizedForActionOnRecordType", 0, user,
+				"read", RECORD_TYPE);
+		dataGroupToRecordEnhancer.MCR.assertParameters("enhanceLean", 0, user, RECORD_TYPE,
+				getDataRecordGroupFromStorage(), dataRedactor);
+		dataGroupToRecordEnhancer.MCR.assertReturn("enhanceLean", 0, readRecord);
+		dataGroupToRecordEnhancer.MCR.assertMethodNotCalled("enhance");
+	}
+
 	@Test
 	public void testUseExtendedFunctionalityExtendedFunctionalitiesExists() {
 		recordReader.readRecord(USER_TOKEN, RECORD_TYPE, RECORD_ID);
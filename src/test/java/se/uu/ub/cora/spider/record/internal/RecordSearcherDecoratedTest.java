@@ -91,6 +91,32 @@ public class RecordSearcherDecoratedTest {
 		assertSame(decoratedDataList, searchResult);
 	}
 
+	@Test
+	public void testSearchLeanIsNotDecorated() {
+		DataGroupSpy searchData = new DataGroupSpy();
+		DataList leanList = searcher.searchLean(AUTH_TOKEN, SEARCH_ID, searchData);
+
+		var recordSearcher = (RecordSearcherSpy) instanceFactory.MCR
+				.assertCalledParametersReturn("factorRecordSearcher");
+		recordSearcher.MCR.assertCalledParameters("searchLean", AUTH_TOKEN, SEARCH_ID,
+				searchData);
+		recordSearcher.MCR.assertReturn("searchLean", 0, leanList);
+		dependencyProvider.MCR.assertMethodNotCalled("getRecordDecorator");
+	}
+
+	@Test
+	public void testSearchCountOnlyIsNotDecorated() {
+		DataGroupSpy searchData = new DataGroupSpy();
+		DataList countList = searcher.searchCountOnly(AUTH_TOKEN, SEARCH_ID, searchData);
+
+		var recordSearcher = (RecordSearcherSpy) instanceFactory.MCR
+				.assertCalledParametersReturn("factorRecordSearcher");
+		recordSearcher.MCR.assertCalledParameters("searchCountOnly", AUTH_TOKEN, SEARCH_ID,
+				searchData);
+		recordSearcher.MCR.assertReturn("searchCountOnly", 0, countList);
+		dependencyProvider.MCR.assertMethodNotCalled("getRecordDecorator");
+	}
+
 	@Test
 	public void testOnlyForTestGetDependencyProvider() {
 		assertSame(((RecordSearcherDecoratedImp) searcher).onlyForTestGetDependencyProvider(),
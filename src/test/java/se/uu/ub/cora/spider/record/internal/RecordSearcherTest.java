@@ -26,9 +26,14 @@ import static org.testng.Assert.fail;
 import static se.uu.ub.cora.spider.extendedfunctionality.ExtendedFunctionalityPosition.SEARCH_AFTER_AUTHORIZATION;
 import static se.uu.ub.cora.spider.extendedfunctionality.ExtendedFunctionalityPosition.SEARCH_BEFORE_ENHANCE_SINGLE;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -41,16 +46,26 @@ import se.uu.ub.cora.data.spies.DataFactorySpy;
 import se.uu.ub.cora.data.spies.DataGroupSpy;
 import se.uu.ub.cora.data.spies.DataListSpy;
 import se.uu.ub.cora.data.spies.DataRecordGroupSpy;
+import se.uu.ub.cora.initialize.SettingsProvider;
 import se.uu.ub.cora.search.SearchResult;
+import se.uu.ub.cora.spider.data.DataAtomicOldSpy;
+import se.uu.ub.cora.spider.data.DataGroupOldSpy;
 import se.uu.ub.cora.spider.dependency.SpiderDependencyProvider;
+import se.uu.ub.cora.spider.dependency.spy.RecordTypeHandlerOldSpy;
 import se.uu.ub.cora.spider.extendedfunctionality.ExtendedFunctionalityData;
 import se.uu.ub.cora.spider.extendedfunctionality.internal.ExtendedFunctionalityProviderSpy;
 import se.uu.ub.cora.spider.record.DataException;
 import se.uu.ub.cora.spider.record.DataGroupToRecordEnhancerSpy;
 import se.uu.ub.cora.spider.record.RecordSearcher;
+import se.uu.ub.cora.spider.searchdefinition.SearchDefinition;
+import se.uu.ub.cora.spider.searchresult.SearchResultCacheImp;
+import se.uu.ub.cora.spider.searchresult.SearchResultCacheKey;
+import se.uu.ub.cora.spider.searchresult.SearchResultCacheSpy;
+import se.uu.ub.cora.spider.searchresult.SearchResultPage;
 import se.uu.ub.cora.spider.spy.DataValidatorSpy;
 import se.uu.ub.cora.spider.spy.SpiderDependencyProviderSpy;
 import se.uu.ub.cora.spider.spy.ValidationAnswerSpy;
+import se.uu.ub.cora.storage.Link;
 import se.uu.ub.cora.storage.spies.RecordStorageSpy;
 
 public class RecordSearcherTest {
@@ -64,7 +79,6 @@ public class RecordSearcherTest {
 
 	private SpiderDependencyProviderSpy dependencyProvider;
 	private DataFactorySpy dataFactorySpy;
-	private RecordStorageSpy recordStorage;
 	private AuthenticatorSpy authenticator;
 	private SpiderAuthorizatorSpy authorizator;
 	private DataGroupToRecordEnhancerSpy dataGroupToRecordEnhancer;
@@ -73,9 +87,9 @@ public class RecordSearcherTest {
 	private DataRedactorSpy dataRedactor;
 	private ExtendedFunctionalityProviderSpy extendedFunctionalityProvider;
 	private DataRecordGroupSpy dataRecordGroupSpy;
-	private DataGroupSpy dataGroupSpy1;
-	private DataGroupSpy dataGroupSpy2;
+	private SearchDefinition searchDefinition;
 	private DataListSpy dataListSpy;
+	private SearchResultCacheSpy searchResultCache;
 
 	private int factoredRecordGroupNo;
 
@@ -86,19 +100,24 @@ public class RecordSearcherTest {
 		authenticator = new AuthenticatorSpy();
 		authorizator = new SpiderAuthorizatorSpy();
 		dataValidator = new DataValidatorSpy();
-		recordStorage = new RecordStorageSpy();
 		dataRedactor = new DataRedactorSpy();
 		dataGroupToRecordEnhancer = new DataGroupToRecordEnhancerSpy();
-		SearchResult searchResult = setRecordStorage();
+		SearchResult searchResult = setSearchDefinitionAndSearchResult();
 		recordSearch.MRV.setDefaultReturnValuesSupplier(
 				"searchUsingListOfRecordTypesToSearchInAndSearchData", () -> searchResult);
 
+		searchResultCache = new SearchResultCacheSpy();
 		setUpDependencyProvider();
 
 		recordSearcher = RecordSearcherImp.usingDependencyProvider(dependencyProvider);
 
 	}
 
+	@AfterMethod
+	public void afterMethod() {
+		SettingsProvider.setSettings(new HashMap<>());
+	}
+
 	private void setUpFactoriesAndProviders() {
 		dataFactorySpy = new DataFactorySpy();
 		dataListSpy = new DataListSpy();
@@ -122,26 +141,15 @@ public class RecordSearcherTest {
 	private DataRecordGroupSpy createDataRecordGroupUsingType(String type) {
 		DataRecordGroupSpy dataRecordGroup = new DataRecordGroupSpy();
 		dataRecordGroup.MRV.setDefaultReturnValuesSupplier("getType", () -> type);
+		dataRecordGroup.MRV.setDefaultReturnValuesSupplier("getId", () -> "someId");
 		return dataRecordGroup;
 
 	}
 
-	private DataRecordGroupSpy setSearchRecordGroupWithSeveralRecordTypesToSearchIn() {
-		dataGroupSpy1 = new DataGroupSpy();
-		dataGroupSpy1.MRV.setDefaultReturnValuesSupplier("getFirstAtomicValueWithNameInData",
-				() -> "someType1");
-		dataGroupSpy2 = new DataGroupSpy();
-		dataGroupSpy2.MRV.setDefaultReturnValuesSupplier("getFirstAtomicValueWithNameInData",
-				() -> "someType2");
-		DataRecordGroupSpy dataRecordGroup = new DataRecordGroupSpy();
-		dataRecordGroup.MRV.setDefaultReturnValuesSupplier("getAllGroupsWithNameInData",
-				() -> List.of(dataGroupSpy1, dataGroupSpy2));
-		return dataRecordGroup;
-	}
-
-	private SearchResult setRecordStorage() {
-		dataRecordGroupSpy = setSearchRecordGroupWithSeveralRecordTypesToSearchIn();
-		recordStorage.MRV.setDefaultReturnValuesSupplier("read", () -> dataRecordGroupSpy);
+	private SearchResult setSearchDefinitionAndSearchResult() {
+		dataRecordGroupSpy = new DataRecordGroupSpy();
+		searchDefinition = new SearchDefinition(SOME_SEARCH_ID, "someMetadataId",
+				List.of("someType1", "someType2"));
 		recordSearch = new RecordSearchSpy();
 		extendedFunctionalityProvider = new ExtendedFunctionalityProviderSpy();
 
@@ -162,15 +170,21 @@ public class RecordSearcherTest {
 				() -> dataValidator);
 		dependencyProvider.MRV.setDefaultReturnValuesSupplier("getExtendedFunctionalityProvider",
 				() -> extendedFunctionalityProvider);
-		dependencyProvider.MRV.setDefaultReturnValuesSupplier("getRecordStorage",
-				() -> recordStorage);
+		dependencyProvider.MRV.setDefaultReturnValuesSupplier("getSearchDefinition",
+				() -> searchDefinition);
 		dependencyProvider.MRV.setDefaultReturnValuesSupplier("getRecordSearch",
 				() -> recordSearch);
 		dependencyProvider.MRV.setDefaultReturnValuesSupplier("getDataRedactor",
 				() -> dataRedactor);
 		dependencyProvider.MRV.setDefaultReturnValuesSupplier("getDataGroupToRecordEnhancer",
 				() -> dataGroupToRecordEnhancer);
-
+		dependencyProvider.MRV.setDefaultReturnValuesSupplier("getSearchResultCache",
+				() -> searchResultCache);
+		RecordStorageSpy recordStorage = new RecordStorageSpy();
+		recordStorage.MRV.setSpecificReturnValuesSupplier("read", () -> dataRecordGroupSpy,
+				"search", SOME_SEARCH_ID);
+		dependencyProvider.MRV.setDefaultReturnValuesSupplier("getRecordStorage",
+				() -> recordStorage);
 	}
 
 	private void setDataListValues(int amountDataInList) {
@@ -219,9 +233,7 @@ public class RecordSearcherTest {
 		authenticator.MCR.assertParameters("getUserForToken", 0, SOME_AUTH_TOKEN);
 		var authenticatedUser = getAuthenticatedUser();
 
-		recordStorage.MCR.assertMethodWasCalled("read");
-		dataRecordGroupSpy.MCR.assertParameters("getAllGroupsWithNameInData", 0,
-				"recordTypeToSearchIn");
+		dependencyProvider.MCR.assertParameters("getSearchDefinition", 0, SOME_SEARCH_ID);
 
 		authorizator.MCR.assertParameters("checkUserIsAuthorizedForActionOnRecordType", 0,
 				authenticatedUser, "search", "someType1");
@@ -234,14 +246,7 @@ public class RecordSearcherTest {
 	public void testValidatesSearchMetadata() {
 		recordSearcher.search(SOME_AUTH_TOKEN, SOME_SEARCH_ID, someSearchData);
 
-		dataRecordGroupSpy.MCR.assertParameters("getFirstGroupWithNameInData", 0, "metadataId");
-		DataGroupSpy definitionGroup = (DataGroupSpy) dataRecordGroupSpy.MCR
-				.getReturnValue("getFirstGroupWithNameInData", 0);
-
-		String metadataGroupIdToValidateAgainst = (String) definitionGroup.MCR
-				.getReturnValue("getFirstAtomicValueWithNameInData", 0);
-
-		dataValidator.MCR.assertParameters("validateData", 0, metadataGroupIdToValidateAgainst,
+		dataValidator.MCR.assertParameters("validateData", 0, searchDefinition.metadataId(),
 				someSearchData);
 		dataValidator.MCR.assertNumberOfCallsToMethod("validateData", 1);
 	}
@@ -276,9 +281,6 @@ public class RecordSearcherTest {
 	public void testRecordSearchIsCalled() {
 		recordSearcher.search(SOME_AUTH_TOKEN, SOME_SEARCH_ID, someSearchData);
 
-		dataGroupSpy1.MCR.assertNumberOfCallsToMethod("getFirstAtomicValueWithNameInData", 2);
-		dataGroupSpy2.MCR.assertNumberOfCallsToMethod("getFirstAtomicValueWithNameInData", 2);
-
 		List<String> recordTypeList = (List<String>) recordSearch.MCR
 				.getParameterForMethodAndCallNumberAndParameter(
 						"searchUsingListOfRecordTypesToSearchInAndSearchData", 0, "recordTypes");
@@ -290,6 +292,20 @@ public class RecordSearcherTest {
 				"searchData", someSearchData);
 	}
 
+	@Test
+	public void testIncomingLinksArePrefetchedForSearchResult() {
+		recordSearcher.search(SOME_AUTH_TOKEN, SOME_SEARCH_ID, someSearchData);
+
+		SearchResult searchResult = (SearchResult) recordSearch.MCR
+				.getReturnValue("searchUsingListOfRecordTypesToSearchInAndSearchData", 0);
+		var recordAsDataRecordGroup = dataFactorySpy.MCR.assertCalledParametersReturn(
+				"factorRecordGroupFromDataGroup", searchResult.listOfDataGroups.get(0));
+		dataGroupToRecordEnhancer.MCR.assertParameterAsEqual("prefetchIncomingLinksForRecords",
+				0, "dataRecordGroups", List.of(recordAsDataRecordGroup));
+		dataGroupToRecordEnhancer.MCR.assertNumberOfCallsToMethod(
+				"prefetchIncomingLinksForRecords", 1);
+	}
+
 	@Test
 	public void testSearchResultIsEnhancedForEachResult() {
 		DataList searchList = recordSearcher.search(SOME_AUTH_TOKEN, SOME_SEARCH_ID,
@@ -304,9 +320,9 @@ public class RecordSearcherTest {
 		var recordAsDataRecordGroup = dataFactorySpy.MCR.assertCalledParametersReturn(
 				"factorRecordGroupFromDataGroup", firstDataGroupFromSearchResult);
 
-		dataGroupToRecordEnhancer.MCR.assertNumberOfCallsToMethod("enhance", 1);
-		dataGroupToRecordEnhancer.MCR.assertParameters("enhance", 0, getAuthenticatedUser(),
-				"someType1", recordAsDataRecordGroup, dataRedactor);
+		dataGroupToRecordEnhancer.MCR.assertNumberOfCallsToMethod("enhanceIfUserHasReadAccess", 1);
+		dataGroupToRecordEnhancer.MCR.assertParameters("enhanceIfUserHasReadAccess", 0,
+				getAuthenticatedUser(), "someType1", recordAsDataRecordGroup, dataRedactor);
 
 		dataFactorySpy.MCR.assertNumberOfCallsToMethod("factorListUsingNameOfDataType", 1);
 		dataFactorySpy.MCR.assertParameters("factorListUsingNameOfDataType", 0, "mix");
@@ -353,10 +369,94 @@ public class RecordSearcherTest {
 		dataListSpy.MCR.assertNumberOfCallsToMethod("addData", 1);
 
 		dataListSpy.MCR.assertParameters("setFromNo", 0, "1");
-		dataListSpy.MCR.assertParameters("setToNo", 0, "1");
+		dataListSpy.MCR.assertParameters("setToNo", 0, "3");
 		dataListSpy.MCR.assertParameters("setTotalNo", 0, "3");
 	}
 
+	@Test
+	public void testPageIsNotFilledWhenRowsIsNotInSearchData() {
+		setSearchResultWithThreeHitsOfTotal(6);
+		dataGroupToRecordEnhancer.addReadActionOnlyFirst = true;
+
+		recordSearcher.search(SOME_AUTH_TOKEN, ANOTHER_SEARCH_ID, new DataGroupSpy());
+
+		recordSearch.MCR.assertNumberOfCallsToMethod(
+				"searchUsingListOfRecordTypesToSearchInAndSearchData", 1);
+		dataListSpy.MCR.assertParameters("setToNo", 0, "3");
+	}
+
+	@Test
+	public void testPageIsFilledBySearchingFollowingRows() {
+		setSearchResultWithThreeHitsOfTotal(6);
+		dataGroupToRecordEnhancer.addReadActionOnlyFirst = true;
+		DataGroupSpy searchData = new DataGroupSpy();
+		searchData.MRV.setSpecificReturnValuesSupplier("containsChildWithNameInData",
+				() -> true, "rows");
+		searchData.MRV.setSpecificReturnValuesSupplier("getFirstAtomicValueWithNameInData",
+				() -> "3", "rows");
+
+		recordSearcher.search(SOME_AUTH_TOKEN, ANOTHER_SEARCH_ID, searchData);
+
+		recordSearch.MCR.assertNumberOfCallsToMethod(
+				"searchUsingListOfRecordTypesToSearchInAndSearchData", 2);
+		DataGroupSpy chunkSearchData = getSearchDataForSearchCall(1);
+		recordSearch.MCR.assertParameter("searchUsingListOfRecordTypesToSearchInAndSearchData",
+				1, "recordTypes", searchDefinition.recordTypesToSearchIn());
+		var start = dataFactorySpy.MCR.assertCalledParametersReturn(
+				"factorAtomicUsingNameInDataAndValue", "start", "4");
+		var rows = dataFactorySpy.MCR.assertCalledParametersReturn(
+				"factorAtomicUsingNameInDataAndValue", "rows", "2");
+		chunkSearchData.MCR.assertParameters("addChild", 0, start);
+		chunkSearchData.MCR.assertParameters("addChild", 1, rows);
+		searchData.MCR.assertMethodNotCalled("removeFirstChildWithNameInData");
+		searchData.MCR.assertMethodNotCalled("addChild");
+		dataGroupToRecordEnhancer.MCR.assertNumberOfCallsToMethod("enhanceIfUserHasReadAccess", 6);
+		dataListSpy.MCR.assertNumberOfCallsToMethod("addData", 1);
+		dataListSpy.MCR.assertParameters("setFromNo", 0, "1");
+		dataListSpy.MCR.assertParameters("setToNo", 0, "6");
+		dataListSpy.MCR.assertParameters("setTotalNo", 0, "6");
+	}
+
+	private DataGroupSpy getSearchDataForSearchCall(int callNumber) {
+		return (DataGroupSpy) recordSearch.MCR.getParameterForMethodAndCallNumberAndParameter(
+				"searchUsingListOfRecordTypesToSearchInAndSearchData", callNumber, "searchData");
+	}
+
+	@Test
+	public void testFollowingRowsAreSearchedUsingCopyOfSearchData() {
+		setSearchResultWithThreeHitsOfTotal(6);
+		dataGroupToRecordEnhancer.addReadActionOnlyFirst = true;
+		DataGroupOldSpy searchData = createSearchDataWithTitle();
+		searchData.addAttributeByIdWithValue("someAttribute", "someValue");
+		DataAtomicOldSpy title = (DataAtomicOldSpy) searchData.getChildren().get(0);
+		searchData.addChild(new DataAtomicOldSpy("start", "1"));
+		searchData.addChild(new DataAtomicOldSpy("rows", "3"));
+
+		recordSearcher.search(SOME_AUTH_TOKEN, ANOTHER_SEARCH_ID, searchData);
+
+		DataGroupSpy chunkSearchData = getSearchDataForSearchCall(1);
+		dataFactorySpy.MCR.assertParameters("factorGroupUsingNameInData", 0, "searchData");
+		dataFactorySpy.MCR.assertReturn("factorGroupUsingNameInData", 0, chunkSearchData);
+		chunkSearchData.MCR.assertParameters("addAttributeByIdWithValue", 0, "someAttribute",
+				"someValue");
+		chunkSearchData.MCR.assertParameters("addChild", 0, title);
+		chunkSearchData.MCR.assertNumberOfCallsToMethod("addChild", 3);
+		assertEquals(searchData.getChildren().size(), 3);
+		assertEquals(searchData.getFirstAtomicValueWithNameInData("start"), "1");
+		assertEquals(searchData.getFirstAtomicValueWithNameInData("rows"), "3");
+	}
+
+	private void setSearchResultWithThreeHitsOfTotal(int totalNumberOfMatches) {
+		SearchResult searchResult = new SearchResult();
+		searchResult.listOfDataGroups = List.of(new DataGroupSpy(), new DataGroupSpy(),
+				new DataGroupSpy());
+		searchResult.start = 1;
+		searchResult.totalNumberOfMatches = totalNumberOfMatches;
+
+		recordSearch.MRV.setDefaultReturnValuesSupplier(
+				"searchUsingListOfRecordTypesToSearchInAndSearchData", () -> searchResult);
+	}
+
 	private void setSearchResultWithThreeHits() {
 		List<DataGroup> recordSearchList = List.of(new DataGroupSpy(), new DataGroupSpy(),
 				new DataGroupSpy());
@@ -397,6 +497,29 @@ public class RecordSearcherTest {
 		return expectedData;
 	}
 
+	@Test
+	public void testSearchRecordIsReadForEachCallWithExtendedFunctionalityAfterAuthorization() {
+		recordSearcher.search(SOME_AUTH_TOKEN, SOME_SEARCH_ID, someSearchData);
+		RecordSearcherImp.usingDependencyProvider(dependencyProvider).search(SOME_AUTH_TOKEN,
+				SOME_SEARCH_ID, someSearchData);
+
+		RecordStorageSpy recordStorage = (RecordStorageSpy) dependencyProvider.MCR
+				.getReturnValue("getRecordStorage", 0);
+		recordStorage.MCR.assertParameters("read", 0, "search", SOME_SEARCH_ID);
+		recordStorage.MCR.assertParameters("read", 1, "search", SOME_SEARCH_ID);
+	}
+
+	@Test
+	public void testSearchRecordIsNotReadWithoutExtendedFunctionalityAfterAuthorization() {
+		extendedFunctionalityProvider.MRV.setSpecificReturnValuesSupplier(
+				"getFunctionalityForPositionAndRecordType", List::of, SEARCH_AFTER_AUTHORIZATION,
+				"search");
+
+		recordSearcher.search(SOME_AUTH_TOKEN, SOME_SEARCH_ID, someSearchData);
+
+		dependencyProvider.MCR.assertMethodNotCalled("getRecordStorage");
+	}
+
 	@Test
 	public void testEnsureExtendedFunctionalityPositionFor_AfterAuthorization() {
 		extendedFunctionalityProvider.setUpExtendedFunctionalityToThrowExceptionOnPosition(
@@ -407,7 +530,7 @@ public class RecordSearcherTest {
 		authorizator.MCR.assertMethodWasCalled("checkUserIsAuthorizedForActionOnRecordType");
 		extendedFunctionalityProvider.MCR
 				.assertNumberOfCallsToMethod("getFunctionalityForPositionAndRecordType", 1);
-		dataRecordGroupSpy.MCR.assertMethodNotCalled("getFirstGroupWithNameInData");
+		dataValidator.MCR.assertMethodNotCalled("validateData");
 	}
 
 	private void callReadIncomingLinksAndCatchStopExecution() {
@@ -431,8 +554,7 @@ public class RecordSearcherTest {
 		expectedData.recordType = "search";
 		expectedData.authToken = SOME_AUTH_TOKEN;
 		expectedData.user = (User) authenticator.MCR.getReturnValue("getUserForToken", 0);
-		expectedData.dataRecordGroup = (DataRecordGroup) recordStorage.MCR.getReturnValue("read",
-				0);
+		expectedData.dataRecordGroup = dataRecordGroupSpy;
 		extendedFunctionalityProvider.assertCallToPositionAndFunctionalityCalledWithData(
 				SEARCH_AFTER_AUTHORIZATION, expectedData, 0);
 
@@ -455,6 +577,93 @@ public class RecordSearcherTest {
 				SEARCH_BEFORE_ENHANCE_SINGLE, expectedData, 3);
 	}
 
+	@Test
+	public void testSearchResultIsEnhancedInParallelWhenTurnedOnInSettings() {
+		turnOnParallelEnhancementAndRecreateSearcher();
+		dependencyProvider.MRV.setDefaultReturnValuesSupplier("getDataGroupToRecordEnhancer",
+				DataGroupToRecordEnhancerSpy::new);
+		setSearchResultWithThreeHits();
+
+		recordSearcher.search(SOME_AUTH_TOKEN, SOME_SEARCH_ID, someSearchData);
+
+		dataGroupToRecordEnhancer.MCR.assertMethodNotCalled("enhanceIfUserHasReadAccess");
+		dependencyProvider.MCR.assertNumberOfCallsToMethod("getDataGroupToRecordEnhancer", 4);
+		extendedFunctionalityProvider.MCR.assertParameter(
+				"getFunctionalityForPositionAndRecordType", 3, "position",
+				SEARCH_BEFORE_ENHANCE_SINGLE);
+		var firstPartEnhancer = (DataGroupToRecordEnhancerSpy) dependencyProvider.MCR
+				.getReturnValue("getDataGroupToRecordEnhancer", 2);
+		var secondPartEnhancer = (DataGroupToRecordEnhancerSpy) dependencyProvider.MCR
+				.getReturnValue("getDataGroupToRecordEnhancer", 3);
+		assertRecordEnhancedUsingEnhancer(firstPartEnhancer, 0, 0);
+		assertRecordEnhancedUsingEnhancer(firstPartEnhancer, 1, 1);
+		assertRecordEnhancedUsingEnhancer(secondPartEnhancer, 0, 2);
+		dataListSpy.MCR.assertNumberOfCallsToMethod("addData", 3);
+	}
+
+	private void turnOnParallelEnhancementAndRecreateSearcher() {
+		SettingsProvider.setSettings(Map.of("parallelEnhancementMaxConcurrency", "2"));
+		recordSearcher = RecordSearcherImp.usingDependencyProvider(dependencyProvider);
+	}
+
+	@Test
+	public void testMaxConcurrencyIsReadFromSettingsWhenSearcherIsCreated() {
+		turnOnParallelEnhancementAndRecreateSearcher();
+		SettingsProvider.setSettings(new HashMap<>());
+		dependencyProvider.MRV.setDefaultReturnValuesSupplier("getDataGroupToRecordEnhancer",
+				DataGroupToRecordEnhancerSpy::new);
+		setSearchResultWithThreeHits();
+
+		recordSearcher.search(SOME_AUTH_TOKEN, SOME_SEARCH_ID, someSearchData);
+
+		dataGroupToRecordEnhancer.MCR.assertMethodNotCalled("enhanceIfUserHasReadAccess");
+		dependencyProvider.MCR.assertNumberOfCallsToMethod("getDataGroupToRecordEnhancer", 4);
+	}
+
+	private void assertRecordEnhancedUsingEnhancer(DataGroupToRecordEnhancerSpy enhancer,
+			int callNumber, int recordNumber) {
+		var recordGroup = dataFactorySpy.MCR.getReturnValue("factorRecordGroupFromDataGroup",
+				recordNumber);
+		enhancer.MCR.assertParameters("enhanceIfUserHasReadAccess", callNumber,
+				getAuthenticatedUser(), "someType" + (recordNumber + 1), recordGroup, dataRedactor);
+	}
+
+	@Test
+	public void testSearchLeanUsesLeanEnhanceWithoutPrefetchingIncomingLinks() {
+		DataList searchList = recordSearcher.searchLean(SOME_AUTH_TOKEN, SOME_SEARCH_ID,
+				someSearchData);
+
+		authorizator.MCR.assertParameters("checkUserIsAuthorizedForActionOnRecordType", 0,
+				getAuthenticatedUser(), "search", "someType1");
+		dataGroupToRecordEnhancer.MCR.assertMethodNotCalled("prefetchIncomingLinksForRecords");
+		dataGroupToRecordEnhancer.MCR.assertMethodNotCalled("enhanceIfUserHasReadAccess");
+		var recordGroup = dataFactorySpy.MCR.getReturnValue("factorRecordGroupFromDataGroup", 0);
+		dataGroupToRecordEnhancer.MCR.assertParameters("enhanceLeanIfUserHasReadAccess", 0,
+				getAuthenticatedUser(), "someType1", recordGroup, dataRedactor);
+		var leanRecord = ((Optional<?>) dataGroupToRecordEnhancer.MCR
+				.getReturnValue("enhanceLeanIfUserHasReadAccess", 0)).get();
+		dataListSpy.MCR.assertParameters("addData", 0, leanRecord);
+		assertEquals(searchList, dataListSpy);
+	}
+
+	@Test
+	public void testSearchResultIsEnhancedLeanInParallelWhenTurnedOnInSettings() {
+		turnOnParallelEnhancementAndRecreateSearcher();
+		dependencyProvider.MRV.setDefaultReturnValuesSupplier("getDataGroupToRecordEnhancer",
+				DataGroupToRecordEnhancerSpy::new);
+		setSearchResultWithThreeHits();
+
+		recordSearcher.searchLean(SOME_AUTH_TOKEN, SOME_SEARCH_ID, someSearchData);
+
+		var secondPartEnhancer = (DataGroupToRecordEnhancerSpy) dependencyProvider.MCR
+				.getReturnValue("getDataGroupToRecordEnhancer", 3);
+		var recordGroup = dataFactorySpy.MCR.getReturnValue("factorRecordGroupFromDataGroup", 2);
+		secondPartEnhancer.MCR.assertParameters("enhanceLeanIfUserHasReadAccess", 0,
+				getAuthenticatedUser(), "someType3", recordGroup, dataRedactor);
+		secondPartEnhancer.MCR.assertMethodNotCalled("prefetchIncomingLinksForRecords");
+		dataListSpy.MCR.assertNumberOfCallsToMethod("addData", 3);
+	}
+
 	@Test
 	public void testOnlyForTestGetDataGroupToRecordEnhancer() {
 		RecordSearcherImp recordSearcherImp = (RecordSearcherImp) recordSearcher;
@@ -463,4 +672,386 @@ public class RecordSearcherTest {
 		assertSame(dependencyProvider, dep);
 	}
 
+	@Test
+	public void testSearchResultCacheIsFetchedFromDependencyProvider() {
+		dependencyProvider.MCR.assertNumberOfCallsToMethod("getSearchResultCache", 1);
+	}
+
+	@Test
+	public void testSearchResultCacheNotUsedWhenNotEnabled() {
+		recordSearcher.search(SOME_AUTH_TOKEN, SOME_SEARCH_ID, someSearchData);
+
+		searchResultCache.MCR.assertMethodWasCalled("isEnabled");
+		searchResultCache.MCR.assertMethodNotCalled("getOrLoadSearchResult");
+		authorizator.MCR.assertMethodNotCalled("getProvidedRulesFingerprintForUser");
+	}
+
+	@Test
+	public void testSearchResultIsLoadedThroughCacheWhenEnabled() {
+		enableSearchResultCacheWithoutExtendedFunctionalityForTypesToSearchIn();
+		DataGroupOldSpy searchData = createSearchDataWithTitle();
+
+		DataList searchResult = recordSearcher.search(SOME_AUTH_TOKEN, SOME_SEARCH_ID,
+				searchData);
+
+		authorizator.MCR.assertParameters("getProvidedRulesFingerprintForUser", 0,
+				getAuthenticatedUser());
+		SearchResultCacheKey key = getSearchResultCacheKey();
+		assertEquals(key, new SearchResultCacheKey(SOME_SEARCH_ID,
+				List.of("someType1", "someType2"), "searchData{title=9:someTitle}",
+				"someRulesFingerprint", false));
+		assertSame(searchResult, dataListSpy);
+		dataValidator.MCR.assertParameters("validateData", 0, "someMetadataId", searchData);
+		recordSearch.MCR.assertMethodWasCalled(
+				"searchUsingListOfRecordTypesToSearchInAndSearchData");
+	}
+
+	@Test
+	public void testSearchResultPageWithTypeAndIdOfRecordsIsLoadedIntoCache() {
+		enableSearchResultCacheWithoutExtendedFunctionalityForTypesToSearchIn();
+		setNumbersInDataList("1", "1", "1");
+
+		recordSearcher.search(SOME_AUTH_TOKEN, SOME_SEARCH_ID, createSearchDataWithTitle());
+
+		searchResultCache.MCR.assertReturn("getOrLoadSearchResult", 0,
+				new SearchResultPage(List.of(new Link("someType1", "someId")), "1", "1", "1"));
+	}
+
+	private void setNumbersInDataList(String fromNo, String toNo, String totalNo) {
+		dataListSpy.MRV.setDefaultReturnValuesSupplier("getFromNo", () -> fromNo);
+		dataListSpy.MRV.setDefaultReturnValuesSupplier("getToNo", () -> toNo);
+		dataListSpy.MRV.setDefaultReturnValuesSupplier("getTotalNumberOfTypeInStorage",
+				() -> totalNo);
+	}
+
+	@Test
+	public void testCachedSearchResultPageRecordsAreSearchedAndEnhancedAgain() {
+		RecordStorageSpy recordStorage = new RecordStorageSpy();
+		dependencyProvider.MRV.setDefaultReturnValuesSupplier("getRecordStorage",
+				() -> recordStorage);
+		Link link = new Link("someType1", "someId");
+		DataList searchResult = searchUsingCachedPage(
+				new SearchResultPage(List.of(link), "1", "1", "5"));
+
+		recordSearch.MCR.assertNumberOfCallsToMethod(
+				"searchUsingListOfRecordTypesToSearchInAndSearchData", 1);
+		DataGroupSpy pageSearchData = getSearchDataForSearchCall(0);
+		var start = dataFactorySpy.MCR.assertCalledParametersReturn(
+				"factorAtomicUsingNameInDataAndValue", "start", "1");
+		var rows = dataFactorySpy.MCR.assertCalledParametersReturn(
+				"factorAtomicUsingNameInDataAndValue", "rows", "1");
+		pageSearchData.MCR.assertParameters("addChild", 1, start);
+		pageSearchData.MCR.assertParameters("addChild", 2, rows);
+		recordStorage.MCR.assertParameters("read", 0, "search", SOME_SEARCH_ID);
+		recordStorage.MCR.assertNumberOfCallsToMethod("read", 1);
+		var foundRecord = dataFactorySpy.MCR.getReturnValue("factorRecordGroupFromDataGroup", 0);
+		dataGroupToRecordEnhancer.MCR.assertParameters("enhanceIfUserHasReadAccess", 0,
+				getAuthenticatedUser(), "someType1", foundRecord, dataRedactor);
+		var enhancedRecord = (Optional<?>) dataGroupToRecordEnhancer.MCR
+				.getReturnValue("enhanceIfUserHasReadAccess", 0);
+		assertSame(searchResult, dataListSpy);
+		dataListSpy.MCR.assertParameters("addData", 0, enhancedRecord.get());
+		dataListSpy.MCR.assertParameters("setFromNo", 0, "1");
+		dataListSpy.MCR.assertParameters("setToNo", 0, "1");
+		dataListSpy.MCR.assertParameters("setTotalNo", 0, "5");
+		dataValidator.MCR.assertMethodNotCalled("validateData");
+	}
+
+	@Test
+	public void testCachedSearchResultPageOnlyRecordsInPageAreEnhanced() {
+		setSearchResultWithThreeHitsOfTotal(3);
+		dataFactorySpy.MRV.setDefaultReturnValuesSupplier("factorRecordGroupFromDataGroup",
+				this::getRecordGroupWithTypeAndNextId);
+
+		searchUsingCachedPage(new SearchResultPage(
+				List.of(new Link("someType1", "id1"), new Link("someType1", "id3")), "1", "3",
+				"3"));
+
+		var firstRecord = dataFactorySpy.MCR.getReturnValue("factorRecordGroupFromDataGroup", 0);
+		var thirdRecord = dataFactorySpy.MCR.getReturnValue("factorRecordGroupFromDataGroup", 2);
+		dataGroupToRecordEnhancer.MCR.assertNumberOfCallsToMethod("enhanceIfUserHasReadAccess",
+				2);
+		dataGroupToRecordEnhancer.MCR.assertParameter("enhanceIfUserHasReadAccess", 0,
+				"dataRecordGroup", firstRecord);
+		dataGroupToRecordEnhancer.MCR.assertParameter("enhanceIfUserHasReadAccess", 1,
+				"dataRecordGroup", thirdRecord);
+		dataListSpy.MCR.assertNumberOfCallsToMethod("addData", 2);
+		dataValidator.MCR.assertMethodNotCalled("validateData");
+	}
+
+	private DataRecordGroup getRecordGroupWithTypeAndNextId() {
+		factoredRecordGroupNo++;
+		DataRecordGroupSpy dataRecordGroup = createDataRecordGroupUsingType("someType1");
+		String id = "id" + factoredRecordGroupNo;
+		dataRecordGroup.MRV.setDefaultReturnValuesSupplier("getId", () -> id);
+		return dataRecordGroup;
+	}
+
+	@Test
+	public void testCachedEmptySearchResultPageIsReturnedWithoutSearching() {
+		DataList searchResult = searchUsingCachedPage(
+				new SearchResultPage(List.of(), "1", "0", "0"));
+
+		assertSame(searchResult, dataListSpy);
+		recordSearch.MCR.assertMethodNotCalled(
+				"searchUsingListOfRecordTypesToSearchInAndSearchData");
+		dataListSpy.MCR.assertMethodNotCalled("addData");
+		dataListSpy.MCR.assertParameters("setFromNo", 0, "1");
+		dataListSpy.MCR.assertParameters("setToNo", 0, "0");
+		dataListSpy.MCR.assertParameters("setTotalNo", 0, "0");
+	}
+
+	private DataList searchUsingCachedPage(SearchResultPage page) {
+		createSearchResultCacheWithPage(page);
+
+		return searchUsingSearchResultCache();
+	}
+
+	private SearchResultCacheImp createSearchResultCacheWithPage(SearchResultPage page) {
+		enableSearchResultCacheWithoutExtendedFunctionalityForTypesToSearchIn();
+		SearchResultCacheImp cache = SearchResultCacheImp.usingMaxNumberOfResultsAndTimeToLive(10,
+				Duration.ofSeconds(60));
+		dependencyProvider.MRV.setDefaultReturnValuesSupplier("getSearchResultCache",
+				() -> cache);
+		cache.getOrLoadSearchResult(createCacheKeyForSearchWithTitle(), () -> page);
+		return cache;
+	}
+
+	private DataList searchUsingSearchResultCache() {
+		return RecordSearcherImp.usingDependencyProvider(dependencyProvider)
+				.search(SOME_AUTH_TOKEN, SOME_SEARCH_ID, createSearchDataWithTitle());
+	}
+
+	private SearchResultCacheKey createCacheKeyForSearchWithTitle() {
+		return new SearchResultCacheKey(SOME_SEARCH_ID, List.of("someType1", "someType2"),
+				"searchData{title=9:someTitle}", "someRulesFingerprint", false);
+	}
+
+	private void enableSearchResultCacheWithoutExtendedFunctionalityForTypesToSearchIn() {
+		searchResultCache.MRV.setDefaultReturnValuesSupplier("isEnabled", () -> true);
+		for (String recordType : searchDefinition.recordTypesToSearchIn()) {
+			extendedFunctionalityProvider.MRV.setSpecificReturnValuesSupplier(
+					"getFunctionalityForPositionAndRecordType", List::of,
+					SEARCH_BEFORE_ENHANCE_SINGLE, recordType);
+		}
+	}
+
+	private DataGroupOldSpy createSearchDataWithTitle() {
+		DataGroupOldSpy searchData = new DataGroupOldSpy("searchData");
+		searchData.addChild(new DataAtomicOldSpy("title", "someTitle"));
+		return searchData;
+	}
+
+	private SearchResultCacheKey getSearchResultCacheKey() {
+		return (SearchResultCacheKey) searchResultCache.MCR
+				.getParameterForMethodAndCallNumberAndParameter("getOrLoadSearchResult", 0, "key");
+	}
+
+	@Test
+	public void testCachedSearchResultPageWithRecordNoLongerFoundIsSearchedAgain() {
+		SearchResultCacheImp cache = createSearchResultCacheWithPage(new SearchResultPage(
+				List.of(new Link("someType1", "someOtherId")), "1", "1", "1"));
+
+		DataList searchResult = searchUsingSearchResultCache();
+
+		dataGroupToRecordEnhancer.MCR.assertNumberOfCallsToMethod("enhanceIfUserHasReadAccess",
+				1);
+		assertSearchedAgainAndCachedResultRemoved(cache, searchResult);
+	}
+
+	private void assertSearchedAgainAndCachedResultRemoved(SearchResultCacheImp cache,
+			DataList searchResult) {
+		assertSame(searchResult, dataListSpy);
+		dataValidator.MCR.assertNumberOfCallsToMethod("validateData", 1);
+		recordSearch.MCR.assertNumberOfCallsToMethod(
+				"searchUsingListOfRecordTypesToSearchInAndSearchData", 2);
+		SearchResultPage pageLoadedAfterRemove = new SearchResultPage(List.of(), "0", "0", "0");
+		assertSame(cache.getOrLoadSearchResult(createCacheKeyForSearchWithTitle(),
+				() -> pageLoadedAfterRemove), pageLoadedAfterRemove);
+	}
+
+	@Test
+	public void testCachedSearchResultPageWithRecordNoLongerReadableIsSearchedAgain() {
+		dataGroupToRecordEnhancer.addReadAction = false;
+		SearchResultCacheImp cache = createSearchResultCacheWithPage(new SearchResultPage(
+				List.of(new Link("someType1", "someId")), "1", "1", "1"));
+
+		DataList searchResult = searchUsingSearchResultCache();
+
+		assertSearchedAgainAndCachedResultRemoved(cache, searchResult);
+	}
+
+	@Test
+	public void testSearchLeanUsesLeanSearchResultCacheKey() {
+		enableSearchResultCacheWithoutExtendedFunctionalityForTypesToSearchIn();
+
+		recordSearcher.searchLean(SOME_AUTH_TOKEN, SOME_SEARCH_ID, createSearchDataWithTitle());
+
+		assertTrue(getSearchResultCacheKey().lean());
+	}
+
+	@Test
+	public void testSearchResultCacheNotUsedForTypeUsingPermissionUnit() {
+		enableSearchResultCacheWithoutExtendedFunctionalityForTypesToSearchIn();
+		RecordTypeHandlerOldSpy recordTypeHandler = new RecordTypeHandlerOldSpy();
+		recordTypeHandler.MRV.setDefaultReturnValuesSupplier("usePermissionUnit", () -> true);
+		dependencyProvider.MRV.setSpecificReturnValuesSupplier("getRecordTypeHandler",
+				() -> recordTypeHandler, "someType2");
+
+		recordSearcher.search(SOME_AUTH_TOKEN, SOME_SEARCH_ID, createSearchDataWithTitle());
+
+		searchResultCache.MCR.assertMethodNotCalled("getOrLoadSearchResult");
+		dataValidator.MCR.assertNumberOfCallsToMethod("validateData", 1);
+	}
+
+	@Test
+	public void testSearchResultCacheNotUsedForTypeWithExtendedFunctionalityBeforeEnhance() {
+		searchResultCache.MRV.setDefaultReturnValuesSupplier("isEnabled", () -> true);
+		extendedFunctionalityProvider.MRV.setSpecificReturnValuesSupplier(
+				"getFunctionalityForPositionAndRecordType", List::of,
+				SEARCH_BEFORE_ENHANCE_SINGLE, "someType1");
+
+		recordSearcher.search(SOME_AUTH_TOKEN, SOME_SEARCH_ID, createSearchDataWithTitle());
+
+		searchResultCache.MCR.assertMethodNotCalled("getOrLoadSearchResult");
+	}
+
+	@Test
+	public void testCachedSearchResultIsReturnedWithoutValidatingAgain() {
+		useRealSearchResultCache();
+		setNumbersInDataList("1", "1", "1");
+		dataFactorySpy.MRV.setDefaultReturnValuesSupplier("factorRecordGroupFromDataGroup",
+				() -> createDataRecordGroupUsingType("someType1"));
+
+		searchUsingSearchResultCache();
+		searchUsingSearchResultCache();
+
+		authorizator.MCR.assertNumberOfCallsToMethod("checkUserIsAuthorizedForActionOnRecordType",
+				4);
+		dataValidator.MCR.assertNumberOfCallsToMethod("validateData", 1);
+		recordSearch.MCR.assertNumberOfCallsToMethod(
+				"searchUsingListOfRecordTypesToSearchInAndSearchData", 2);
+		dataGroupToRecordEnhancer.MCR.assertNumberOfCallsToMethod("enhanceIfUserHasReadAccess",
+				2);
+	}
+
+	private void useRealSearchResultCache() {
+		enableSearchResultCacheWithoutExtendedFunctionalityForTypesToSearchIn();
+		SearchResultCacheImp cache = SearchResultCacheImp.usingMaxNumberOfResultsAndTimeToLive(10,
+				Duration.ofSeconds(60));
+		dependencyProvider.MRV.setDefaultReturnValuesSupplier("getSearchResultCache",
+				() -> cache);
+	}
+
+	@Test
+	public void testCachedSearchResultMakesFewerSearchesThanFillingThePage() {
+		useRealSearchResultCache();
+		RecordStorageSpy recordStorage = new RecordStorageSpy();
+		dependencyProvider.MRV.setDefaultReturnValuesSupplier("getRecordStorage",
+				() -> recordStorage);
+		setNumbersInDataList("1", "3", "3");
+		DataGroupSpy first = createFoundDataGroupForRecordWithId("id1");
+		DataGroupSpy second = createFoundDataGroupForRecordWithId("id2");
+		DataGroupSpy third = createFoundDataGroupForRecordWithId("id3");
+		recordSearch.MRV.setDefaultReturnValuesSupplier(
+				"searchUsingListOfRecordTypesToSearchInAndSearchData",
+				List.of(createSearchResult(first, second), createSearchResult(third),
+						createSearchResult(first, second, third)).iterator()::next);
+		DataGroupOldSpy searchData = createSearchDataWithTitle();
+		searchData.addChild(new DataAtomicOldSpy("rows", "2"));
+		dataGroupToRecordEnhancer.addReadActionOnlyFirst = true;
+
+		RecordSearcherImp.usingDependencyProvider(dependencyProvider).search(SOME_AUTH_TOKEN,
+				SOME_SEARCH_ID, searchData);
+
+		recordSearch.MCR.assertNumberOfCallsToMethod(
+				"searchUsingListOfRecordTypesToSearchInAndSearchData", 2);
+
+		dataGroupToRecordEnhancer.addReadAction = true;
+		dataGroupToRecordEnhancer.addReadActionOnlyFirst = false;
+		RecordSearcherImp.usingDependencyProvider(dependencyProvider).search(SOME_AUTH_TOKEN,
+				SOME_SEARCH_ID, searchData);
+
+		recordSearch.MCR.assertNumberOfCallsToMethod(
+				"searchUsingListOfRecordTypesToSearchInAndSearchData", 3);
+		dataValidator.MCR.assertNumberOfCallsToMethod("validateData", 1);
+		recordStorage.MCR.assertParameters("read", 0, "search", SOME_SEARCH_ID);
+		recordStorage.MCR.assertParameters("read", 1, "search", SOME_SEARCH_ID);
+		recordStorage.MCR.assertNumberOfCallsToMethod("read", 2);
+		var firstRecord = dataFactorySpy.MCR.getReturnValue("factorRecordGroupFromDataGroup", 0);
+		dataGroupToRecordEnhancer.MCR.assertNumberOfCallsToMethod("enhanceIfUserHasReadAccess",
+				4);
+		dataGroupToRecordEnhancer.MCR.assertParameter("enhanceIfUserHasReadAccess", 3,
+				"dataRecordGroup", firstRecord);
+	}
+
+	private DataGroupSpy createFoundDataGroupForRecordWithId(String id) {
+		DataGroupSpy dataGroup = new DataGroupSpy();
+		DataRecordGroupSpy dataRecordGroup = createDataRecordGroupUsingType("someType1");
+		dataRecordGroup.MRV.setDefaultReturnValuesSupplier("getId", () -> id);
+		dataFactorySpy.MRV.setSpecificReturnValuesSupplier("factorRecordGroupFromDataGroup",
+				() -> dataRecordGroup, dataGroup);
+		return dataGroup;
+	}
+
+	private SearchResult createSearchResult(DataGroup... dataGroups) {
+		SearchResult searchResult = new SearchResult();
+		searchResult.listOfDataGroups = List.of(dataGroups);
+		searchResult.start = 1;
+		searchResult.totalNumberOfMatches = 3;
+		return searchResult;
+	}
+
+	@Test
+	public void testSearchCountOnlyChecksAccessAndValidates() {
+		DataGroupOldSpy searchData = createSearchDataWithTitle();
+
+		recordSearcher.searchCountOnly(SOME_AUTH_TOKEN, SOME_SEARCH_ID, searchData);
+
+		var authenticatedUser = getAuthenticatedUser();
+		authorizator.MCR.assertParameters("checkUserIsAuthorizedForActionOnRecordType", 0,
+				authenticatedUser, "search", "someType1");
+		authorizator.MCR.assertParameters("checkUserIsAuthorizedForActionOnRecordType", 1,
+				authenticatedUser, "search", "someType2");
+		extendedFunctionalityProvider.MCR.assertParameters(
+				"getFunctionalityForPositionAndRecordType", 0, SEARCH_AFTER_AUTHORIZATION,
+				"search");
+		dataValidator.MCR.assertParameters("validateData", 0, "someMetadataId", searchData);
+	}
+
+	@Test
+	public void testSearchCountOnlySearchesWithZeroRowsAndReturnsTotal() {
+		SearchResult searchResult = new SearchResult();
+		searchResult.listOfDataGroups = List.of();
+		searchResult.totalNumberOfMatches = 42;
+		recordSearch.MRV.setDefaultReturnValuesSupplier(
+				"searchUsingListOfRecordTypesToSearchInAndSearchData", () -> searchResult);
+		DataGroupOldSpy searchData = createSearchDataWithTitle();
+		searchData.addChild(new DataAtomicOldSpy("rows", "10"));
+
+		DataList countList = recordSearcher.searchCountOnly(SOME_AUTH_TOKEN, SOME_SEARCH_ID,
+				searchData);
+
+		DataGroupSpy countSearchData = getSearchDataForSearchCall(0);
+		dataFactorySpy.MCR.assertReturn("factorGroupUsingNameInData", 0, countSearchData);
+		var rows = dataFactorySpy.MCR.assertCalledParametersReturn(
+				"factorAtomicUsingNameInDataAndValue", "rows", "0");
+		countSearchData.MCR.assertParameters("addChild", 0, searchData.getChildren().get(0));
+		countSearchData.MCR.assertParameters("addChild", 1, rows);
+		countSearchData.MCR.assertNumberOfCallsToMethod("addChild", 2);
+		recordSearch.MCR.assertParameter("searchUsingListOfRecordTypesToSearchInAndSearchData",
+				0, "recordTypes", searchDefinition.recordTypesToSearchIn());
+		assertEquals(searchData.getChildren().size(), 2);
+		assertEquals(searchData.getFirstAtomicValueWithNameInData("rows"), "10");
+		recordSearch.MCR.assertNumberOfCallsToMethod(
+				"searchUsingListOfRecordTypesToSearchInAndSearchData", 1);
+		dataGroupToRecordEnhancer.MCR.assertMethodNotCalled("enhanceIfUserHasReadAccess");
+		searchResultCache.MCR.assertMethodNotCalled("getOrLoadSearchResult");
+
+		assertSame(countList, dataListSpy);
+		dataListSpy.MCR.assertParameters("setTotalNo", 0, "42");
+		dataListSpy.MCR.assertParameters("setFromNo", 0, "0");
+		dataListSpy.MCR.assertParameters("setToNo", 0, "0");
+		dataListSpy.MCR.assertMethodNotCalled("addData");
+	}
 }
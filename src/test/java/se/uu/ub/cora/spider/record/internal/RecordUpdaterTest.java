@@ -41,6 +41,7 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import se.uu.ub.cora.beefeater.authentication.User;
+import se.uu.ub.cora.bookkeeper.metadata.Constraint;
 import se.uu.ub.cora.bookkeeper.recordtype.UniqueStorageKeys;
 import se.uu.ub.cora.bookkeeper.validator.DataValidationException;
 import se.uu.ub.cora.data.DataProvider;
@@ -388,7 +389,7 @@ public class RecordUpdaterTest {
 	public void testCorrectSpiderAuthorizatorForWriteRecordPartConstraints() {
 		recordTypeHandlerSpy.MRV.setDefaultReturnValuesSupplier("hasRecordPartWriteConstraint",
 				() -> true);
-		Set<String> writeConstraints = Set.of("someConstraint");
+		Set<Constraint> writeConstraints = Set.of(new Constraint("someConstraint"));
 		recordTypeHandlerSpy.MRV.setDefaultReturnValuesSupplier(
 				"getUpdateWriteRecordPartConstraints", () -> writeConstraints);
 		dataRedactor.MRV.setDefaultReturnValuesSupplier(
@@ -437,6 +438,23 @@ public class RecordUpdaterTest {
 		dataRedactor.MCR.assertMethodNotCalled("removeChildrenForConstraintsWithoutPermissions");
 	}
 
+	@Test
+	public void testRecordPartsAreNotReplacedWhenUserHasPermissionForAllWriteConstraints() {
+		recordTypeHandlerSpy.MRV.setDefaultReturnValuesSupplier("hasRecordPartWriteConstraint",
+				() -> true);
+		recordTypeHandlerSpy.MRV.setDefaultReturnValuesSupplier(
+				"getUpdateWriteRecordPartConstraints",
+				() -> Set.of(new Constraint("someConstraint")));
+		authorizator.MRV.setDefaultReturnValuesSupplier(
+				"checkGetUsersMatchedRecordPartPermissionsForActionOnRecordTypeAndCollectedData",
+				() -> Set.of("someConstraint", "someOtherConstraint"));
+
+		recordUpdater.updateRecord(AUTH_TOKEN, RECORD_TYPE, RECORD_ID, recordWithId);
+
+		dataRedactor.MCR.assertMethodNotCalled("replaceChildrenForConstraintsWithoutPermissions");
+		dataFactorySpy.MCR.assertParameters("factorGroupFromDataRecordGroup", 0, recordWithId);
+	}
+
 	@Test
 	public void testRecordEnhancerCalled() {
 		recordUpdater.updateRecord(AUTH_TOKEN, RECORD_TYPE, RECORD_ID, recordWithId);
@@ -446,6 +464,37 @@ public class RecordUpdaterTest {
 				RECORD_TYPE, recordWithId, dataRedactor);
 	}
 
+	@Test
+	public void testRecordEnhancerUsesCollectedTermsWhenNoExtendedFunctionalityIsUsedAfterCollect() {
+		extendedFunctionalityProvider.MRV.setDefaultReturnValuesSupplier(
+				"getFunctionalityForPositionAndRecordType", List::of);
+
+		recordUpdater.updateRecord(AUTH_TOKEN, RECORD_TYPE, RECORD_ID, recordWithId);
+
+		termCollector.MCR.assertNumberOfCallsToMethod("collectTerms", 2);
+		var collectTerms = termCollector.MCR.getReturnValue("collectTerms", 1);
+		dataGroupToRecordEnhancer.MCR.assertParameters(
+				"enhanceIgnoringReadAccessUsingCollectedTerms", 0, getAuthenticatedUser(),
+				RECORD_TYPE, recordWithId, dataRedactor, collectTerms);
+		dataGroupToRecordEnhancer.MCR.assertMethodNotCalled("enhanceIgnoringReadAccess");
+	}
+
+	@Test
+	public void testRecordEnhancerCollectsTermsAgainWhenExtendedFunctionalityIsUsedAfterCollect() {
+		extendedFunctionalityProvider.MRV.setDefaultReturnValuesSupplier(
+				"getFunctionalityForPositionAndRecordType", List::of);
+		extendedFunctionalityProvider.MRV.setSpecificReturnValuesSupplier(
+				"getFunctionalityForPositionAndRecordType",
+				() -> List.of(new ExtendedFunctionalitySpy()), UPDATE_AFTER_STORE, RECORD_TYPE);
+
+		recordUpdater.updateRecord(AUTH_TOKEN, RECORD_TYPE, RECORD_ID, recordWithId);
+
+		dataGroupToRecordEnhancer.MCR.assertParameters("enhanceIgnoringReadAccess", 0,
+				getAuthenticatedUser(), RECORD_TYPE, recordWithId, dataRedactor);
+		dataGroupToRecordEnhancer.MCR
+				.assertMethodNotCalled("enhanceIgnoringReadAccessUsingCollectedTerms");
+	}
+
 	@Test
 	public void testReplaceImmutableFieldsInRecordInfoFromPreviouslyStoredRecord() {
 		recordUpdater.updateRecord(AUTH_TOKEN, RECORD_TYPE, RECORD_ID, recordWithId);
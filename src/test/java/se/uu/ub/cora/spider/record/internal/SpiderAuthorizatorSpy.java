@@ -20,15 +20,19 @@ package se.uu.ub.cora.spider.record.internal;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import se.uu.ub.cora.beefeater.authentication.User;
 import se.uu.ub.cora.data.collected.PermissionTerm;
+import se.uu.ub.cora.spider.authorization.AuthorizedActions;
 import se.uu.ub.cora.spider.authorization.SpiderAuthorizator;
 import se.uu.ub.cora.testutils.mcr.MethodCallRecorder;
 import se.uu.ub.cora.testutils.mrv.MethodReturnValues;
 
 public class SpiderAuthorizatorSpy implements SpiderAuthorizator {
+	private static final Set<String> ALL_ACTIONS = Set.of("read", "update", "index", "delete",
+			"upload", "create", "list", "validate", "batch_index", "search");
 	public MethodCallRecorder MCR = new MethodCallRecorder();
 	public MethodReturnValues MRV = new MethodReturnValues();
 
@@ -41,6 +45,13 @@ public class SpiderAuthorizatorSpy implements SpiderAuthorizator {
 				"checkGetUsersMatchedRecordPartPermissionsForActionOnRecordTypeAndCollectedData",
 				Collections::emptySet);
 		MRV.setDefaultReturnValuesSupplier("getUserIsAuthorizedForPemissionUnit", () -> false);
+		MRV.setDefaultReturnValuesSupplier("getActionsUserIsAuthorizedForOnRecordType",
+				() -> ALL_ACTIONS);
+		MRV.setDefaultReturnValuesSupplier(
+				"getActionsUserIsAuthorizedForOnRecordTypeAndCollectedData",
+				() -> new AuthorizedActions(ALL_ACTIONS, Map.of()));
+		MRV.setDefaultReturnValuesSupplier("getProvidedRulesFingerprintForUser",
+				() -> "someRulesFingerprint");
 	}
 
 	@Override
@@ -80,6 +91,21 @@ public class SpiderAuthorizatorSpy implements SpiderAuthorizator {
 				"calculateRecordPartPermissions", calculateRecordPartPermissions);
 	}
 
+	@SuppressWarnings("unchecked")
+	@Override
+	public Set<String> getActionsUserIsAuthorizedForOnRecordType(User user, List<String> actions,
+			String recordType) {
+		return (Set<String>) MCR.addCallAndReturnFromMRV("user", user, "actions", actions,
+				"recordType", recordType);
+	}
+
+	@Override
+	public AuthorizedActions getActionsUserIsAuthorizedForOnRecordTypeAndCollectedData(User user,
+			List<String> actions, String recordType, List<PermissionTerm> permissionTerms) {
+		return (AuthorizedActions) MCR.addCallAndReturnFromMRV("user", user, "actions", actions,
+				"recordType", recordType, "permissionTerms", permissionTerms);
+	}
+
 	@Override
 	public void checkUserIsAuthorizedForPemissionUnit(User user, String recordPermissionUnit) {
 		MCR.addCall("user", user, "recordPermissionUnit", recordPermissionUnit);
@@ -90,4 +116,9 @@ public class SpiderAuthorizatorSpy implements SpiderAuthorizator {
 		return (boolean) MCR.addCallAndReturnFromMRV("user", user, "recordPermissionUnit",
 				recordPermissionUnit);
 	}
+
+	@Override
+	public String getProvidedRulesFingerprintForUser(User user) {
+		return (String) MCR.addCallAndReturnFromMRV("user", user);
+	}
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.recordtype;
+
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.bookkeeper.recordtype.RecordTypeHandler;
+import se.uu.ub.cora.testutils.mcr.MethodCallRecorder;
+import se.uu.ub.cora.testutils.mrv.MethodReturnValues;
+
+public class RecordTypeHandlerCacheSpy implements RecordTypeHandlerCache {
+	public MethodCallRecorder MCR = new MethodCallRecorder();
+	public MethodReturnValues MRV = new MethodReturnValues();
+
+	public RecordTypeHandlerCacheSpy() {
+		MCR.useMRV(MRV);
+	}
+
+	@Override
+	public RecordTypeHandler getOrLoadUsingRecordTypeId(String recordTypeId,
+			Supplier<RecordTypeHandler> handlerLoader) {
+		MCR.addCall("recordTypeId", recordTypeId, "handlerLoader", handlerLoader);
+		RecordTypeHandler handler = handlerLoader.get();
+		MCR.addReturned(handler);
+		return handler;
+	}
+
+	@Override
+	public RecordTypeHandler getOrLoadUsingRecordTypeIdAndValidationTypeId(String recordTypeId,
+			String validationTypeId, Supplier<RecordTypeHandler> handlerLoader) {
+		MCR.addCall("recordTypeId", recordTypeId, "validationTypeId", validationTypeId,
+				"handlerLoader", handlerLoader);
+		RecordTypeHandler handler = handlerLoader.get();
+		MCR.addReturned(handler);
+		return handler;
+	}
+
+	@Override
+	public void dataChanged(String type, String id, String action) {
+		MCR.addCall("type", type, "id", id, "action", action);
+	}
+}
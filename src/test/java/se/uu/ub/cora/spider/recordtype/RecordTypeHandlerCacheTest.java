@@ -0,0 +1,243 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.recordtype;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.bookkeeper.recordtype.RecordTypeHandler;
+import se.uu.ub.cora.spider.dependency.spy.RecordTypeHandlerOldSpy;
+
+public class RecordTypeHandlerCacheTest {
+	private static final String SOME_RECORD_TYPE = "someRecordType";
+	private static final String OTHER_RECORD_TYPE = "otherRecordType";
+	private static final String SOME_VALIDATION_TYPE = "someValidationType";
+	private RecordTypeHandlerCacheImp cache;
+	private int numberOfLoads;
+
+	@BeforeMethod
+	private void beforeMethod() {
+		cache = new RecordTypeHandlerCacheImp();
+		numberOfLoads = 0;
+	}
+
+	@Test
+	public void testImplementsRecordTypeHandlerCache() {
+		assertTrue(cache instanceof RecordTypeHandlerCache);
+	}
+
+	@Test
+	public void testLoaderUsedWhenNotCached() {
+		RecordTypeHandler handler = new RecordTypeHandlerOldSpy();
+
+		RecordTypeHandler returned = cache.getOrLoadUsingRecordTypeId(SOME_RECORD_TYPE,
+				countingLoader(handler));
+
+		assertSame(returned, handler);
+		assertEquals(numberOfLoads, 1);
+	}
+
+	private Supplier<RecordTypeHandler> countingLoader(RecordTypeHandler handler) {
+		return () -> {
+			numberOfLoads++;
+			return handler;
+		};
+	}
+
+	@Test
+	public void testSecondCallUsesCachedHandler() {
+		RecordTypeHandler handler = new RecordTypeHandlerOldSpy();
+		cache.getOrLoadUsingRecordTypeId(SOME_RECORD_TYPE, countingLoader(handler));
+
+		RecordTypeHandler returned = cache.getOrLoadUsingRecordTypeId(SOME_RECORD_TYPE,
+				countingLoader(new RecordTypeHandlerOldSpy()));
+
+		assertSame(returned, handler);
+		assertEquals(numberOfLoads, 1);
+	}
+
+	@Test
+	public void testHandlersAreCachedPerRecordType() {
+		cache.getOrLoadUsingRecordTypeId(SOME_RECORD_TYPE,
+				countingLoader(new RecordTypeHandlerOldSpy()));
+		cache.getOrLoadUsingRecordTypeId(OTHER_RECORD_TYPE,
+				countingLoader(new RecordTypeHandlerOldSpy()));
+
+		assertEquals(numberOfLoads, 2);
+		assertEquals(cache.onlyForTestGetHandlersByRecordType().size(), 2);
+	}
+
+	@Test
+	public void testHandlersAreCachedPerRecordTypeAndValidationType() {
+		RecordTypeHandler handler = new RecordTypeHandlerOldSpy();
+		cache.getOrLoadUsingRecordTypeIdAndValidationTypeId(SOME_RECORD_TYPE,
+				SOME_VALIDATION_TYPE, countingLoader(handler));
+
+		RecordTypeHandler returned = cache.getOrLoadUsingRecordTypeIdAndValidationTypeId(
+				SOME_RECORD_TYPE, SOME_VALIDATION_TYPE,
+				countingLoader(new RecordTypeHandlerOldSpy()));
+		RecordTypeHandler otherValidationType = cache.getOrLoadUsingRecordTypeIdAndValidationTypeId(
+				SOME_RECORD_TYPE, "otherValidationType",
+				countingLoader(new RecordTypeHandlerOldSpy()));
+
+		assertSame(returned, handler);
+		assertNotSame(otherValidationType, handler);
+		assertEquals(numberOfLoads, 2);
+		assertEquals(cache.onlyForTestGetHandlersByValidationType().size(), 2);
+	}
+
+	@Test
+	public void testHandlerForRecordTypeIsNotUsedForValidationType() {
+		RecordTypeHandler handler = new RecordTypeHandlerOldSpy();
+		cache.getOrLoadUsingRecordTypeId(SOME_RECORD_TYPE, countingLoader(handler));
+
+		RecordTypeHandler returned = cache.getOrLoadUsingRecordTypeIdAndValidationTypeId(
+				SOME_RECORD_TYPE, SOME_VALIDATION_TYPE,
+				countingLoader(new RecordTypeHandlerOldSpy()));
+
+		assertNotSame(returned, handler);
+		assertEquals(numberOfLoads, 2);
+	}
+
+	@Test
+	public void testExceptionFromLoaderIsPassedOnAndNothingIsCached() {
+		try {
+			cache.getOrLoadUsingRecordTypeId(SOME_RECORD_TYPE, () -> {
+				throw new RuntimeException("someError");
+			});
+			fail("An exception should have been thrown");
+		} catch (RuntimeException e) {
+			assertEquals(e.getMessage(), "someError");
+		}
+		assertTrue(cache.onlyForTestGetHandlersByRecordType().isEmpty());
+	}
+
+	@Test
+	public void testRecordTypeChangedRemovesAllHandlers() {
+		assertChangeOfTypeRemovesAllHandlers("recordType");
+	}
+
+	private void assertChangeOfTypeRemovesAllHandlers(String type) {
+		cacheHandlersForRecordTypeAndValidationType();
+
+		cache.dataChanged(type, "someId", "update");
+
+		assertTrue(cache.onlyForTestGetHandlersByRecordType().isEmpty());
+		assertTrue(cache.onlyForTestGetHandlersByValidationType().isEmpty());
+	}
+
+	private void cacheHandlersForRecordTypeAndValidationType() {
+		cache.getOrLoadUsingRecordTypeId(SOME_RECORD_TYPE,
+				countingLoader(new RecordTypeHandlerOldSpy()));
+		cache.getOrLoadUsingRecordTypeIdAndValidationTypeId(SOME_RECORD_TYPE,
+				SOME_VALIDATION_TYPE, countingLoader(new RecordTypeHandlerOldSpy()));
+	}
+
+	@Test
+	public void testValidationTypeChangedRemovesAllHandlers() {
+		assertChangeOfTypeRemovesAllHandlers("validationType");
+	}
+
+	@Test
+	public void testMetadataChangedRemovesAllHandlers() {
+		assertChangeOfTypeRemovesAllHandlers("metadata");
+	}
+
+	@Test
+	public void testSearchChangedRemovesAllHandlers() {
+		assertChangeOfTypeRemovesAllHandlers("search");
+	}
+
+	@Test
+	public void testCollectTermChangedRemovesAllHandlers() {
+		assertChangeOfTypeRemovesAllHandlers("collectTerm");
+	}
+
+	@Test
+	public void testOtherTypeChangedKeepsHandlers() {
+		cacheHandlersForRecordTypeAndValidationType();
+
+		cache.dataChanged("text", "someId", "update");
+
+		assertEquals(cache.onlyForTestGetHandlersByRecordType().size(), 1);
+		assertEquals(cache.onlyForTestGetHandlersByValidationType().size(), 1);
+	}
+
+	@Test
+	public void testCachedHandlerIsSharedBetweenThreads() {
+		RecordTypeHandler handler = new RecordTypeHandlerOldSpy();
+		cache.getOrLoadUsingRecordTypeId(SOME_RECORD_TYPE, countingLoader(handler));
+		AtomicReference<RecordTypeHandler> returnedInOtherThread = new AtomicReference<>();
+		Thread otherThread = Thread.ofVirtual()
+				.start(() -> returnedInOtherThread.set(cache.getOrLoadUsingRecordTypeId(
+						SOME_RECORD_TYPE, countingLoader(new RecordTypeHandlerOldSpy()))));
+
+		joinThread(otherThread);
+
+		assertSame(returnedInOtherThread.get(), handler);
+		assertEquals(numberOfLoads, 1);
+	}
+
+	@Test
+	public void testHandlerIsNotSeenByOtherThreadsBeforeItIsCreated() {
+		RecordTypeHandler handler = new RecordTypeHandlerOldSpy();
+		AtomicReference<RecordTypeHandler> cachedWhileLoading = new AtomicReference<>();
+		cache.getOrLoadUsingRecordTypeId(SOME_RECORD_TYPE, () -> {
+			Thread otherThread = Thread.ofVirtual().start(() -> cachedWhileLoading
+					.set(cache.onlyForTestGetHandlersByRecordType().get(SOME_RECORD_TYPE)));
+			joinThread(otherThread);
+			return handler;
+		});
+
+		assertNull(cachedWhileLoading.get());
+		assertSame(cache.onlyForTestGetHandlersByRecordType().get(SOME_RECORD_TYPE), handler);
+	}
+
+	private void joinThread(Thread thread) {
+		try {
+			thread.join(Duration.ofSeconds(5));
+		} catch (InterruptedException _) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Test
+	public void testHandlerLoadedDuringChangeIsNotCached() {
+		RecordTypeHandler handler = new RecordTypeHandlerOldSpy();
+
+		RecordTypeHandler returned = cache.getOrLoadUsingRecordTypeId(SOME_RECORD_TYPE, () -> {
+			cache.dataChanged("recordType", SOME_RECORD_TYPE, "update");
+			return handler;
+		});
+
+		assertSame(returned, handler);
+		assertTrue(cache.onlyForTestGetHandlersByRecordType().isEmpty());
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.role;
+
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class RoleRulesCacheProviderTest {
+
+	@BeforeMethod
+	private void beforeMethod() {
+		RoleRulesCacheProvider.onlyForTestSetRoleRulesCache(null);
+	}
+
+	@AfterMethod
+	private void afterMethod() {
+		RoleRulesCacheProvider.onlyForTestSetRoleRulesCache(null);
+	}
+
+	@Test
+	public void testPrivateConstructor() throws Exception {
+		Constructor<RoleRulesCacheProvider> constructor = RoleRulesCacheProvider.class
+				.getDeclaredConstructor();
+		assertTrue(Modifier.isPrivate(constructor.getModifiers()));
+	}
+
+	@Test(expectedExceptions = InvocationTargetException.class)
+	public void testPrivateConstructorInvoke() throws Exception {
+		Constructor<RoleRulesCacheProvider> constructor = RoleRulesCacheProvider.class
+				.getDeclaredConstructor();
+		constructor.setAccessible(true);
+		constructor.newInstance();
+	}
+
+	@Test
+	public void testGetRoleRulesCacheCreatesCacheOnFirstCall() {
+		RoleRulesCache cache = RoleRulesCacheProvider.getRoleRulesCache();
+
+		assertTrue(cache instanceof RoleRulesCacheImp);
+	}
+
+	@Test
+	public void testOnlyForTestSetRoleRulesCache() {
+		RoleRulesCacheSpy cacheSpy = new RoleRulesCacheSpy();
+
+		RoleRulesCacheProvider.onlyForTestSetRoleRulesCache(cacheSpy);
+
+		assertSame(RoleRulesCacheProvider.getRoleRulesCache(), cacheSpy);
+	}
+
+	@Test
+	public void testDataChangedIsSentToCache() {
+		RoleRulesCacheSpy cacheSpy = new RoleRulesCacheSpy();
+		RoleRulesCacheProvider.onlyForTestSetRoleRulesCache(cacheSpy);
+
+		RoleRulesCacheProvider.dataChanged("someType", "someId", "someAction");
+
+		cacheSpy.MCR.assertParameters("dataChanged", 0, "someType", "someId", "someAction");
+	}
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.role;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.beefeater.authorization.RuleImp;
+
+public class RoleRulesCacheTest {
+	private static final String SOME_ROLE = "someRole";
+	private static final String OTHER_ROLE = "otherRole";
+	private RoleRulesCacheImp cache;
+	private int numberOfLoads;
+
+	@BeforeMethod
+	private void beforeMethod() {
+		cache = new RoleRulesCacheImp();
+		numberOfLoads = 0;
+	}
+
+	@Test
+	public void testImplementsRoleRulesCache() {
+		assertTrue(cache instanceof RoleRulesCache);
+	}
+
+	@Test
+	public void testLoaderUsedWhenNotCached() {
+		RoleRules roleRules = createRoleRulesLinkingRules("someRule");
+
+		RoleRules returned = cache.getOrLoadRulesForRole(SOME_ROLE, countingLoader(roleRules));
+
+		assertSame(returned, roleRules);
+		assertEquals(numberOfLoads, 1);
+	}
+
+	private RoleRules createRoleRulesLinkingRules(String... ruleIds) {
+		return new RoleRules(List.of(new RuleImp()), Set.of(ruleIds));
+	}
+
+	private Supplier<RoleRules> countingLoader(RoleRules roleRules) {
+		return () -> {
+			numberOfLoads++;
+			return roleRules;
+		};
+	}
+
+	@Test
+	public void testSecondCallUsesCachedRules() {
+		RoleRules roleRules = createRoleRulesLinkingRules("someRule");
+		cache.getOrLoadRulesForRole(SOME_ROLE, countingLoader(roleRules));
+
+		RoleRules returned = cache.getOrLoadRulesForRole(SOME_ROLE,
+				countingLoader(createRoleRulesLinkingRules()));
+
+		assertSame(returned, roleRules);
+		assertEquals(numberOfLoads, 1);
+	}
+
+	@Test
+	public void testRulesAreCachedPerRole() {
+		cache.getOrLoadRulesForRole(SOME_ROLE, countingLoader(createRoleRulesLinkingRules()));
+		cache.getOrLoadRulesForRole(OTHER_ROLE, countingLoader(createRoleRulesLinkingRules()));
+
+		assertEquals(numberOfLoads, 2);
+		assertEquals(cache.onlyForTestGetCachedRules().size(), 2);
+	}
+
+	@Test
+	public void testExceptionFromLoaderIsPassedOnAndNothingIsCached() {
+		try {
+			cache.getOrLoadRulesForRole(SOME_ROLE, () -> {
+				throw new RuntimeException("someError");
+			});
+			fail("An exception should have been thrown");
+		} catch (RuntimeException e) {
+			assertEquals(e.getMessage(), "someError");
+		}
+		assertTrue(cache.onlyForTestGetCachedRules().isEmpty());
+	}
+
+	@Test
+	public void testRoleChangedRemovesOnlyThatRole() {
+		cacheRulesForTwoRoles();
+
+		cache.dataChanged("permissionRole", SOME_ROLE, "update");
+
+		assertFalse(cache.onlyForTestGetCachedRules().containsKey(SOME_ROLE));
+		assertTrue(cache.onlyForTestGetCachedRules().containsKey(OTHER_ROLE));
+	}
+
+	private void cacheRulesForTwoRoles() {
+		cache.getOrLoadRulesForRole(SOME_ROLE,
+				countingLoader(createRoleRulesLinkingRules("someRule", "sharedRule")));
+		cache.getOrLoadRulesForRole(OTHER_ROLE,
+				countingLoader(createRoleRulesLinkingRules("otherRule", "sharedRule")));
+	}
+
+	@Test
+	public void testRuleChangedRemovesRolesLinkingToRule() {
+		cacheRulesForTwoRoles();
+
+		cache.dataChanged("permissionRule", "someRule", "update");
+
+		assertFalse(cache.onlyForTestGetCachedRules().containsKey(SOME_ROLE));
+		assertTrue(cache.onlyForTestGetCachedRules().containsKey(OTHER_ROLE));
+	}
+
+	@Test
+	public void testSharedRuleChangedRemovesAllRolesLinkingToRule() {
+		cacheRulesForTwoRoles();
+
+		cache.dataChanged("permissionRule", "sharedRule", "delete");
+
+		assertTrue(cache.onlyForTestGetCachedRules().isEmpty());
+	}
+
+	@Test
+	public void testCollectTermChangedRemovesAllRoles() {
+		cacheRulesForTwoRoles();
+
+		cache.dataChanged("collectTerm", "someCollectTerm", "update");
+
+		assertTrue(cache.onlyForTestGetCachedRules().isEmpty());
+	}
+
+	@Test
+	public void testOtherTypeChangedKeepsCachedRules() {
+		cacheRulesForTwoRoles();
+
+		cache.dataChanged("someType", SOME_ROLE, "update");
+		cache.dataChanged("user", SOME_ROLE, "update");
+
+		assertEquals(cache.onlyForTestGetCachedRules().size(), 2);
+	}
+
+	@Test
+	public void testRulesNotCachedWhenChangeReportedDuringLoad() {
+		RoleRules roleRules = new RoleRules(Collections.emptyList(), Collections.emptySet());
+
+		RoleRules returned = cache.getOrLoadRulesForRole(SOME_ROLE, () -> {
+			cache.dataChanged("permissionRole", SOME_ROLE, "update");
+			return roleRules;
+		});
+
+		assertSame(returned, roleRules);
+		assertTrue(cache.onlyForTestGetCachedRules().isEmpty());
+	}
+}
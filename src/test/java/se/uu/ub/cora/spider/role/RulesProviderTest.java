@@ -20,11 +20,13 @@
 package se.uu.ub.cora.spider.role;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -32,6 +34,7 @@ import org.testng.annotations.Test;
 import se.uu.ub.cora.beefeater.authorization.Rule;
 import se.uu.ub.cora.beefeater.authorization.RuleImp;
 import se.uu.ub.cora.beefeater.authorization.RulePartValues;
+import se.uu.ub.cora.beefeater.authorization.RulePartValuesImp;
 import se.uu.ub.cora.data.DataAtomic;
 import se.uu.ub.cora.data.DataGroup;
 import se.uu.ub.cora.data.DataRecordGroup;
@@ -41,6 +44,7 @@ import se.uu.ub.cora.data.spies.DataAttributeSpy;
 import se.uu.ub.cora.data.spies.DataGroupSpy;
 import se.uu.ub.cora.data.spies.DataRecordGroupSpy;
 import se.uu.ub.cora.data.spies.DataRecordLinkSpy;
+import se.uu.ub.cora.spider.authorization.PermissionKeyTableSpy;
 import se.uu.ub.cora.storage.RecordNotFoundException;
 import se.uu.ub.cora.storage.spies.RecordStorageSpy;
 
@@ -48,12 +52,16 @@ public class RulesProviderTest {
 
 	private static final String SOME_ROLE = "someRole";
 	private RecordStorageSpy recordStorage;
+	private RoleRulesCacheImp roleRulesCache;
+	private PermissionKeyTableSpy permissionKeyTable;
 	private RulesProviderImp rulesProvider;
 
 	@BeforeMethod
 	private void beforeMethod() {
 		recordStorage = new RecordStorageSpy();
-		rulesProvider = new RulesProviderImp(recordStorage);
+		roleRulesCache = new RoleRulesCacheImp();
+		permissionKeyTable = new PermissionKeyTableSpy();
+		rulesProvider = new RulesProviderImp(recordStorage, roleRulesCache, permissionKeyTable);
 	}
 
 	@Test
@@ -61,6 +69,26 @@ public class RulesProviderTest {
 		assertSame(rulesProvider.onlyForTestGetRecordStorage(), recordStorage);
 	}
 
+	@Test
+	public void testOnlyForTestGetRoleRulesCache() {
+		assertSame(rulesProvider.onlyForTestGetRoleRulesCache(), roleRulesCache);
+	}
+
+	@Test
+	public void testOnlyForTestGetPermissionKeyTable() {
+		assertSame(rulesProvider.onlyForTestGetPermissionKeyTable(), permissionKeyTable);
+	}
+
+	@Test
+	public void testRoleNotFoundIsNotCached() {
+		recordStorage.MRV.setThrowException("read",
+				RecordNotFoundException.withMessage("someMessage"), "permissionRole", SOME_ROLE);
+
+		rulesProvider.getActiveRules(SOME_ROLE);
+
+		assertTrue(roleRulesCache.onlyForTestGetCachedRules().isEmpty());
+	}
+
 	@Test
 	public void testRoleNotFoundInStorage() {
 		recordStorage.MRV.setThrowException("read",
@@ -210,6 +238,66 @@ public class RulesProviderTest {
 		assertRules(rules.get(1));
 	}
 
+	@Test
+	public void testCompiledRulesAreCachedWithLinkedRuleIds() {
+		setUpActiveRoleWithTwoActiveRules();
+
+		rulesProvider.getActiveRules(SOME_ROLE);
+
+		RoleRules cachedRoleRules = roleRulesCache.onlyForTestGetCachedRules().get(SOME_ROLE);
+		assertEquals(cachedRoleRules.rules().size(), 2);
+		assertEquals(cachedRoleRules.linkedRuleIds(), Set.of("someRuleId0", "someRuleId1"));
+	}
+
+	private void setUpActiveRoleWithTwoActiveRules() {
+		DataRecordGroupSpy activeRole = createActiveRole();
+		DataRecordLinkSpy ruleLink0 = createLink("someRuleId0");
+		DataRecordLinkSpy ruleLink1 = createLink("someRuleId1");
+		addRulesToRole(activeRole, ruleLink0, ruleLink1);
+		DataRecordGroupSpy activeRule0 = createActiveRule("someRuleId0");
+		addRulePartToRule(activeRule0, createRulePartWithTwoActions());
+		DataRecordGroupSpy activeRule1 = createActiveRule("someRuleId1");
+		addRulePartToRule(activeRule1, createRulePartWithTwoActions());
+	}
+
+	@Test
+	public void testSecondCallUsesCachedRulesAndDoesNotReadStorage() {
+		setUpActiveRoleWithTwoActiveRules();
+		rulesProvider.getActiveRules(SOME_ROLE);
+
+		List<Rule> rules = rulesProvider.getActiveRules(SOME_ROLE);
+
+		recordStorage.MCR.assertNumberOfCallsToMethod("read", 3);
+		assertEquals(rules.size(), 2);
+		assertRules(rules.get(0));
+		assertRules(rules.get(1));
+	}
+
+	@Test
+	public void testReturnedRulesAreCopiesOfCachedRules() {
+		setUpActiveRoleWithTwoActiveRules();
+
+		List<Rule> rules = rulesProvider.getActiveRules(SOME_ROLE);
+		rules.get(0).addRulePart("someKey", new RulePartValuesImp());
+
+		List<Rule> cachedRules = roleRulesCache.onlyForTestGetCachedRules().get(SOME_ROLE)
+				.rules();
+		assertNotSame(rules.get(0), cachedRules.get(0));
+		assertEquals(cachedRules.get(0).getNumberOfRuleParts(), 1);
+		assertEquals(rulesProvider.getActiveRules(SOME_ROLE).get(0).getNumberOfRuleParts(), 1);
+	}
+
+	@Test
+	public void testRulesReadAgainAfterLinkedRuleChanged() {
+		setUpActiveRoleWithTwoActiveRules();
+		rulesProvider.getActiveRules(SOME_ROLE);
+
+		roleRulesCache.dataChanged("permissionRule", "someRuleId1", "update");
+		rulesProvider.getActiveRules(SOME_ROLE);
+
+		recordStorage.MCR.assertNumberOfCallsToMethod("read", 6);
+	}
+
 	private void assertRules(Rule rule) {
 		RulePartValues actionRulePart = rule.getRulePartValuesForKey("action");
 		assertEquals(actionRulePart.size(), 2);
@@ -268,6 +356,9 @@ public class RulesProviderTest {
 				.getRulePartValuesForKey("PUBLISHED_STATUS");
 		assertEquals(permissionPublishedRulePart.size(), 1);
 		assertTrue(permissionPublishedRulePart.contains("system.published"));
+
+		permissionKeyTable.MCR.assertNumberOfCallsToMethod("getPermissionKey", 1);
+		recordStorage.MCR.assertNumberOfCallsToMethod("read", 3);
 	}
 
 	private void addPermissionTermRulePart(DataRecordGroupSpy rule, DataGroupSpy... dataGroupSpy) {
@@ -279,7 +370,7 @@ public class RulesProviderTest {
 			DataAtomicSpy... values) {
 		String id = createUniqueId();
 		DataGroupSpy permissionTermRulePart = createPermissionRuleParts(id, values);
-		createPermissionTermInStorage(id, permissionKey);
+		setPermissionKeyInPermissionKeyTable(id, permissionKey);
 		return permissionTermRulePart;
 	}
 
@@ -304,16 +395,9 @@ public class RulesProviderTest {
 		return value0;
 	}
 
-	private void createPermissionTermInStorage(String id, String permissionKey) {
-		DataRecordGroupSpy permissionTerm = new DataRecordGroupSpy();
-		DataGroupSpy extraData = new DataGroupSpy();
-		permissionTerm.MRV.setSpecificReturnValuesSupplier("getFirstGroupWithNameInData",
-				() -> extraData, "extraData");
-		extraData.MRV.setSpecificReturnValuesSupplier("getFirstAtomicValueWithNameInData",
-				() -> permissionKey, "permissionKey");
-
-		recordStorage.MRV.setSpecificReturnValuesSupplier("read", () -> permissionTerm,
-				"collectTerm", id);
+	private void setPermissionKeyInPermissionKeyTable(String id, String permissionKey) {
+		permissionKeyTable.MRV.setSpecificReturnValuesSupplier("getPermissionKey",
+				() -> permissionKey, id);
 	}
 
 	@Test
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.searchdefinition;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+
+public class SearchDefinitionCacheTest {
+	private static final String SOME_SEARCH_ID = "someSearchId";
+	private SearchDefinitionCacheImp cache;
+	private int numberOfLoads;
+
+	@BeforeMethod
+	private void beforeMethod() {
+		cache = new SearchDefinitionCacheImp();
+		numberOfLoads = 0;
+	}
+
+	@Test
+	public void testImplementsSearchDefinitionCache() {
+		assertTrue(cache instanceof SearchDefinitionCache);
+	}
+
+	@Test
+	public void testLoaderUsedWhenNotCached() {
+		SearchDefinition definition = createDefinition();
+
+		SearchDefinition returned = cache.getOrLoadSearchDefinition(SOME_SEARCH_ID,
+				countingLoader(definition));
+
+		assertSame(returned, definition);
+		assertEquals(numberOfLoads, 1);
+	}
+
+	private SearchDefinition createDefinition() {
+		return new SearchDefinition(SOME_SEARCH_ID, "someMetadataId", List.of("someRecordType"));
+	}
+
+	private Supplier<SearchDefinition> countingLoader(SearchDefinition definition) {
+		return () -> {
+			numberOfLoads++;
+			return definition;
+		};
+	}
+
+	@Test
+	public void testSecondCallUsesCachedDefinition() {
+		SearchDefinition definition = createDefinition();
+		cache.getOrLoadSearchDefinition(SOME_SEARCH_ID, countingLoader(definition));
+
+		SearchDefinition returned = cache.getOrLoadSearchDefinition(SOME_SEARCH_ID,
+				countingLoader(createDefinition()));
+
+		assertSame(returned, definition);
+		assertEquals(numberOfLoads, 1);
+	}
+
+	@Test
+	public void testDefinitionsAreCachedPerSearch() {
+		cache.getOrLoadSearchDefinition(SOME_SEARCH_ID, countingLoader(createDefinition()));
+		cache.getOrLoadSearchDefinition("otherSearchId", countingLoader(createDefinition()));
+
+		assertEquals(numberOfLoads, 2);
+		assertEquals(cache.onlyForTestGetDefinitions().size(), 2);
+	}
+
+	@Test
+	public void testSearchChangedRemovesDefinitionForChangedSearch() {
+		cache.getOrLoadSearchDefinition(SOME_SEARCH_ID, countingLoader(createDefinition()));
+		cache.getOrLoadSearchDefinition("otherSearchId", countingLoader(createDefinition()));
+
+		cache.dataChanged("search", SOME_SEARCH_ID, "update");
+
+		assertEquals(cache.onlyForTestGetDefinitions().size(), 1);
+		assertTrue(cache.onlyForTestGetDefinitions().containsKey("otherSearchId"));
+	}
+
+	@Test
+	public void testOtherTypeChangedKeepsDefinitions() {
+		cache.getOrLoadSearchDefinition(SOME_SEARCH_ID, countingLoader(createDefinition()));
+
+		cache.dataChanged("recordType", SOME_SEARCH_ID, "update");
+
+		assertEquals(cache.onlyForTestGetDefinitions().size(), 1);
+	}
+
+	@Test
+	public void testDefinitionLoadedDuringChangeIsNotCached() {
+		SearchDefinition definition = createDefinition();
+
+		SearchDefinition returned = cache.getOrLoadSearchDefinition(SOME_SEARCH_ID, () -> {
+			cache.dataChanged("search", SOME_SEARCH_ID, "update");
+			return definition;
+		});
+
+		assertSame(returned, definition);
+		assertTrue(cache.onlyForTestGetDefinitions().isEmpty());
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.searchdefinition;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.data.DataRecordLink;
+import se.uu.ub.cora.data.spies.DataRecordGroupSpy;
+import se.uu.ub.cora.data.spies.DataRecordLinkSpy;
+
+public class SearchDefinitionTest {
+	private DataRecordGroupSpy searchRecordGroup;
+
+	@BeforeMethod
+	private void beforeMethod() {
+		searchRecordGroup = new DataRecordGroupSpy();
+		searchRecordGroup.MRV.setDefaultReturnValuesSupplier("getId", () -> "someSearchId");
+		searchRecordGroup.MRV.setSpecificReturnValuesSupplier("getFirstChildOfTypeAndName",
+				() -> createLinkUsingLinkedRecordId("someMetadataId"), DataRecordLink.class,
+				"metadataId");
+		searchRecordGroup.MRV.setSpecificReturnValuesSupplier("getChildrenOfTypeAndName",
+				() -> List.of(createLinkUsingLinkedRecordId("someType1"),
+						createLinkUsingLinkedRecordId("someType2")),
+				DataRecordLink.class, "recordTypeToSearchIn");
+	}
+
+	private DataRecordLinkSpy createLinkUsingLinkedRecordId(String linkedRecordId) {
+		DataRecordLinkSpy link = new DataRecordLinkSpy();
+		link.MRV.setDefaultReturnValuesSupplier("getLinkedRecordId", () -> linkedRecordId);
+		return link;
+	}
+
+	@Test
+	public void testUsingSearchRecordGroup() {
+		SearchDefinition definition = SearchDefinition.usingSearchRecordGroup(searchRecordGroup);
+
+		assertEquals(definition.searchId(), "someSearchId");
+		assertEquals(definition.metadataId(), "someMetadataId");
+		assertEquals(definition.recordTypesToSearchIn(), List.of("someType1", "someType2"));
+	}
+
+	@Test
+	public void testRecordTypesToSearchInIsUnmodifiable() {
+		List<String> recordTypes = new ArrayList<>(List.of("someType1"));
+		SearchDefinition definition = new SearchDefinition("someSearchId", "someMetadataId",
+				recordTypes);
+
+		recordTypes.add("someType2");
+		assertEquals(definition.recordTypesToSearchIn(), List.of("someType1"));
+		try {
+			definition.recordTypesToSearchIn().add("someType2");
+			fail();
+		} catch (Exception e) {
+			assertTrue(e instanceof UnsupportedOperationException);
+		}
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.searchresult;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.data.DataAttribute;
+import se.uu.ub.cora.data.DataChild;
+import se.uu.ub.cora.data.spies.DataGroupSpy;
+import se.uu.ub.cora.data.spies.DataRecordLinkSpy;
+import se.uu.ub.cora.spider.data.DataAtomicOldSpy;
+import se.uu.ub.cora.spider.data.DataAttributeSpy;
+import se.uu.ub.cora.spider.data.DataGroupOldSpy;
+
+public class SearchResultCacheKeyTest {
+
+	@Test
+	public void testRecordTypesAreCopied() {
+		List<String> recordTypes = new ArrayList<>(List.of("someType"));
+		SearchResultCacheKey key = new SearchResultCacheKey("someSearch", recordTypes,
+				"someData", "someFingerprint", false);
+
+		recordTypes.add("otherType");
+
+		assertEquals(key.recordTypesToSearchIn(), List.of("someType"));
+	}
+
+	@Test
+	public void testNormalizedSearchData() {
+		DataGroupOldSpy searchData = new DataGroupOldSpy("searchData");
+		DataGroupOldSpy include = new DataGroupOldSpy("include");
+		include.addChild(new DataAtomicOldSpy("title", "some title"));
+		searchData.addChild(include);
+		searchData.addChild(new DataAtomicOldSpy("rows", "10"));
+
+		Optional<String> normalized = SearchResultCacheKey.normalizeSearchData(searchData);
+
+		assertEquals(normalized.get(), "searchData{include{title=10:some title},rows=2:10}");
+	}
+
+	@Test
+	public void testOrderOfChildrenAndRepeatIdsAreNotPartOfNormalizedSearchData() {
+		DataGroupOldSpy searchData = new DataGroupOldSpy("searchData");
+		searchData.addChild(new DataAtomicOldSpy("title", "a", "0"));
+		searchData.addChild(new DataAtomicOldSpy("title", "b", "1"));
+		DataGroupOldSpy sameSearchData = new DataGroupOldSpy("searchData");
+		sameSearchData.addChild(new DataAtomicOldSpy("title", "b", "7"));
+		sameSearchData.addChild(new DataAtomicOldSpy("title", "a"));
+
+		assertEquals(SearchResultCacheKey.normalizeSearchData(searchData),
+				SearchResultCacheKey.normalizeSearchData(sameSearchData));
+	}
+
+	@Test
+	public void testValuesAreNotMixedUpWithStructure() {
+		DataGroupOldSpy searchData = new DataGroupOldSpy("searchData");
+		searchData.addChild(new DataAtomicOldSpy("title", "a,title=1:b"));
+		DataGroupOldSpy otherSearchData = new DataGroupOldSpy("searchData");
+		otherSearchData.addChild(new DataAtomicOldSpy("title", "a"));
+		otherSearchData.addChild(new DataAtomicOldSpy("title", "b"));
+
+		assertNotEquals(SearchResultCacheKey.normalizeSearchData(searchData),
+				SearchResultCacheKey.normalizeSearchData(otherSearchData));
+	}
+
+	@Test
+	public void testAttributesArePartOfNormalizedSearchData() {
+		DataGroupSpy searchData = createGroupSpyWithAttributes(
+				new DataAttributeSpy("type", "someType"), new DataAttributeSpy("lang", "sv"));
+
+		Optional<String> normalized = SearchResultCacheKey.normalizeSearchData(searchData);
+
+		assertEquals(normalized.get(), "searchData(lang=2:sv,type=8:someType){}");
+	}
+
+	private DataGroupSpy createGroupSpyWithAttributes(DataAttribute... attributes) {
+		DataGroupSpy group = new DataGroupSpy();
+		group.MRV.setDefaultReturnValuesSupplier("getNameInData", () -> "searchData");
+		group.MRV.setDefaultReturnValuesSupplier("hasAttributes", () -> true);
+		group.MRV.setDefaultReturnValuesSupplier("getAttributes", () -> List.of(attributes));
+		group.MRV.setDefaultReturnValuesSupplier("getChildren", List::of);
+		return group;
+	}
+
+	@Test
+	public void testSearchDataWithOtherChildrenCanNotBeNormalized() {
+		DataGroupSpy searchData = new DataGroupSpy();
+		searchData.MRV.setDefaultReturnValuesSupplier("getNameInData", () -> "searchData");
+		searchData.MRV.setDefaultReturnValuesSupplier("hasAttributes", () -> false);
+		List<DataChild> children = List.of(new DataRecordLinkSpy());
+		searchData.MRV.setDefaultReturnValuesSupplier("getChildren", () -> children);
+
+		Optional<String> normalized = SearchResultCacheKey.normalizeSearchData(searchData);
+
+		assertTrue(normalized.isEmpty());
+	}
+}
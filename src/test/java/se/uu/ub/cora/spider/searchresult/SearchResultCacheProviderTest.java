@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.searchresult;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.initialize.SettingsProvider;
+
+public class SearchResultCacheProviderTest {
+
+	@BeforeMethod
+	private void beforeMethod() {
+		SearchResultCacheProvider.onlyForTestSetSearchResultCache(null);
+		SettingsProvider.setSettings(new HashMap<>());
+	}
+
+	@AfterMethod
+	private void afterMethod() {
+		SearchResultCacheProvider.onlyForTestSetSearchResultCache(null);
+	}
+
+	@Test
+	public void testPrivateConstructor() throws Exception {
+		Constructor<SearchResultCacheProvider> constructor = SearchResultCacheProvider.class
+				.getDeclaredConstructor();
+		assertTrue(Modifier.isPrivate(constructor.getModifiers()));
+	}
+
+	@Test(expectedExceptions = InvocationTargetException.class)
+	public void testPrivateConstructorInvoke() throws Exception {
+		Constructor<SearchResultCacheProvider> constructor = SearchResultCacheProvider.class
+				.getDeclaredConstructor();
+		constructor.setAccessible(true);
+		constructor.newInstance();
+	}
+
+	@Test
+	public void testGetSearchResultCacheCreatesCacheOnFirstCall() {
+		SearchResultCache cache = SearchResultCacheProvider.getSearchResultCache();
+
+		assertTrue(cache instanceof SearchResultCacheImp);
+	}
+
+	@Test
+	public void testCacheIsNotEnabledWhenTimeToLiveNotSet() {
+		SearchResultCacheImp cache = (SearchResultCacheImp) SearchResultCacheProvider
+				.getSearchResultCache();
+
+		assertEquals(cache.onlyForTestGetTimeToLive(), Duration.ZERO);
+		assertFalse(cache.isEnabled());
+	}
+
+	@Test
+	public void testTimeToLiveIsReadFromSettings() {
+		Map<String, String> settings = new HashMap<>();
+		settings.put("searchResultCacheTimeToLiveInSeconds", "30");
+		SettingsProvider.setSettings(settings);
+
+		SearchResultCacheImp cache = (SearchResultCacheImp) SearchResultCacheProvider
+				.getSearchResultCache();
+
+		assertEquals(cache.onlyForTestGetTimeToLive(), Duration.ofSeconds(30));
+		assertTrue(cache.isEnabled());
+	}
+
+	@Test
+	public void testOnlyForTestSetSearchResultCache() {
+		SearchResultCacheSpy cacheSpy = new SearchResultCacheSpy();
+
+		SearchResultCacheProvider.onlyForTestSetSearchResultCache(cacheSpy);
+
+		assertSame(SearchResultCacheProvider.getSearchResultCache(), cacheSpy);
+	}
+
+	@Test
+	public void testDataChangedIsSentToCache() {
+		SearchResultCacheSpy cacheSpy = new SearchResultCacheSpy();
+		SearchResultCacheProvider.onlyForTestSetSearchResultCache(cacheSpy);
+
+		SearchResultCacheProvider.dataChanged("someType", "someId", "someAction");
+
+		cacheSpy.MCR.assertParameters("dataChanged", 0, "someType", "someId", "someAction");
+	}
+}
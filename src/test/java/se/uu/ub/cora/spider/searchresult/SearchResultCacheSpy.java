@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.searchresult;
+
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.testutils.mcr.MethodCallRecorder;
+import se.uu.ub.cora.testutils.mrv.MethodReturnValues;
+
+public class SearchResultCacheSpy implements SearchResultCache {
+	public MethodCallRecorder MCR = new MethodCallRecorder();
+	public MethodReturnValues MRV = new MethodReturnValues();
+
+	public SearchResultCacheSpy() {
+		MCR.useMRV(MRV);
+		MRV.setDefaultReturnValuesSupplier("isEnabled", () -> false);
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return (boolean) MCR.addCallAndReturnFromMRV();
+	}
+
+	@Override
+	public SearchResultPage getOrLoadSearchResult(SearchResultCacheKey key,
+			Supplier<SearchResultPage> resultLoader) {
+		MCR.addCall("key", key, "resultLoader", resultLoader);
+		SearchResultPage result = resultLoader.get();
+		MCR.addReturned(result);
+		return result;
+	}
+
+	@Override
+	public void removeSearchResult(SearchResultCacheKey key) {
+		MCR.addCall("key", key);
+	}
+
+	@Override
+	public void dataChanged(String type, String id, String action) {
+		MCR.addCall("type", type, "id", id, "action", action);
+	}
+}
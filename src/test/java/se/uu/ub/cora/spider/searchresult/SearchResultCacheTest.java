@@ -0,0 +1,252 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.searchresult;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.storage.Link;
+
+public class SearchResultCacheTest {
+	private static final Duration TIME_TO_LIVE = Duration.ofSeconds(60);
+	private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+	private static final SearchResultCacheKey SOME_KEY = createKey("someSearch", "someData");
+	private SearchResultCacheImp cache;
+	private int numberOfLoads;
+	private SearchResultPage page;
+
+	@BeforeMethod
+	private void beforeMethod() {
+		cache = SearchResultCacheImp.usingMaxNumberOfResultsAndTimeToLive(2, TIME_TO_LIVE);
+		setTime(START);
+		numberOfLoads = 0;
+		page = new SearchResultPage(List.of(new Link("book", "someBook")), "1", "1", "5");
+	}
+
+	private static SearchResultCacheKey createKey(String searchId, String searchData) {
+		return new SearchResultCacheKey(searchId, List.of("book", "person"), searchData,
+				"someFingerprint", false);
+	}
+
+	private void setTime(Instant instant) {
+		cache.onlyForTestSetClock(Clock.fixed(instant, ZoneOffset.UTC));
+	}
+
+	private Supplier<SearchResultPage> countingLoader() {
+		return () -> {
+			numberOfLoads++;
+			return page;
+		};
+	}
+
+	@Test
+	public void testImplementsSearchResultCache() {
+		assertTrue(cache instanceof SearchResultCache);
+	}
+
+	@Test
+	public void testMaxNumberOfResultsAndTimeToLive() {
+		assertEquals(cache.onlyForTestGetCachedResults().onlyForTestGetMaxSize(), 2);
+		assertEquals(cache.onlyForTestGetTimeToLive(), TIME_TO_LIVE);
+	}
+
+	@Test
+	public void testIsEnabledWhenTimeToLiveIsPositive() {
+		assertTrue(cache.isEnabled());
+	}
+
+	@Test
+	public void testIsNotEnabledWhenTimeToLiveIsZero() {
+		SearchResultCacheImp disabledCache = SearchResultCacheImp
+				.usingMaxNumberOfResultsAndTimeToLive(2, Duration.ZERO);
+
+		assertFalse(disabledCache.isEnabled());
+	}
+
+	@Test
+	public void testResultIsLoadedOnFirstCall() {
+		SearchResultPage result = cache.getOrLoadSearchResult(SOME_KEY, countingLoader());
+
+		assertEquals(numberOfLoads, 1);
+		assertSame(result, page);
+	}
+
+	@Test
+	public void testResultIsCachedForKey() {
+		cache.getOrLoadSearchResult(SOME_KEY, countingLoader());
+		SearchResultPage result = cache.getOrLoadSearchResult(
+				createKey("someSearch", "someData"), countingLoader());
+
+		assertEquals(numberOfLoads, 1);
+		assertSame(result, page);
+	}
+
+	@Test
+	public void testResultIsCachedPerKey() {
+		cache.getOrLoadSearchResult(SOME_KEY, countingLoader());
+		cache.getOrLoadSearchResult(createKey("someSearch", "otherData"), countingLoader());
+		cache.getOrLoadSearchResult(new SearchResultCacheKey("someSearch",
+				List.of("book", "person"), "someData", "otherFingerprint", false),
+				countingLoader());
+
+		assertEquals(numberOfLoads, 3);
+	}
+
+	@Test
+	public void testResultIsUsedUntilTimeToLiveHasPassed() {
+		cache.getOrLoadSearchResult(SOME_KEY, countingLoader());
+		setTime(START.plus(TIME_TO_LIVE).minusMillis(1));
+
+		cache.getOrLoadSearchResult(SOME_KEY, countingLoader());
+
+		assertEquals(numberOfLoads, 1);
+	}
+
+	@Test
+	public void testResultIsReloadedWhenTimeToLiveHasPassed() {
+		cache.getOrLoadSearchResult(SOME_KEY, countingLoader());
+		setTime(START.plus(TIME_TO_LIVE));
+
+		cache.getOrLoadSearchResult(SOME_KEY, countingLoader());
+		cache.getOrLoadSearchResult(SOME_KEY, countingLoader());
+
+		assertEquals(numberOfLoads, 2);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedResultIsEvicted() {
+		cache.getOrLoadSearchResult(SOME_KEY, countingLoader());
+		cache.getOrLoadSearchResult(createKey("someSearch", "data2"), countingLoader());
+		cache.getOrLoadSearchResult(createKey("someSearch", "data3"), countingLoader());
+
+		cache.getOrLoadSearchResult(SOME_KEY, countingLoader());
+
+		assertEquals(numberOfLoads, 4);
+	}
+
+	@Test
+	public void testRemoveSearchResultRemovesOnlyResultForKey() {
+		cache.getOrLoadSearchResult(SOME_KEY, countingLoader());
+		cache.getOrLoadSearchResult(createKey("someSearch", "otherData"), countingLoader());
+
+		cache.removeSearchResult(SOME_KEY);
+		cache.getOrLoadSearchResult(SOME_KEY, countingLoader());
+		cache.getOrLoadSearchResult(createKey("someSearch", "otherData"), countingLoader());
+
+		assertEquals(numberOfLoads, 3);
+	}
+
+	@Test
+	public void testChangeOfRecordInTypeToSearchInRemovesResult() {
+		cache.getOrLoadSearchResult(SOME_KEY, countingLoader());
+
+		cache.dataChanged("person", "somePerson", "update");
+
+		assertEquals(cache.onlyForTestGetCachedResults().size(), 0);
+	}
+
+	@Test
+	public void testChangeOfRecordInImplementingTypeOfAbstractTypeToSearchInRemovesResult() {
+		SearchResultCacheKey keyForAbstractType = new SearchResultCacheKey("someSearch",
+				List.of("abstractType"), "someData", "someFingerprint", false);
+		cache.getOrLoadSearchResult(keyForAbstractType, () -> new SearchResultPage(
+				List.of(new Link("implementingType", "someId")), "1", "1", "1"));
+
+		cache.dataChanged("implementingType", "otherId", "create");
+
+		assertEquals(cache.onlyForTestGetCachedResults().size(), 0);
+	}
+
+	@Test
+	public void testChangeOfRecordInTypeOfFoundRecordRemovesOnlyThatResult() {
+		cache.getOrLoadSearchResult(SOME_KEY, () -> new SearchResultPage(
+				List.of(new Link("implementingType", "someId")), "1", "1", "1"));
+		cache.getOrLoadSearchResult(createKey("someSearch", "otherData"), countingLoader());
+
+		cache.dataChanged("implementingType", "someId", "update");
+
+		assertEquals(cache.onlyForTestGetCachedResults().size(), 1);
+		cache.getOrLoadSearchResult(createKey("someSearch", "otherData"), countingLoader());
+		assertEquals(numberOfLoads, 1);
+	}
+
+	@Test
+	public void testChangeOfRecordOfOtherTypeKeepsResult() {
+		cache.getOrLoadSearchResult(SOME_KEY, countingLoader());
+
+		cache.dataChanged("image", "someImage", "update");
+
+		assertEquals(cache.onlyForTestGetCachedResults().size(), 1);
+	}
+
+	@Test
+	public void testChangeOfSearchRemovesOnlyResultsForThatSearch() {
+		cache.getOrLoadSearchResult(SOME_KEY, countingLoader());
+		cache.getOrLoadSearchResult(createKey("otherSearch", "someData"), countingLoader());
+
+		cache.dataChanged("search", "someSearch", "update");
+
+		assertEquals(cache.onlyForTestGetCachedResults().size(), 1);
+		cache.getOrLoadSearchResult(createKey("otherSearch", "someData"), countingLoader());
+		assertEquals(numberOfLoads, 2);
+	}
+
+	@Test
+	public void testChangeOfRecordTypeRemovesAllResults() {
+		assertChangeOfTypeRemovesAllResults("recordType");
+	}
+
+	@Test
+	public void testChangeOfMetadataRemovesAllResults() {
+		assertChangeOfTypeRemovesAllResults("metadata");
+	}
+
+	private void assertChangeOfTypeRemovesAllResults(String type) {
+		cache.getOrLoadSearchResult(SOME_KEY, countingLoader());
+		cache.getOrLoadSearchResult(createKey("otherSearch", "someData"), countingLoader());
+
+		cache.dataChanged(type, "someId", "update");
+
+		assertEquals(cache.onlyForTestGetCachedResults().size(), 0);
+	}
+
+	@Test
+	public void testResultIsNotCachedIfDataChangedDuringLoad() {
+		cache.getOrLoadSearchResult(SOME_KEY, () -> {
+			cache.dataChanged("image", "someImage", "update");
+			return page;
+		});
+
+		cache.getOrLoadSearchResult(SOME_KEY, countingLoader());
+
+		assertEquals(numberOfLoads, 1);
+	}
+}
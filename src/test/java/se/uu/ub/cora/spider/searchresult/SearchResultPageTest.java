@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.spider.searchresult;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.storage.Link;
+
+public class SearchResultPageTest {
+
+	@Test
+	public void testRecordsAreCopied() {
+		List<Link> records = new ArrayList<>(List.of(new Link("book", "someBook")));
+		SearchResultPage page = new SearchResultPage(records, "1", "1", "5");
+
+		records.add(new Link("book", "otherBook"));
+
+		assertEquals(page.records(), List.of(new Link("book", "someBook")));
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class)
+	public void testRecordsCanNotBeChanged() {
+		SearchResultPage page = new SearchResultPage(List.of(), "1", "0", "0");
+
+		page.records().add(new Link("book", "someBook"));
+	}
+}
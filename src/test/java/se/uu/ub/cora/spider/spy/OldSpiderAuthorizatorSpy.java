@@ -21,6 +21,7 @@ package se.uu.ub.cora.spider.spy;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -28,6 +29,7 @@ import java.util.Set;
 import se.uu.ub.cora.beefeater.authentication.User;
 import se.uu.ub.cora.data.collected.PermissionTerm;
 import se.uu.ub.cora.spider.authorization.AuthorizationException;
+import se.uu.ub.cora.spider.authorization.AuthorizedActions;
 import se.uu.ub.cora.spider.authorization.SpiderAuthorizator;
 import se.uu.ub.cora.testutils.mcr.MethodCallRecorder;
 import se.uu.ub.cora.testutils.mrv.MethodReturnValues;
@@ -115,16 +117,56 @@ public class OldSpiderAuthorizatorSpy implements SpiderAuthorizator {
 					+ "checkGetUsersMatchedRecordPartPermissionsForActionOnRecordTypeAndCollectedData from Spy");
 		}
 
+		Set<String> recordPartPermissions = createRecordPartPermissionsForAction(action);
+		MCR.addReturned(recordPartPermissions);
+		return recordPartPermissions;
+	}
+
+	private Set<String> createRecordPartPermissionsForAction(String action) {
 		Set<String> recordPartPermissions = new HashSet<>();
 		if ("read".equals(action)) {
 			recordPartPermissions.add("someRecordType.someReadMetadataId");
 		} else if ("update".equals(action)) {
 			recordPartPermissions.add("someRecordType.someWriteMetadataId");
 		}
-		MCR.addReturned(recordPartPermissions);
 		return recordPartPermissions;
 	}
 
+	@Override
+	public Set<String> getActionsUserIsAuthorizedForOnRecordType(User user, List<String> actions,
+			String recordType) {
+		MCR.addCall("user", user, "actions", actions, "recordType", recordType);
+		Set<String> authorizedActions = new LinkedHashSet<>();
+		for (String action : actions) {
+			if (authorizedForActionAndRecordType
+					&& !notAuthorizedForActionOnRecordType(action, recordType)) {
+				authorizedActions.add(action);
+			}
+		}
+		MCR.addReturned(authorizedActions);
+		return authorizedActions;
+	}
+
+	@Override
+	public AuthorizedActions getActionsUserIsAuthorizedForOnRecordTypeAndCollectedData(User user,
+			List<String> actions, String recordType, List<PermissionTerm> permissionTerms) {
+		MCR.addCall("user", user, "actions", actions, "recordType", recordType, "collectedData",
+				permissionTerms);
+		Set<String> authorizedActions = new LinkedHashSet<>();
+		Map<String, Set<String>> recordPartPermissions = new HashMap<>();
+		for (String action : actions) {
+			if (authorizedForActionAndRecordTypeAndCollectedData
+					&& !notAuthorizedForActionOnRecordType(action, recordType)) {
+				authorizedActions.add(action);
+				recordPartPermissions.put(action, createRecordPartPermissionsForAction(action));
+			}
+		}
+		AuthorizedActions authorized = new AuthorizedActions(authorizedActions,
+				recordPartPermissions);
+		MCR.addReturned(authorized);
+		return authorized;
+	}
+
 	public void setNotAutorizedForActionOnRecordType(String action, String recordType) {
 		possiblyAddHolderForAction(action);
 		notAuthorizedForActionsOnRecordType.get(action).add(recordType);
@@ -163,4 +205,12 @@ public class OldSpiderAuthorizatorSpy implements SpiderAuthorizator {
 				recordPermissionUnit);
 	}
 
+	@Override
+	public String getProvidedRulesFingerprintForUser(User user) {
+		MCR.addCall("user", user);
+		String fingerprint = "someRulesFingerprint";
+		MCR.addReturned(fingerprint);
+		return fingerprint;
+	}
+
 }
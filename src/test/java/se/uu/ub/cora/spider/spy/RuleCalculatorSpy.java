@@ -20,6 +20,7 @@
 package se.uu.ub.cora.spider.spy;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import se.uu.ub.cora.beefeater.authorization.Rule;
@@ -60,4 +61,13 @@ public class RuleCalculatorSpy implements PermissionRuleCalculator {
 		return returnedRules;
 	}
 
+	@Override
+	public Iterator<Rule> iterateRulesForActionAndRecordTypeAndCollectedData(String action,
+			String recordType, List<PermissionTerm> permissionTerms) {
+		MCR.addCall("action", action, "recordType", recordType, "permissionTerms", permissionTerms);
+		Iterator<Rule> iterator = returnedRules.iterator();
+		MCR.addReturned(iterator);
+		return iterator;
+	}
+
 }
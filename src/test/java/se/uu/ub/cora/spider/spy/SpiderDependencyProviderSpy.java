@@ -18,6 +18,8 @@
  */
 package se.uu.ub.cora.spider.spy;
 
+import java.util.List;
+
 import se.uu.ub.cora.bookkeeper.decorator.DataDecarator;
 import se.uu.ub.cora.bookkeeper.linkcollector.DataRecordLinkCollector;
 import se.uu.ub.cora.bookkeeper.recordpart.DataRedactor;
@@ -29,8 +31,16 @@ import se.uu.ub.cora.data.DataRecordGroup;
 import se.uu.ub.cora.search.RecordIndexer;
 import se.uu.ub.cora.search.RecordSearch;
 import se.uu.ub.cora.spider.authentication.Authenticator;
+import se.uu.ub.cora.spider.authorization.AuthorizationMetrics;
+import se.uu.ub.cora.spider.authorization.AuthorizationMetricsSpy;
+import se.uu.ub.cora.spider.authorization.PermissionKeyTable;
+import se.uu.ub.cora.spider.authorization.PermissionKeyTableSpy;
 import se.uu.ub.cora.spider.authorization.PermissionRuleCalculator;
+import se.uu.ub.cora.spider.authorization.ProvidedRulesCache;
+import se.uu.ub.cora.spider.authorization.ProvidedRulesCacheSpy;
 import se.uu.ub.cora.spider.authorization.SpiderAuthorizator;
+import se.uu.ub.cora.spider.authorization.UserStatusCache;
+import se.uu.ub.cora.spider.authorization.UserStatusCacheSpy;
 import se.uu.ub.cora.spider.cache.DataChangedSender;
 import se.uu.ub.cora.spider.data.DataGroupToFilter;
 import se.uu.ub.cora.spider.dependency.SpiderDependencyProvider;
@@ -39,6 +49,7 @@ import se.uu.ub.cora.spider.dependency.spy.DataGroupToFilterSpy;
 import se.uu.ub.cora.spider.dependency.spy.RecordTypeHandlerOldSpy;
 import se.uu.ub.cora.spider.extendedfunctionality.ExtendedFunctionalityProvider;
 import se.uu.ub.cora.spider.extendedfunctionality.internal.ExtendedFunctionalityProviderSpy;
+import se.uu.ub.cora.spider.linkplan.LinkPlan;
 import se.uu.ub.cora.spider.record.DataGroupToRecordEnhancer;
 import se.uu.ub.cora.spider.record.DataGroupToRecordEnhancerSpy;
 import se.uu.ub.cora.spider.record.DataRedactorOldSpy;
@@ -47,6 +58,9 @@ import se.uu.ub.cora.spider.record.internal.AuthenticatorSpy;
 import se.uu.ub.cora.spider.record.internal.RecordDecoratorSpy;
 import se.uu.ub.cora.spider.record.internal.RecordSearchSpy;
 import se.uu.ub.cora.spider.record.internal.SpiderAuthorizatorSpy;
+import se.uu.ub.cora.spider.searchdefinition.SearchDefinition;
+import se.uu.ub.cora.spider.searchresult.SearchResultCache;
+import se.uu.ub.cora.spider.searchresult.SearchResultCacheSpy;
 import se.uu.ub.cora.spider.unique.UniqueValidator;
 import se.uu.ub.cora.storage.RecordStorage;
 import se.uu.ub.cora.storage.StreamStorage;
@@ -95,6 +109,16 @@ public class SpiderDependencyProviderSpy implements SpiderDependencyProvider {
 		MRV.setDefaultReturnValuesSupplier("getDataChangeSender", DataChangedSenderSpy::new);
 		MRV.setDefaultReturnValuesSupplier("getDataDecorator", DataDecoratorSpy::new);
 		MRV.setDefaultReturnValuesSupplier("getRecordDecorator", RecordDecoratorSpy::new);
+		MRV.setDefaultReturnValuesSupplier("getProvidedRulesCache", ProvidedRulesCacheSpy::new);
+		MRV.setDefaultReturnValuesSupplier("getPermissionKeyTable", PermissionKeyTableSpy::new);
+		MRV.setDefaultReturnValuesSupplier("getUserStatusCache", UserStatusCacheSpy::new);
+		MRV.setDefaultReturnValuesSupplier("getAuthorizationMetrics",
+				AuthorizationMetricsSpy::new);
+		MRV.setDefaultReturnValuesSupplier("getLinkPlan", LinkPlan::visitAll);
+		MRV.setDefaultReturnValuesSupplier("getSearchDefinition",
+				() -> new SearchDefinition("someSearchId", "someMetadataId",
+						List.of("someRecordType")));
+		MRV.setDefaultReturnValuesSupplier("getSearchResultCache", SearchResultCacheSpy::new);
 	}
 
 	@Override
@@ -212,4 +236,39 @@ public class SpiderDependencyProviderSpy implements SpiderDependencyProvider {
 	public PermissionTermDataHandler getPermissionTermDataHandler() {
 		return (PermissionTermDataHandler) MCR.addCallAndReturnFromMRV();
 	}
+
+	@Override
+	public ProvidedRulesCache getProvidedRulesCache() {
+		return (ProvidedRulesCache) MCR.addCallAndReturnFromMRV();
+	}
+
+	@Override
+	public PermissionKeyTable getPermissionKeyTable() {
+		return (PermissionKeyTable) MCR.addCallAndReturnFromMRV();
+	}
+
+	@Override
+	public UserStatusCache getUserStatusCache() {
+		return (UserStatusCache) MCR.addCallAndReturnFromMRV();
+	}
+
+	@Override
+	public AuthorizationMetrics getAuthorizationMetrics() {
+		return (AuthorizationMetrics) MCR.addCallAndReturnFromMRV();
+	}
+
+	@Override
+	public LinkPlan getLinkPlan(String definitionId) {
+		return (LinkPlan) MCR.addCallAndReturnFromMRV("definitionId", definitionId);
+	}
+
+	@Override
+	public SearchDefinition getSearchDefinition(String searchId) {
+		return (SearchDefinition) MCR.addCallAndReturnFromMRV("searchId", searchId);
+	}
+
+	@Override
+	public SearchResultCache getSearchResultCache() {
+		return (SearchResultCache) MCR.addCallAndReturnFromMRV();
+	}
 }
@@ -18,8 +18,11 @@
  */
 package se.uu.ub.cora.spider.testspies;
 
+import java.util.stream.Stream;
+
 import se.uu.ub.cora.data.DataGroup;
 import se.uu.ub.cora.data.DataList;
+import se.uu.ub.cora.data.DataRecord;
 import se.uu.ub.cora.data.spies.DataListSpy;
 import se.uu.ub.cora.spider.record.RecordListReader;
 import se.uu.ub.cora.testutils.mcr.MethodCallRecorder;
@@ -32,6 +35,9 @@ public class RecordListReaderSpy implements RecordListReader {
 	public RecordListReaderSpy() {
 		MCR.useMRV(MRV);
 		MRV.setDefaultReturnValuesSupplier("readRecordList", DataListSpy::new);
+		MRV.setDefaultReturnValuesSupplier("readRecordListLean", DataListSpy::new);
+		MRV.setDefaultReturnValuesSupplier("readRecordListCountOnly", DataListSpy::new);
+		MRV.setDefaultReturnValuesSupplier("readRecordListAsStream", Stream::empty);
 	}
 
 	@Override
@@ -39,4 +45,24 @@ public class RecordListReaderSpy implements RecordListReader {
 		return (DataList) MCR.addCallAndReturnFromMRV("authToken", authToken, "type", type,
 				"filter", filter);
 	}
+
+	@Override
+	public DataList readRecordListLean(String authToken, String type, DataGroup filter) {
+		return (DataList) MCR.addCallAndReturnFromMRV("authToken", authToken, "type", type,
+				"filter", filter);
+	}
+
+	@Override
+	public DataList readRecordListCountOnly(String authToken, String type, DataGroup filter) {
+		return (DataList) MCR.addCallAndReturnFromMRV("authToken", authToken, "type", type,
+				"filter", filter);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Stream<DataRecord> readRecordListAsStream(String authToken, String type,
+			DataGroup filter) {
+		return (Stream<DataRecord>) MCR.addCallAndReturnFromMRV("authToken", authToken, "type",
+				type, "filter", filter);
+	}
 }
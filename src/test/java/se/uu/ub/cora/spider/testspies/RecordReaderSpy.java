@@ -32,6 +32,7 @@ public class RecordReaderSpy implements RecordReader {
 	public RecordReaderSpy() {
 		MCR.useMRV(MRV);
 		MRV.setDefaultReturnValuesSupplier("readRecord", DataRecordSpy::new);
+		MRV.setDefaultReturnValuesSupplier("readRecordLean", DataRecordSpy::new);
 	}
 
 	@Override
@@ -39,4 +40,10 @@ public class RecordReaderSpy implements RecordReader {
 		return (DataRecord) MCR.addCallAndReturnFromMRV("authToken", authToken, "type", type, "id",
 				id);
 	}
+
+	@Override
+	public DataRecord readRecordLean(String authToken, String type, String id) {
+		return (DataRecord) MCR.addCallAndReturnFromMRV("authToken", authToken, "type", type, "id",
+				id);
+	}
 }
@@ -32,6 +32,8 @@ public class RecordSearcherDecoratedSpy implements RecordSearcher {
 	public RecordSearcherDecoratedSpy() {
 		MCR.useMRV(MRV);
 		MRV.setDefaultReturnValuesSupplier("search", DataListSpy::new);
+		MRV.setDefaultReturnValuesSupplier("searchLean", DataListSpy::new);
+		MRV.setDefaultReturnValuesSupplier("searchCountOnly", DataListSpy::new);
 	}
 
 	@Override
@@ -39,4 +41,16 @@ public class RecordSearcherDecoratedSpy implements RecordSearcher {
 		return (DataList) MCR.addCallAndReturnFromMRV("authToken", authToken, "searchId", searchId,
 				"searchData", searchData);
 	}
+
+	@Override
+	public DataList searchLean(String authToken, String searchId, DataGroup searchData) {
+		return (DataList) MCR.addCallAndReturnFromMRV("authToken", authToken, "searchId", searchId,
+				"searchData", searchData);
+	}
+
+	@Override
+	public DataList searchCountOnly(String authToken, String searchId, DataGroup searchData) {
+		return (DataList) MCR.addCallAndReturnFromMRV("authToken", authToken, "searchId", searchId,
+				"searchData", searchData);
+	}
 }